@@ -0,0 +1,318 @@
+package com.kiran.restclient.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+/**
+ * Java source of the proxy generated for one {@code @RestClient} interface.
+ * Supported methods carry an HTTP method annotation (anything meta-annotated
+ * with {@code @HttpMethod}), an optional {@code @Path}, {@code @Produces} and
+ * {@code @Consumes}, and parameters bound with {@code @QueryParam},
+ * {@code @PathParam} or {@code @HeaderParam}; at most one unannotated parameter
+ * is sent as the request entity. Null query parameters are omitted, as the
+ * Resteasy proxies do.
+ */
+class ProxySource {
+
+	private static final String JAX_RS = "jakarta.ws.rs.";
+	private static final String HTTP_METHOD = JAX_RS + "HttpMethod";
+	private static final String PATH = JAX_RS + "Path";
+	private static final String PRODUCES = JAX_RS + "Produces";
+	private static final String CONSUMES = JAX_RS + "Consumes";
+	private static final String QUERY_PARAM = JAX_RS + "QueryParam";
+	private static final String PATH_PARAM = JAX_RS + "PathParam";
+	private static final String HEADER_PARAM = JAX_RS + "HeaderParam";
+	private static final String RESPONSE = JAX_RS + "core.Response";
+	private static final String DEFAULT_CONSUMES = "application/json";
+
+	private final ProcessingEnvironment processingEnv;
+	private final TypeElement clientType;
+	private final String packageName;
+	private final String simpleName;
+
+	ProxySource(ProcessingEnvironment processingEnv, TypeElement clientType) {
+		this.processingEnv = processingEnv;
+		this.clientType = clientType;
+		this.packageName = processingEnv.getElementUtils().getPackageOf(clientType).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(clientType).toString();
+		String nestedName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+		this.simpleName = nestedName.replace('$', '_') + RestClientProcessor.PROXY_SUFFIX;
+	}
+
+	String qualifiedName() {
+		return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+	}
+
+	String render() {
+		if (!clientType.getTypeParameters().isEmpty()) {
+			throw new UnsupportedClientException("Generic @RestClient interfaces are not supported", clientType);
+		}
+		List<MethodSource> methods = new ArrayList<>();
+		Set<String> fieldNames = new HashSet<>();
+		for (ExecutableElement method : ElementFilter.methodsIn(
+				processingEnv.getElementUtils().getAllMembers(clientType))) {
+			if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+				methods.add(new MethodSource(method, uniqueFieldName(method.getSimpleName() + "Target", fieldNames)));
+			}
+		}
+
+		StringBuilder out = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			out.append("package ").append(packageName).append(";\n\n");
+		}
+		out.append("@javax.annotation.processing.Generated(\"").append(RestClientProcessor.class.getName())
+				.append("\")\n");
+		out.append("public final class ").append(simpleName).append(" implements ")
+				.append(clientType.getQualifiedName()).append(" {\n\n");
+		for (MethodSource method : methods) {
+			method.renderFields(out);
+		}
+		out.append("\n\tpublic ").append(simpleName).append("(jakarta.ws.rs.client.WebTarget target) {\n");
+		String clientPath = stringValue(clientType, PATH);
+		for (MethodSource method : methods) {
+			method.renderTargetInitializer(out, clientPath);
+		}
+		out.append("\t}\n");
+		for (MethodSource method : methods) {
+			method.renderMethod(out);
+		}
+		out.append("}\n");
+		return out.toString();
+	}
+
+	private static String uniqueFieldName(String name, Set<String> used) {
+		String candidate = name;
+		for (int i = 2; !used.add(candidate); i++) {
+			candidate = name + i;
+		}
+		return candidate;
+	}
+
+	private final class MethodSource {
+
+		private final ExecutableElement method;
+		private final String targetField;
+		private final String httpMethod;
+		private final TypeMirror returnType;
+		private VariableElement entity;
+
+		MethodSource(ExecutableElement method, String targetField) {
+			this.method = method;
+			this.targetField = targetField;
+			this.httpMethod = httpMethod(method);
+			this.returnType = method.getReturnType();
+			if (!method.getTypeParameters().isEmpty()) {
+				throw new UnsupportedClientException("Generic @RestClient methods are not supported", method);
+			}
+			for (VariableElement parameter : method.getParameters()) {
+				if (binding(parameter) == null) {
+					if (entity != null) {
+						throw new UnsupportedClientException(
+								"At most one parameter may be sent as the request entity", parameter);
+					}
+					entity = parameter;
+				}
+			}
+		}
+
+		void renderFields(StringBuilder out) {
+			out.append("\tprivate final jakarta.ws.rs.client.WebTarget ").append(targetField).append(";\n");
+			if (isGenericEntity()) {
+				out.append("\tprivate static final jakarta.ws.rs.core.GenericType<").append(returnType)
+						.append("> ").append(genericTypeField()).append(" = new jakarta.ws.rs.core.GenericType<>() {\n")
+						.append("\t};\n");
+			}
+		}
+
+		void renderTargetInitializer(StringBuilder out, String clientPath) {
+			out.append("\t\tthis.").append(targetField).append(" = target");
+			if (clientPath != null) {
+				out.append(".path(").append(literal(clientPath)).append(")");
+			}
+			String methodPath = stringValue(method, PATH);
+			if (methodPath != null) {
+				out.append(".path(").append(literal(methodPath)).append(")");
+			}
+			out.append(";\n");
+		}
+
+		void renderMethod(StringBuilder out) {
+			out.append("\n\t@Override\n\tpublic ").append(returnType).append(" ").append(method.getSimpleName())
+					.append("(");
+			out.append(method.getParameters().stream().map(p -> p.asType() + " " + p.getSimpleName())
+					.collect(Collectors.joining(", ")));
+			out.append(")");
+			if (!method.getThrownTypes().isEmpty()) {
+				out.append(" throws ").append(method.getThrownTypes().stream().map(TypeMirror::toString)
+						.collect(Collectors.joining(", ")));
+			}
+			out.append(" {\n");
+			out.append("\t\tjakarta.ws.rs.client.WebTarget target$ = this.").append(targetField).append(";\n");
+			for (VariableElement parameter : method.getParameters()) {
+				String name = parameter.getSimpleName().toString();
+				AnnotationMirror binding = binding(parameter);
+				if (binding == null || annotationName(binding).equals(HEADER_PARAM)) {
+					continue;
+				}
+				String key = literal(stringValue(parameter, annotationName(binding)));
+				if (annotationName(binding).equals(PATH_PARAM)) {
+					out.append("\t\ttarget$ = target$.resolveTemplate(").append(key).append(", ").append(name)
+							.append(");\n");
+				} else if (parameter.asType().getKind().isPrimitive()) {
+					out.append("\t\ttarget$ = target$.queryParam(").append(key).append(", ").append(name)
+							.append(");\n");
+				} else {
+					out.append("\t\tif (").append(name).append(" != null) {\n");
+					out.append("\t\t\ttarget$ = target$.queryParam(").append(key).append(", ").append(name)
+							.append(");\n");
+					out.append("\t\t}\n");
+				}
+			}
+			out.append("\t\tjakarta.ws.rs.client.Invocation.Builder request$ = target$.request();\n");
+			List<String> produces = stringValues(method, PRODUCES);
+			if (produces.isEmpty()) {
+				produces = stringValues(clientType, PRODUCES);
+			}
+			if (!produces.isEmpty()) {
+				out.append("\t\trequest$.accept(")
+						.append(produces.stream().map(ProxySource::literal).collect(Collectors.joining(", ")))
+						.append(");\n");
+			}
+			for (VariableElement parameter : method.getParameters()) {
+				AnnotationMirror binding = binding(parameter);
+				if (binding != null && annotationName(binding).equals(HEADER_PARAM)) {
+					out.append("\t\trequest$.header(").append(literal(stringValue(parameter, HEADER_PARAM)))
+							.append(", ").append(parameter.getSimpleName()).append(");\n");
+				}
+			}
+			String arguments = literal(httpMethod) + entityArgument();
+			if (returnType.getKind() == TypeKind.VOID) {
+				out.append("\t\ttry (jakarta.ws.rs.core.Response response$ = request$.method(").append(arguments)
+						.append(")) {\n");
+				out.append("\t\t\tif (response$.getStatusInfo().getFamily() != ")
+						.append("jakarta.ws.rs.core.Response.Status.Family.SUCCESSFUL) {\n");
+				out.append("\t\t\t\tthrow new jakarta.ws.rs.WebApplicationException(response$);\n");
+				out.append("\t\t\t}\n");
+				out.append("\t\t}\n");
+			} else if (returnType.toString().equals(RESPONSE)) {
+				out.append("\t\treturn request$.method(").append(arguments).append(");\n");
+			} else {
+				String type = isGenericEntity()
+						? genericTypeField()
+						: processingEnv.getTypeUtils().erasure(returnType) + ".class";
+				out.append("\t\treturn request$.method(").append(arguments).append(", ").append(type)
+						.append(");\n");
+			}
+			out.append("\t}\n");
+		}
+
+		private String entityArgument() {
+			if (entity == null) {
+				return "";
+			}
+			List<String> consumes = stringValues(method, CONSUMES);
+			if (consumes.isEmpty()) {
+				consumes = stringValues(clientType, CONSUMES);
+			}
+			String mediaType = consumes.isEmpty() ? DEFAULT_CONSUMES : consumes.getFirst();
+			return ", jakarta.ws.rs.client.Entity.entity(" + entity.getSimpleName() + ", " + literal(mediaType)
+					+ ")";
+		}
+
+		private boolean isGenericEntity() {
+			return returnType.getKind() == TypeKind.DECLARED
+					&& !((DeclaredType) returnType).getTypeArguments().isEmpty();
+		}
+
+		private String genericTypeField() {
+			return targetField + "Type";
+		}
+	}
+
+	private static String httpMethod(ExecutableElement method) {
+		for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+			Element annotationType = annotation.getAnnotationType().asElement();
+			String verb = stringValue(annotationType, HTTP_METHOD);
+			if (verb != null) {
+				return verb;
+			}
+		}
+		throw new UnsupportedClientException("@RestClient methods need an HTTP method annotation such as @GET",
+				method);
+	}
+
+	private static AnnotationMirror binding(VariableElement parameter) {
+		for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+			String name = annotationName(annotation);
+			if (name.equals(QUERY_PARAM) || name.equals(PATH_PARAM) || name.equals(HEADER_PARAM)) {
+				return annotation;
+			}
+			if (name.startsWith(JAX_RS)) {
+				throw new UnsupportedClientException("Unsupported parameter annotation @" + name, parameter);
+			}
+		}
+		return null;
+	}
+
+	private static String annotationName(AnnotationMirror annotation) {
+		return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+	}
+
+	private static AnnotationValue value(Element element, String annotationName) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (annotationName(annotation).equals(annotationName)) {
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation
+						.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals("value")) {
+						return entry.getValue();
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String stringValue(Element element, String annotationName) {
+		AnnotationValue value = value(element, annotationName);
+		return value == null ? null : (String) value.getValue();
+	}
+
+	private static List<String> stringValues(Element element, String annotationName) {
+		AnnotationValue value = value(element, annotationName);
+		if (value == null) {
+			return List.of();
+		}
+		@SuppressWarnings("unchecked")
+		List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value.getValue();
+		return values.stream().map(v -> (String) v.getValue()).toList();
+	}
+
+	private static String literal(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				default -> literal.append(c);
+			}
+		}
+		return literal.append('"').toString();
+	}
+}
@@ -0,0 +1,99 @@
+package com.kiran.restclient.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a JAX-RS client implementation for every interface annotated with
+ * {@code com.kiran.stockapi.utils.RestClient}, and lists them in
+ * {@value #INDEX} ({@code interface=proxy}, binary names) so the application
+ * can register them without classpath scanning.
+ * <p>
+ * The generated proxies resolve each method's path once, when they are
+ * constructed, and build requests through the plain
+ * {@code jakarta.ws.rs.client} API, so no reflection or URI template parsing
+ * happens per call.
+ */
+@SupportedAnnotationTypes(RestClientProcessor.REST_CLIENT)
+public class RestClientProcessor extends AbstractProcessor {
+
+	static final String REST_CLIENT = "com.kiran.stockapi.utils.RestClient";
+	static final String INDEX = "META-INF/rest-clients.index";
+	static final String PROXY_SUFFIX = "RestProxy";
+
+	private final Map<String, String> index = new TreeMap<>();
+	private final List<Element> originatingElements = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.INTERFACE) {
+					error("@RestClient can only be applied to interfaces", element);
+					continue;
+				}
+				generateProxy((TypeElement) element);
+			}
+		}
+		if (roundEnv.processingOver() && !index.isEmpty()) {
+			writeIndex();
+		}
+		return true;
+	}
+
+	private void generateProxy(TypeElement clientType) {
+		try {
+			ProxySource source = new ProxySource(processingEnv, clientType);
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(source.qualifiedName(), clientType);
+			try (Writer writer = file.openWriter()) {
+				writer.write(source.render());
+			}
+			index.put(processingEnv.getElementUtils().getBinaryName(clientType).toString(), source.qualifiedName());
+			originatingElements.add(clientType);
+		} catch (UnsupportedClientException e) {
+			error(e.getMessage(), e.element());
+		} catch (IOException e) {
+			error("Could not write the proxy for " + clientType + ": " + e.getMessage(), clientType);
+		}
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX,
+					originatingElements.toArray(Element[]::new));
+			try (Writer writer = file.openWriter()) {
+				for (Map.Entry<String, String> entry : index.entrySet()) {
+					writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Could not write " + INDEX + ": " + e.getMessage());
+		}
+	}
+
+	private void error(String message, Element element) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
@@ -0,0 +1,18 @@
+package com.kiran.restclient.processor;
+
+import javax.lang.model.element.Element;
+
+/** A client interface, method or parameter the generated proxies cannot implement. */
+class UnsupportedClientException extends RuntimeException {
+
+	private final transient Element element;
+
+	UnsupportedClientException(String message, Element element) {
+		super(message);
+		this.element = element;
+	}
+
+	Element element() {
+		return element;
+	}
+}
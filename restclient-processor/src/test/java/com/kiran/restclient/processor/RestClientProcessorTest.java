@@ -0,0 +1,116 @@
+package com.kiran.restclient.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RestClientProcessorTest {
+
+	private static final String ANNOTATION = """
+			package com.kiran.stockapi.utils;
+
+			public @interface RestClient {
+			}
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testGeneratesProxyAndIndex() throws IOException {
+		// Arrange
+		Path source = write("sample/QuoteApi.java", """
+				package sample;
+
+				import jakarta.ws.rs.GET;
+				import jakarta.ws.rs.POST;
+				import jakarta.ws.rs.Path;
+				import jakarta.ws.rs.PathParam;
+				import jakarta.ws.rs.Produces;
+				import jakarta.ws.rs.QueryParam;
+				import java.util.List;
+
+				@com.kiran.stockapi.utils.RestClient
+				@Path("v1")
+				@Produces("application/json")
+				public interface QuoteApi {
+					@GET
+					@Path("data/quote")
+					String getQuote(@QueryParam("symbols") String symbols, @QueryParam("limit") int limit);
+
+					@GET
+					@Path("data/{ticker}/history")
+					List<String> getHistory(@PathParam("ticker") String ticker);
+
+					@POST
+					@Path("data/quote")
+					void putQuote(String quote);
+				}
+				""");
+
+		// Act
+		CompilationResult result = compile(source);
+
+		// Assert
+		assertTrue(result.success(), result.diagnostics());
+		String proxy = Files.readString(tempDir.resolve("generated/sample/QuoteApiRestProxy.java"));
+		assertTrue(proxy.contains("this.getQuoteTarget = target.path(\"v1\").path(\"data/quote\");"));
+		assertTrue(proxy.contains("if (symbols != null) {"));
+		assertTrue(proxy.contains("target$ = target$.queryParam(\"limit\", limit);"));
+		assertTrue(proxy.contains("target$.resolveTemplate(\"ticker\", ticker)"));
+		assertTrue(proxy.contains("request$.accept(\"application/json\");"));
+		assertTrue(proxy.contains("jakarta.ws.rs.client.Entity.entity(quote, \"application/json\")"));
+		assertEquals("sample.QuoteApi=sample.QuoteApiRestProxy\n",
+				Files.readString(tempDir.resolve("classes/" + RestClientProcessor.INDEX)));
+	}
+
+	@Test
+	void testRejectsMethodWithoutHttpMethod() throws IOException {
+		// Arrange
+		Path source = write("sample/BrokenApi.java", """
+				package sample;
+
+				@com.kiran.stockapi.utils.RestClient
+				public interface BrokenApi {
+					String getQuote(String symbols);
+				}
+				""");
+
+		// Act
+		CompilationResult result = compile(source);
+
+		// Assert
+		assertFalse(result.success());
+		assertTrue(result.diagnostics().contains("need an HTTP method annotation"), result.diagnostics());
+	}
+
+	private Path write(String name, String content) throws IOException {
+		Path file = tempDir.resolve("src").resolve(name);
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, content);
+	}
+
+	private CompilationResult compile(Path source) throws IOException {
+		Path annotation = write("com/kiran/stockapi/utils/RestClient.java", ANNOTATION);
+		Path classes = Files.createDirectories(tempDir.resolve("classes"));
+		Path generated = Files.createDirectories(tempDir.resolve("generated"));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+		int status = compiler.run(null, diagnostics, diagnostics, "-proc:full", "-processor",
+				RestClientProcessor.class.getName(), "-cp", System.getProperty("java.class.path"), "-d",
+				classes.toString(), "-s", generated.toString(), annotation.toString(), source.toString());
+		return new CompilationResult(status == 0, diagnostics.toString());
+	}
+
+	private record CompilationResult(boolean success, String diagnostics) {
+	}
+}
@@ -0,0 +1,75 @@
+package com.kiran.stockapi.fixtures;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic provider payloads shaped like the stockdata.org {@code data/quote}
+ * and Alpha Vantage {@code REALTIME_BULK_QUOTES} responses, shared by the
+ * benchmarks and the load-test upstream stubs. The figures of a quote only
+ * depend on its index in the response.
+ */
+public final class QuotePayloads {
+
+	private QuotePayloads() {
+	}
+
+	public static String ticker(int index) {
+		return "T" + index;
+	}
+
+	/** A {@code data/quote?key_by_ticker=true} response with {@code symbols} synthetic quotes. */
+	public static String stockdataQuotes(int symbols) {
+		return stockdataQuotes(tickers(symbols));
+	}
+
+	/** A {@code data/quote?key_by_ticker=true} response quoting every one of {@code tickers}. */
+	public static String stockdataQuotes(List<String> tickers) {
+		StringJoiner data = new StringJoiner(",", "{", "}");
+		for (int i = 0; i < tickers.size(); i++) {
+			data.add("\"" + tickers.get(i) + "\":" + stockdataQuote(tickers.get(i), i));
+		}
+		return "{\"meta\":{\"requested\":" + tickers.size() + ",\"returned\":" + tickers.size() + "},\"data\":"
+				+ data + "}";
+	}
+
+	public static String stockdataQuote(String ticker, int index) {
+		return """
+				{"ticker":"%s","name":"%s Inc","exchange_short":"NASDAQ","exchange_long":"NASDAQ Stock Exchange",\
+				"mic_code":"XNAS","currency":"USD","price":%d.125,"day_high":%d.5,"day_low":%d.25,"day_open":%d.75,\
+				"52_week_high":%d.0,"52_week_low":%d.0,"market_cap":3512345678901,"previous_close_price":%d.1,\
+				"previous_close_price_time":"2026-01-02T16:00:00.000000","day_change":0.42,"volume":%d,\
+				"is_extended_hours_price":false,"last_trade_time":"2026-01-05T15:59:59.000000"}"""
+				.formatted(ticker, ticker, 100 + index, 101 + index, 99 + index, 100 + index, 150 + index, 80 + index,
+						100 + index, 1_000_000 + index);
+	}
+
+	/** A {@code REALTIME_BULK_QUOTES} response with {@code symbols} synthetic quotes. */
+	public static String alphaVantageBulkQuotes(int symbols) {
+		return alphaVantageBulkQuotes(tickers(symbols));
+	}
+
+	/** A {@code REALTIME_BULK_QUOTES} response quoting every one of {@code tickers}. */
+	public static String alphaVantageBulkQuotes(List<String> tickers) {
+		StringJoiner data = new StringJoiner(",", "[", "]");
+		for (int i = 0; i < tickers.size(); i++) {
+			data.add(alphaVantageQuote(tickers.get(i), i));
+		}
+		return "{\"endpoint\":\"Realtime Bulk Quotes\",\"message\":\"\",\"data\":" + data + "}";
+	}
+
+	public static String alphaVantageQuote(String ticker, int index) {
+		return """
+				{"symbol":"%s","timestamp":"2026-01-05 16:00:00.000","open":"%d.75","high":"%d.5","low":"%d.25",\
+				"close":"%d.125","volume":"%d","previous_close":"%d.1","change":"0.42","change_percent":"0.35%%",\
+				"extended_hours_quote":"%d.2","extended_hours_change":"0.08",\
+				"extended_hours_change_percent":"0.07%%"}"""
+				.formatted(ticker, 100 + index, 101 + index, 99 + index, 100 + index, 1_000_000 + index, 100 + index,
+						100 + index);
+	}
+
+	private static List<String> tickers(int symbols) {
+		return IntStream.range(0, symbols).mapToObj(QuotePayloads::ticker).toList();
+	}
+}
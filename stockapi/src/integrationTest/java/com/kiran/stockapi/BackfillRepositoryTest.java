@@ -0,0 +1,142 @@
+package com.kiran.stockapi;
+
+import com.kiran.stockapi.price.backfill.BackfillRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Copies {@code COPY} text in the column order the parsers write into the
+ * migrated schema, with the checkpoints of the chunks and files. Each test
+ * uses tickers and files of its own.
+ */
+@Testcontainers
+public class BackfillRepositoryTest {
+
+	private static final Instant STARTED_AT = Instant.parse("2026-01-06T08:00:00Z");
+
+	@Container
+	static PostgresContainer POSTGRES_CONTAINER = new PostgresContainer();
+
+	private static HikariDataSource dataSource;
+	private static DSLContext dsl;
+	private static BackfillRepository repository;
+
+	@BeforeAll
+	static void setUp() {
+		dataSource = POSTGRES_CONTAINER.migratedPool();
+		dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+		repository = new BackfillRepository(dsl);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	public void testCopiedRowsLandInTheirColumnsAndUpdateTheCurrentQuote() {
+		// Arrange
+		int instrumentId = instrument("IBM");
+		int fileId = repository.fileId("/imports/ibm.csv", 1024, STARTED_AT, 512, "import", 1, STARTED_AT);
+
+		// Act
+		repository.loadChunk(fileId, 0,
+				row(instrumentId, "290.12345678", "2026-01-05T15:59:00Z", "2026-01-05T16:00:00Z")
+						+ row(instrumentId, "291.00000000", "2026-01-05T15:58:00Z", "2026-01-05T16:01:00Z"),
+				2, 1, STARTED_AT);
+
+		// Assert
+		Record copied = dsl.resultQuery("SELECT p.* FROM refdata.price p WHERE p.instrument_id = ? "
+				+ "ORDER BY p.pulled_at LIMIT 1", instrumentId).fetchOne();
+		Assertions.assertEquals(new BigDecimal("290.12345678"), copied.get("price"));
+		Assertions.assertEquals(new BigDecimal("2.50000000"), copied.get("day_high"));
+		Assertions.assertEquals(new BigDecimal("3512345678901.00000000"), copied.get("market_cap"));
+		Assertions.assertNull(copied.get("previous_close_price_time"));
+		Assertions.assertEquals(51_234_567L, copied.get("volume"));
+		Assertions.assertEquals(true, copied.get("is_extended_hours_price"));
+		Assertions.assertEquals(Instant.parse("2026-01-05T15:59:00Z"),
+				copied.get("last_trade_time", OffsetDateTime.class).toInstant());
+		Assertions.assertEquals("import", copied.get("source"));
+		Assertions.assertEquals(Set.of(0), repository.findLoadedChunks(fileId));
+		Assertions.assertEquals(new BigDecimal("290.12345678"), latestPrice("IBM"));
+	}
+
+	@Test
+	public void testOlderImportDoesNotReplaceTheCurrentQuote() {
+		// Arrange
+		int instrumentId = instrument("ORCL");
+		repository.load(row(instrumentId, "190.00000000", null, "2026-01-05T23:59:59Z"));
+
+		// Act
+		long rows = repository.load(row(instrumentId, "180.00000000", null, "2026-01-04T23:59:59Z"));
+
+		// Assert
+		Assertions.assertEquals(1, rows);
+		Assertions.assertEquals(new BigDecimal("190.00000000"), latestPrice("ORCL"));
+		Assertions.assertEquals(2, count(instrumentId));
+	}
+
+	@Test
+	public void testCheckpointedChunkIsNotLoadedTwice() {
+		// Arrange
+		int instrumentId = instrument("SAP");
+		int fileId = repository.fileId("/imports/sap.csv", 2048, STARTED_AT, 512, "import", 3, STARTED_AT);
+		repository.loadChunk(fileId, 0, row(instrumentId, "240.00000000", null, "2026-01-02T16:00:00Z"), 1, 0,
+				STARTED_AT);
+		repository.loadChunk(fileId, 2, row(instrumentId, "242.00000000", null, "2026-01-06T16:00:00Z"), 1, 0,
+				STARTED_AT);
+
+		// Act
+		int resumedFileId = repository.fileId("/imports/sap.csv", 2048, STARTED_AT, 512, "import", 3,
+				STARTED_AT.plusSeconds(60));
+		Set<Integer> loaded = repository.findLoadedChunks(resumedFileId);
+		Assertions.assertThrows(RuntimeException.class, () -> repository.loadChunk(fileId, 0,
+				row(instrumentId, "250.00000000", null, "2026-01-07T16:00:00Z"), 1, 0, STARTED_AT));
+		int changedFileId = repository.fileId("/imports/sap.csv", 2048, STARTED_AT.plusSeconds(1), 512, "import", 3,
+				STARTED_AT);
+
+		// Assert
+		Assertions.assertEquals(fileId, resumedFileId);
+		Assertions.assertEquals(Set.of(0, 2), loaded);
+		Assertions.assertEquals(2, count(instrumentId));
+		Assertions.assertEquals(new BigDecimal("242.00000000"), latestPrice("SAP"));
+		Assertions.assertNotEquals(fileId, changedFileId);
+		Assertions.assertEquals(Set.of(), repository.findLoadedChunks(changedFileId));
+	}
+
+	private static int instrument(String ticker) {
+		return dsl.resultQuery("INSERT INTO refdata.instrument (ticker) VALUES (?) RETURNING id", ticker)
+				.fetchOne(0, int.class);
+	}
+
+	/** A {@code COPY} text row: the columns of {@code PriceColumn.COPIED}, then the instrument id. */
+	private static String row(int instrumentId, String price, String lastTradeTime, String pulledAt) {
+		return String.join("\t", price, "2.50000000", "1.25000000", "1.75000000", "300.00000000", "150.00000000",
+				"3512345678901", "289.10000000", "\\N", "1.35000000", "51234567", "t",
+				lastTradeTime == null ? "\\N" : lastTradeTime, "import", pulledAt, String.valueOf(instrumentId))
+				+ "\n";
+	}
+
+	private static BigDecimal latestPrice(String ticker) {
+		return dsl.resultQuery("SELECT price FROM refdata.latest_price WHERE ticker = ? AND source = 'import'", ticker)
+				.fetchOne(0, BigDecimal.class);
+	}
+
+	private static int count(int instrumentId) {
+		return dsl.resultQuery("SELECT count(*) FROM refdata.price WHERE instrument_id = ?", instrumentId)
+				.fetchOne(0, int.class);
+	}
+}
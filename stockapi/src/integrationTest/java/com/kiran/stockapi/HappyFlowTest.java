@@ -23,6 +23,8 @@ public class HappyFlowTest {
 	@DynamicPropertySource
 	static void properties(DynamicPropertyRegistry registry) {
 		registry.add("spring.kafka.bootstrap-servers", KAFKA_CONTAINER::getBootstrapServers);
+		registry.add("database.enabled", () -> "true");
+		registry.add("warmup.enabled", () -> "false");
 		registry.add("spring.datasource.url", POSTGRESDB_CONTAINER::getJdbcUrl);
 		registry.add("spring.datasource.username", POSTGRESDB_CONTAINER::getUsername);
 		registry.add("spring.datasource.password", POSTGRESDB_CONTAINER::getPassword);
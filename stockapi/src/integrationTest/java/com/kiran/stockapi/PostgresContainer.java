@@ -1,6 +1,8 @@
 package com.kiran.stockapi;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
@@ -19,6 +21,18 @@ public class PostgresContainer extends PostgreSQLContainer<PostgresContainer> {
 		setShutDown();
 	}
 
+	/** A small pool on this container, after applying the Flyway migrations. */
+	public HikariDataSource migratedPool() {
+		Flyway.configure().dataSource(getJdbcUrl(), getUsername(), getPassword()).locations("classpath:db/migration")
+				.load().migrate();
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(getJdbcUrl());
+		dataSource.setUsername(getUsername());
+		dataSource.setPassword(getPassword());
+		dataSource.setMaximumPoolSize(2);
+		return dataSource;
+	}
+
 	private void setShutDown() {
 		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
 			log.info("Shutting down Postgres container");
@@ -0,0 +1,151 @@
+package com.kiran.stockapi;
+
+import com.kiran.stockapi.price.api.config.PriceBarProperties;
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import com.kiran.stockapi.price.api.contract.PriceBar;
+import com.kiran.stockapi.price.bars.BarDelta;
+import com.kiran.stockapi.price.bars.BarKey;
+import com.kiran.stockapi.price.bars.PriceBarAggregator;
+import com.kiran.stockapi.price.bars.PriceBarCatchUpJob;
+import com.kiran.stockapi.price.bars.PriceBarRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Aggregates raw pulls of {@code refdata.price} into the partitions of
+ * {@code refdata.price_bar} on the migrated schema. The catch-up checkpoints
+ * are shared by all tickers, so only one test runs the catch-up; each test
+ * uses tickers of its own.
+ */
+@Testcontainers
+public class PriceBarRepositoryTest {
+
+	@Container
+	static PostgresContainer POSTGRES_CONTAINER = new PostgresContainer();
+
+	private static HikariDataSource dataSource;
+	private static DSLContext dsl;
+	private static PriceBarRepository repository;
+
+	@BeforeAll
+	static void setUp() {
+		dataSource = POSTGRES_CONTAINER.migratedPool();
+		dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+		repository = new PriceBarRepository(dsl, dsl);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	public void testCatchUpBuildsBarsOfEveryResolutionFromRawPulls() {
+		// Arrange
+		insertPrice("NVDA", "stockdata", "100.00", 1000L, null, "2026-01-05T14:30:10Z");
+		insertPrice("NVDA", "stockdata", "103.00", 1500L, null, "2026-01-05T14:30:40Z");
+		insertPrice("NVDA", "alphavantage", "500.00", 9L, null, "2026-01-05T14:30:45Z");
+		insertPrice("NVDA", "stockdata", "99.00", 1600L, null, "2026-01-05T14:30:50Z");
+		insertPrice("NVDA", "stockdata", "101.00", 1700L, "2026-01-05T14:31:20Z", "2026-01-05T14:32:05Z");
+		insertPrice("NVDA", "stockdata", "102.00", 200L, null, "2026-01-06T14:30:05Z");
+		PriceBarAggregator aggregator = new PriceBarAggregator(repository);
+		PriceBarCatchUpJob job = new PriceBarCatchUpJob(repository, aggregator,
+				new PriceBarProperties(true, Duration.ofSeconds(5), Duration.ofDays(366), "stockdata", 100,
+						Duration.ofDays(1)));
+
+		// Act
+		job.catchUp();
+
+		// Assert
+		Assertions.assertEquals(List.of(bar("2026-01-05T14:30:00Z", "100", "103", "99", "99", 600, 3),
+				bar("2026-01-05T14:31:00Z", "101", "101", "101", "101", 100, 1)),
+				bars("NVDA", "stockdata", BarResolution.ONE_MINUTE));
+		Assertions.assertEquals(List.of(bar("2026-01-05T14:30:00Z", "500", "500", "500", "500", 0, 1)),
+				bars("NVDA", "alphavantage", BarResolution.ONE_MINUTE));
+		Assertions.assertEquals(List.of(bar("2026-01-05T14:30:00Z", "100", "103", "99", "101", 700, 4)),
+				bars("NVDA", "stockdata", BarResolution.FIVE_MINUTES));
+		Assertions.assertEquals(List.of(bar("2026-01-05T14:00:00Z", "100", "103", "99", "101", 700, 4),
+				bar("2026-01-06T14:00:00Z", "102", "102", "102", "102", 200, 1)),
+				bars("NVDA", "stockdata", BarResolution.ONE_HOUR));
+		Assertions.assertEquals(List.of(bar("2026-01-05T00:00:00Z", "100", "103", "99", "101", 700, 4),
+				bar("2026-01-06T00:00:00Z", "102", "102", "102", "102", 200, 1)),
+				bars("NVDA", "stockdata", BarResolution.ONE_DAY));
+		for (BarResolution resolution : BarResolution.values()) {
+			Assertions.assertEquals(Optional.of(resolution.bucketStart(aggregator.liveSince())),
+					repository.findCheckpoint(resolution));
+		}
+	}
+
+	@Test
+	public void testRawBarsSeeThePullBeforeTheirRange() {
+		// Arrange
+		insertPrice("TSM", "stockdata", "150.00", 4000L, null, "2026-02-02T15:59:30Z");
+		insertPrice("TSM", "stockdata", "151.00", 4250L, null, "2026-02-02T16:00:10Z");
+
+		// Act
+		List<BarDelta> deltas = repository.findRawBars(BarResolution.ONE_MINUTE,
+				Instant.parse("2026-02-02T16:00:00Z"), Instant.parse("2026-02-02T16:01:00Z"));
+
+		// Assert
+		Assertions.assertEquals(List.of(new BarDelta(
+				new BarKey("TSM", "stockdata", BarResolution.ONE_MINUTE, Instant.parse("2026-02-02T16:00:00Z")),
+				bar("2026-02-02T16:00:00Z", "151", "151", "151", "151", 250, 1), true)), deltas);
+	}
+
+	@Test
+	public void testDeltasAreMergedIntoOrReplaceTheStoredBar() {
+		// Arrange
+		BarKey hour = new BarKey("AMD", "stockdata", BarResolution.ONE_HOUR, Instant.parse("2026-03-02T15:00:00Z"));
+		BarKey day = new BarKey("AMD", "stockdata", BarResolution.ONE_DAY, Instant.parse("2026-03-02T00:00:00Z"));
+		repository.upsertDeltas(List.of(
+				new BarDelta(hour, bar("2026-03-02T15:00:00Z", "10", "12", "9", "11", 100, 2), false),
+				new BarDelta(day, bar("2026-03-02T00:00:00Z", "10", "12", "9", "11", 100, 2), false)));
+
+		// Act
+		repository.upsertDeltas(List.of(
+				new BarDelta(hour, bar("2026-03-02T15:00:00Z", "13", "14", "8", "12", 50, 1), false),
+				new BarDelta(day, bar("2026-03-02T00:00:00Z", "20", "21", "19", "20", 30, 1), true)));
+
+		// Assert
+		Assertions.assertEquals(List.of(bar("2026-03-02T15:00:00Z", "10", "14", "8", "12", 150, 3)),
+				bars("AMD", "stockdata", BarResolution.ONE_HOUR));
+		Assertions.assertEquals(List.of(bar("2026-03-02T00:00:00Z", "20", "21", "19", "20", 30, 1)),
+				bars("AMD", "stockdata", BarResolution.ONE_DAY));
+	}
+
+	private static void insertPrice(String ticker, String source, String price, Long volume, String lastTradeTime,
+			String pulledAt) {
+		dsl.execute("INSERT INTO refdata.instrument (ticker) SELECT ? WHERE NOT EXISTS "
+				+ "(SELECT 1 FROM refdata.instrument WHERE ticker = ?)", ticker, ticker);
+		dsl.execute("INSERT INTO refdata.price (instrument_id, price, volume, last_trade_time, source, pulled_at) "
+				+ "SELECT id, ?, ?, cast(? AS timestamptz), ?, ? FROM refdata.instrument WHERE ticker = ?",
+				new BigDecimal(price), volume,
+				lastTradeTime == null ? null : Instant.parse(lastTradeTime).atOffset(ZoneOffset.UTC), source,
+				Instant.parse(pulledAt).atOffset(ZoneOffset.UTC), ticker);
+	}
+
+	private static List<PriceBar> bars(String ticker, String source, BarResolution resolution) {
+		return repository.findBars(ticker, source, resolution, Instant.parse("2026-01-01T00:00:00Z"),
+				Instant.parse("2026-04-01T00:00:00Z"));
+	}
+
+	private static PriceBar bar(String barStart, String open, String high, String low, String close, long volume,
+			int tickCount) {
+		return new PriceBar(Instant.parse(barStart), new BigDecimal(open), new BigDecimal(high), new BigDecimal(low),
+				new BigDecimal(close), volume, tickCount);
+	}
+}
@@ -0,0 +1,207 @@
+package com.kiran.stockapi;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.price.api.config.PriceHistoryProperties;
+import com.kiran.stockapi.price.api.contract.AsOfPrice;
+import com.kiran.stockapi.price.api.resources.PriceHistoryResource;
+import com.kiran.stockapi.price.history.PriceHistoryRepository;
+import com.kiran.stockapi.price.history.PriceHistoryService;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.instrument.InstrumentRepository;
+import com.kiran.stockapi.price.portfolio.PortfolioRepository;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Writes ticks into the migrated schema and reads them back: the current
+ * quotes, as {@code /prices/latest} and the portfolio valuation do, and the
+ * quotes as of a point in time. Each test uses tickers of its own.
+ */
+@Testcontainers
+public class PriceHistoryRepositoryTest {
+
+	private static final Instant PULLED_AT = Instant.parse("2026-01-05T15:00:00Z");
+
+	@Container
+	static PostgresContainer POSTGRES_CONTAINER = new PostgresContainer();
+
+	private static HikariDataSource dataSource;
+	private static DSLContext dsl;
+	private static PriceHistoryRepository repository;
+
+	@BeforeAll
+	@SuppressWarnings("unchecked")
+	static void setUp() {
+		dataSource = POSTGRES_CONTAINER.migratedPool();
+		dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+		ObjectProvider<InstrumentRepository> instrumentRepository = mock(ObjectProvider.class);
+		when(instrumentRepository.getObject()).thenReturn(new InstrumentRepository(dsl));
+		repository = new PriceHistoryRepository(dsl, dsl, new InstrumentDictionary(instrumentRepository));
+	}
+
+	@AfterAll
+	static void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	public void testOlderTradeDoesNotOverwriteCurrentQuote() {
+		// Arrange
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "AAPL", "201.00", "2026-01-05T14:59:00", PULLED_AT));
+
+		// Act
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "AAPL", "199.00", "2026-01-05T14:58:00", PULLED_AT.plusSeconds(30)));
+
+		// Assert
+		Assertions.assertEquals(new BigDecimal("201.00000000"), currentPrice("AAPL", PriceTick.SOURCE_STOCKDATA));
+		Assertions.assertEquals(2, dsl.resultQuery("SELECT count(*) FROM refdata.price p JOIN refdata.instrument i "
+				+ "ON i.id = p.instrument_id WHERE i.ticker = 'AAPL'").fetchOne(0, int.class));
+	}
+
+	@Test
+	public void testNewerTradeOrPullWithoutTradeTimeOverwritesCurrentQuote() {
+		// Arrange
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "AMZN", "230.00", "2026-01-05T14:59:00", PULLED_AT));
+
+		// Act
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "AMZN", "231.00", "2026-01-05T14:59:30", PULLED_AT.plusSeconds(30)));
+		BigDecimal afterNewerTrade = currentPrice("AMZN", PriceTick.SOURCE_STOCKDATA);
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "AMZN", "232.00", null, PULLED_AT.plusSeconds(60)));
+
+		// Assert
+		Assertions.assertEquals(new BigDecimal("231.00000000"), afterNewerTrade);
+		Assertions.assertEquals(new BigDecimal("232.00000000"), currentPrice("AMZN", PriceTick.SOURCE_STOCKDATA));
+	}
+
+	@Test
+	public void testLaterTradeOfTheSameBatchWins() {
+		// Act
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "MSFT", "411.00", "2026-01-05T14:59:30", PULLED_AT),
+				tick(PriceTick.SOURCE_STOCKDATA, "MSFT", "410.00", "2026-01-05T14:59:00", PULLED_AT),
+				tick(PriceTick.SOURCE_ALPHAVANTAGE, "MSFT", "50.00", "2026-01-05T14:58:00", PULLED_AT));
+
+		// Assert
+		Assertions.assertEquals(new BigDecimal("411.00000000"), currentPrice("MSFT", PriceTick.SOURCE_STOCKDATA));
+		Assertions.assertEquals(new BigDecimal("50.00000000"), currentPrice("MSFT", PriceTick.SOURCE_ALPHAVANTAGE));
+	}
+
+	@Test
+	public void testLatestEndpointAndPortfoliosReadOneSource() {
+		// Arrange
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "NVDA", "180.00", "2026-01-05T14:59:00", PULLED_AT),
+				tick(PriceTick.SOURCE_ALPHAVANTAGE, "NVDA", "181.00", "2026-01-05T14:59:30", PULLED_AT));
+		@SuppressWarnings("unchecked")
+		PriceHistoryResource resource = new PriceHistoryResource(repository,
+				new PriceHistoryService(repository, mock(ObjectProvider.class)),
+				new PriceHistoryProperties(true, Duration.ofMinutes(15), 500, 10_000, 100), new ObjectMapper());
+
+		// Act
+		StockApiResponse response = resource.latest(List.of("nvda", "NONE"), null);
+		Map<String, BigDecimal> portfolioPrices = new PortfolioRepository(dsl)
+				.findLatestPrices(List.of("NVDA", "NONE"), PriceTick.SOURCE_ALPHAVANTAGE);
+
+		// Assert
+		Assertions.assertEquals(List.of("NVDA"), List.copyOf(response.getData().keySet()));
+		Assertions.assertEquals(new BigDecimal("180.00000000"), response.getData().get("NVDA").getPrice());
+		Assertions.assertEquals(Map.of("NVDA", new BigDecimal("181.00000000")), portfolioPrices);
+	}
+
+	@Test
+	public void testAsOfReturnsTheLastRowAtOrBeforeTheRequestedTime() {
+		// Arrange
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "GOOG", "300.00", null, PULLED_AT));
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "GOOG", "301.00", null, PULLED_AT.plusSeconds(60)));
+		insert(tick(PriceTick.SOURCE_STOCKDATA, "GOOG", "302.00", null, PULLED_AT.plusSeconds(120)));
+
+		// Act
+		List<AsOfPrice> atSecondRow = asOf(List.of("GOOG"), PULLED_AT.plusSeconds(60));
+		List<AsOfPrice> justBeforeSecondRow = asOf(List.of("GOOG"), PULLED_AT.plusSeconds(60).minusMillis(1));
+		List<AsOfPrice> beforeFirstRow = asOf(List.of("GOOG"), PULLED_AT.minusMillis(1));
+
+		// Assert
+		Assertions.assertEquals(List.of("GOOG@2026-01-05T15:01:00Z=301.00000000"), describe(atSecondRow));
+		Assertions.assertEquals(List.of("GOOG@2026-01-05T15:00:00Z=300.00000000"), describe(justBeforeSecondRow));
+		Assertions.assertEquals(List.of(), beforeFirstRow);
+	}
+
+	@Test
+	public void testAsOfSkipsUnknownTickersAndPicksTheNewestInstrument() {
+		// Arrange
+		insert(listing("SHEL", "XLON", "GBP", "27.00", PULLED_AT));
+		insert(listing("SHEL", "XNYS", "USD", "72.00", PULLED_AT.plusSeconds(60)));
+		insert(listing("SHEL", "XLON", "GBP", "27.10", PULLED_AT.plusSeconds(120)));
+		insert(tick(PriceTick.SOURCE_ALPHAVANTAGE, "TSLA", "400.00", null, PULLED_AT));
+
+		// Act
+		List<AsOfPrice> between = asOf(List.of("SHEL", "NONE", "TSLA"), PULLED_AT.plusSeconds(90));
+		List<AsOfPrice> after = new ArrayList<>();
+		repository.findAsOf(List.of("SHEL"), PriceTick.SOURCE_STOCKDATA, PULLED_AT.plusSeconds(180),
+				EnumSet.of(QuoteField.TICKER, QuoteField.CURRENCY, QuoteField.PRICE), after::add);
+
+		// Assert
+		Assertions.assertEquals(List.of("SHEL@2026-01-05T15:01:00Z=72.00000000"), describe(between));
+		Assertions.assertEquals("USD", between.getFirst().quote().getCurrency());
+		Assertions.assertEquals(List.of("SHEL@2026-01-05T15:02:00Z=27.10000000"), describe(after));
+		Assertions.assertEquals("GBP", after.getFirst().quote().getCurrency());
+		Assertions.assertNull(after.getFirst().quote().getMicCode());
+	}
+
+	private static List<AsOfPrice> asOf(List<String> tickers, Instant asOf) {
+		List<AsOfPrice> found = new ArrayList<>();
+		repository.findAsOf(tickers, PriceTick.SOURCE_STOCKDATA, asOf, found::add);
+		return found;
+	}
+
+	private static List<String> describe(List<AsOfPrice> prices) {
+		return prices.stream().map(price -> price.symbol() + "@" + price.pulledAt() + "=" + price.quote().getPrice())
+				.toList();
+	}
+
+	private static void insert(PriceTick... ticks) {
+		repository.insert(Arrays.asList(ticks), Arrays.asList(new Instant[ticks.length]));
+	}
+
+	private static BigDecimal currentPrice(String ticker, String source) {
+		return repository.findCurrent(List.of(ticker), source).get(ticker).getPrice();
+	}
+
+	private static PriceTick tick(String source, String ticker, String price, String lastTradeTime,
+			Instant pulledAt) {
+		return new PriceTick(source, pulledAt, new Quote(ticker, ticker + " Inc", "NASDAQ", null,
+				"XNAS", "USD", new BigDecimal(price), null, null, null, null, null, null, null, null, null, null, false,
+				lastTradeTime == null ? null : LocalDateTime.parse(lastTradeTime)));
+	}
+
+	/** A tick of one listing of {@code ticker}; each mic code is an instrument of its own. */
+	private static PriceTick listing(String ticker, String micCode, String currency, String price,
+			Instant pulledAt) {
+		return new PriceTick(PriceTick.SOURCE_STOCKDATA, pulledAt, new Quote(ticker, ticker + " plc", null, null,
+				micCode, currency, new BigDecimal(price), null, null, null, null, null, null, null, null, null, null,
+				false, null));
+	}
+}
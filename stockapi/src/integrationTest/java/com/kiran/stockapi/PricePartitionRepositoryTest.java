@@ -0,0 +1,117 @@
+package com.kiran.stockapi;
+
+import com.kiran.stockapi.price.archive.ArchivedPrice;
+import com.kiran.stockapi.price.archive.PricePartitionRepository;
+import com.kiran.stockapi.price.archive.PricePartitionRepository.ArchiveEntry;
+import com.kiran.stockapi.price.archive.PricePartitionRepository.ArchivedFile;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Creates, fills and archives monthly partitions of {@code refdata.price} on
+ * the migrated schema. Each test works on a month of its own.
+ */
+@Testcontainers
+public class PricePartitionRepositoryTest {
+
+	@Container
+	static PostgresContainer POSTGRES_CONTAINER = new PostgresContainer();
+
+	private static HikariDataSource dataSource;
+	private static DSLContext dsl;
+	private static PricePartitionRepository repository;
+
+	@BeforeAll
+	static void setUp() {
+		dataSource = POSTGRES_CONTAINER.migratedPool();
+		dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+		repository = new PricePartitionRepository(dsl, dsl);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	public void testCreatedPartitionTakesOverRowsAndArchivingDropsIt() {
+		// Arrange
+		YearMonth month = YearMonth.of(2020, 3);
+		insertPrice("MSFT", "2020-03-31T20:00:00Z", "410.00");
+		insertPrice("AAPL", "2020-03-02T15:00:00Z", "170.00");
+		insertPrice("AAPL", "2020-03-01T15:00:00Z", "169.00");
+		insertPrice("AAPL", "2020-04-01T15:00:00Z", "171.00");
+		List<ArchivedPrice> exported = new ArrayList<>();
+
+		// Act
+		List<YearMonth> defaultMonthsBefore = repository.findDefaultMonths();
+		repository.createPartition(month);
+		int partitionRows = count("refdata.price_y2020m03");
+		List<YearMonth> defaultMonthsAfter = repository.findDefaultMonths();
+		ArchivedFile file = repository.archive(month, rows -> {
+			rows.forEachRemaining(exported::add);
+			return new ArchivedFile("price_y2020m03.prca", exported.size(), 1024);
+		});
+
+		// Assert
+		Assertions.assertTrue(defaultMonthsBefore.contains(month));
+		Assertions.assertEquals(3, partitionRows);
+		Assertions.assertFalse(defaultMonthsAfter.contains(month));
+		Assertions.assertTrue(defaultMonthsAfter.contains(month.plusMonths(1)));
+		Assertions.assertEquals(new ArchivedFile("price_y2020m03.prca", 3, 1024), file);
+		Assertions.assertEquals(List.of("AAPL@2020-03-01T15:00:00Z", "AAPL@2020-03-02T15:00:00Z",
+				"MSFT@2020-03-31T20:00:00Z"),
+				exported.stream().map(price -> price.quote().ticker() + "@" + price.pulledAt()).toList());
+		Assertions.assertFalse(repository.findPartitionMonths().contains(month));
+		Assertions.assertEquals(0, count("refdata.price WHERE pulled_at < '2020-04-01T00:00:00Z'"));
+		Assertions.assertEquals(List.of(new ArchiveEntry(Instant.parse("2020-03-01T00:00:00Z"),
+				Instant.parse("2020-04-01T00:00:00Z"), "price_y2020m03.prca")),
+				repository.findArchives(Instant.parse("2020-03-15T00:00:00Z"), Instant.parse("2020-03-16T00:00:00Z")));
+	}
+
+	@Test
+	public void testFailedExportLeavesPartitionInPlace() {
+		// Arrange
+		YearMonth month = YearMonth.of(2019, 6);
+		insertPrice("AAPL", "2019-06-03T15:00:00Z", "45.00");
+		repository.createPartition(month);
+
+		// Act
+		Assertions.assertThrows(RuntimeException.class, () -> repository.archive(month, rows -> {
+			throw new IOException("disk full");
+		}));
+
+		// Assert
+		Assertions.assertTrue(repository.findPartitionMonths().contains(month));
+		Assertions.assertEquals(1, count("refdata.price_y2019m06"));
+		Assertions.assertEquals(List.of(),
+				repository.findArchives(Instant.parse("2019-06-01T00:00:00Z"), Instant.parse("2019-07-01T00:00:00Z")));
+	}
+
+	private static void insertPrice(String ticker, String pulledAt, String price) {
+		dsl.execute("INSERT INTO refdata.instrument (ticker) SELECT ? WHERE NOT EXISTS "
+				+ "(SELECT 1 FROM refdata.instrument WHERE ticker = ?)", ticker, ticker);
+		dsl.execute("INSERT INTO refdata.price (instrument_id, price, source, pulled_at) "
+				+ "SELECT id, ?, 'stockdata', ? FROM refdata.instrument WHERE ticker = ?", new BigDecimal(price),
+				Instant.parse(pulledAt).atOffset(ZoneOffset.UTC), ticker);
+	}
+
+	private static int count(String from) {
+		return dsl.resultQuery("SELECT count(*) FROM " + from).fetchOne(0, int.class);
+	}
+}
@@ -0,0 +1,114 @@
+package com.kiran.stockapi;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.price.api.config.QuoteClusterProperties;
+import com.kiran.stockapi.price.api.config.QuoteSnapshotProperties;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.snapshot.QuoteCluster;
+import com.kiran.stockapi.price.snapshot.QuoteSnapshotService;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteFreshness;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Two instances sharing quotes through one Postgres. */
+@Testcontainers
+public class QuoteClusterTest {
+
+	@Container
+	static PostgresContainer POSTGRESDB_CONTAINER = new PostgresContainer();
+
+	private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+	@Test
+	public void testOnlyLeaderCallsUpstream() throws Exception {
+		// Arrange
+		try (HikariDataSource dataSource = dataSource()) {
+			Instance first = new Instance(dataSource);
+			Instance second = new Instance(dataSource);
+			try {
+				Instance leader = awaitLeader(first, second);
+				Instance follower = leader == first ? second : first;
+
+				// Act
+				StockApiResponse response = follower.service.quotes(List.of("AAPL"));
+
+				// Assert
+				verify(follower.quoteClient, never()).getQuote(anyString(), eq(true));
+				verify(leader.quoteClient).getQuote("AAPL", true);
+				Assertions.assertEquals(QuoteFreshness.CACHE, response.getFreshness().get("AAPL").source());
+				Assertions.assertEquals(0, new BigDecimal("231.45")
+						.compareTo(response.getData().get("AAPL").getPrice()));
+			} finally {
+				first.cluster.destroy();
+				second.cluster.destroy();
+			}
+		}
+	}
+
+	private static Instance awaitLeader(Instance first, Instance second) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			if (first.cluster.isLeader() != second.cluster.isLeader()) {
+				return first.cluster.isLeader() ? first : second;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("No quote cluster leader was elected");
+	}
+
+	private static HikariDataSource dataSource() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(POSTGRESDB_CONTAINER.getJdbcUrl());
+		dataSource.setUsername(POSTGRESDB_CONTAINER.getUsername());
+		dataSource.setPassword(POSTGRESDB_CONTAINER.getPassword());
+		return dataSource;
+	}
+
+	private static final class Instance {
+
+		final QuoteClient quoteClient = mock(QuoteClient.class);
+		final QuoteSnapshotService service;
+		final QuoteCluster cluster;
+
+		@SuppressWarnings("unchecked")
+		Instance(HikariDataSource dataSource) {
+			Quote quote = new Quote("AAPL", "Apple Inc", null, null, null, "USD", new BigDecimal("231.45"), null, null,
+					null, null, null, null, null, null, null, 1000L, false, null);
+			when(quoteClient.getQuote("AAPL", true))
+					.thenReturn(new StockApiResponse(new Meta(1, 1), Map.of("AAPL", quote)));
+			service = new QuoteSnapshotService(quoteClient, mock(PriceTickPublisher.class),
+					new InstrumentDictionary(mock(ObjectProvider.class)),
+					new QuoteSnapshotProperties(Duration.ofSeconds(5), Duration.ofSeconds(60)));
+			DataSourceProperties properties = new DataSourceProperties();
+			properties.setUrl(POSTGRESDB_CONTAINER.getJdbcUrl());
+			properties.setUsername(POSTGRESDB_CONTAINER.getUsername());
+			properties.setPassword(POSTGRESDB_CONTAINER.getPassword());
+			cluster = new QuoteCluster(properties, DSL.using(dataSource, SQLDialect.POSTGRES), OBJECT_MAPPER, service,
+					new QuoteClusterProperties(true, 42L, Duration.ofSeconds(5), Duration.ofMillis(100)));
+			cluster.afterPropertiesSet();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.kiran.stockapi;
+
+import com.kiran.stockapi.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Routes reads between two independent Postgres containers standing in for
+ * the primary and a replica.
+ */
+@Testcontainers
+public class ReplicaRoutingTest {
+
+	@Container
+	static PostgresContainer PRIMARY_CONTAINER = new PostgresContainer();
+
+	@Container
+	static PostgresContainer REPLICA_CONTAINER = new PostgresContainer();
+
+	@Test
+	public void testReadsUseReplicaAndFallBackToPrimaryWhenItIsDown() throws Exception {
+		// Arrange
+		try (HikariDataSource primary = pool(PRIMARY_CONTAINER);
+				HikariDataSource replica = pool(REPLICA_CONTAINER);
+				ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+						Map.of("replica-1", replica), Duration.ofSeconds(5), new SimpleMeterRegistry())) {
+			label(primary, "primary");
+			label(replica, "replica-1");
+			routing.afterPropertiesSet();
+
+			// Act
+			String whileInSync = routedLabel(routing);
+			replica.close();
+			routing.refreshLag();
+			String afterOutage = routedLabel(routing);
+
+			// Assert
+			Assertions.assertEquals("replica-1", whileInSync);
+			Assertions.assertEquals("primary", afterOutage);
+		}
+	}
+
+	private static HikariDataSource pool(PostgresContainer container) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(container.getJdbcUrl());
+		dataSource.setUsername(container.getUsername());
+		dataSource.setPassword(container.getPassword());
+		dataSource.setMaximumPoolSize(2);
+		return dataSource;
+	}
+
+	private static void label(HikariDataSource dataSource, String name) throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS node (name text)");
+			statement.execute("INSERT INTO node VALUES ('" + name + "')");
+		}
+	}
+
+	private static String routedLabel(ReplicaRoutingDataSource routing) throws SQLException {
+		try (Connection connection = routing.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+			resultSet.next();
+			return resultSet.getString(1);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.kiran.stockapi.alphavantage.api.contract;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.fixtures.QuotePayloads;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Deserialisation cost of an Alpha Vantage realtime bulk quote response by batch size. */
+@State(Scope.Benchmark)
+public class RealtimeBulkQuotesJsonBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int symbols;
+
+	private ObjectReader reader;
+	private byte[] payload;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		reader = objectMapper.readerFor(RealtimeBulkQuotesResponse.class);
+		payload = QuotePayloads.alphaVantageBulkQuotes(symbols).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public RealtimeBulkQuotesResponse deserialise() throws IOException {
+		return reader.readValue(payload);
+	}
+}
@@ -0,0 +1,44 @@
+package com.kiran.stockapi.common.gcp;
+
+import static com.kiran.stockapi.config.CacheConfig.SECRET_CACHE;
+
+import com.kiran.stockapi.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Cost of a cached {@link SecretManagerService#getSecret(String, String)}
+ * call, i.e. the Spring cache proxy, SpEL key evaluation and map lookup paid
+ * on every outgoing provider request. The cache is pre-populated so Secret
+ * Manager is never called.
+ */
+@State(Scope.Benchmark)
+public class SecretManagerServiceCacheBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+	private SecretManagerService secretManagerService;
+
+	@Setup
+	public void setUp() {
+		context = new AnnotationConfigApplicationContext(CacheConfig.class, SecretManagerService.class,
+				SimpleMeterRegistry.class);
+		context.getBean(CacheManager.class).getCache(SECRET_CACHE).put("project:secret:latest", "token");
+		secretManagerService = context.getBean(SecretManagerService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String cachedSecret() {
+		return secretManagerService.getSecret("project", "secret");
+	}
+}
@@ -0,0 +1,91 @@
+package com.kiran.stockapi.price.history;
+
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.instrument.InstrumentRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.flywaydb.core.Flyway;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * {@link PriceHistoryRepository#findAsOf} against a Postgres container holding
+ * {@value #TICKERS} tickers with {@value #ROWS_PER_TICKER} hourly rows each: the
+ * single set-based query vs one query per ticker. Needs Docker.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PriceAsOfBenchmark {
+
+	private static final int TICKERS = 10_000;
+	private static final int ROWS_PER_TICKER = 50;
+	private static final String SOURCE = "stockdata";
+	/** Halfway through the seeded history, so every lookup skips rows. */
+	private static final Instant AS_OF = Instant.parse("2025-01-02T00:30:00Z");
+
+	@Param({"10", "1000", "10000"})
+	public int symbols;
+
+	private PostgreSQLContainer<?> postgres;
+	private HikariDataSource dataSource;
+	private PriceHistoryRepository repository;
+	private List<String> tickers;
+
+	@Setup
+	public void setUp() {
+		postgres = new PostgreSQLContainer<>("postgres:16.10");
+		postgres.start();
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(postgres.getJdbcUrl());
+		dataSource.setUsername(postgres.getUsername());
+		dataSource.setPassword(postgres.getPassword());
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		DSLContext dsl = DSL.using(dataSource, SQLDialect.POSTGRES);
+		dsl.execute("""
+				INSERT INTO refdata.instrument (ticker, currency)
+				SELECT 'T' || lpad(n::text, 5, '0'), 'USD' FROM generate_series(1, ?) n
+				""", TICKERS);
+		dsl.execute("""
+				INSERT INTO refdata.price (instrument_id, source, price, volume, pulled_at)
+				SELECT i.id, ?, 100 + h, h * 1000, timestamptz '2025-01-01 00:00:00+00' + h * interval '1 hour'
+				FROM refdata.instrument i CROSS JOIN generate_series(0, ? - 1) h
+				""", SOURCE, ROWS_PER_TICKER);
+		dsl.execute("ANALYZE refdata.instrument, refdata.price");
+		repository = new PriceHistoryRepository(dsl, dsl, new InstrumentDictionary(
+				new StaticListableBeanFactory().getBeanProvider(InstrumentRepository.class)));
+		tickers = IntStream.rangeClosed(1, symbols).mapToObj(n -> "T%05d".formatted(n * (TICKERS / symbols)))
+				.toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+		postgres.stop();
+	}
+
+	@Benchmark
+	public void setBased(Blackhole blackhole) {
+		repository.findAsOf(tickers, SOURCE, AS_OF, blackhole::consume);
+	}
+
+	@Benchmark
+	public void queryPerTicker(Blackhole blackhole) {
+		for (String ticker : tickers) {
+			repository.findAsOf(List.of(ticker), SOURCE, AS_OF, blackhole::consume);
+		}
+	}
+}
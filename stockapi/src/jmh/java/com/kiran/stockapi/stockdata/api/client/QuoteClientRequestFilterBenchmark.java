@@ -0,0 +1,56 @@
+package com.kiran.stockapi.stockdata.api.client;
+
+import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.stockdata.api.config.QuoteClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.client.ClientRequestContext;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of {@link QuoteClientRequestFilter#filter(ClientRequestContext)}, i.e.
+ * appending the API token to every outgoing request URI. The secret lookup is
+ * stubbed so only the URI rewriting and its filter timer are measured.
+ */
+@State(Scope.Thread)
+public class QuoteClientRequestFilterBenchmark {
+
+	private static final URI REQUEST_URI = URI
+			.create("https://api.stockdata.org/v1/data/quote?symbols=NVDA%2CMSFT%2CAAPL&key_by_ticker=true");
+
+	private QuoteClientRequestFilter filter;
+	private ClientRequestContext requestContext;
+	private URI uri;
+
+	@Setup
+	public void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SecretManagerService secretManagerService = new SecretManagerService(meterRegistry) {
+			@Override
+			public String getSecret(String projectId, String secretId) {
+				return "0123456789abcdef0123456789abcdef";
+			}
+		};
+		filter = new QuoteClientRequestFilter(
+				new QuoteClientProperties("https://api.stockdata.org/v1", "project", "secret"), secretManagerService,
+				new UpstreamMetrics(meterRegistry));
+		requestContext = (ClientRequestContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{ClientRequestContext.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "getUri" -> uri;
+					case "setUri" -> uri = (URI) args[0];
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	@Benchmark
+	public URI filter() {
+		uri = REQUEST_URI;
+		filter.filter(requestContext);
+		return uri;
+	}
+}
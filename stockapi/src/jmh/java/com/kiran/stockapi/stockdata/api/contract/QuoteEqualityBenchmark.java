@@ -0,0 +1,51 @@
+package com.kiran.stockapi.stockdata.api.contract;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the value-based {@link Quote#equals(Object)} and
+ * {@link Quote#hashCode()}, which strip trailing zeros of all nine prices on
+ * every call.
+ */
+@State(Scope.Benchmark)
+public class QuoteEqualityBenchmark {
+
+	private Quote quote;
+	private Quote sameValueDifferentScale;
+	private Quote differentPrice;
+
+	@Setup
+	public void setUp() {
+		quote = quote("187.1250", "188.50");
+		sameValueDifferentScale = quote("187.125", "188.5000");
+		differentPrice = quote("187.13", "188.50");
+	}
+
+	@Benchmark
+	public int hashCodeOf() {
+		return quote.hashCode();
+	}
+
+	@Benchmark
+	public boolean equalsSameValue() {
+		return quote.equals(sameValueDifferentScale);
+	}
+
+	@Benchmark
+	public boolean equalsDifferentValue() {
+		return quote.equals(differentPrice);
+	}
+
+	private static Quote quote(String price, String dayHigh) {
+		return new Quote("AAPL", "Apple Inc", "NASDAQ", "NASDAQ Stock Exchange", "XNAS", "USD", new BigDecimal(price),
+				new BigDecimal(dayHigh), new BigDecimal("185.00"), new BigDecimal("186.20"),
+				new BigDecimal("199.62"), new BigDecimal("164.08"), new BigDecimal("2901234567890"),
+				new BigDecimal("186.40"), LocalDateTime.parse("2026-01-02T16:00:00"), new BigDecimal("0.725"),
+				54_321_000L, false, LocalDateTime.parse("2026-01-05T15:59:59"));
+	}
+}
@@ -0,0 +1,36 @@
+package com.kiran.stockapi.stockdata.api.contract;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.fixtures.QuotePayloads;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Deserialisation cost of a stockdata.org quote response by batch size. */
+@State(Scope.Benchmark)
+public class StockApiResponseJsonBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int symbols;
+
+	private ObjectReader reader;
+	private byte[] payload;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		reader = objectMapper.readerFor(StockApiResponse.class);
+		payload = QuotePayloads.stockdataQuotes(symbols).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public StockApiResponse deserialise() throws IOException {
+		return reader.readValue(payload);
+	}
+}
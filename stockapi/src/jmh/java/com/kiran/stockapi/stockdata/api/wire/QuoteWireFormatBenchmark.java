@@ -0,0 +1,69 @@
+package com.kiran.stockapi.stockdata.api.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.fixtures.QuotePayloads;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encode/decode cost of a quote response in Jackson JSON vs the
+ * {@link QuoteBinaryCodec} format. The size of each format is checked by
+ * {@code QuoteBinaryCodecTest}.
+ */
+@State(Scope.Benchmark)
+public class QuoteWireFormatBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int symbols;
+
+	private ObjectWriter jsonWriter;
+	private ObjectReader jsonReader;
+	private StockApiResponse response;
+	private byte[] json;
+	private byte[] binary;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		jsonWriter = objectMapper.writerFor(StockApiResponse.class);
+		jsonReader = objectMapper.readerFor(StockApiResponse.class);
+		response = jsonReader.readValue(QuotePayloads.stockdataQuotes(symbols).getBytes(StandardCharsets.UTF_8));
+		json = jsonWriter.writeValueAsBytes(response);
+		binary = encodeBinary();
+	}
+
+	@Benchmark
+	public byte[] encodeJson() throws IOException {
+		return jsonWriter.writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public byte[] encodeBinary() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(json == null ? 256 : json.length);
+		QuoteBinaryCodec.writeResponse(response, new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public StockApiResponse decodeJson() throws IOException {
+		return jsonReader.readValue(json);
+	}
+
+	@Benchmark
+	public StockApiResponse decodeBinary() throws IOException {
+		return QuoteBinaryCodec.readResponse(new DataInputStream(new ByteArrayInputStream(binary)));
+	}
+}
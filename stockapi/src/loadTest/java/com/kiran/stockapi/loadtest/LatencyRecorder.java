@@ -0,0 +1,49 @@
+package com.kiran.stockapi.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Records request latencies into a pre-sized array; percentiles are computed once at the end. */
+final class LatencyRecorder {
+
+	private final long[] latenciesNanos;
+	private final AtomicInteger recorded = new AtomicInteger();
+	private final AtomicLong errors = new AtomicLong();
+
+	LatencyRecorder(int expectedRequests) {
+		this.latenciesNanos = new long[expectedRequests];
+	}
+
+	void record(long latencyNanos, boolean success) {
+		int index = recorded.getAndIncrement();
+		if (index < latenciesNanos.length) {
+			latenciesNanos[index] = latencyNanos;
+		}
+		if (!success) {
+			errors.incrementAndGet();
+		}
+	}
+
+	int count() {
+		return Math.min(recorded.get(), latenciesNanos.length);
+	}
+
+	long errors() {
+		return errors.get();
+	}
+
+	/** Latency percentiles in milliseconds, in the order requested. */
+	double[] percentilesMillis(double... percentiles) {
+		long[] sorted = Arrays.copyOf(latenciesNanos, count());
+		Arrays.sort(sorted);
+		double[] result = new double[percentiles.length];
+		for (int i = 0; i < percentiles.length; i++) {
+			if (sorted.length > 0) {
+				int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length) - 1;
+				result[i] = sorted[Math.max(0, rank)] / 1_000_000.0;
+			}
+		}
+		return result;
+	}
+}
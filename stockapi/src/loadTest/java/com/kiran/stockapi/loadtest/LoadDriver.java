@@ -0,0 +1,80 @@
+package com.kiran.stockapi.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule
+ * regardless of how long earlier requests take, and latency is measured from
+ * the scheduled start so that a slow server cannot hide queueing delay
+ * (coordinated omission).
+ */
+final class LoadDriver {
+
+	private final HttpClient httpClient;
+	private final boolean measureAllocations;
+
+	LoadDriver(boolean measureAllocations) {
+		this.httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5)).build();
+		this.measureAllocations = measureAllocations;
+	}
+
+	LoadReport run(String endpoint, URI uri, double rps, Duration duration) {
+		long intervalNanos = (long) (1_000_000_000L / rps);
+		int total = (int) Math.max(1, duration.toNanos() / intervalNanos);
+		LatencyRecorder recorder = new LatencyRecorder(total);
+		long allocatedBefore = allocatedBytes();
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < total; i++) {
+				long scheduledAt = start + i * intervalNanos;
+				parkUntil(scheduledAt);
+				executor.submit(() -> send(uri, scheduledAt, recorder));
+			}
+		}
+		double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		long allocated = allocatedBytes() - allocatedBefore;
+		double[] percentiles = recorder.percentilesMillis(50, 99, 99.9);
+		int requests = recorder.count();
+		return new LoadReport(endpoint, rps, requests, recorder.errors(), requests / elapsedSeconds, percentiles[0],
+				percentiles[1], percentiles[2], measureAllocations && requests > 0 ? allocated / requests : -1);
+	}
+
+	private void send(URI uri, long scheduledAt, LatencyRecorder recorder) {
+		boolean success;
+		try {
+			HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+			HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+			success = response.statusCode() / 100 == 2;
+		} catch (IOException e) {
+			success = false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			success = false;
+		}
+		recorder.record(System.nanoTime() - scheduledAt, success);
+	}
+
+	private static void parkUntil(long deadlineNanos) {
+		long remaining;
+		while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+	private static long allocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+			return threadMXBean.getTotalThreadAllocatedBytes();
+		}
+		return 0;
+	}
+}
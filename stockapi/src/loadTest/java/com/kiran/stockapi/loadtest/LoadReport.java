@@ -0,0 +1,13 @@
+package com.kiran.stockapi.loadtest;
+
+/**
+ * Result of driving one endpoint.
+ *
+ * @param allocatedBytesPerRequest
+ *            JVM-wide heap allocation divided by completed requests; for
+ *            in-process runs this includes the load driver and the upstream
+ *            stubs, and is -1 when driving an external target
+ */
+public record LoadReport(String endpoint, double offeredRps, long requests, long errors, double throughputRps,
+		double p50Millis, double p99Millis, double p999Millis, long allocatedBytesPerRequest) {
+}
@@ -0,0 +1,19 @@
+package com.kiran.stockapi.loadtest;
+
+import com.kiran.stockapi.common.gcp.SecretManagerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Extra application source for in-process load tests. Not annotated with
+ * {@code @Configuration} so that it is only picked up when passed explicitly.
+ */
+public class LoadTestConfig {
+
+	@Bean
+	@Primary
+	public SecretManagerService stubSecretManagerService(MeterRegistry meterRegistry) {
+		return new StubSecretManagerService(meterRegistry);
+	}
+}
@@ -0,0 +1,98 @@
+package com.kiran.stockapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kiran.stockapi.StockApiApplication;
+import com.kiran.stockapi.fixtures.QuotePayloads;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point of the {@code loadTest} Gradle task. Starts the upstream stubs
+ * and the application in-process (unless {@code loadtest.target-url} points at
+ * a running instance), drives each configured endpoint at the configured rate
+ * and writes a JSON report.
+ */
+@Slf4j
+public final class LoadTestHarness {
+
+	private LoadTestHarness() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		log.info("Load test settings: {}", settings);
+		boolean inProcess = settings.targetUrl().isBlank();
+		List<LoadReport> reports;
+		if (inProcess) {
+			try (UpstreamStub upstreamStub = new UpstreamStub(settings);
+					ConfigurableApplicationContext context = startApplication(upstreamStub)) {
+				int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+				reports = drive(settings, "http://127.0.0.1:" + port, true);
+			}
+		} else {
+			reports = drive(settings, settings.targetUrl(), false);
+		}
+		reports.forEach(LoadTestHarness::logReport);
+		writeReport(settings, reports);
+	}
+
+	private static ConfigurableApplicationContext startApplication(UpstreamStub upstreamStub) {
+		return new SpringApplicationBuilder(StockApiApplication.class, LoadTestConfig.class)
+				.properties("server.port=0", "quote-client.base-url=" + upstreamStub.baseUrl() + "/v1",
+						"alphavantage-client.base-url=" + upstreamStub.baseUrl(),
+						// The stub has no call budget; the real one would turn most requests into 429s
+						"alphavantage-quota.requests-per-minute=" + Integer.MAX_VALUE,
+						"alphavantage-quota.requests-per-day=" + Integer.MAX_VALUE,
+						"logging.level.com.kiran.stockapi=WARN")
+				.run();
+	}
+
+	private static List<LoadReport> drive(LoadTestSettings settings, String baseUrl, boolean measureAllocations) {
+		LoadDriver driver = new LoadDriver(measureAllocations);
+		List<LoadReport> reports = new ArrayList<>();
+		for (String endpoint : settings.endpoints()) {
+			URI uri = URI.create(baseUrl + path(endpoint, settings.symbols()));
+			log.info("Warming up {} for {}", uri, settings.warmup());
+			driver.run(endpoint, uri, settings.rps(), settings.warmup());
+			log.info("Driving {} at {} rps for {}", uri, settings.rps(), settings.duration());
+			reports.add(driver.run(endpoint, uri, settings.rps(), settings.duration()));
+		}
+		return reports;
+	}
+
+	private static String path(String endpoint, int symbols) {
+		return switch (endpoint) {
+			case "quotes" -> "/quotes";
+			case "alphavantage" -> "/alphavantage/realtime-bulk-quotes?symbols="
+					+ IntStream.range(0, symbols).mapToObj(QuotePayloads::ticker).collect(Collectors.joining(","));
+			default -> throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+		};
+	}
+
+	private static void logReport(LoadReport report) {
+		log.info("{}: {} requests ({} errors), {} rps, p50={} ms, p99={} ms, p999={} ms, {} B allocated/request",
+				report.endpoint(), report.requests(), report.errors(), String.format("%.1f", report.throughputRps()),
+				String.format("%.2f", report.p50Millis()), String.format("%.2f", report.p99Millis()),
+				String.format("%.2f", report.p999Millis()), report.allocatedBytesPerRequest());
+	}
+
+	private static void writeReport(LoadTestSettings settings, List<LoadReport> reports) throws IOException {
+		Path reportFile = Path.of(settings.reportFile());
+		if (reportFile.getParent() != null) {
+			Files.createDirectories(reportFile.getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), reports);
+		log.info("Report written to {}", reportFile.toAbsolutePath());
+	}
+}
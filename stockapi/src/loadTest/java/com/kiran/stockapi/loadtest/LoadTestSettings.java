@@ -0,0 +1,50 @@
+package com.kiran.stockapi.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load-test settings, read from {@code loadtest.*} system properties (the
+ * Gradle {@code loadTest} task forwards {@code -Ploadtest.*} properties).
+ *
+ * @param rps
+ *            requests per second offered to each endpoint
+ * @param warmup
+ *            duration of the discarded warm-up phase
+ * @param duration
+ *            duration of the measured phase
+ * @param endpoints
+ *            endpoints to drive: {@code quotes} and/or {@code alphavantage}
+ * @param symbols
+ *            number of symbols per upstream response (payload size)
+ * @param upstreamLatency
+ *            fixed latency added by the upstream stubs
+ * @param upstreamJitter
+ *            maximum random latency added on top of {@code upstreamLatency}
+ * @param upstreamErrorRate
+ *            fraction of upstream calls answered with HTTP 500
+ * @param targetUrl
+ *            base URL of an already running instance; when blank the
+ *            application is started in-process against the stubs
+ * @param reportFile
+ *            where the JSON report is written
+ */
+public record LoadTestSettings(double rps, Duration warmup, Duration duration, List<String> endpoints, int symbols,
+		Duration upstreamLatency, Duration upstreamJitter, double upstreamErrorRate, String targetUrl,
+		String reportFile) {
+
+	public static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(Double.parseDouble(property("rps", "100")),
+				Duration.parse(property("warmup", "PT5S")), Duration.parse(property("duration", "PT30S")),
+				Arrays.stream(property("endpoints", "quotes,alphavantage").split(",")).map(String::trim).toList(),
+				Integer.parseInt(property("symbols", "3")), Duration.parse(property("upstream-latency", "PT0.05S")),
+				Duration.parse(property("upstream-jitter", "PT0.02S")),
+				Double.parseDouble(property("upstream-error-rate", "0.0")), property("target-url", ""),
+				property("report-file", "build/results/loadtest/report.json"));
+	}
+
+	private static String property(String name, String defaultValue) {
+		return System.getProperty("loadtest." + name, defaultValue);
+	}
+}
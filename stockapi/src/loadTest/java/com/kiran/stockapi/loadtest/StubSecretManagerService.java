@@ -0,0 +1,24 @@
+package com.kiran.stockapi.loadtest;
+
+import com.kiran.stockapi.common.gcp.SecretManagerService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/** Serves a fixed token instead of calling Google Cloud Secret Manager. */
+public class StubSecretManagerService extends SecretManagerService {
+
+	static final String TOKEN = "load-test-token";
+
+	public StubSecretManagerService(MeterRegistry meterRegistry) {
+		super(meterRegistry);
+	}
+
+	@Override
+	public String getSecret(String projectId, String secretId, String versionId) {
+		return TOKEN;
+	}
+
+	@Override
+	public String getSecret(String projectId, String secretId) {
+		return TOKEN;
+	}
+}
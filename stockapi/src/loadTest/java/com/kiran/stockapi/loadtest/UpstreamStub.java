@@ -0,0 +1,122 @@
+package com.kiran.stockapi.loadtest;
+
+import com.kiran.stockapi.fixtures.QuotePayloads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in for stockdata.org ({@code /v1/data/quote}) and Alpha Vantage
+ * ({@code /query?function=REALTIME_BULK_QUOTES}) with configurable latency,
+ * error rate and payload size.
+ */
+@Slf4j
+public class UpstreamStub implements AutoCloseable {
+
+	private final LoadTestSettings settings;
+	private final HttpServer server;
+
+	public UpstreamStub(LoadTestSettings settings) throws IOException {
+		this.settings = settings;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/v1/data/quote", exchange -> respond(exchange, this::stockdataQuotes));
+		server.createContext("/query", exchange -> respond(exchange, this::alphaVantageBulkQuotes));
+		server.start();
+		log.info("Upstream stub listening on {}", baseUrl());
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private void respond(HttpExchange exchange, PayloadFactory payloadFactory) throws IOException {
+		try (exchange) {
+			simulateLatency();
+			if (ThreadLocalRandom.current().nextDouble() < settings.upstreamErrorRate()) {
+				exchange.sendResponseHeaders(500, -1);
+				return;
+			}
+			byte[] body = payloadFactory.create(query(exchange)).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		}
+	}
+
+	private void simulateLatency() {
+		long jitterNanos = settings.upstreamJitter().toNanos();
+		long nanos = settings.upstreamLatency().toNanos()
+				+ (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+		if (nanos > 0) {
+			try {
+				Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private String stockdataQuotes(Map<String, String> query) {
+		return QuotePayloads.stockdataQuotes(tickers(query.get("symbols")));
+	}
+
+	private String alphaVantageBulkQuotes(Map<String, String> query) {
+		return QuotePayloads.alphaVantageBulkQuotes(tickers(query.get("symbol")));
+	}
+
+	/**
+	 * Requested tickers, padded with synthetic ones up to the configured payload
+	 * size.
+	 */
+	private List<String> tickers(String symbols) {
+		List<String> tickers = new ArrayList<>();
+		if (symbols != null && !symbols.isBlank()) {
+			tickers.addAll(Arrays.asList(symbols.split(",")));
+		}
+		for (int i = tickers.size(); i < settings.symbols(); i++) {
+			tickers.add(QuotePayloads.ticker(i));
+		}
+		return tickers;
+	}
+
+	private static Map<String, String> query(HttpExchange exchange) {
+		Map<String, String> query = new HashMap<>();
+		String rawQuery = exchange.getRequestURI().getRawQuery();
+		if (rawQuery == null) {
+			return query;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int separator = pair.indexOf('=');
+			if (separator > 0) {
+				query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return query;
+	}
+
+	@FunctionalInterface
+	private interface PayloadFactory {
+		String create(Map<String, String> query);
+	}
+}
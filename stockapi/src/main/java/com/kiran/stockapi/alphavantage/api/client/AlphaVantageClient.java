@@ -1,14 +1,24 @@
 package com.kiran.stockapi.alphavantage.api.client;
 
 import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.TimeSeriesDailyResponse;
+import com.kiran.stockapi.utils.RestClient;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.QueryParam;
 
+@RestClient(baseUrl = "${alphavantage-client.base-url}", providers = AlphaVantageClientRequestFilter.class)
 public interface AlphaVantageClient {
 	@Path("query")
 	@GET
 	RealtimeBulkQuotesResponse getRealtimeBulkQuotes(
 			@QueryParam("function") String function,
 			@QueryParam("symbol") String symbols);
+
+	@Path("query")
+	@GET
+	TimeSeriesDailyResponse getDailyTimeSeries(
+			@QueryParam("function") String function,
+			@QueryParam("symbol") String symbol,
+			@QueryParam("outputsize") String outputSize);
 }
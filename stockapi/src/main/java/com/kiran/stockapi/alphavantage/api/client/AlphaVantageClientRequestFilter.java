@@ -2,6 +2,7 @@ package com.kiran.stockapi.alphavantage.api.client;
 
 import com.kiran.stockapi.alphavantage.api.config.AlphaVantageClientProperties;
 import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
 import jakarta.ws.rs.core.UriBuilder;
@@ -14,9 +15,14 @@ import org.springframework.stereotype.Component;
 public class AlphaVantageClientRequestFilter implements ClientRequestFilter {
 	private final AlphaVantageClientProperties alphaVantageClientProperties;
 	private final SecretManagerService secretManagerService;
+	private final UpstreamMetrics upstreamMetrics;
 
 	@Override
 	public void filter(ClientRequestContext requestContext) {
+		upstreamMetrics.timeFilter(UpstreamMetrics.PROVIDER_ALPHAVANTAGE, () -> addApiKey(requestContext));
+	}
+
+	private void addApiKey(ClientRequestContext requestContext) {
 		// Fetch API key from Google Cloud Secret Manager
 		String apiKey = secretManagerService.getSecret(alphaVantageClientProperties.gcpProjectId(),
 				alphaVantageClientProperties.apiKeySecretId());
@@ -0,0 +1,71 @@
+package com.kiran.stockapi.alphavantage.api.client;
+
+import com.kiran.stockapi.alphavantage.api.config.AlphaVantageQuotaProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Alpha Vantage calls left to batch quotes and backfill imports: spaced
+ * evenly within the per-minute rate and capped per UTC day. Shared by all
+ * callers of an instance, which therefore take turns. Each call reserves its
+ * slot and then waits for it outside the lock.
+ */
+@Component
+public class AlphaVantageQuota {
+
+	private final Duration spacing;
+	private final int requestsPerDay;
+	private Instant next = Instant.EPOCH;
+	private LocalDate day;
+	private int usedToday;
+
+	public AlphaVantageQuota(AlphaVantageQuotaProperties limits) {
+		this.spacing = Duration.ofMinutes(1).dividedBy(Math.max(1, limits.requestsPerMinute()));
+		this.requestsPerDay = limits.requestsPerDay();
+	}
+
+	/**
+	 * Waits for the next call slot.
+	 *
+	 * @return {@code false} without waiting when today's calls are used up
+	 */
+	public boolean acquire() throws InterruptedException {
+		return acquire(ChronoUnit.FOREVER.getDuration());
+	}
+
+	/**
+	 * Waits for the next call slot, if it comes within {@code maxWait}.
+	 *
+	 * @return {@code false} without waiting or using up a call when today's
+	 *         calls are used up or the next slot is further away
+	 */
+	public boolean acquire(Duration maxWait) throws InterruptedException {
+		Instant slot;
+		synchronized (this) {
+			Instant now = Instant.now();
+			LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+			if (!today.equals(day)) {
+				day = today;
+				usedToday = 0;
+			}
+			if (usedToday >= requestsPerDay) {
+				return false;
+			}
+			slot = next.isAfter(now) ? next : now;
+			if (Duration.between(now, slot).compareTo(maxWait) > 0) {
+				return false;
+			}
+			next = slot.plus(spacing);
+			usedToday++;
+		}
+		Duration wait = Duration.between(Instant.now(), slot);
+		if (wait.isPositive()) {
+			Thread.sleep(wait);
+		}
+		return true;
+	}
+}
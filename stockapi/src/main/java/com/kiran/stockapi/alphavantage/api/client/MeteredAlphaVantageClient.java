@@ -0,0 +1,29 @@
+package com.kiran.stockapi.alphavantage.api.client;
+
+import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.TimeSeriesDailyResponse;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+
+/** {@link AlphaVantageClient} decorator recording {@link UpstreamMetrics} call timers. */
+public class MeteredAlphaVantageClient implements AlphaVantageClient {
+
+	private final AlphaVantageClient delegate;
+	private final UpstreamMetrics upstreamMetrics;
+
+	public MeteredAlphaVantageClient(AlphaVantageClient delegate, UpstreamMetrics upstreamMetrics) {
+		this.delegate = delegate;
+		this.upstreamMetrics = upstreamMetrics;
+	}
+
+	@Override
+	public RealtimeBulkQuotesResponse getRealtimeBulkQuotes(String function, String symbols) {
+		return upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_ALPHAVANTAGE, symbols,
+				() -> delegate.getRealtimeBulkQuotes(function, symbols));
+	}
+
+	@Override
+	public TimeSeriesDailyResponse getDailyTimeSeries(String function, String symbol, String outputSize) {
+		return upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_ALPHAVANTAGE, symbol,
+				() -> delegate.getDailyTimeSeries(function, symbol, outputSize));
+	}
+}
@@ -0,0 +1,48 @@
+package com.kiran.stockapi.alphavantage.api.client;
+
+import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuote;
+import com.kiran.stockapi.alphavantage.api.contract.TimeSeriesDailyResponse;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.price.symbols.SymbolFilter;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link AlphaVantageClient} decorator leaving symbols Alpha Vantage is known
+ * not to have out of bulk quote calls, and making no call when none are left.
+ * A response with a {@code message} counts a miss against the symbols missing
+ * from its {@code data}, which marks them invalid once it is proof enough; see
+ * {@link SymbolFilter}. Daily series calls are passed through.
+ */
+public class SymbolFilteringAlphaVantageClient implements AlphaVantageClient {
+
+	private final AlphaVantageClient delegate;
+	private final SymbolFilter symbolFilter;
+
+	public SymbolFilteringAlphaVantageClient(AlphaVantageClient delegate, SymbolFilter symbolFilter) {
+		this.delegate = delegate;
+		this.symbolFilter = symbolFilter;
+	}
+
+	@Override
+	public RealtimeBulkQuotesResponse getRealtimeBulkQuotes(String function, String symbols) {
+		List<String> requested = SymbolFilter.split(symbols);
+		List<String> forwarded = symbolFilter.valid(UpstreamMetrics.PROVIDER_ALPHAVANTAGE, requested);
+		if (forwarded.isEmpty() && !requested.isEmpty()) {
+			return RealtimeBulkQuotesResponse.builder().data(List.of()).build();
+		}
+		RealtimeBulkQuotesResponse response = delegate.getRealtimeBulkQuotes(function,
+				forwarded.size() == requested.size() ? symbols : String.join(",", forwarded));
+		if (response != null && response.getMessage() != null && response.getData() != null) {
+			symbolFilter.confirmMissing(UpstreamMetrics.PROVIDER_ALPHAVANTAGE, forwarded, response.getData().stream()
+					.filter(Objects::nonNull).map(StockQuote::getSymbol).toList());
+		}
+		return response;
+	}
+
+	@Override
+	public TimeSeriesDailyResponse getDailyTimeSeries(String function, String symbol, String outputSize) {
+		return delegate.getDailyTimeSeries(function, symbol, outputSize);
+	}
+}
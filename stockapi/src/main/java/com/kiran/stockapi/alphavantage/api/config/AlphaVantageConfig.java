@@ -1,29 +1,42 @@
 package com.kiran.stockapi.alphavantage.api.config;
 
 import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
-import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClientRequestFilter;
-import jakarta.ws.rs.client.ClientBuilder;
+import com.kiran.stockapi.alphavantage.api.client.MeteredAlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.SymbolFilteringAlphaVantageClient;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.price.symbols.SymbolFilter;
+import com.kiran.stockapi.utils.RestClientDecorator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 @Slf4j
 @Configuration
-@EnableConfigurationProperties(AlphaVantageClientProperties.class)
+@EnableConfigurationProperties({AlphaVantageClientProperties.class, AlphaVantageQuotaProperties.class})
 @AllArgsConstructor
 public class AlphaVantageConfig {
 
-	private final AlphaVantageClientProperties alphaVantageClientProperties;
-	private final AlphaVantageClientRequestFilter alphaVantageClientRequestFilter;
+	private final UpstreamMetrics upstreamMetrics;
 
+	/**
+	 * The {@link AlphaVantageClient} bean itself is generated; see {@code @RestClient}.
+	 * Applied first, so only calls that reach the provider are timed.
+	 */
 	@Bean
-	public AlphaVantageClient alphaVantageClient() {
-		var client = ClientBuilder.newBuilder().register(alphaVantageClientRequestFilter).build();
-		var target = client.target(alphaVantageClientProperties.baseUrl());
-		return ((ResteasyWebTarget) target).proxy(AlphaVantageClient.class);
+	@Order(0)
+	public RestClientDecorator<AlphaVantageClient> meteredAlphaVantageClient() {
+		return client -> new MeteredAlphaVantageClient(client, upstreamMetrics);
 	}
-}
 
+	/** Wraps the metered client, so symbols Alpha Vantage does not know are dropped before any call. */
+	@Bean
+	@Order(1)
+	@ConditionalOnProperty(name = "symbol-filter.enabled", havingValue = "true")
+	public RestClientDecorator<AlphaVantageClient> symbolFilteringAlphaVantageClient(SymbolFilter symbolFilter) {
+		return client -> new SymbolFilteringAlphaVantageClient(client, symbolFilter);
+	}
+}
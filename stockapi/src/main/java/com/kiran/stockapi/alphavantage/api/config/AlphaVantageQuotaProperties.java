@@ -0,0 +1,16 @@
+package com.kiran.stockapi.alphavantage.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The Alpha Vantage calls the API key allows, shared by batch quotes and
+ * backfill imports.
+ *
+ * @param requestsPerMinute
+ *            calls are spaced evenly to stay under this rate
+ * @param requestsPerDay
+ *            no more calls are made once this many were made since midnight UTC
+ */
+@ConfigurationProperties(prefix = "alphavantage-quota")
+public record AlphaVantageQuotaProperties(int requestsPerMinute, int requestsPerDay) {
+}
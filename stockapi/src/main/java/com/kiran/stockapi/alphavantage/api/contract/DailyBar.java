@@ -0,0 +1,32 @@
+package com.kiran.stockapi.alphavantage.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/** One day of a {@link TimeSeriesDailyResponse}; values are decimal strings as sent. */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public final class DailyBar {
+
+    @JsonProperty("1. open")
+    private final String open;
+
+    @JsonProperty("2. high")
+    private final String high;
+
+    @JsonProperty("3. low")
+    private final String low;
+
+    @JsonProperty("4. close")
+    private final String close;
+
+    @JsonProperty("5. volume")
+    private final String volume;
+}
@@ -0,0 +1,24 @@
+package com.kiran.stockapi.alphavantage.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kiran.stockapi.common.projection.Projection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link RealtimeBulkQuotesResponse} whose quotes only carry the requested
+ * {@link StockQuoteField}s.
+ */
+public record ProjectedRealtimeBulkQuotesResponse(
+        @JsonProperty("endpoint") String endpoint,
+        @JsonProperty("message") String message,
+        @JsonProperty("data") List<Projection<StockQuote>> data) {
+
+    public static ProjectedRealtimeBulkQuotesResponse of(RealtimeBulkQuotesResponse response,
+            Set<StockQuoteField> fields) {
+        List<Projection<StockQuote>> data = response.getData() == null
+                ? null
+                : response.getData().stream().map(quote -> new Projection<>(quote, fields)).toList();
+        return new ProjectedRealtimeBulkQuotesResponse(response.getEndpoint(), response.getMessage(), data);
+    }
+}
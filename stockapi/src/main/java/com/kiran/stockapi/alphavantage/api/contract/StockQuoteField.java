@@ -0,0 +1,46 @@
+package com.kiran.stockapi.alphavantage.api.contract;
+
+import com.kiran.stockapi.common.projection.ProjectedField;
+import com.kiran.stockapi.common.projection.Projection;
+import java.util.Set;
+import java.util.function.Function;
+
+/** The attributes of a {@link StockQuote}, in declaration order, for {@code fields=} projections. */
+public enum StockQuoteField implements ProjectedField<StockQuote> {
+    SYMBOL("symbol", StockQuote::getSymbol),
+    TIMESTAMP("timestamp", StockQuote::getTimestamp),
+    OPEN("open", StockQuote::getOpen),
+    HIGH("high", StockQuote::getHigh),
+    LOW("low", StockQuote::getLow),
+    CLOSE("close", StockQuote::getClose),
+    VOLUME("volume", StockQuote::getVolume),
+    PREVIOUS_CLOSE("previous_close", StockQuote::getPreviousClose),
+    CHANGE("change", StockQuote::getChange),
+    CHANGE_PERCENT("change_percent", StockQuote::getChangePercent),
+    EXTENDED_HOURS_QUOTE("extended_hours_quote", StockQuote::getExtendedHoursQuote),
+    EXTENDED_HOURS_CHANGE("extended_hours_change", StockQuote::getExtendedHoursChange),
+    EXTENDED_HOURS_CHANGE_PERCENT("extended_hours_change_percent", StockQuote::getExtendedHoursChangePercent);
+
+    private final String jsonName;
+    private final Function<StockQuote, Object> getter;
+
+    StockQuoteField(String jsonName, Function<StockQuote, Object> getter) {
+        this.jsonName = jsonName;
+        this.getter = getter;
+    }
+
+    @Override
+    public String jsonName() {
+        return jsonName;
+    }
+
+    @Override
+    public Object get(StockQuote quote) {
+        return getter.apply(quote);
+    }
+
+    /** See {@link Projection#parseFields}. */
+    public static Set<StockQuoteField> parse(String fields) {
+        return Projection.parseFields(fields, StockQuoteField.class);
+    }
+}
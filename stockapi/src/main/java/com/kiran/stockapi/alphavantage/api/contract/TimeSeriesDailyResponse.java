@@ -0,0 +1,38 @@
+package com.kiran.stockapi.alphavantage.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@code TIME_SERIES_DAILY} response: daily bars keyed by trading date
+ * ({@code yyyy-MM-dd}), most recent first. When the call is refused the series
+ * is missing and {@code note} or {@code information} (quota) or
+ * {@code errorMessage} (bad request) says why.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public final class TimeSeriesDailyResponse {
+
+    @JsonProperty("Meta Data")
+    private final Map<String, String> metaData;
+
+    @JsonProperty("Time Series (Daily)")
+    private final Map<String, DailyBar> timeSeries;
+
+    @JsonProperty("Note")
+    private final String note;
+
+    @JsonProperty("Information")
+    private final String information;
+
+    @JsonProperty("Error Message")
+    private final String errorMessage;
+}
@@ -1,27 +1,76 @@
 package com.kiran.stockapi.alphavantage.api.resources;
 
 import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageQuota;
+import com.kiran.stockapi.alphavantage.api.contract.ProjectedRealtimeBulkQuotesResponse;
 import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuoteField;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import java.time.Duration;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
 public class AlphaVantageResource {
 
 	private final AlphaVantageClient alphaVantageClient;
+	private final AlphaVantageQuota alphaVantageQuota;
+	private final PriceTickPublisher priceTickPublisher;
 
-	public AlphaVantageResource(AlphaVantageClient alphaVantageClient) {
+	public AlphaVantageResource(AlphaVantageClient alphaVantageClient, AlphaVantageQuota alphaVantageQuota,
+			PriceTickPublisher priceTickPublisher) {
 		this.alphaVantageClient = alphaVantageClient;
+		this.alphaVantageQuota = alphaVantageQuota;
+		this.priceTickPublisher = priceTickPublisher;
 	}
 
+	/**
+	 * Takes a call from the {@link AlphaVantageQuota} shared with batches and
+	 * backfill imports; answers {@code 429} rather than waiting when none is
+	 * free right now.
+	 */
 	@GetMapping("/alphavantage/realtime-bulk-quotes")
 	public RealtimeBulkQuotesResponse getRealtimeBulkQuotes(
 			@RequestParam(defaultValue = "GRID,MSFT,AAPL,IBM") String symbols) {
 		log.info("Fetching realtime bulk quotes for symbols: {}", symbols);
-		return alphaVantageClient.getRealtimeBulkQuotes("REALTIME_BULK_QUOTES", symbols);
+		takeCall();
+		RealtimeBulkQuotesResponse response = alphaVantageClient.getRealtimeBulkQuotes("REALTIME_BULK_QUOTES",
+				symbols);
+		priceTickPublisher.publishAlphaVantage(response);
+		return response;
+	}
+
+	/**
+	 * {@link #getRealtimeBulkQuotes(String)} with each quote reduced to the
+	 * comma-separated attributes in {@code fields}, e.g.
+	 * {@code symbol,close,timestamp}. Ticks are still published in full.
+	 */
+	@GetMapping(path = "/alphavantage/realtime-bulk-quotes", params = "fields")
+	public ProjectedRealtimeBulkQuotesResponse getRealtimeBulkQuotes(
+			@RequestParam(defaultValue = "GRID,MSFT,AAPL,IBM") String symbols, @RequestParam String fields) {
+		Set<StockQuoteField> projection;
+		try {
+			projection = StockQuoteField.parse(fields);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+		return ProjectedRealtimeBulkQuotesResponse.of(getRealtimeBulkQuotes(symbols), projection);
 	}
-}
 
+	private void takeCall() {
+		try {
+			if (alphaVantageQuota.acquire(Duration.ZERO)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "No Alpha Vantage call is free right now");
+	}
+}
@@ -5,14 +5,25 @@ import static com.kiran.stockapi.config.CacheConfig.SECRET_CACHE;
 import com.google.cloud.secretmanager.v1.AccessSecretVersionResponse;
 import com.google.cloud.secretmanager.v1.SecretManagerServiceClient;
 import com.google.cloud.secretmanager.v1.SecretVersionName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-public class SecretManagerService {
+public class SecretManagerService implements DisposableBean {
+
+	private final MeterRegistry meterRegistry;
+	/** Created on the first cache miss and shared; opening one costs a gRPC channel. */
+	private SecretManagerServiceClient client;
+
+	public SecretManagerService(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
 
 	/**
 	 * Fetches a secret from Google Cloud Secret Manager. Results are cached based
@@ -30,28 +41,7 @@ public class SecretManagerService {
 	public String getSecret(String projectId, String secretId, String versionId) {
 		log.info("Cache miss - Fetching secret from GCP Secret Manager - Project: {}, Secret: {}, Version: {}",
 				projectId, secretId, versionId);
-
-		try (SecretManagerServiceClient client = SecretManagerServiceClient.create()) {
-			SecretVersionName secretVersionName = SecretVersionName.of(projectId, secretId, versionId);
-			String resourceName = secretVersionName.toString();
-			log.info("Accessing secret with resource name: {}", resourceName);
-
-			AccessSecretVersionResponse response = client.accessSecretVersion(secretVersionName);
-			String secret = response.getPayload().getData().toStringUtf8();
-			log.info("Successfully retrieved secret: {}", secretId);
-			return secret;
-		} catch (IOException e) {
-			log.error("IOException while creating SecretManagerServiceClient or retrieving secret: {}", secretId, e);
-			log.error("Error details - Project: {}, Secret: {}, Version: {}", projectId, secretId, versionId);
-			throw new RuntimeException("Failed to retrieve secret from Google Cloud Secret Manager: " + e.getMessage(),
-					e);
-		} catch (Exception e) {
-			log.error("Unexpected error while retrieving secret: {}", secretId, e);
-			log.error("Error type: {}, Message: {}", e.getClass().getName(), e.getMessage());
-			log.error("Error details - Project: {}, Secret: {}, Version: {}", projectId, secretId, versionId);
-			throw new RuntimeException("Failed to retrieve secret from Google Cloud Secret Manager: " + e.getMessage(),
-					e);
-		}
+		return accessSecret(projectId, secretId, versionId);
 	}
 
 	/**
@@ -69,27 +59,55 @@ public class SecretManagerService {
 	public String getSecret(String projectId, String secretId) {
 		log.info("Cache miss - Fetching secret from GCP Secret Manager - Project: {}, Secret: {}, Version: latest",
 				projectId, secretId);
+		return accessSecret(projectId, secretId, "latest");
+	}
 
-		try (SecretManagerServiceClient client = SecretManagerServiceClient.create()) {
-			SecretVersionName secretVersionName = SecretVersionName.of(projectId, secretId, "latest");
+	/**
+	 * Calls Secret Manager; only reached on cache misses, so the
+	 * {@code secrets.fetch} timer measures the latency of every miss.
+	 */
+	private String accessSecret(String projectId, String secretId, String versionId) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "error";
+		try {
+			SecretManagerServiceClient secretClient = client();
+			SecretVersionName secretVersionName = SecretVersionName.of(projectId, secretId, versionId);
 			String resourceName = secretVersionName.toString();
 			log.info("Accessing secret with resource name: {}", resourceName);
 
-			AccessSecretVersionResponse response = client.accessSecretVersion(secretVersionName);
+			AccessSecretVersionResponse response = secretClient.accessSecretVersion(secretVersionName);
 			String secret = response.getPayload().getData().toStringUtf8();
 			log.info("Successfully retrieved secret: {}", secretId);
+			outcome = "success";
 			return secret;
 		} catch (IOException e) {
 			log.error("IOException while creating SecretManagerServiceClient or retrieving secret: {}", secretId, e);
-			log.error("Error details - Project: {}, Secret: {}, Version: latest", projectId, secretId);
+			log.error("Error details - Project: {}, Secret: {}, Version: {}", projectId, secretId, versionId);
 			throw new RuntimeException("Failed to retrieve secret from Google Cloud Secret Manager: " + e.getMessage(),
 					e);
 		} catch (Exception e) {
 			log.error("Unexpected error while retrieving secret: {}", secretId, e);
 			log.error("Error type: {}, Message: {}", e.getClass().getName(), e.getMessage());
-			log.error("Error details - Project: {}, Secret: {}, Version: latest", projectId, secretId);
+			log.error("Error details - Project: {}, Secret: {}, Version: {}", projectId, secretId, versionId);
 			throw new RuntimeException("Failed to retrieve secret from Google Cloud Secret Manager: " + e.getMessage(),
 					e);
+		} finally {
+			sample.stop(Timer.builder("secrets.fetch").description("Latency of Secret Manager calls on cache misses")
+					.tag("secret", secretId).tag("outcome", outcome).register(meterRegistry));
+		}
+	}
+
+	private synchronized SecretManagerServiceClient client() throws IOException {
+		if (client == null) {
+			client = SecretManagerServiceClient.create();
+		}
+		return client;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (client != null) {
+			client.close();
 		}
 	}
 }
@@ -0,0 +1,86 @@
+package com.kiran.stockapi.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers for calls to upstream quote providers and for the request filters that
+ * prepare them. Call timers publish percentile histograms and are tagged with
+ * provider, outcome and a bucketed batch size.
+ */
+@Component
+public class UpstreamMetrics {
+
+	public static final String PROVIDER_STOCKDATA = "stockdata";
+	public static final String PROVIDER_ALPHAVANTAGE = "alphavantage";
+
+	static final String CALLS = "upstream.calls";
+	static final String FILTERS = "upstream.request.filter";
+
+	private final MeterRegistry meterRegistry;
+
+	public UpstreamMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Times an upstream call.
+	 *
+	 * @param provider
+	 *            the provider called
+	 * @param symbols
+	 *            the comma-separated symbols requested, used for the batch size
+	 *            tag
+	 * @param call
+	 *            the call itself
+	 */
+	public <T> T timeCall(String provider, String symbols, Supplier<T> call) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "success";
+		try {
+			return call.get();
+		} catch (RuntimeException e) {
+			outcome = outcome(e);
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(CALLS).description("Latency of calls to upstream quote providers")
+					.tag("provider", provider).tag("outcome", outcome).tag("batch_size", batchSize(symbols))
+					.publishPercentileHistogram().register(meterRegistry));
+		}
+	}
+
+	public void timeFilter(String provider, Runnable filter) {
+		Timer.builder(FILTERS).description("Time spent preparing upstream requests").tag("provider", provider)
+				.register(meterRegistry).record(filter);
+	}
+
+	/** Buckets the number of requested symbols to keep tag cardinality bounded. */
+	static String batchSize(String symbols) {
+		if (symbols == null || symbols.isBlank()) {
+			return "0";
+		}
+		long count = symbols.chars().filter(c -> c == ',').count() + 1;
+		if (count == 1) {
+			return "1";
+		} else if (count <= 10) {
+			return "2-10";
+		} else if (count <= 50) {
+			return "11-50";
+		} else if (count <= 100) {
+			return "51-100";
+		}
+		return "100+";
+	}
+
+	private static String outcome(RuntimeException e) {
+		if (e instanceof WebApplicationException webApplicationException) {
+			int status = webApplicationException.getResponse().getStatus();
+			return status >= 500 ? "server_error" : "client_error";
+		}
+		return e instanceof ProcessingException ? "io_error" : "error";
+	}
+}
@@ -0,0 +1,21 @@
+package com.kiran.stockapi.common.projection;
+
+/**
+ * An attribute of a response object that a {@code fields=} parameter can
+ * select; see {@link Projection}.
+ *
+ * @param <T>
+ *            the projected type
+ */
+public interface ProjectedField<T> {
+
+	/** The name of the attribute in the full JSON representation. */
+	String jsonName();
+
+	/**
+	 * The value of the attribute in {@code value}: a {@code String},
+	 * {@code Number} or {@code Boolean}, formatted as the full representation
+	 * writes it, or {@code null}.
+	 */
+	Object get(T value);
+}
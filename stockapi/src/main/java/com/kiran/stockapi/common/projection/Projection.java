@@ -0,0 +1,90 @@
+package com.kiran.stockapi.common.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * {@code value} serialised with only the attributes in {@code fields}, in
+ * declaration order. Each attribute is written straight to the generator, so
+ * the cost grows with the number of fields asked for, not with the size of the
+ * type.
+ *
+ * @param <T>
+ *            the projected type
+ */
+@JsonSerialize(using = Projection.Serializer.class)
+public record Projection<T>(T value, Set<? extends ProjectedField<T>> fields) {
+
+	/**
+	 * Parses a comma-separated list of JSON attribute names, ignoring blanks and
+	 * case.
+	 *
+	 * @return the fields, or all of them when {@code fields} is {@code null} or
+	 *         blank
+	 * @throws IllegalArgumentException
+	 *             for a name that is not an attribute of the type
+	 */
+	public static <F extends Enum<F> & ProjectedField<?>> Set<F> parseFields(String fields, Class<F> type) {
+		if (fields == null || fields.isBlank()) {
+			return EnumSet.allOf(type);
+		}
+		Set<F> parsed = EnumSet.noneOf(type);
+		for (String name : fields.split(",")) {
+			String trimmed = name.strip();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			F field = null;
+			for (F candidate : type.getEnumConstants()) {
+				if (candidate.jsonName().equalsIgnoreCase(trimmed)) {
+					field = candidate;
+					break;
+				}
+			}
+			if (field == null) {
+				throw new IllegalArgumentException("Unknown field: " + trimmed);
+			}
+			parsed.add(field);
+		}
+		if (parsed.isEmpty()) {
+			throw new IllegalArgumentException("'fields' must name at least one field");
+		}
+		return parsed;
+	}
+
+	static final class Serializer extends StdSerializer<Projection<?>> {
+
+		Serializer() {
+			super(Projection.class, false);
+		}
+
+		@Override
+		public void serialize(Projection<?> projection, JsonGenerator gen, SerializerProvider serializers)
+				throws IOException {
+			gen.writeStartObject();
+			write(projection, gen, serializers);
+			gen.writeEndObject();
+		}
+
+		private static <T> void write(Projection<T> projection, JsonGenerator gen, SerializerProvider serializers)
+				throws IOException {
+			for (ProjectedField<T> field : projection.fields()) {
+				gen.writeFieldName(field.jsonName());
+				switch (field.get(projection.value())) {
+					case null -> gen.writeNull();
+					case String string -> gen.writeString(string);
+					case BigDecimal decimal -> gen.writeNumber(decimal);
+					case Long number -> gen.writeNumber(number);
+					case Boolean bool -> gen.writeBoolean(bool);
+					case Object other -> serializers.defaultSerializeValue(other, gen);
+				}
+			}
+		}
+	}
+}
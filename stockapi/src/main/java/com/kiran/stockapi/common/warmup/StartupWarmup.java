@@ -0,0 +1,121 @@
+package com.kiran.stockapi.common.warmup;
+
+import com.kiran.stockapi.alphavantage.api.config.AlphaVantageClientProperties;
+import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.price.snapshot.QuoteSnapshotService;
+import com.kiran.stockapi.stockdata.api.config.QuoteClientProperties;
+import com.kiran.stockapi.utils.RestClientTargets;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the first-request costs out of the request path. Runs as an
+ * {@link ApplicationRunner}, so Spring Boot only moves readiness to
+ * {@code ACCEPTING_TRAFFIC} once it returns:
+ * <ol>
+ * <li>resolves the provider secrets concurrently, which also creates the
+ * shared Secret Manager client;</li>
+ * <li>opens {@code warmup.connections-per-client} connections to every
+ * upstream provider through its own client, and fetches the watchlist into
+ * the {@link QuoteSnapshotService}, so its first requests are served from
+ * memory.</li>
+ * </ol>
+ * Failures are logged and do not stop start-up; the first request then pays
+ * for whatever did not warm.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class StartupWarmup implements ApplicationRunner {
+
+	private final SecretManagerService secretManagerService;
+	private final QuoteClientProperties quoteClientProperties;
+	private final AlphaVantageClientProperties alphaVantageClientProperties;
+	private final RestClientTargets restClientTargets;
+	private final QuoteSnapshotService quoteSnapshotService;
+	private final WarmupProperties properties;
+
+	public StartupWarmup(SecretManagerService secretManagerService, QuoteClientProperties quoteClientProperties,
+			AlphaVantageClientProperties alphaVantageClientProperties, RestClientTargets restClientTargets,
+			QuoteSnapshotService quoteSnapshotService, WarmupProperties properties) {
+		this.secretManagerService = secretManagerService;
+		this.quoteClientProperties = quoteClientProperties;
+		this.alphaVantageClientProperties = alphaVantageClientProperties;
+		this.restClientTargets = restClientTargets;
+		this.quoteSnapshotService = quoteSnapshotService;
+		this.properties = properties;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		Instant started = Instant.now();
+		Instant deadline = started.plus(properties.timeout());
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			await("secrets", deadline, List.of(
+					run(executor, () -> secretManagerService.getSecret(quoteClientProperties.gcpProjectId(),
+							quoteClientProperties.apiTokenSecretId())),
+					run(executor, () -> secretManagerService.getSecret(alphaVantageClientProperties.gcpProjectId(),
+							alphaVantageClientProperties.apiKeySecretId()))));
+
+			List<CompletableFuture<Void>> upstream = new ArrayList<>();
+			restClientTargets.all().values().forEach(target -> {
+				for (int i = 0; i < properties.connectionsPerClient(); i++) {
+					upstream.add(run(executor, () -> openConnection(target)));
+				}
+			});
+			if (!properties.watchlist().isEmpty()) {
+				upstream.add(run(executor, () -> quoteSnapshotService.quotes(properties.watchlist())));
+			}
+			await("upstream connections", deadline, upstream);
+		} finally {
+			// Does not wait: a call still hanging past the deadline must not hold readiness back
+			executor.shutdownNow();
+		}
+		log.info("Warm-up finished in {} ms", Duration.between(started, Instant.now()).toMillis());
+	}
+
+	/**
+	 * A HEAD of the provider's base URL; the response is discarded, the
+	 * connection stays in the client's pool.
+	 */
+	private static void openConnection(WebTarget target) {
+		try (Response response = target.request().head()) {
+			log.debug("Opened connection to {} ({})", target.getUri().getHost(), response.getStatus());
+		}
+	}
+
+	private static CompletableFuture<Void> run(ExecutorService executor, Runnable task) {
+		return CompletableFuture.runAsync(task, executor);
+	}
+
+	private static void await(String step, Instant deadline, List<CompletableFuture<Void>> tasks) {
+		long remaining = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+		try {
+			CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(remaining, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.warn("Warm-up of {} failed: {}", step, e.getCause().getMessage());
+		} catch (TimeoutException e) {
+			log.warn("Warm-up of {} did not finish in time", step);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.kiran.stockapi.common.warmup;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the start-up warm-up.
+ *
+ * @param enabled
+ *            resolves secrets and opens upstream connections before the
+ *            application reports ready
+ * @param timeout
+ *            longest the warm-up may hold readiness back
+ * @param connectionsPerClient
+ *            connections opened to each upstream provider
+ * @param watchlist
+ *            symbols fetched from StockData.org once warm, so their quotes are
+ *            already published when traffic arrives; empty to skip
+ */
+@ConfigurationProperties(prefix = "warmup")
+public record WarmupProperties(boolean enabled, Duration timeout, int connectionsPerClient, List<String> watchlist) {
+
+	public WarmupProperties {
+		watchlist = watchlist == null ? List.of() : List.copyOf(watchlist);
+	}
+}
@@ -1,9 +1,12 @@
 package com.kiran.stockapi.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,14 +27,29 @@ public class CacheConfig {
 
 	/**
 	 * Configure the cache manager for the application. Uses a simple in-memory
-	 * concurrent map cache.
+	 * concurrent map cache, wrapped in {@link MeteredCache} so that hits, misses
+	 * and evictions are published as {@code cache.*} metrics.
 	 *
 	 * @return CacheManager instance
 	 */
 	@Bean
 	public CacheManager cacheManager() {
 		log.info("Initializing cache manager with cache: {}", SECRET_CACHE);
-		return new ConcurrentMapCacheManager(SECRET_CACHE);
+		return new ConcurrentMapCacheManager(SECRET_CACHE) {
+			@Override
+			protected Cache createConcurrentMapCache(String name) {
+				return new MeteredCache((ConcurrentMapCache) super.createConcurrentMapCache(name));
+			}
+		};
+	}
+
+	/**
+	 * Lets Spring Boot's cache metrics registrar bind every {@link MeteredCache}
+	 * to the meter registry.
+	 */
+	@Bean
+	public CacheMeterBinderProvider<MeteredCache> meteredCacheMeterBinderProvider() {
+		return MeteredCacheMeterBinder::new;
 	}
 
 	/**
@@ -0,0 +1,135 @@
+package com.kiran.stockapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jooq.SpringTransactionProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+/**
+ * Pooled datasources for the jOOQ/Flyway path. {@code DataSourceAutoConfiguration}
+ * stays excluded so the application still starts without a database; setting
+ * {@code database.enabled=true} creates two Hikari pools from
+ * {@code spring.datasource.*}:
+ * <ul>
+ * <li>the write pool ({@code @Primary}) used by Flyway, ingest and the bar
+ * aggregator, with Spring managed transactions;</li>
+ * <li>a read-only pool on the primary for history queries, so a burst of API
+ * reads cannot take the connections ingest needs.</li>
+ * </ul>
+ * {@link #READ_DSL_CONTEXT} reads through a {@link ReplicaRoutingDataSource}
+ * that prefers the replicas in {@code database.read.replica-urls} while they
+ * are within {@code database.read.max-lag}, and uses the primary's read pool
+ * otherwise.
+ * Both pools enable batched insert rewriting and server side prepared
+ * statement caching in the PostgreSQL driver. Pool metrics are published as
+ * {@code hikaricp.*} by Spring Boot's actuator, tagged with the pool name.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "database.enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, DatabaseProperties.class})
+public class DataSourceConfig {
+
+	public static final String READ_DSL_CONTEXT = "readDslContext";
+	public static final String WRITE_POOL = "stockapi-write";
+	public static final String READ_POOL = "stockapi-read";
+
+	@Bean
+	@Primary
+	@ConfigurationProperties(prefix = "database.write.hikari")
+	public HikariDataSource writeDataSource(DataSourceProperties properties) {
+		return createPool(properties, properties.determineUrl(), WRITE_POOL);
+	}
+
+	@Bean
+	@ConfigurationProperties(prefix = "database.read.hikari")
+	public HikariDataSource readDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = createPool(properties, properties.determineUrl(), READ_POOL);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource readRoutingDataSource(@Qualifier("readDataSource") HikariDataSource readDataSource,
+			DatabaseProperties database, MeterRegistry meterRegistry) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		List<String> urls = database.read().replicaUrls();
+		for (int i = 0; i < urls.size(); i++) {
+			String name = "replica-" + (i + 1);
+			HikariDataSource replica = new HikariDataSource();
+			readDataSource.copyStateTo(replica);
+			replica.setJdbcUrl(urls.get(i));
+			replica.setPoolName(READ_POOL + "-" + name);
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			replicas.put(name, replica);
+			log.info("Configured connection pool {} for {}", replica.getPoolName(), urls.get(i));
+		}
+		return new ReplicaRoutingDataSource(readDataSource, replicas, database.read().maxLag(), meterRegistry);
+	}
+
+	@Bean
+	@Primary
+	public DataSourceTransactionManager transactionManager(HikariDataSource writeDataSource) {
+		return new DataSourceTransactionManager(writeDataSource);
+	}
+
+	/** The default {@link DSLContext}, on the write pool. */
+	@Bean
+	@Primary
+	public DSLContext dslContext(HikariDataSource writeDataSource, DataSourceTransactionManager transactionManager) {
+		DefaultConfiguration configuration = new DefaultConfiguration();
+		configuration.set(SQLDialect.POSTGRES);
+		configuration.set(new DataSourceConnectionProvider(new TransactionAwareDataSourceProxy(writeDataSource)));
+		configuration.set(new SpringTransactionProvider(transactionManager));
+		return DSL.using(configuration);
+	}
+
+	/**
+	 * A {@link DSLContext} on the replicas (or the primary's read-only pool), for
+	 * queries served to API callers.
+	 */
+	@Bean(READ_DSL_CONTEXT)
+	public DSLContext readDslContext(ReplicaRoutingDataSource readRoutingDataSource) {
+		return DSL.using(readRoutingDataSource, SQLDialect.POSTGRES);
+	}
+
+	static HikariDataSource createPool(DataSourceProperties properties, String url, String poolName) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url)
+				.build();
+		dataSource.setPoolName(poolName);
+		// Defaults, overridable through database.*.hikari.*
+		dataSource.setMaximumPoolSize(8);
+		dataSource.setMinimumIdle(2);
+		dataSource.setConnectionTimeout(2_000);
+		// One multi-row INSERT per batch instead of one round trip per row
+		dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+		// Switch to a server side prepared statement on the second execution and
+		// keep the driver's per-connection statement cache large enough for
+		// every query shape the repositories issue
+		dataSource.addDataSourceProperty("prepareThreshold", "2");
+		dataSource.addDataSourceProperty("preparedStatementCacheQueries", "512");
+		dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", "8");
+		log.info("Configured connection pool {} for {}", poolName, url);
+		return dataSource;
+	}
+}
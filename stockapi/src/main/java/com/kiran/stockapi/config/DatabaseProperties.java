@@ -0,0 +1,45 @@
+package com.kiran.stockapi.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the pooled datasources behind jOOQ and Flyway. Pool sizing is
+ * bound directly onto the Hikari pools from {@code database.write.hikari.*}
+ * and {@code database.read.hikari.*}; replica pools copy the read pool's
+ * settings.
+ *
+ * @param enabled
+ *            creates the write and read pools and their {@code DSLContext}s
+ * @param read
+ *            where reads are routed
+ */
+@ConfigurationProperties(prefix = "database")
+public record DatabaseProperties(boolean enabled, Read read) {
+
+	public DatabaseProperties {
+		if (read == null) {
+			read = new Read(null, null, null);
+		}
+	}
+
+	/**
+	 * @param replicaUrls
+	 *            JDBC URLs of the read replicas; without any, reads use a
+	 *            read-only pool on {@code spring.datasource.url}
+	 * @param maxLag
+	 *            replicas further behind than this are skipped until they catch
+	 *            up; with none left reads fall back to the primary
+	 * @param lagCheckInterval
+	 *            how often replica lag is measured
+	 */
+	public record Read(List<String> replicaUrls, Duration maxLag, Duration lagCheckInterval) {
+
+		public Read {
+			replicaUrls = replicaUrls == null ? List.of() : List.copyOf(replicaUrls);
+			maxLag = maxLag == null ? Duration.ofSeconds(5) : maxLag;
+			lagCheckInterval = lagCheckInterval == null ? Duration.ofSeconds(5) : lagCheckInterval;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.kiran.stockapi.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+/**
+ * {@link ConcurrentMapCache} decorator counting hits, misses, puts and
+ * evictions, which the plain concurrent map cache does not track. Bound to the
+ * meter registry by {@link CacheConfig#meteredCacheMeterBinderProvider()}.
+ */
+public class MeteredCache implements Cache {
+
+	private final ConcurrentMapCache delegate;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder puts = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public MeteredCache(ConcurrentMapCache delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public ConcurrentMap<Object, Object> getNativeCache() {
+		return delegate.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return count(delegate.get(key));
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return count(delegate.get(key, type));
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		if (delegate.getNativeCache().containsKey(key)) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return delegate.get(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		puts.increment();
+		delegate.put(key, value);
+	}
+
+	@Override
+	public void evict(Object key) {
+		if (delegate.evictIfPresent(key)) {
+			evictions.increment();
+		}
+	}
+
+	@Override
+	public void clear() {
+		evictions.add(delegate.getNativeCache().size());
+		delegate.clear();
+	}
+
+	public long size() {
+		return delegate.getNativeCache().size();
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long putCount() {
+		return puts.sum();
+	}
+
+	public long evictionCount() {
+		return evictions.sum();
+	}
+
+	private <T> T count(T value) {
+		if (value != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return value;
+	}
+}
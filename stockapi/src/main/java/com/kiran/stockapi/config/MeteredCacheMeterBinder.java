@@ -0,0 +1,46 @@
+package com.kiran.stockapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/** Publishes the standard {@code cache.*} meters for a {@link MeteredCache}. */
+public class MeteredCacheMeterBinder extends CacheMeterBinder<MeteredCache> {
+
+	private final MeteredCache cache;
+
+	public MeteredCacheMeterBinder(MeteredCache cache, Iterable<Tag> tags) {
+		super(cache, cache.getName(), tags);
+		this.cache = cache;
+	}
+
+	@Override
+	protected Long size() {
+		return cache.size();
+	}
+
+	@Override
+	protected long hitCount() {
+		return cache.hitCount();
+	}
+
+	@Override
+	protected Long missCount() {
+		return cache.missCount();
+	}
+
+	@Override
+	protected Long evictionCount() {
+		return cache.evictionCount();
+	}
+
+	@Override
+	protected long putCount() {
+		return cache.putCount();
+	}
+
+	@Override
+	protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+		// no implementation specific metrics
+	}
+}
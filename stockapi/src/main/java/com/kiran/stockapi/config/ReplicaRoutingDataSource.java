@@ -0,0 +1,126 @@
+package com.kiran.stockapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Spreads read-only connections round-robin over the read replicas whose
+ * replay lag is within {@code maxLag}, and hands out connections from the
+ * fallback pool on the primary when none is. Lag is sampled every
+ * {@code database.read.lag-check-interval} and published as
+ * {@code database.replica.lag}; an unreachable replica counts as infinitely
+ * behind.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	static final String FALLBACK = "primary";
+	static final String REPLICA_LAG = "database.replica.lag";
+
+	/**
+	 * Seconds the replica is behind. A replica that has replayed everything it
+	 * received is in sync even if the primary has been idle since; a server that
+	 * is not in recovery is its own primary.
+	 */
+	static final String LAG_SQL = """
+			SELECT CASE
+			         WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+			         ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 'Infinity')
+			       END
+			""";
+
+	private final Map<String, DataSource> replicas;
+	private final double maxLagSeconds;
+	private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+	private final AtomicInteger next = new AtomicInteger();
+	private volatile List<String> inSync = List.of();
+
+	public ReplicaRoutingDataSource(DataSource fallback, Map<String, DataSource> replicas, Duration maxLag,
+			MeterRegistry meterRegistry) {
+		this.replicas = new LinkedHashMap<>(replicas);
+		this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+		Map<Object, Object> targets = new HashMap<>(replicas);
+		targets.put(FALLBACK, fallback);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(fallback);
+		for (String name : replicas.keySet()) {
+			Gauge.builder(REPLICA_LAG, lagSeconds, lags -> lags.getOrDefault(name, Double.NaN))
+					.description("Seconds the read replica is behind the primary").baseUnit("seconds")
+					.tag("replica", name).register(meterRegistry);
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		refreshLag();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		List<String> candidates = inSync;
+		if (candidates.isEmpty()) {
+			return FALLBACK;
+		}
+		return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+	}
+
+	/** Re-measures every replica's lag and updates the set reads are routed to. */
+	@Scheduled(fixedDelayString = "${database.read.lag-check-interval}")
+	public void refreshLag() {
+		List<String> usable = new ArrayList<>();
+		replicas.forEach((name, dataSource) -> {
+			double lag = measureLag(name, dataSource);
+			lagSeconds.put(name, lag);
+			if (lag <= maxLagSeconds) {
+				usable.add(name);
+			}
+		});
+		if (!usable.equals(inSync)) {
+			log.info("Routing reads to {}", usable.isEmpty() ? FALLBACK : usable);
+		}
+		inSync = List.copyOf(usable);
+	}
+
+	/** The replicas reads are currently routed to, empty while on the fallback. */
+	public List<String> inSyncReplicas() {
+		return inSync;
+	}
+
+	@Override
+	public void close() throws Exception {
+		for (DataSource replica : replicas.values()) {
+			if (replica instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+
+	private static double measureLag(String name, DataSource dataSource) {
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+			resultSet.next();
+			return resultSet.getDouble(1);
+		} catch (SQLException e) {
+			log.warn("Could not measure lag of replica {}: {}", name, e.getMessage());
+			return Double.POSITIVE_INFINITY;
+		}
+	}
+}
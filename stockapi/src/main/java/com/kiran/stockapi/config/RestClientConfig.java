@@ -0,0 +1,18 @@
+package com.kiran.stockapi.config;
+
+import com.kiran.stockapi.utils.RestClientRegistrar;
+import com.kiran.stockapi.utils.RestClientTargets;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/** Registers the generated {@link com.kiran.stockapi.utils.RestClient} proxies. */
+@Configuration
+@Import(RestClientRegistrar.class)
+public class RestClientConfig {
+
+	@Bean
+	public RestClientTargets restClientTargets() {
+		return new RestClientTargets();
+	}
+}
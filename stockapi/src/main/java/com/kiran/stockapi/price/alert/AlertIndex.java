@@ -0,0 +1,94 @@
+package com.kiran.stockapi.price.alert;
+
+import com.kiran.stockapi.price.api.contract.AlertDirection;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * The active alerts of one ticker and field, sorted by threshold. Alerts that
+ * fire on a rising value and alerts that fire on a falling value are kept in
+ * separate maps, so a move from the previous to the new value only visits the
+ * thresholds in between. {@link AlertDirection#CROSSES} alerts are in both.
+ */
+final class AlertIndex {
+
+	private final NavigableMap<BigDecimal, List<PriceAlert>> rising = new TreeMap<>();
+	private final NavigableMap<BigDecimal, List<PriceAlert>> falling = new TreeMap<>();
+	private BigDecimal last;
+
+	/**
+	 * Indexes {@code alert} unless the current value already satisfies it.
+	 *
+	 * @return the current value when it satisfies the alert, which is then not
+	 *         indexed; {@code null} otherwise
+	 */
+	synchronized BigDecimal addUnlessSatisfied(PriceAlert alert) {
+		if (last != null && alert.direction().isSatisfiedBy(last, alert.threshold())) {
+			return last;
+		}
+		add(alert);
+		return null;
+	}
+
+	synchronized void add(PriceAlert alert) {
+		if (alert.direction().firesRising()) {
+			rising.computeIfAbsent(alert.threshold(), threshold -> new ArrayList<>()).add(alert);
+		}
+		if (alert.direction().firesFalling()) {
+			falling.computeIfAbsent(alert.threshold(), threshold -> new ArrayList<>()).add(alert);
+		}
+	}
+
+	synchronized void remove(PriceAlert alert) {
+		unlink(rising, alert);
+		unlink(falling, alert);
+	}
+
+	/**
+	 * Moves the index to {@code value} and removes the alerts that fire: those
+	 * with a threshold in {@code (last, value]} when rising and in
+	 * {@code [value, last)} when falling. Without a previous value only
+	 * {@code above} and {@code below} alerts the value already satisfies fire.
+	 */
+	synchronized List<PriceAlert> move(BigDecimal value) {
+		List<PriceAlert> fired = new ArrayList<>();
+		if (last == null) {
+			take(rising.headMap(value, true), alert -> alert.direction() == AlertDirection.ABOVE, fired);
+			take(falling.tailMap(value, true), alert -> alert.direction() == AlertDirection.BELOW, fired);
+		} else if (value.compareTo(last) > 0) {
+			take(rising.subMap(last, false, value, true), alert -> true, fired);
+			fired.stream().filter(alert -> alert.direction().firesFalling()).forEach(alert -> unlink(falling, alert));
+		} else if (value.compareTo(last) < 0) {
+			take(falling.subMap(value, true, last, false), alert -> true, fired);
+			fired.stream().filter(alert -> alert.direction().firesRising()).forEach(alert -> unlink(rising, alert));
+		}
+		last = value;
+		return fired;
+	}
+
+	private static void take(NavigableMap<BigDecimal, List<PriceAlert>> range, Predicate<PriceAlert> fires,
+			List<PriceAlert> fired) {
+		Iterator<Map.Entry<BigDecimal, List<PriceAlert>>> iterator = range.entrySet().iterator();
+		while (iterator.hasNext()) {
+			List<PriceAlert> alerts = iterator.next().getValue();
+			alerts.removeIf(alert -> fires.test(alert) && fired.add(alert));
+			if (alerts.isEmpty()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static void unlink(NavigableMap<BigDecimal, List<PriceAlert>> side, PriceAlert alert) {
+		List<PriceAlert> alerts = side.get(alert.threshold());
+		if (alerts != null && alerts.removeIf(indexed -> indexed.id() == alert.id()) && alerts.isEmpty()) {
+			side.remove(alert.threshold());
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.kiran.stockapi.price.alert;
+
+import com.kiran.stockapi.price.api.config.PriceAlertProperties;
+import com.kiran.stockapi.price.api.contract.AlertField;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import com.kiran.stockapi.price.api.contract.PriceAlertRequest;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates the active price alerts on every tick. Alerts are held in an
+ * {@link AlertIndex} per ticker and field, so a tick costs one map lookup per
+ * field plus the alerts that fire, however many alerts are registered. Only
+ * ticks from {@code price-alerts.source} are evaluated: the providers quote at
+ * different times and prices, and following both would make a ticker's value
+ * swing between them.
+ * <p>
+ * Fired alerts leave the index on the tick thread; recording them in
+ * {@code refdata.price_alert} and pushing them to {@link PriceAlertStream}
+ * happens on a virtual thread. An alert is only pushed by the instance that
+ * records it; one that could not be recorded keeps its trigger and is
+ * delivered again with the next ticks.
+ * <p>
+ * Each instance indexes the alerts registered on it, plus those active at its
+ * startup. An alert registered on one instance therefore fires, and reaches
+ * {@link PriceAlertStream} subscribers, on that instance only until the others
+ * restart; owners are expected to stick to one instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price-alerts.enabled", havingValue = "true")
+public class PriceAlertEngine implements InitializingBean, DisposableBean {
+
+	private final PriceAlertRepository priceAlertRepository;
+	private final PriceAlertStream priceAlertStream;
+	private final Executor deliveryExecutor;
+	private final String source;
+	private final Map<IndexKey, AlertIndex> indexes = new ConcurrentHashMap<>();
+	/** Fired alerts whose recording failed, retried with the next ticks. */
+	private final Queue<PriceAlert> undelivered = new ConcurrentLinkedQueue<>();
+
+	@Autowired
+	public PriceAlertEngine(PriceAlertRepository priceAlertRepository, PriceAlertStream priceAlertStream,
+			PriceAlertProperties priceAlertProperties) {
+		this(priceAlertRepository, priceAlertStream, priceAlertProperties, Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	PriceAlertEngine(PriceAlertRepository priceAlertRepository, PriceAlertStream priceAlertStream,
+			PriceAlertProperties priceAlertProperties, Executor deliveryExecutor) {
+		this.priceAlertRepository = priceAlertRepository;
+		this.priceAlertStream = priceAlertStream;
+		this.deliveryExecutor = deliveryExecutor;
+		this.source = priceAlertProperties.source();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		List<PriceAlert> alerts = priceAlertRepository.findActive();
+		alerts.forEach(this::arm);
+		log.info("Loaded {} active price alerts", alerts.size());
+	}
+
+	@Override
+	public void destroy() {
+		if (deliveryExecutor instanceof ExecutorService executorService) {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Stores and arms a new alert. An alert the last seen value already
+	 * satisfies fires right away.
+	 */
+	public PriceAlert register(PriceAlertRequest request) {
+		PriceAlert alert = priceAlertRepository.insert(request, Instant.now());
+		BigDecimal current = index(alert).addUnlessSatisfied(alert);
+		if (current == null) {
+			return alert;
+		}
+		PriceAlert triggered = alert.triggered(Instant.now(), current);
+		deliver(List.of(triggered));
+		return triggered;
+	}
+
+	/** Deletes an alert that has not fired yet. */
+	public Optional<PriceAlert> cancel(long id) {
+		Optional<PriceAlert> deleted = priceAlertRepository.delete(id);
+		deleted.ifPresent(alert -> index(alert).remove(alert));
+		return deleted;
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		List<PriceAlert> triggered = new ArrayList<>();
+		for (PriceTick tick : event.ticks()) {
+			if (tick.ticker() != null && source.equals(tick.source())) {
+				evaluate(tick, triggered);
+			}
+		}
+		for (PriceAlert alert = undelivered.poll(); alert != null; alert = undelivered.poll()) {
+			triggered.add(alert);
+		}
+		if (!triggered.isEmpty()) {
+			deliveryExecutor.execute(() -> deliver(triggered));
+		}
+	}
+
+	private void evaluate(PriceTick tick, List<PriceAlert> triggered) {
+		for (AlertField field : AlertField.values()) {
+			AlertIndex index = indexes.get(new IndexKey(tick.ticker(), field));
+			BigDecimal value = index != null ? field.value(tick.quote()) : null;
+			if (value == null) {
+				continue;
+			}
+			for (PriceAlert alert : index.move(value)) {
+				triggered.add(alert.triggered(tick.pulledAt(), value));
+			}
+		}
+	}
+
+	private void deliver(List<PriceAlert> triggered) {
+		try {
+			List<PriceAlert> recorded = priceAlertRepository.markTriggered(triggered);
+			recorded.forEach(priceAlertStream::publish);
+			log.debug("{} price alerts fired, {} recorded by this instance", triggered.size(), recorded.size());
+		} catch (RuntimeException e) {
+			log.error("Failed to record {} fired price alerts, retrying with the next ticks", triggered.size(), e);
+			undelivered.addAll(triggered);
+		}
+	}
+
+	private void arm(PriceAlert alert) {
+		index(alert).add(alert);
+	}
+
+	private AlertIndex index(PriceAlert alert) {
+		return indexes.computeIfAbsent(new IndexKey(alert.ticker(), alert.field()), key -> new AlertIndex());
+	}
+
+	private record IndexKey(String ticker, AlertField field) {
+	}
+}
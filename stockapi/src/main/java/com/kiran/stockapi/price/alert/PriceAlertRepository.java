@@ -0,0 +1,92 @@
+package com.kiran.stockapi.price.alert;
+
+import static com.kiran.stockapi.jooq.Tables.PRICE_ALERT;
+
+import com.kiran.stockapi.jooq.tables.records.PriceAlertRecord;
+import com.kiran.stockapi.price.api.contract.AlertDirection;
+import com.kiran.stockapi.price.api.contract.AlertField;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import com.kiran.stockapi.price.api.contract.PriceAlertRequest;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/** jOOQ access to {@code refdata.price_alert}. */
+@Repository
+@ConditionalOnProperty(name = "price-alerts.enabled", havingValue = "true")
+@AllArgsConstructor
+public class PriceAlertRepository {
+
+	private final DSLContext dsl;
+
+	public PriceAlert insert(PriceAlertRequest request, Instant createdAt) {
+		return toAlert(dsl.insertInto(PRICE_ALERT).set(PRICE_ALERT.OWNER, request.owner())
+				.set(PRICE_ALERT.TICKER, request.ticker()).set(PRICE_ALERT.FIELD, request.field().code())
+				.set(PRICE_ALERT.DIRECTION, request.direction().code()).set(PRICE_ALERT.THRESHOLD, request.threshold())
+				.set(PRICE_ALERT.CREATED_AT, toOffset(createdAt)).returning().fetchOne());
+	}
+
+	/** Alerts that have not fired yet. */
+	public List<PriceAlert> findActive() {
+		return dsl.selectFrom(PRICE_ALERT).where(PRICE_ALERT.TRIGGERED_AT.isNull()).fetch(PriceAlertRepository::toAlert);
+	}
+
+	/** All alerts of {@code owner}, newest first. */
+	public List<PriceAlert> findByOwner(String owner) {
+		return dsl.selectFrom(PRICE_ALERT).where(PRICE_ALERT.OWNER.eq(owner))
+				.orderBy(PRICE_ALERT.CREATED_AT.desc(), PRICE_ALERT.ID.desc()).fetch(PriceAlertRepository::toAlert);
+	}
+
+	/** Deletes an alert that has not fired yet. */
+	public Optional<PriceAlert> delete(long id) {
+		return dsl.deleteFrom(PRICE_ALERT).where(PRICE_ALERT.ID.eq(id)).and(PRICE_ALERT.TRIGGERED_AT.isNull())
+				.returning().fetchOptional().map(PriceAlertRepository::toAlert);
+	}
+
+	/**
+	 * Records fired alerts in one batch. An alert another instance has already
+	 * recorded is left as it is.
+	 *
+	 * @return the alerts recorded by this call
+	 */
+	public List<PriceAlert> markTriggered(List<PriceAlert> alerts) {
+		List<Query> updates = alerts.stream()
+				.<Query>map(alert -> dsl.update(PRICE_ALERT)
+						.set(PRICE_ALERT.TRIGGERED_AT, toOffset(alert.triggeredAt()))
+						.set(PRICE_ALERT.TRIGGERED_VALUE, alert.triggeredValue()).where(PRICE_ALERT.ID.eq(alert.id()))
+						.and(PRICE_ALERT.TRIGGERED_AT.isNull()))
+				.toList();
+		int[] counts = dsl.batch(updates).execute();
+		List<PriceAlert> recorded = new ArrayList<>();
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				recorded.add(alerts.get(i));
+			}
+		}
+		return recorded;
+	}
+
+	static PriceAlert toAlert(PriceAlertRecord record) {
+		return new PriceAlert(record.get(PRICE_ALERT.ID), record.get(PRICE_ALERT.OWNER),
+				record.get(PRICE_ALERT.TICKER), AlertField.fromCode(record.get(PRICE_ALERT.FIELD)),
+				AlertDirection.fromCode(record.get(PRICE_ALERT.DIRECTION)), record.get(PRICE_ALERT.THRESHOLD),
+				toInstant(record.get(PRICE_ALERT.CREATED_AT)), toInstant(record.get(PRICE_ALERT.TRIGGERED_AT)),
+				record.get(PRICE_ALERT.TRIGGERED_VALUE));
+	}
+
+	private static OffsetDateTime toOffset(Instant instant) {
+		return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+	}
+
+	private static Instant toInstant(OffsetDateTime dateTime) {
+		return dateTime == null ? null : dateTime.toInstant();
+	}
+}
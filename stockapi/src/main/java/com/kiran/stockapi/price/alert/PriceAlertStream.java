@@ -0,0 +1,59 @@
+package com.kiran.stockapi.price.alert;
+
+import com.kiran.stockapi.price.api.config.PriceAlertProperties;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event connections of {@code GET /alerts/stream}, per owner. Each
+ * fired alert is sent as a {@value #EVENT} event to the connections of its
+ * owner on this instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price-alerts.enabled", havingValue = "true")
+public class PriceAlertStream {
+
+	static final String EVENT = "price-alert";
+
+	private final PriceAlertProperties priceAlertProperties;
+	private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+	public PriceAlertStream(PriceAlertProperties priceAlertProperties) {
+		this.priceAlertProperties = priceAlertProperties;
+	}
+
+	public SseEmitter subscribe(String owner) {
+		SseEmitter emitter = new SseEmitter(priceAlertProperties.streamTimeout().toMillis());
+		Set<SseEmitter> emitters = subscribers.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet());
+		emitters.add(emitter);
+		emitter.onCompletion(() -> emitters.remove(emitter));
+		emitter.onTimeout(() -> emitters.remove(emitter));
+		emitter.onError(e -> emitters.remove(emitter));
+		return emitter;
+	}
+
+	public void publish(PriceAlert alert) {
+		Set<SseEmitter> emitters = subscribers.get(alert.owner());
+		if (emitters == null) {
+			return;
+		}
+		for (SseEmitter emitter : emitters) {
+			try {
+				emitter.send(SseEmitter.event().name(EVENT).id(Long.toString(alert.id())).data(alert,
+						MediaType.APPLICATION_JSON));
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Dropping a closed price alert stream of {}", alert.owner(), e);
+				emitters.remove(emitter);
+			}
+		}
+	}
+}
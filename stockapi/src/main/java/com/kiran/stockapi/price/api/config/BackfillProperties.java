@@ -0,0 +1,24 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for bulk imports of historical quotes into {@code refdata.price}.
+ *
+ * @param enabled
+ *            turns on the backfill API (requires a datasource)
+ * @param directory
+ *            files can only be imported from below this directory
+ * @param parallelism
+ *            chunks parsed and loaded at once; each load holds a connection of
+ *            the write pool, so keep it below
+ *            {@code database.write.hikari.maximum-pool-size}
+ * @param chunkSize
+ *            files are split into chunks of about this size, extended to the
+ *            next line break; each chunk is one {@code COPY} and one checkpoint
+ */
+@ConfigurationProperties(prefix = "backfill")
+public record BackfillProperties(boolean enabled, Path directory, int parallelism, DataSize chunkSize) {
+}
@@ -0,0 +1,19 @@
+package com.kiran.stockapi.price.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for portfolio valuation.
+ *
+ * @param enabled
+ *            turns on the portfolio API and the in-memory valuation (requires
+ *            a datasource)
+ * @param maxValuationIds
+ *            portfolios per {@code GET /portfolios/valuations} request
+ * @param valuationSource
+ *            the provider whose prices value the positions; ticks from other
+ *            providers are ignored
+ */
+@ConfigurationProperties(prefix = "portfolios")
+public record PortfolioProperties(boolean enabled, int maxValuationIds, String valuationSource) {
+}
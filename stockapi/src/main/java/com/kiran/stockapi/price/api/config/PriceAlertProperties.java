@@ -0,0 +1,21 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for price alerts.
+ *
+ * @param enabled
+ *            turns on the alert API, the tick evaluation and the push stream
+ *            (requires a datasource)
+ * @param streamTimeout
+ *            how long a {@code GET /alerts/stream} connection is kept open
+ *            before the client has to reconnect
+ * @param source
+ *            the provider whose ticks move the alerts; ticks from other
+ *            providers are ignored
+ */
+@ConfigurationProperties(prefix = "price-alerts")
+public record PriceAlertProperties(boolean enabled, Duration streamTimeout, String source) {
+}
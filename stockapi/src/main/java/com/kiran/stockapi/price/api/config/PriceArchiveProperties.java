@@ -0,0 +1,30 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Period;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for moving old months of {@code refdata.price} into columnar files.
+ *
+ * @param enabled
+ *            maintains the monthly partitions, archives old ones and serves
+ *            history queries from the archive (requires a datasource)
+ * @param directory
+ *            where archive files are written; may be a mounted bucket, files
+ *            are written once and never modified
+ * @param retention
+ *            months ending longer ago than this are archived and dropped
+ * @param partitionsAhead
+ *            months after the current one that get a partition in advance
+ * @param rowGroupSize
+ *            rows per row group; each group keeps its ticker and time range,
+ *            so smaller groups skip more rows and compress less
+ * @param interval
+ *            pause between maintenance rounds
+ */
+@ConfigurationProperties(prefix = "price-archive")
+public record PriceArchiveProperties(boolean enabled, Path directory, Period retention, int partitionsAhead,
+		int rowGroupSize, Duration interval) {
+}
@@ -0,0 +1,26 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for OHLCV bar aggregation.
+ *
+ * @param enabled
+ *            turns on in-process aggregation, the catch-up job and the bar
+ *            query API (requires a datasource)
+ * @param flushInterval
+ *            how often open bars are upserted into {@code refdata.price_bar}
+ * @param catchUpChunk
+ *            size of the history window aggregated per catch-up transaction
+ * @param defaultSource
+ *            provider used by the bar query API when none is requested
+ * @param defaultPoints
+ *            point count used by the bar query API when none is requested
+ * @param defaultRange
+ *            look-back used by the bar query API when no start is requested
+ */
+@ConfigurationProperties(prefix = "price-bars")
+public record PriceBarProperties(boolean enabled, Duration flushInterval, Duration catchUpChunk, String defaultSource,
+		int defaultPoints, Duration defaultRange) {
+}
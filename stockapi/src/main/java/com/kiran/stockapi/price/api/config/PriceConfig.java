@@ -0,0 +1,12 @@
+package com.kiran.stockapi.price.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({PriceBarProperties.class, PriceHistoryProperties.class, QuoteBatchProperties.class,
+		TickJournalProperties.class, QuoteSnapshotProperties.class, QuoteClusterProperties.class,
+		PriceAlertProperties.class, PortfolioProperties.class, SymbolSearchProperties.class,
+		BackfillProperties.class, PriceArchiveProperties.class, SymbolFilterProperties.class})
+public class PriceConfig {
+}
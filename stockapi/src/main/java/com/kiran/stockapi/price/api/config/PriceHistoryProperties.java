@@ -0,0 +1,26 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for persisting received quotes into {@code refdata.price} and
+ * {@code refdata.latest_price}.
+ *
+ * @param enabled
+ *            turns on the change-only write path (requires a datasource)
+ * @param heartbeatInterval
+ *            minimum time between {@code last_seen_at} updates of a ticker
+ *            whose quote has not changed
+ * @param latestMaxSymbols
+ *            symbols per {@code GET /prices/latest} request
+ * @param asOfMaxSymbols
+ *            symbols per {@code GET /prices/as-of} request
+ * @param queueCapacity
+ *            batches of received quotes waiting for the background writer;
+ *            further batches are dropped from the history while it is full
+ */
+@ConfigurationProperties(prefix = "price-history")
+public record PriceHistoryProperties(boolean enabled, Duration heartbeatInterval, int latestMaxSymbols,
+		int asOfMaxSymbols, int queueCapacity) {
+}
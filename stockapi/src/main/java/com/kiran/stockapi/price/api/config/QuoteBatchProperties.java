@@ -0,0 +1,32 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the batch quote API.
+ *
+ * @param maxSymbols
+ *            largest symbol list accepted per request
+ * @param timeout
+ *            how long a batch waits for its sub-requests; symbols still pending
+ *            then get an error entry
+ * @param stockdata
+ *            limits for StockData.org sub-requests
+ * @param alphavantage
+ *            limits for Alpha Vantage sub-requests
+ */
+@ConfigurationProperties(prefix = "quote-batch")
+public record QuoteBatchProperties(int maxSymbols, Duration timeout, Provider stockdata, Provider alphavantage) {
+
+	/**
+	 * @param batchSize
+	 *            most symbols the provider accepts per request
+	 * @param maxConcurrentRequests
+	 *            sub-requests in flight at once, shared by all batches; this
+	 *            caps concurrency, not the rate, which for Alpha Vantage is
+	 *            {@code alphavantage-quota}
+	 */
+	public record Provider(int batchSize, int maxConcurrentRequests) {
+	}
+}
@@ -0,0 +1,23 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sharing quotes between stockapi instances through Postgres.
+ *
+ * @param enabled
+ *            elects one instance to call upstream and shares its quotes with
+ *            the others (requires {@code database.enabled})
+ * @param lockId
+ *            Postgres advisory lock held by the leader
+ * @param requestTimeout
+ *            how long an instance waits for the leader to share a quote it does
+ *            not have before fetching it itself
+ * @param pollInterval
+ *            how often notifications are checked and, by non-leaders, the
+ *            leadership is tried for
+ */
+@ConfigurationProperties(prefix = "quote-cluster")
+public record QuoteClusterProperties(boolean enabled, long lockId, Duration requestTimeout, Duration pollInterval) {
+}
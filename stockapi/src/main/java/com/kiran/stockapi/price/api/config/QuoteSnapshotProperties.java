@@ -0,0 +1,18 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stale-while-revalidate bounds for {@code GET /quotes}.
+ *
+ * @param freshFor
+ *            quotes younger than this are served as they are
+ * @param serveStaleFor
+ *            quotes younger than this, but past {@code freshFor}, are served
+ *            immediately and refreshed in the background; older ones are
+ *            fetched before responding
+ */
+@ConfigurationProperties(prefix = "quote-snapshot")
+public record QuoteSnapshotProperties(Duration freshFor, Duration serveStaleFor) {
+}
@@ -0,0 +1,32 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the filter that keeps symbols a provider does not know out of
+ * upstream calls.
+ *
+ * @param enabled
+ *            turns on the filter for the stockdata and Alpha Vantage bulk quote
+ *            calls
+ * @param negativeTtl
+ *            how long a symbol a provider left out of its answer is skipped
+ *            for that provider
+ * @param negativeMaxSize
+ *            most symbols remembered as invalid per provider
+ * @param expectedSymbols
+ *            number of valid symbols the Bloom filter is sized for; it grows to
+ *            twice the instruments known at startup if that is more
+ * @param falsePositiveRate
+ *            share of unknown symbols the Bloom filter takes for valid ones at
+ *            its expected size
+ * @param missesToConfirm
+ *            batch answers that must leave a symbol out within
+ *            {@code negativeTtl} before it is skipped; a symbol asked for alone
+ *            is skipped after the first miss
+ */
+@ConfigurationProperties(prefix = "symbol-filter")
+public record SymbolFilterProperties(boolean enabled, Duration negativeTtl, int negativeMaxSize, int expectedSymbols,
+		double falsePositiveRate, int missesToConfirm) {
+}
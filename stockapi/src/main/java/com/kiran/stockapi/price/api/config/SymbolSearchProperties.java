@@ -0,0 +1,17 @@
+package com.kiran.stockapi.price.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for {@code GET /symbols/search}.
+ *
+ * @param enabled
+ *            turns on the symbol index and the search API; the index is seeded
+ *            from {@code refdata.instrument} when a datasource is enabled
+ * @param maxResults
+ *            most matches per search, also the number of candidates kept per
+ *            prefix in the index
+ */
+@ConfigurationProperties(prefix = "symbol-search")
+public record SymbolSearchProperties(boolean enabled, int maxResults) {
+}
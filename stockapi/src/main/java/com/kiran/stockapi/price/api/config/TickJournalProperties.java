@@ -0,0 +1,44 @@
+package com.kiran.stockapi.price.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the local tick journal that sits between capture and the
+ * downstream sinks ({@code refdata.price}, Kafka).
+ *
+ * @param enabled
+ *            journals every received tick and drains it to the sinks instead
+ *            of writing them synchronously
+ * @param directory
+ *            where segments and sink checkpoints are kept
+ * @param segmentSize
+ *            size of each memory-mapped segment file
+ * @param drainInterval
+ *            pause between drain rounds
+ * @param drainBatchSize
+ *            most ticks handed to a sink at once
+ * @param forceOnAppend
+ *            flushes the segment to the device after every append, so ticks
+ *            also survive an OS crash rather than only a process crash
+ * @param kafka
+ *            the Kafka sink
+ */
+@ConfigurationProperties(prefix = "tick-journal")
+public record TickJournalProperties(boolean enabled, Path directory, DataSize segmentSize, Duration drainInterval,
+		int drainBatchSize, boolean forceOnAppend, Kafka kafka) {
+
+	/**
+	 * @param enabled
+	 *            publishes journaled ticks to {@code topic}
+	 * @param topic
+	 *            topic the ticks are sent to, as JSON keyed by
+	 *            {@code source:ticker}
+	 * @param sendTimeout
+	 *            how long a drain round waits for the broker to acknowledge
+	 */
+	public record Kafka(boolean enabled, String topic, Duration sendTimeout) {
+	}
+}
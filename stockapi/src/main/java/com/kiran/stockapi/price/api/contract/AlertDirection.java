@@ -0,0 +1,56 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * When a price alert fires, relative to its threshold. Alerts fire once, on
+ * the tick that moves the value onto or through the threshold.
+ */
+public enum AlertDirection {
+	/** The value rises to or above the threshold. */
+	ABOVE("above"),
+	/** The value falls to or below the threshold. */
+	BELOW("below"),
+	/** The value moves through the threshold in either direction. */
+	CROSSES("crosses");
+
+	private final String code;
+
+	AlertDirection(String code) {
+		this.code = code;
+	}
+
+	@JsonValue
+	public String code() {
+		return code;
+	}
+
+	public boolean firesRising() {
+		return this != BELOW;
+	}
+
+	public boolean firesFalling() {
+		return this != ABOVE;
+	}
+
+	/**
+	 * Whether a value already satisfies the alert without a previous value to
+	 * compare with; a crossing always needs one.
+	 */
+	public boolean isSatisfiedBy(BigDecimal value, BigDecimal threshold) {
+		return switch (this) {
+			case ABOVE -> value.compareTo(threshold) >= 0;
+			case BELOW -> value.compareTo(threshold) <= 0;
+			case CROSSES -> false;
+		};
+	}
+
+	@JsonCreator
+	public static AlertDirection fromCode(String code) {
+		return Arrays.stream(values()).filter(direction -> direction.code.equals(code)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown alert direction: " + code));
+	}
+}
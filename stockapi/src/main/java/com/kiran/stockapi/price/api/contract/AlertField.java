@@ -0,0 +1,51 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/** Quote values a price alert can watch. */
+public enum AlertField {
+	/** The latest price. */
+	PRICE("price"),
+	/**
+	 * Change against the previous close in percent, derived from the price so
+	 * that it means the same for every provider.
+	 */
+	DAY_CHANGE("day_change");
+
+	private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+	private final String code;
+
+	AlertField(String code) {
+		this.code = code;
+	}
+
+	@JsonValue
+	public String code() {
+		return code;
+	}
+
+	/** The watched value of {@code quote}, or {@code null} when it lacks the inputs. */
+	public BigDecimal value(Quote quote) {
+		BigDecimal price = quote.getPrice();
+		if (this == PRICE || price == null) {
+			return price;
+		}
+		BigDecimal previousClose = quote.getPreviousClosePrice();
+		if (previousClose == null || previousClose.signum() == 0) {
+			return null;
+		}
+		return price.subtract(previousClose).multiply(HUNDRED).divide(previousClose, 8, RoundingMode.HALF_UP);
+	}
+
+	@JsonCreator
+	public static AlertField fromCode(String code) {
+		return Arrays.stream(values()).filter(field -> field.code.equals(code)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown alert field: " + code));
+	}
+}
@@ -0,0 +1,16 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Import of Alpha Vantage daily series.
+ *
+ * @param symbols
+ *            one {@code TIME_SERIES_DAILY} call each
+ * @param full
+ *            the full history instead of the last 100 days
+ */
+public record AlphaVantageBackfillRequest(@JsonProperty("symbols") List<String> symbols,
+		@JsonProperty("full") boolean full) {
+}
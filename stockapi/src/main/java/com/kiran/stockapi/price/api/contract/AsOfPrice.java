@@ -0,0 +1,23 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.time.Instant;
+
+/**
+ * One line of the as-of and history price streams: a stored quote of a symbol.
+ * In the as-of stream it is the one that was current at the requested time.
+ *
+ * @param symbol
+ *            the requested symbol
+ * @param source
+ *            the provider the quote came from
+ * @param pulledAt
+ *            when the quote was pulled; for as-of, at or before the requested
+ *            time
+ * @param quote
+ *            the quote
+ */
+public record AsOfPrice(@JsonProperty("symbol") String symbol, @JsonProperty("source") String source,
+		@JsonProperty("pulled_at") Instant pulledAt, @JsonProperty("quote") Quote quote) {
+}
@@ -0,0 +1,41 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * Progress of a backfill job.
+ *
+ * @param id
+ *            the job, unique within this instance
+ * @param target
+ *            the imported file, or {@code alphavantage} for series imports
+ * @param source
+ *            provider the rows are stored under unless they name one
+ * @param status
+ *            where the job stands
+ * @param units
+ *            chunks of the file, or symbols to fetch
+ * @param completedUnits
+ *            chunks loaded (including those loaded by earlier jobs), or
+ *            symbols fetched
+ * @param rows
+ *            rows loaded by this job
+ * @param rejectedRows
+ *            rows skipped because they could not be parsed
+ * @param startedAt
+ *            when the job started
+ * @param completedAt
+ *            when it stopped, whatever the outcome
+ * @param error
+ *            why it failed, or the first rejected row
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BackfillJob(@JsonProperty("id") long id, @JsonProperty("target") String target,
+		@JsonProperty("source") String source, @JsonProperty("status") BackfillStatus status,
+		@JsonProperty("units") int units, @JsonProperty("completed_units") int completedUnits,
+		@JsonProperty("rows") long rows, @JsonProperty("rejected_rows") long rejectedRows,
+		@JsonProperty("started_at") Instant startedAt, @JsonProperty("completed_at") Instant completedAt,
+		@JsonProperty("error") String error) {
+}
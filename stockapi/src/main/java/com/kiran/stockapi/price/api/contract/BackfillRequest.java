@@ -0,0 +1,17 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Import of one file of historical quotes: CSV with a header line
+ * ({@code .csv}) or one JSON object per line ({@code .jsonl},
+ * {@code .ndjson}).
+ *
+ * @param path
+ *            the file, relative to {@code backfill.directory}
+ * @param source
+ *            provider of rows that do not name one; defaults to
+ *            {@code stockdata}
+ */
+public record BackfillRequest(@JsonProperty("path") String path, @JsonProperty("source") String source) {
+}
@@ -0,0 +1,24 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/** Where a backfill job stands. */
+public enum BackfillStatus {
+	RUNNING("running"),
+	COMPLETED("completed"),
+	/** Stopped on an error; what was loaded stays, and a new job resumes. */
+	FAILED("failed"),
+	/** Stopped at the Alpha Vantage budget; a new job tomorrow resumes. */
+	QUOTA_EXHAUSTED("quota_exhausted");
+
+	private final String code;
+
+	BackfillStatus(String code) {
+		this.code = code;
+	}
+
+	@JsonValue
+	public String code() {
+		return code;
+	}
+}
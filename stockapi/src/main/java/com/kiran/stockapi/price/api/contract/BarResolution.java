@@ -0,0 +1,57 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Resolutions maintained for OHLCV bars, ordered from finest to coarsest.
+ * Buckets are aligned to the epoch, so daily bars start at UTC midnight.
+ */
+public enum BarResolution {
+	ONE_MINUTE("1m", Duration.ofMinutes(1)), FIVE_MINUTES("5m", Duration.ofMinutes(5)), ONE_HOUR("1h",
+			Duration.ofHours(1)), ONE_DAY("1d", Duration.ofDays(1));
+
+	private final String code;
+	private final Duration duration;
+
+	BarResolution(String code, Duration duration) {
+		this.code = code;
+		this.duration = duration;
+	}
+
+	@JsonValue
+	public String code() {
+		return code;
+	}
+
+	public Duration duration() {
+		return duration;
+	}
+
+	/** Start of the bucket containing the given instant. */
+	public Instant bucketStart(Instant instant) {
+		long size = duration.toMillis();
+		return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), size) * size);
+	}
+
+	public static BarResolution fromCode(String code) {
+		return Arrays.stream(values()).filter(resolution -> resolution.code.equals(code)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown bar resolution: " + code));
+	}
+
+	/**
+	 * Picks the coarsest resolution that still yields at least {@code points} bars
+	 * over {@code range}, falling back to the finest resolution when none does.
+	 */
+	public static BarResolution coarsestFor(Duration range, int points) {
+		BarResolution[] resolutions = values();
+		for (int i = resolutions.length - 1; i >= 0; i--) {
+			if (range.dividedBy(resolutions[i].duration) >= points) {
+				return resolutions[i];
+			}
+		}
+		return resolutions[0];
+	}
+}
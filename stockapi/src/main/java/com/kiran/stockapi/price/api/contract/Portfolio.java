@@ -0,0 +1,9 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/** A stored portfolio, without its positions. */
+public record Portfolio(@JsonProperty("id") long id, @JsonProperty("owner") String owner,
+		@JsonProperty("name") String name, @JsonProperty("created_at") Instant createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.kiran.stockapi.price.api.contract;
+
+/**
+ * Body of {@code POST /portfolios}.
+ *
+ * @param owner
+ *            who the portfolio belongs to
+ * @param name
+ *            display name
+ */
+public record PortfolioRequest(String owner, String name) {
+}
@@ -0,0 +1,25 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Market value of a portfolio at the latest received prices.
+ *
+ * @param portfolioId
+ *            the portfolio
+ * @param marketValue
+ *            sum of quantity times latest price over the priced positions
+ * @param positions
+ *            number of positions
+ * @param unpricedPositions
+ *            positions without a price yet, not included in
+ *            {@code marketValue}
+ * @param valuedAt
+ *            pull time of the tick that last changed the value
+ */
+public record PortfolioValuation(@JsonProperty("portfolio_id") long portfolioId,
+		@JsonProperty("market_value") BigDecimal marketValue, @JsonProperty("positions") int positions,
+		@JsonProperty("unpriced_positions") int unpricedPositions, @JsonProperty("valued_at") Instant valuedAt) {
+}
@@ -0,0 +1,13 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+
+/**
+ * A holding of a portfolio; {@code quantity} is negative for short positions.
+ * As a request body of {@code PUT /portfolios/{id}/positions/{ticker}} only
+ * {@code quantity} is read.
+ */
+public record Position(@JsonProperty("portfolio_id") long portfolioId, @JsonProperty("ticker") String ticker,
+		@JsonProperty("quantity") BigDecimal quantity) {
+}
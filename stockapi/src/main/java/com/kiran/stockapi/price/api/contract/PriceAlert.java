@@ -0,0 +1,23 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A registered price alert. {@code triggeredAt} and {@code triggeredValue} are
+ * set once the alert has fired; that is also the shape pushed on
+ * {@code GET /alerts/stream}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PriceAlert(@JsonProperty("id") long id, @JsonProperty("owner") String owner,
+		@JsonProperty("ticker") String ticker, @JsonProperty("field") AlertField field,
+		@JsonProperty("direction") AlertDirection direction, @JsonProperty("threshold") BigDecimal threshold,
+		@JsonProperty("created_at") Instant createdAt, @JsonProperty("triggered_at") Instant triggeredAt,
+		@JsonProperty("triggered_value") BigDecimal triggeredValue) {
+
+	public PriceAlert triggered(Instant at, BigDecimal value) {
+		return new PriceAlert(id, owner, ticker, field, direction, threshold, createdAt, at, value);
+	}
+}
@@ -0,0 +1,22 @@
+package com.kiran.stockapi.price.api.contract;
+
+import java.math.BigDecimal;
+
+/**
+ * Body of {@code POST /alerts}, e.g.
+ * {@code {"owner": "kiran", "ticker": "AAPL", "field": "price", "direction": "crosses", "threshold": 250}}.
+ *
+ * @param owner
+ *            who receives the alert on {@code GET /alerts/stream}
+ * @param ticker
+ *            the watched symbol
+ * @param field
+ *            the watched value; {@code day_change} is in percent
+ * @param direction
+ *            {@code above}, {@code below} or {@code crosses}
+ * @param threshold
+ *            the value at which the alert fires
+ */
+public record PriceAlertRequest(String owner, String ticker, AlertField field, AlertDirection direction,
+		BigDecimal threshold) {
+}
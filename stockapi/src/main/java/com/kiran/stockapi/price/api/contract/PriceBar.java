@@ -0,0 +1,69 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/** A single OHLCV bar. {@code volume} is the traded volume within the bar. */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public final class PriceBar {
+
+	@JsonProperty("bar_start")
+	private final Instant barStart;
+
+	@JsonProperty("open")
+	@EqualsAndHashCode.Exclude
+	private final BigDecimal open;
+
+	@JsonProperty("high")
+	@EqualsAndHashCode.Exclude
+	private final BigDecimal high;
+
+	@JsonProperty("low")
+	@EqualsAndHashCode.Exclude
+	private final BigDecimal low;
+
+	@JsonProperty("close")
+	@EqualsAndHashCode.Exclude
+	private final BigDecimal close;
+
+	@JsonProperty("volume")
+	private final long volume;
+
+	@JsonProperty("tick_count")
+	private final int tickCount;
+
+	@JsonIgnore
+	@EqualsAndHashCode.Include
+	public BigDecimal getOpenStripped() {
+		return open != null ? open.stripTrailingZeros() : null;
+	}
+
+	@JsonIgnore
+	@EqualsAndHashCode.Include
+	public BigDecimal getHighStripped() {
+		return high != null ? high.stripTrailingZeros() : null;
+	}
+
+	@JsonIgnore
+	@EqualsAndHashCode.Include
+	public BigDecimal getLowStripped() {
+		return low != null ? low.stripTrailingZeros() : null;
+	}
+
+	@JsonIgnore
+	@EqualsAndHashCode.Include
+	public BigDecimal getCloseStripped() {
+		return close != null ? close.stripTrailingZeros() : null;
+	}
+}
@@ -0,0 +1,11 @@
+package com.kiran.stockapi.price.api.contract;
+
+import java.util.List;
+
+/** Response of the bar query API: the bars of one ticker at the chosen resolution. */
+public record PriceBarSeries(String ticker, String source, BarResolution resolution, List<PriceBar> bars) {
+
+	public PriceBarSeries {
+		bars = List.copyOf(bars);
+	}
+}
@@ -0,0 +1,18 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kiran.stockapi.common.projection.Projection;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import java.time.Instant;
+import java.util.Set;
+
+/** An {@link AsOfPrice} whose quote only carries the requested {@link QuoteField}s. */
+public record ProjectedAsOfPrice(@JsonProperty("symbol") String symbol, @JsonProperty("source") String source,
+		@JsonProperty("pulled_at") Instant pulledAt, @JsonProperty("quote") Projection<Quote> quote) {
+
+	public static ProjectedAsOfPrice of(AsOfPrice price, Set<QuoteField> fields) {
+		return new ProjectedAsOfPrice(price.symbol(), price.source(), price.pulledAt(),
+				new Projection<>(price.quote(), fields));
+	}
+}
@@ -0,0 +1,27 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+
+/**
+ * One line of the batch quote stream: the quote of a symbol from one provider,
+ * or why there is none.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QuoteBatchEntry(String symbol, String source, Quote quote, String error) {
+
+	/** The provider answered but did not include the symbol. */
+	public static final String NOT_RETURNED = "not_returned";
+	/** The batch timed out before the provider answered. */
+	public static final String TIMEOUT = "timeout";
+	/** No Alpha Vantage call was left before the batch would time out. */
+	public static final String QUOTA_EXHAUSTED = "quota_exhausted";
+
+	public static QuoteBatchEntry quote(String symbol, String source, Quote quote) {
+		return new QuoteBatchEntry(symbol, source, quote, null);
+	}
+
+	public static QuoteBatchEntry error(String symbol, String source, String error) {
+		return new QuoteBatchEntry(symbol, source, null, error);
+	}
+}
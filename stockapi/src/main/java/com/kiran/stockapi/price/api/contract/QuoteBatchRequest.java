@@ -0,0 +1,15 @@
+package com.kiran.stockapi.price.api.contract;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /quotes/batch}.
+ *
+ * @param symbols
+ *            tickers to quote
+ * @param sources
+ *            providers to ask ({@code stockdata}, {@code alphavantage}); all of
+ *            them when empty
+ */
+public record QuoteBatchRequest(List<String> symbols, List<String> sources) {
+}
@@ -0,0 +1,11 @@
+package com.kiran.stockapi.price.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** A symbol found by {@code GET /symbols/search}, with its reference data. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SymbolMatch(@JsonProperty("ticker") String ticker, @JsonProperty("name") String name,
+		@JsonProperty("exchange_short") String exchangeShort, @JsonProperty("exchange_long") String exchangeLong,
+		@JsonProperty("mic_code") String micCode) {
+}
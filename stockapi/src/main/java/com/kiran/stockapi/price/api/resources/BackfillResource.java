@@ -0,0 +1,65 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.kiran.stockapi.price.api.contract.AlphaVantageBackfillRequest;
+import com.kiran.stockapi.price.api.contract.BackfillJob;
+import com.kiran.stockapi.price.api.contract.BackfillRequest;
+import com.kiran.stockapi.price.backfill.BackfillService;
+import java.io.IOException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = {"database.enabled", "backfill.enabled"}, havingValue = "true")
+public class BackfillResource {
+
+	private final BackfillService backfillService;
+
+	public BackfillResource(BackfillService backfillService) {
+		this.backfillService = backfillService;
+	}
+
+	/**
+	 * Starts importing a CSV or JSON lines file below
+	 * {@code backfill.directory}; poll the returned job for progress.
+	 */
+	@PostMapping("/backfill/files")
+	public ResponseEntity<BackfillJob> importFile(@RequestBody BackfillRequest request) {
+		try {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.importFile(request));
+		} catch (IllegalArgumentException | IOException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	/** Starts importing the Alpha Vantage daily series of the given symbols. */
+	@PostMapping("/backfill/alphavantage")
+	public ResponseEntity<BackfillJob> importAlphaVantage(@RequestBody AlphaVantageBackfillRequest request) {
+		try {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.importAlphaVantage(request));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+
+	/** Jobs started since the application started. */
+	@GetMapping("/backfill/jobs")
+	public List<BackfillJob> jobs() {
+		return backfillService.jobs();
+	}
+
+	@GetMapping("/backfill/jobs/{id}")
+	public BackfillJob job(@PathVariable long id) {
+		return backfillService.job(id)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No backfill job " + id));
+	}
+}
@@ -0,0 +1,121 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.kiran.stockapi.price.api.config.PortfolioProperties;
+import com.kiran.stockapi.price.api.contract.Portfolio;
+import com.kiran.stockapi.price.api.contract.PortfolioRequest;
+import com.kiran.stockapi.price.api.contract.PortfolioValuation;
+import com.kiran.stockapi.price.api.contract.Position;
+import com.kiran.stockapi.price.portfolio.PortfolioRepository;
+import com.kiran.stockapi.price.portfolio.PortfolioValuator;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "portfolios.enabled", havingValue = "true")
+public class PortfolioResource {
+
+	private final PortfolioValuator portfolioValuator;
+	private final PortfolioRepository portfolioRepository;
+	private final PortfolioProperties portfolioProperties;
+
+	public PortfolioResource(PortfolioValuator portfolioValuator, PortfolioRepository portfolioRepository,
+			PortfolioProperties portfolioProperties) {
+		this.portfolioValuator = portfolioValuator;
+		this.portfolioRepository = portfolioRepository;
+		this.portfolioProperties = portfolioProperties;
+	}
+
+	@PostMapping("/portfolios")
+	public ResponseEntity<Portfolio> create(@RequestBody PortfolioRequest request) {
+		if (isBlank(request.owner()) || isBlank(request.name())) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'owner' and 'name' are required");
+		}
+		log.info("Creating portfolio '{}' for {}", request.name(), request.owner());
+		return ResponseEntity.status(HttpStatus.CREATED).body(
+				portfolioValuator.create(new PortfolioRequest(request.owner().trim(), request.name().trim())));
+	}
+
+	@GetMapping("/portfolios")
+	public List<Portfolio> portfolios(@RequestParam String owner) {
+		return portfolioRepository.findByOwner(owner);
+	}
+
+	@DeleteMapping("/portfolios/{id}")
+	public ResponseEntity<Void> delete(@PathVariable long id) {
+		if (!portfolioValuator.delete(id)) {
+			throw notFound(id);
+		}
+		return ResponseEntity.noContent().build();
+	}
+
+	@GetMapping("/portfolios/{id}/positions")
+	public List<Position> positions(@PathVariable long id) {
+		return portfolioRepository.findPositions(id);
+	}
+
+	/** Sets a position's quantity; only {@code quantity} of the body is read. */
+	@PutMapping("/portfolios/{id}/positions/{ticker}")
+	public ResponseEntity<Void> setPosition(@PathVariable long id, @PathVariable String ticker,
+			@RequestBody Position position) {
+		if (position.quantity() == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'quantity' is required");
+		}
+		if (!portfolioValuator.setPosition(new Position(id, normalize(ticker), position.quantity()))) {
+			throw notFound(id);
+		}
+		return ResponseEntity.noContent().build();
+	}
+
+	@DeleteMapping("/portfolios/{id}/positions/{ticker}")
+	public ResponseEntity<Void> removePosition(@PathVariable long id, @PathVariable String ticker) {
+		if (!portfolioValuator.removePosition(id, normalize(ticker))) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No position in " + ticker + " in portfolio " + id);
+		}
+		return ResponseEntity.noContent().build();
+	}
+
+	/** Current market value of a portfolio, from memory. */
+	@GetMapping("/portfolios/{id}/valuation")
+	public PortfolioValuation valuation(@PathVariable long id) {
+		return portfolioValuator.valuation(id).orElseThrow(() -> notFound(id));
+	}
+
+	/**
+	 * Current market values of up to {@code portfolios.max-valuation-ids}
+	 * portfolios, from memory; unknown ids are left out.
+	 */
+	@GetMapping("/portfolios/valuations")
+	public List<PortfolioValuation> valuations(@RequestParam List<Long> ids) {
+		if (ids.isEmpty() || ids.size() > portfolioProperties.maxValuationIds()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'ids' must list between 1 and " + portfolioProperties.maxValuationIds() + " portfolios");
+		}
+		return portfolioValuator.valuations(ids);
+	}
+
+	private static ResponseStatusException notFound(long id) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "No portfolio " + id);
+	}
+
+	private static String normalize(String ticker) {
+		return ticker.trim().toUpperCase(Locale.ROOT);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,82 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.kiran.stockapi.price.alert.PriceAlertEngine;
+import com.kiran.stockapi.price.alert.PriceAlertRepository;
+import com.kiran.stockapi.price.alert.PriceAlertStream;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import com.kiran.stockapi.price.api.contract.PriceAlertRequest;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "price-alerts.enabled", havingValue = "true")
+public class PriceAlertResource {
+
+	private final PriceAlertEngine priceAlertEngine;
+	private final PriceAlertRepository priceAlertRepository;
+	private final PriceAlertStream priceAlertStream;
+
+	public PriceAlertResource(PriceAlertEngine priceAlertEngine, PriceAlertRepository priceAlertRepository,
+			PriceAlertStream priceAlertStream) {
+		this.priceAlertEngine = priceAlertEngine;
+		this.priceAlertRepository = priceAlertRepository;
+		this.priceAlertStream = priceAlertStream;
+	}
+
+	/**
+	 * Registers an alert. It is returned already triggered when the last seen
+	 * value satisfies it.
+	 */
+	@PostMapping("/alerts")
+	public ResponseEntity<PriceAlert> register(@RequestBody PriceAlertRequest request) {
+		if (isBlank(request.owner()) || isBlank(request.ticker()) || request.field() == null
+				|| request.direction() == null || request.threshold() == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'owner', 'ticker', 'field', 'direction' and 'threshold' are required");
+		}
+		PriceAlertRequest normalized = new PriceAlertRequest(request.owner().trim(),
+				request.ticker().trim().toUpperCase(Locale.ROOT), request.field(), request.direction(),
+				request.threshold());
+		log.info("Registering a {} {} {} alert on {} for {}", normalized.field().code(),
+				normalized.direction().code(), normalized.threshold(), normalized.ticker(), normalized.owner());
+		return ResponseEntity.status(HttpStatus.CREATED).body(priceAlertEngine.register(normalized));
+	}
+
+	@GetMapping("/alerts")
+	public List<PriceAlert> alerts(@RequestParam String owner) {
+		return priceAlertRepository.findByOwner(owner);
+	}
+
+	@DeleteMapping("/alerts/{id}")
+	public ResponseEntity<Void> cancel(@PathVariable long id) {
+		if (priceAlertEngine.cancel(id).isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No active alert " + id);
+		}
+		return ResponseEntity.noContent().build();
+	}
+
+	/** Pushes the alerts of {@code owner} as they fire, as server-sent events. */
+	@GetMapping(path = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestParam String owner) {
+		return priceAlertStream.subscribe(owner);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,51 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.kiran.stockapi.price.api.config.PriceBarProperties;
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import com.kiran.stockapi.price.api.contract.PriceBarSeries;
+import com.kiran.stockapi.price.bars.PriceBarRepository;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "price-bars.enabled", havingValue = "true")
+public class PriceBarResource {
+
+	private final PriceBarRepository priceBarRepository;
+	private final PriceBarProperties priceBarProperties;
+
+	public PriceBarResource(PriceBarRepository priceBarRepository, PriceBarProperties priceBarProperties) {
+		this.priceBarRepository = priceBarRepository;
+		this.priceBarProperties = priceBarProperties;
+	}
+
+	/**
+	 * Returns OHLCV bars for {@code symbol} over {@code [from, to)} at the
+	 * coarsest resolution that still yields at least {@code points} bars.
+	 */
+	@GetMapping("/bars")
+	public PriceBarSeries bars(@RequestParam String symbol, @RequestParam(required = false) Instant from,
+			@RequestParam(required = false) Instant to, @RequestParam(required = false) Integer points,
+			@RequestParam(required = false) String source) {
+		Instant end = to != null ? to : Instant.now();
+		Instant start = from != null ? from : end.minus(priceBarProperties.defaultRange());
+		int requestedPoints = points != null ? points : priceBarProperties.defaultPoints();
+		if (!start.isBefore(end) || requestedPoints <= 0) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to' and 'points' > 0");
+		}
+		String barSource = source != null ? source : priceBarProperties.defaultSource();
+		BarResolution resolution = BarResolution.coarsestFor(Duration.between(start, end), requestedPoints);
+		log.info("Fetching {} bars for {} from {} between {} and {}", resolution.code(), symbol, barSource, start,
+				end);
+		return new PriceBarSeries(symbol, barSource, resolution,
+				priceBarRepository.findBars(symbol, barSource, resolution, start, end));
+	}
+}
@@ -0,0 +1,173 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.price.api.config.PriceHistoryProperties;
+import com.kiran.stockapi.price.api.contract.AsOfPrice;
+import com.kiran.stockapi.price.api.contract.ProjectedAsOfPrice;
+import com.kiran.stockapi.price.batch.QuoteBatchService;
+import com.kiran.stockapi.price.history.PriceHistoryRepository;
+import com.kiran.stockapi.price.history.PriceHistoryService;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.ProjectedStockApiResponse;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "price-history.enabled", havingValue = "true")
+public class PriceHistoryResource {
+
+	private final PriceHistoryRepository priceHistoryRepository;
+	private final PriceHistoryService priceHistoryService;
+	private final PriceHistoryProperties priceHistoryProperties;
+	private final ObjectMapper objectMapper;
+
+	public PriceHistoryResource(PriceHistoryRepository priceHistoryRepository, PriceHistoryService priceHistoryService,
+			PriceHistoryProperties priceHistoryProperties, ObjectMapper objectMapper) {
+		this.priceHistoryRepository = priceHistoryRepository;
+		this.priceHistoryService = priceHistoryService;
+		this.priceHistoryProperties = priceHistoryProperties;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Last stored quote of up to {@code price-history.latest-max-symbols} symbols
+	 * from {@code source}, without calling the provider. Symbols never stored are
+	 * left out of {@code data}.
+	 */
+	@GetMapping("/prices/latest")
+	public StockApiResponse latest(@RequestParam List<String> symbols,
+			@RequestParam(required = false) String source) {
+		return latest(symbols, source, QuoteField.ALL);
+	}
+
+	/**
+	 * {@link #latest(List, String)} with each quote reduced to the
+	 * comma-separated attributes in {@code fields}; only their columns are read.
+	 */
+	@GetMapping(path = "/prices/latest", params = "fields")
+	public ProjectedStockApiResponse latest(@RequestParam List<String> symbols,
+			@RequestParam(required = false) String source, @RequestParam String fields) {
+		Set<QuoteField> projection = parseFields(fields);
+		return ProjectedStockApiResponse.of(latest(symbols, source, projection), projection);
+	}
+
+	private StockApiResponse latest(List<String> symbols, String source, Set<QuoteField> fields) {
+		List<String> tickers = QuoteBatchService.normalize(symbols);
+		if (tickers.isEmpty() || tickers.size() > priceHistoryProperties.latestMaxSymbols()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'symbols' must list between 1 and " + priceHistoryProperties.latestMaxSymbols() + " symbols");
+		}
+		String priceSource = source != null ? source : PriceTick.SOURCE_STOCKDATA;
+		log.info("Reading the latest prices of {} symbols from {}", tickers.size(), priceSource);
+		Map<String, Quote> current = priceHistoryRepository.findCurrent(tickers, priceSource, fields);
+		Map<String, Quote> data = new LinkedHashMap<>();
+		for (String ticker : tickers) {
+			Quote quote = current.get(ticker);
+			if (quote != null) {
+				data.put(ticker, quote);
+			}
+		}
+		return new StockApiResponse(new Meta(tickers.size(), data.size()), data);
+	}
+
+	/**
+	 * Stored quotes of up to {@code price-history.as-of-max-symbols} symbols from
+	 * {@code source} as of {@code t}: per symbol the last quote pulled at or
+	 * before it, one {@link AsOfPrice} per line. All symbols are answered by a
+	 * single query whose rows are written as they are read; symbols it has no row
+	 * for are looked up in the archived months. Thousands of symbols do not fit in
+	 * a request line, so the parameters may also be posted as a form. With
+	 * {@code fields}, quotes carry only those attributes and only their columns
+	 * are read.
+	 */
+	@RequestMapping(path = "/prices/as-of", method = {RequestMethod.GET,
+			RequestMethod.POST}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> asOf(@RequestParam Instant t, @RequestParam List<String> symbols,
+			@RequestParam(required = false) String source, @RequestParam(required = false) String fields) {
+		Set<QuoteField> projection = parseFields(fields);
+		List<String> tickers = QuoteBatchService.normalize(symbols);
+		if (tickers.isEmpty() || tickers.size() > priceHistoryProperties.asOfMaxSymbols()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'symbols' must list between 1 and " + priceHistoryProperties.asOfMaxSymbols() + " symbols");
+		}
+		String priceSource = source != null ? source : PriceTick.SOURCE_STOCKDATA;
+		log.info("Reading the prices of {} symbols from {} as of {}", tickers.size(), priceSource, t);
+		StreamingResponseBody body = out -> {
+			OutputStream buffered = new BufferedOutputStream(out);
+			priceHistoryService.findAsOf(tickers, priceSource, t, projection,
+					price -> write(price, fields == null ? null : projection, buffered));
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	/**
+	 * Stored quotes of {@code symbol} from {@code source} pulled in
+	 * {@code [from, to)}, oldest first, one {@link AsOfPrice} per line. Archived
+	 * months are read from their files, the rest from {@code refdata.price};
+	 * {@code fields} projects them as for {@code /prices/as-of}.
+	 */
+	@GetMapping(path = "/prices/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> history(@RequestParam String symbol, @RequestParam Instant from,
+			@RequestParam Instant to, @RequestParam(required = false) String source,
+			@RequestParam(required = false) String fields) {
+		Set<QuoteField> projection = parseFields(fields);
+		List<String> tickers = QuoteBatchService.normalize(List.of(symbol));
+		if (tickers.isEmpty() || !from.isBefore(to)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'symbol' is required and 'from' must be before 'to'");
+		}
+		String ticker = tickers.getFirst();
+		String priceSource = source != null ? source : PriceTick.SOURCE_STOCKDATA;
+		log.info("Reading the prices of {} from {} between {} and {}", ticker, priceSource, from, to);
+		StreamingResponseBody body = out -> {
+			OutputStream buffered = new BufferedOutputStream(out);
+			priceHistoryService.findRange(ticker, priceSource, from, to, projection,
+					price -> write(price, fields == null ? null : projection, buffered));
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	/** Writes {@code price} as one line, projected to {@code fields} unless that is {@code null}. */
+	private void write(AsOfPrice price, Set<QuoteField> fields, OutputStream out) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(fields == null ? price : ProjectedAsOfPrice.of(price, fields)));
+			out.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Set<QuoteField> parseFields(String fields) {
+		try {
+			return QuoteField.parse(fields);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+	}
+}
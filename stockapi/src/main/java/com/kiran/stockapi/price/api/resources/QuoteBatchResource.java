@@ -0,0 +1,146 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.price.api.config.QuoteBatchProperties;
+import com.kiran.stockapi.price.api.contract.QuoteBatchEntry;
+import com.kiran.stockapi.price.api.contract.QuoteBatchRequest;
+import com.kiran.stockapi.price.batch.QuoteBatchService;
+import com.kiran.stockapi.stockdata.api.wire.QuoteBinaryCodec;
+import com.kiran.stockapi.stockdata.api.wire.QuoteBinaryHttpMessageConverter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+public class QuoteBatchResource {
+
+	private final QuoteBatchService quoteBatchService;
+	private final QuoteBatchProperties quoteBatchProperties;
+	private final ObjectMapper objectMapper;
+
+	public QuoteBatchResource(QuoteBatchService quoteBatchService, QuoteBatchProperties quoteBatchProperties,
+			ObjectMapper objectMapper) {
+		this.quoteBatchService = quoteBatchService;
+		this.quoteBatchProperties = quoteBatchProperties;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Quotes up to {@code quote-batch.max-symbols} symbols, one
+	 * {@link QuoteBatchEntry} per symbol and provider, written as the provider
+	 * sub-requests complete. The stream is newline-delimited JSON unless
+	 * {@value QuoteBinaryCodec#MEDIA_TYPE} is accepted explicitly and preferred
+	 * (see {@link #acceptsBinary(String)}); then each entry is a
+	 * {@link QuoteBinaryCodec} frame: a byte (0 quote, 1 error), symbol, source,
+	 * then the quote or the error string.
+	 */
+	@PostMapping(path = "/quotes/batch", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+			QuoteBinaryCodec.MEDIA_TYPE})
+	public ResponseEntity<StreamingResponseBody> batch(@RequestBody QuoteBatchRequest request,
+			@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+		return acceptsBinary(accept)
+				? stream(request, QuoteBinaryHttpMessageConverter.QUOTE_BINARY, QuoteBatchResource::writeBinary)
+				: stream(request, MediaType.APPLICATION_NDJSON, this::writeJson);
+	}
+
+	/**
+	 * Whether the binary format is named in {@code accept} and preferred: each
+	 * format takes the quality of the most specific range that matches it, so
+	 * {@code application/*, application/x-quote-binary;q=0.1} stays on NDJSON.
+	 * Binary must be named, not only matched by a wildcard, and wins a tie.
+	 */
+	static boolean acceptsBinary(String accept) {
+		if (accept == null) {
+			return false;
+		}
+		List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+		MediaType binary = mostSpecific(accepted, QuoteBinaryHttpMessageConverter.QUOTE_BINARY);
+		if (binary == null || binary.isWildcardType() || binary.isWildcardSubtype()) {
+			return false;
+		}
+		MediaType ndjson = mostSpecific(accepted, MediaType.APPLICATION_NDJSON);
+		double ndjsonQuality = ndjson == null ? 0 : ndjson.getQualityValue();
+		return binary.getQualityValue() > 0 && binary.getQualityValue() >= ndjsonQuality;
+	}
+
+	private static MediaType mostSpecific(List<MediaType> accepted, MediaType mediaType) {
+		MediaType best = null;
+		for (MediaType range : accepted) {
+			if (range.includes(mediaType) && (best == null || specificity(range) > specificity(best))) {
+				best = range;
+			}
+		}
+		return best;
+	}
+
+	private static int specificity(MediaType range) {
+		return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+	}
+
+	private ResponseEntity<StreamingResponseBody> stream(QuoteBatchRequest request, MediaType mediaType,
+			EntryWriter writer) {
+		List<String> symbols = QuoteBatchService.normalize(request.symbols());
+		if (symbols.isEmpty() || symbols.size() > quoteBatchProperties.maxSymbols()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'symbols' must list between 1 and " + quoteBatchProperties.maxSymbols() + " symbols");
+		}
+		List<String> sources = request.sources() == null || request.sources().isEmpty()
+				? QuoteBatchService.SOURCES
+				: request.sources().stream().distinct().toList();
+		if (!QuoteBatchService.SOURCES.containsAll(sources)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'sources' must be among " + QuoteBatchService.SOURCES);
+		}
+		log.info("Fetching a batch of {} symbols from {}", symbols.size(), sources);
+		StreamingResponseBody body = out -> {
+			DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+			quoteBatchService.fetch(symbols, sources, entries -> {
+				try {
+					for (QuoteBatchEntry entry : entries) {
+						writer.write(entry, data);
+					}
+					data.flush();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			data.flush();
+		};
+		return ResponseEntity.ok().contentType(mediaType).body(body);
+	}
+
+	private void writeJson(QuoteBatchEntry entry, DataOutputStream out) throws IOException {
+		out.write(objectMapper.writeValueAsBytes(entry));
+		out.write('\n');
+	}
+
+	private static void writeBinary(QuoteBatchEntry entry, DataOutputStream out) throws IOException {
+		out.writeByte(entry.quote() != null ? 0 : 1);
+		QuoteBinaryCodec.writeString(entry.symbol(), out);
+		QuoteBinaryCodec.writeString(entry.source(), out);
+		if (entry.quote() != null) {
+			QuoteBinaryCodec.writeQuote(entry.quote(), out);
+		} else {
+			QuoteBinaryCodec.writeString(entry.error(), out);
+		}
+	}
+
+	@FunctionalInterface
+	private interface EntryWriter {
+		void write(QuoteBatchEntry entry, DataOutputStream out) throws IOException;
+	}
+}
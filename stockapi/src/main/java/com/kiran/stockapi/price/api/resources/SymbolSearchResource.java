@@ -0,0 +1,39 @@
+package com.kiran.stockapi.price.api.resources;
+
+import com.kiran.stockapi.price.api.config.SymbolSearchProperties;
+import com.kiran.stockapi.price.api.contract.SymbolMatch;
+import com.kiran.stockapi.price.symbols.SymbolSearchIndex;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@ConditionalOnProperty(name = "symbol-search.enabled", havingValue = "true")
+public class SymbolSearchResource {
+
+	private final SymbolSearchIndex symbolSearchIndex;
+	private final SymbolSearchProperties symbolSearchProperties;
+
+	public SymbolSearchResource(SymbolSearchIndex symbolSearchIndex, SymbolSearchProperties symbolSearchProperties) {
+		this.symbolSearchIndex = symbolSearchIndex;
+		this.symbolSearchProperties = symbolSearchProperties;
+	}
+
+	/**
+	 * Autocomplete over tickers and company names: symbols whose ticker, or a
+	 * word of whose name, starts with {@code q}; ticker matches first.
+	 */
+	@GetMapping("/symbols/search")
+	public List<SymbolMatch> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+		int maxResults = symbolSearchProperties.maxResults();
+		if (q.isBlank() || (limit != null && (limit <= 0 || limit > maxResults))) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"'q' must not be blank and 'limit' must be between 1 and " + maxResults);
+		}
+		return symbolSearchIndex.search(q, limit != null ? limit : maxResults);
+	}
+}
@@ -0,0 +1,97 @@
+package com.kiran.stockapi.price.archive;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The columns of an archive file, named after the {@code refdata.price} and
+ * {@code refdata.instrument} columns. Instrument attributes are stored inline,
+ * so a file stays readable whatever happens to the dictionary later.
+ */
+enum ArchiveColumn {
+	TICKER(Type.STRING),
+	NAME(Type.STRING),
+	EXCHANGE_SHORT(Type.STRING),
+	EXCHANGE_LONG(Type.STRING),
+	MIC_CODE(Type.STRING),
+	CURRENCY(Type.STRING),
+	SOURCE(Type.STRING),
+	PRICE(Type.DECIMAL),
+	DAY_HIGH(Type.DECIMAL),
+	DAY_LOW(Type.DECIMAL),
+	DAY_OPEN(Type.DECIMAL),
+	WEEK52_HIGH(Type.DECIMAL),
+	WEEK52_LOW(Type.DECIMAL),
+	MARKET_CAP(Type.DECIMAL),
+	PREVIOUS_CLOSE_PRICE(Type.DECIMAL),
+	PREVIOUS_CLOSE_PRICE_TIME(Type.TIMESTAMP),
+	DAY_CHANGE(Type.DECIMAL),
+	VOLUME(Type.LONG),
+	IS_EXTENDED_HOURS_PRICE(Type.BOOLEAN),
+	LAST_TRADE_TIME(Type.TIMESTAMP),
+	PULLED_AT(Type.TIMESTAMP),
+	LAST_SEEN_AT(Type.TIMESTAMP);
+
+	/**
+	 * How values are encoded. Every encoding starts each value with a tag, so
+	 * nulls cost one byte; numbers and timestamps are stored as the difference to
+	 * the previous value of the row group, which is small for rows sorted by
+	 * ticker and time.
+	 */
+	enum Type {
+		/** {@code String}; a repeat of the previous value is one byte. */
+		STRING,
+		/** {@code BigDecimal}; at scale 8 when that fits 64 bits, as text otherwise. */
+		DECIMAL,
+		/** {@code Long}. */
+		LONG,
+		/** {@code Boolean}. */
+		BOOLEAN,
+		/** {@code Instant}, to the microsecond like Postgres. */
+		TIMESTAMP
+	}
+
+	private final Type type;
+
+	ArchiveColumn(Type type) {
+		this.type = type;
+	}
+
+	Type type() {
+		return type;
+	}
+
+	/** The value of this column in {@code row}, of the Java type of {@link #type()}. */
+	Object get(ArchivedPrice row) {
+		Quote quote = row.quote();
+		return switch (this) {
+			case TICKER -> quote.getTicker();
+			case NAME -> quote.getName();
+			case EXCHANGE_SHORT -> quote.getExchangeShort();
+			case EXCHANGE_LONG -> quote.getExchangeLong();
+			case MIC_CODE -> quote.getMicCode();
+			case CURRENCY -> quote.getCurrency();
+			case SOURCE -> row.source();
+			case PRICE -> quote.getPrice();
+			case DAY_HIGH -> quote.getDayHigh();
+			case DAY_LOW -> quote.getDayLow();
+			case DAY_OPEN -> quote.getDayOpen();
+			case WEEK52_HIGH -> quote.getWeek52High();
+			case WEEK52_LOW -> quote.getWeek52Low();
+			case MARKET_CAP -> quote.getMarketCap();
+			case PREVIOUS_CLOSE_PRICE -> quote.getPreviousClosePrice();
+			case PREVIOUS_CLOSE_PRICE_TIME -> toInstant(quote.getPreviousClosePriceTime());
+			case DAY_CHANGE -> quote.getDayChange();
+			case VOLUME -> quote.getVolume();
+			case IS_EXTENDED_HOURS_PRICE -> quote.getIsExtendedHoursPrice();
+			case LAST_TRADE_TIME -> toInstant(quote.getLastTradeTime());
+			case PULLED_AT -> row.pulledAt();
+			case LAST_SEEN_AT -> row.lastSeenAt();
+		};
+	}
+
+	private static Object toInstant(LocalDateTime dateTime) {
+		return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+	}
+}
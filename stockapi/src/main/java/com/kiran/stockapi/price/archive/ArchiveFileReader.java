@@ -0,0 +1,166 @@
+package com.kiran.stockapi.price.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads an archive file written by {@link ArchiveFileWriter}. Opening reads
+ * only the footer; instances are immutable and can be shared, each scan opens
+ * the file on its own.
+ */
+final class ArchiveFileReader {
+
+	/** Columns every scan decodes, as they carry the filter. */
+	private static final Set<ArchiveColumn> FILTER_COLUMNS = EnumSet.of(ArchiveColumn.TICKER, ArchiveColumn.SOURCE,
+			ArchiveColumn.PULLED_AT);
+
+	private final Path file;
+	/** The file's columns in file order; {@code null} for names this version does not know. */
+	private final ArchiveColumn[] columns;
+	private final List<RowGroup> rowGroups;
+
+	private ArchiveFileReader(Path file, ArchiveColumn[] columns, List<RowGroup> rowGroups) {
+		this.file = file;
+		this.columns = columns;
+		this.rowGroups = rowGroups;
+	}
+
+	/**
+	 * @throws IOException
+	 *             also when the file is not a complete archive file
+	 */
+	static ArchiveFileReader open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < 13) {
+				throw new IOException(file + " is not a complete price archive");
+			}
+			ByteBuffer header = read(channel, 0, 5);
+			ByteBuffer trailer = read(channel, size - 8, 8);
+			int footerLength = trailer.getInt();
+			if (header.getInt() != ArchiveFileWriter.MAGIC || trailer.getInt() != ArchiveFileWriter.MAGIC
+					|| footerLength < 0 || footerLength > size - 13) {
+				throw new IOException(file + " is not a complete price archive");
+			}
+			if (header.get() != ArchiveFileWriter.VERSION) {
+				throw new IOException(file + " has an unsupported price archive version");
+			}
+			ByteBuffer footerBytes = read(channel, size - 8 - footerLength, footerLength);
+			DataInputStream footer = new DataInputStream(
+					new ByteArrayInputStream(footerBytes.array(), 0, footerLength));
+			ArchiveColumn[] columns = new ArchiveColumn[footer.readInt()];
+			for (int i = 0; i < columns.length; i++) {
+				String name = footer.readUTF();
+				columns[i] = isKnown(name) ? ArchiveColumn.valueOf(name) : null;
+			}
+			int groups = footer.readInt();
+			List<RowGroup> rowGroups = new ArrayList<>(groups);
+			for (int i = 0; i < groups; i++) {
+				rowGroups.add(RowGroup.read(footer, columns.length));
+			}
+			return new ArchiveFileReader(file, columns, List.copyOf(rowGroups));
+		}
+	}
+
+	long rows() {
+		return rowGroups.stream().mapToLong(RowGroup::rows).sum();
+	}
+
+	/**
+	 * Hands the rows matching {@code scan} to {@code sink} in file order. Only
+	 * the blocks of {@code wanted} and the filter columns are read and
+	 * decompressed, and only for row groups whose statistics may match; other
+	 * columns of the rows are {@code null}.
+	 */
+	void scan(ArchiveScan scan, Set<ArchiveColumn> wanted, Consumer<ArchivedPrice> sink) throws IOException {
+		Set<ArchiveColumn> read = EnumSet.copyOf(FILTER_COLUMNS);
+		read.addAll(wanted);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			for (RowGroup group : rowGroups) {
+				if (scan.mayMatch(group)) {
+					scan(channel, group, read, scan, sink);
+				}
+			}
+		}
+	}
+
+	private void scan(FileChannel channel, RowGroup group, Set<ArchiveColumn> read, ArchiveScan scan,
+			Consumer<ArchivedPrice> sink) throws IOException {
+		Object[][] values = new Object[ArchiveColumn.values().length][];
+		for (int i = 0; i < columns.length; i++) {
+			ArchiveColumn column = columns[i];
+			if (column != null && read.contains(column)) {
+				byte[] data = inflate(read(channel, group.offsets()[i], group.lengths()[i]), group.rawLengths()[i]);
+				values[column.ordinal()] = ColumnReader.decode(column.type(), data, group.rows());
+			}
+		}
+		Object[] tickers = values[ArchiveColumn.TICKER.ordinal()];
+		Object[] sources = values[ArchiveColumn.SOURCE.ordinal()];
+		Object[] pulledAts = values[ArchiveColumn.PULLED_AT.ordinal()];
+		for (int row = 0; row < group.rows(); row++) {
+			if (scan.matches((String) tickers[row], (String) sources[row], (Instant) pulledAts[row])) {
+				Object[] rowValues = new Object[values.length];
+				for (int column = 0; column < values.length; column++) {
+					rowValues[column] = values[column] == null ? null : values[column][row];
+				}
+				sink.accept(ArchivedPrice.of(rowValues));
+			}
+		}
+	}
+
+	private static boolean isKnown(String name) {
+		for (ArchiveColumn column : ArchiveColumn.values()) {
+			if (column.name().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] data = new byte[rawLength];
+			int length = 0;
+			while (length < rawLength && !inflater.finished()) {
+				int inflated = inflater.inflate(data, length, rawLength - length);
+				if (inflated == 0 && inflater.needsInput()) {
+					break;
+				}
+				length += inflated;
+			}
+			if (length != rawLength) {
+				throw new IOException(file + " has a truncated column block");
+			}
+			return data;
+		} catch (DataFormatException e) {
+			throw new IOException(file + " has a corrupt column block", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Price archive ended before byte " + (position + length));
+			}
+		}
+		return buffer.flip();
+	}
+}
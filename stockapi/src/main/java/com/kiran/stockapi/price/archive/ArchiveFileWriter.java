@@ -0,0 +1,157 @@
+package com.kiran.stockapi.price.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes an archive file: a columnar layout in the spirit of Parquet, without
+ * its dependencies.
+ *
+ * <pre>
+ * "PRCA" version
+ * row group: one deflated block per column
+ * ...
+ * footer: column names, then per row group its row count, ticker and
+ *         pulled_at range and the offset and lengths of each column block
+ * footer length (int) "PRCA"
+ * </pre>
+ *
+ * A reader decompresses only the columns it needs, of only the row groups
+ * whose ranges can match. Rows should be added sorted by ticker, source and
+ * pull time; the ranges then hardly overlap and the deltas stay small.
+ */
+final class ArchiveFileWriter implements Closeable {
+
+	static final int MAGIC = 0x50524341;
+	static final int VERSION = 1;
+	private static final ArchiveColumn[] COLUMNS = ArchiveColumn.values();
+
+	private final FileChannel channel;
+	private final int rowGroupSize;
+	private final ColumnWriter[] columns = new ColumnWriter[COLUMNS.length];
+	private final List<RowGroup> rowGroups = new ArrayList<>();
+	private final Deflater deflater = new Deflater();
+	private byte[] compressed = new byte[64 * 1024];
+	private long position;
+	private long rows;
+
+	// The row group being written
+	private int groupRows;
+	private String minTicker;
+	private String maxTicker;
+	private Instant minPulledAt;
+	private Instant maxPulledAt;
+
+	ArchiveFileWriter(Path file, int rowGroupSize) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		this.rowGroupSize = rowGroupSize;
+		for (ArchiveColumn column : COLUMNS) {
+			columns[column.ordinal()] = new ColumnWriter(column.type());
+		}
+		write(ByteBuffer.allocate(5).putInt(MAGIC).put((byte) VERSION).flip());
+	}
+
+	void add(ArchivedPrice row) throws IOException {
+		for (ArchiveColumn column : COLUMNS) {
+			columns[column.ordinal()].add(column.get(row));
+		}
+		String ticker = row.quote().getTicker();
+		if (ticker != null) {
+			minTicker = minTicker == null || ticker.compareTo(minTicker) < 0 ? ticker : minTicker;
+			maxTicker = maxTicker == null || ticker.compareTo(maxTicker) > 0 ? ticker : maxTicker;
+		}
+		minPulledAt = minPulledAt == null || row.pulledAt().isBefore(minPulledAt) ? row.pulledAt() : minPulledAt;
+		maxPulledAt = maxPulledAt == null || row.pulledAt().isAfter(maxPulledAt) ? row.pulledAt() : maxPulledAt;
+		rows++;
+		if (++groupRows == rowGroupSize) {
+			flushRowGroup();
+		}
+	}
+
+	/**
+	 * Writes the last row group and the footer and forces the file to the
+	 * device, so it is complete before its rows are dropped from the database.
+	 *
+	 * @return the rows written
+	 */
+	long finish() throws IOException {
+		flushRowGroup();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream footer = new DataOutputStream(bytes);
+		footer.writeInt(COLUMNS.length);
+		for (ArchiveColumn column : COLUMNS) {
+			footer.writeUTF(column.name());
+		}
+		footer.writeInt(rowGroups.size());
+		for (RowGroup group : rowGroups) {
+			group.write(footer);
+		}
+		footer.flush();
+		write(ByteBuffer.wrap(bytes.toByteArray()));
+		write(ByteBuffer.allocate(8).putInt(bytes.size()).putInt(MAGIC).flip());
+		channel.force(true);
+		return rows;
+	}
+
+	@Override
+	public void close() throws IOException {
+		deflater.end();
+		channel.close();
+	}
+
+	private void flushRowGroup() throws IOException {
+		if (groupRows == 0) {
+			return;
+		}
+		long[] offsets = new long[columns.length];
+		int[] lengths = new int[columns.length];
+		int[] rawLengths = new int[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			ColumnWriter column = columns[i];
+			offsets[i] = position;
+			rawLengths[i] = column.length();
+			lengths[i] = deflate(column.buffer(), column.length());
+			write(ByteBuffer.wrap(compressed, 0, lengths[i]));
+			column.reset();
+		}
+		rowGroups.add(new RowGroup(groupRows, minTicker, maxTicker, minPulledAt, maxPulledAt, offsets, lengths,
+				rawLengths));
+		groupRows = 0;
+		minTicker = null;
+		maxTicker = null;
+		minPulledAt = null;
+		maxPulledAt = null;
+	}
+
+	private int deflate(byte[] input, int length) {
+		deflater.reset();
+		deflater.setInput(input, 0, length);
+		deflater.finish();
+		int written = 0;
+		while (!deflater.finished()) {
+			if (written == compressed.length) {
+				compressed = Arrays.copyOf(compressed, compressed.length * 2);
+			}
+			written += deflater.deflate(compressed, written, compressed.length - written);
+		}
+		return written;
+	}
+
+	private void write(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer);
+		}
+	}
+}
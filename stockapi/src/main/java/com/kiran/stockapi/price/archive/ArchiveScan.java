@@ -0,0 +1,39 @@
+package com.kiran.stockapi.price.archive;
+
+import java.time.Instant;
+import java.util.NavigableSet;
+
+/**
+ * The rows a scan of archive files wants: pushed down to skip row groups by
+ * their statistics, then applied to each row.
+ *
+ * @param tickers
+ *            wanted tickers, or {@code null} for all
+ * @param source
+ *            wanted source, or {@code null} for all
+ * @param from
+ *            earliest pull time, inclusive
+ * @param to
+ *            latest pull time, exclusive
+ */
+record ArchiveScan(NavigableSet<String> tickers, String source, Instant from, Instant to) {
+
+	boolean mayMatch(RowGroup group) {
+		if (group.maxPulledAt().isBefore(from) || !group.minPulledAt().isBefore(to)) {
+			return false;
+		}
+		if (tickers == null) {
+			return true;
+		}
+		if (group.minTicker() == null) {
+			return false;
+		}
+		String first = tickers.ceiling(group.minTicker());
+		return first != null && first.compareTo(group.maxTicker()) <= 0;
+	}
+
+	boolean matches(String ticker, String rowSource, Instant pulledAt) {
+		return (tickers == null || ticker != null && tickers.contains(ticker))
+				&& (source == null || source.equals(rowSource)) && !pulledAt.isBefore(from) && pulledAt.isBefore(to);
+	}
+}
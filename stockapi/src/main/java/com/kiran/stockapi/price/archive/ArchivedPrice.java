@@ -0,0 +1,60 @@
+package com.kiran.stockapi.price.archive;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One {@code refdata.price} row with its instrument, as written to and read
+ * from an archive file.
+ *
+ * @param quote
+ *            the stored quote with the attributes of its instrument
+ * @param source
+ *            the provider the quote came from
+ * @param pulledAt
+ *            when the quote was pulled
+ * @param lastSeenAt
+ *            when the quote was last seen unchanged, or {@code null}
+ */
+public record ArchivedPrice(Quote quote, String source, Instant pulledAt, Instant lastSeenAt) {
+
+	/**
+	 * A row from values indexed by {@link ArchiveColumn#ordinal()}; columns that
+	 * were not read are {@code null}.
+	 */
+	static ArchivedPrice of(Object[] values) {
+		Quote quote = new Quote(string(values, ArchiveColumn.TICKER), string(values, ArchiveColumn.NAME),
+				string(values, ArchiveColumn.EXCHANGE_SHORT), string(values, ArchiveColumn.EXCHANGE_LONG),
+				string(values, ArchiveColumn.MIC_CODE), string(values, ArchiveColumn.CURRENCY),
+				decimal(values, ArchiveColumn.PRICE), decimal(values, ArchiveColumn.DAY_HIGH),
+				decimal(values, ArchiveColumn.DAY_LOW), decimal(values, ArchiveColumn.DAY_OPEN),
+				decimal(values, ArchiveColumn.WEEK52_HIGH), decimal(values, ArchiveColumn.WEEK52_LOW),
+				decimal(values, ArchiveColumn.MARKET_CAP), decimal(values, ArchiveColumn.PREVIOUS_CLOSE_PRICE),
+				local(values, ArchiveColumn.PREVIOUS_CLOSE_PRICE_TIME), decimal(values, ArchiveColumn.DAY_CHANGE),
+				(Long) values[ArchiveColumn.VOLUME.ordinal()],
+				(Boolean) values[ArchiveColumn.IS_EXTENDED_HOURS_PRICE.ordinal()],
+				local(values, ArchiveColumn.LAST_TRADE_TIME));
+		return new ArchivedPrice(quote, string(values, ArchiveColumn.SOURCE), instant(values, ArchiveColumn.PULLED_AT),
+				instant(values, ArchiveColumn.LAST_SEEN_AT));
+	}
+
+	private static String string(Object[] values, ArchiveColumn column) {
+		return (String) values[column.ordinal()];
+	}
+
+	private static BigDecimal decimal(Object[] values, ArchiveColumn column) {
+		return (BigDecimal) values[column.ordinal()];
+	}
+
+	private static Instant instant(Object[] values, ArchiveColumn column) {
+		return (Instant) values[column.ordinal()];
+	}
+
+	private static LocalDateTime local(Object[] values, ArchiveColumn column) {
+		Instant instant = instant(values, column);
+		return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+	}
+}
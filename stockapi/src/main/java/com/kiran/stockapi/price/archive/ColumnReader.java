@@ -0,0 +1,96 @@
+package com.kiran.stockapi.price.archive;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/** Decodes one column of a row group written by {@link ColumnWriter}. */
+final class ColumnReader {
+
+	private final byte[] data;
+	private int position;
+
+	private ColumnReader(byte[] data) {
+		this.data = data;
+	}
+
+	/**
+	 * The {@code rows} values of a column of {@code type}.
+	 *
+	 * @throws IllegalStateException
+	 *             when the data is not a well-formed column
+	 */
+	static Object[] decode(ArchiveColumn.Type type, byte[] data, int rows) {
+		ColumnReader reader = new ColumnReader(data);
+		Object[] values = new Object[rows];
+		String previousString = null;
+		long previous = 0;
+		try {
+			for (int row = 0; row < rows; row++) {
+				int tag = data[reader.position] & 0xFF;
+				if (tag == ColumnWriter.NULL) {
+					reader.position++;
+					continue;
+				}
+				switch (type) {
+					case STRING -> {
+						long marker = reader.readVarLong();
+						if (marker != ColumnWriter.SAME) {
+							previousString = reader.readString((int) (marker - 2));
+						}
+						values[row] = previousString;
+					}
+					case DECIMAL -> {
+						reader.position++;
+						if (tag == ColumnWriter.TEXT) {
+							values[row] = new BigDecimal(reader.readString((int) reader.readVarLong()));
+						} else {
+							previous += reader.readDelta();
+							values[row] = BigDecimal.valueOf(previous, ColumnWriter.SCALE);
+						}
+					}
+					case LONG -> {
+						reader.position++;
+						previous += reader.readDelta();
+						values[row] = previous;
+					}
+					case BOOLEAN -> {
+						reader.position++;
+						values[row] = tag == ColumnWriter.TRUE;
+					}
+					case TIMESTAMP -> {
+						reader.position++;
+						previous += reader.readDelta();
+						values[row] = Instant.EPOCH.plus(previous, ChronoUnit.MICROS);
+					}
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+			throw new IllegalStateException("Corrupt " + type + " column", e);
+		}
+		return values;
+	}
+
+	private long readDelta() {
+		long zigZag = readVarLong();
+		return (zigZag >>> 1) ^ -(zigZag & 1);
+	}
+
+	private long readVarLong() {
+		long value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = data[position++];
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+
+	private String readString(int length) {
+		String value = new String(data, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return value;
+	}
+}
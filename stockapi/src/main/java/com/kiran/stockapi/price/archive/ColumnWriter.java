@@ -0,0 +1,126 @@
+package com.kiran.stockapi.price.archive;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Encodes the values of one column of a row group; see
+ * {@link ArchiveColumn.Type} for the encodings and {@link ColumnReader} for the
+ * way back. Deltas are taken modulo 2^64, so they never overflow.
+ */
+final class ColumnWriter {
+
+	static final int NULL = 0;
+	static final int SAME = 1;
+	static final int VALUE = 1;
+	static final int TEXT = 2;
+	static final int FALSE = 1;
+	static final int TRUE = 2;
+	/** Scale of the 64-bit decimal encoding, that of the {@code NUMERIC(34, 8)} columns. */
+	static final int SCALE = 8;
+
+	private final ArchiveColumn.Type type;
+	private byte[] buffer = new byte[4096];
+	private int length;
+	private String previousString;
+	private long previous;
+
+	ColumnWriter(ArchiveColumn.Type type) {
+		this.type = type;
+	}
+
+	void add(Object value) {
+		if (value == null) {
+			writeByte(NULL);
+			return;
+		}
+		switch (type) {
+			case STRING -> addString((String) value);
+			case DECIMAL -> addDecimal((BigDecimal) value);
+			case LONG -> addDelta((Long) value);
+			case BOOLEAN -> writeByte((Boolean) value ? TRUE : FALSE);
+			case TIMESTAMP -> addDelta(ChronoUnit.MICROS.between(Instant.EPOCH, (Instant) value));
+		}
+	}
+
+	byte[] buffer() {
+		return buffer;
+	}
+
+	int length() {
+		return length;
+	}
+
+	/** Starts the next row group, which is decoded independently. */
+	void reset() {
+		length = 0;
+		previousString = null;
+		previous = 0;
+	}
+
+	/** Length plus 2, as 0 and 1 are the null and repeat markers. */
+	private void addString(String value) {
+		if (value.equals(previousString)) {
+			writeByte(SAME);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(bytes.length + 2L);
+		writeBytes(bytes);
+		previousString = value;
+	}
+
+	private void addDecimal(BigDecimal value) {
+		BigInteger unscaled;
+		try {
+			unscaled = value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+		} catch (ArithmeticException e) {
+			unscaled = null;
+		}
+		if (unscaled != null && unscaled.bitLength() < Long.SIZE) {
+			addDelta(unscaled.longValue());
+		} else {
+			byte[] text = value.toString().getBytes(StandardCharsets.US_ASCII);
+			writeByte(TEXT);
+			writeVarLong(text.length);
+			writeBytes(text);
+		}
+	}
+
+	private void addDelta(long value) {
+		writeByte(VALUE);
+		long delta = value - previous;
+		writeVarLong((delta << 1) ^ (delta >> 63));
+		previous = value;
+	}
+
+	private void writeVarLong(long value) {
+		while ((value & ~0x7FL) != 0) {
+			writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		writeByte((int) value);
+	}
+
+	private void writeByte(int value) {
+		ensure(1);
+		buffer[length++] = (byte) value;
+	}
+
+	private void writeBytes(byte[] bytes) {
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, buffer, length, bytes.length);
+		length += bytes.length;
+	}
+
+	private void ensure(int more) {
+		if (length + more > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + more));
+		}
+	}
+}
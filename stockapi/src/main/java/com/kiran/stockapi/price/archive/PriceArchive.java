@@ -0,0 +1,115 @@
+package com.kiran.stockapi.price.archive;
+
+import com.kiran.stockapi.price.api.config.PriceArchiveProperties;
+import com.kiran.stockapi.price.api.contract.AsOfPrice;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * History queries over the archived months of {@code refdata.price}. The
+ * catalog says which files cover a time range; within a file only the columns
+ * of the requested quote fields are read, and row groups whose ticker or time
+ * range cannot match are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = {"database.enabled", "price-archive.enabled"}, havingValue = "true")
+public class PriceArchive {
+
+	private final PricePartitionRepository partitionRepository;
+	private final PriceArchiveProperties properties;
+	/** Parsed footers by file; files never change once cataloged. */
+	private final Map<String, ArchiveFileReader> readers = new ConcurrentHashMap<>();
+
+	public PriceArchive(PricePartitionRepository partitionRepository, PriceArchiveProperties properties) {
+		this.partitionRepository = partitionRepository;
+		this.properties = properties;
+	}
+
+	/**
+	 * Archived rows of {@code ticker} from {@code source} pulled in
+	 * {@code [from, to)}, oldest first, with the quote attributes of
+	 * {@code fields}.
+	 */
+	public void findRange(String ticker, String source, Instant from, Instant to, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		ArchiveScan scan = new ArchiveScan(new TreeSet<>(Set.of(ticker)), source, from, to);
+		Set<ArchiveColumn> columns = columns(fields);
+		for (PricePartitionRepository.ArchiveEntry entry : partitionRepository.findArchives(from, to)) {
+			scan(entry, scan, columns, price -> sink.accept(toAsOfPrice(price)));
+		}
+	}
+
+	/**
+	 * Per ticker the last archived row from {@code source} pulled at or before
+	 * {@code asOf}, with the quote attributes of {@code fields}. Months are read
+	 * newest first, and a ticker is no longer looked for once a month had a row
+	 * of it.
+	 */
+	public void findAsOf(Collection<String> tickers, String source, Instant asOf, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		NavigableSet<String> remaining = new TreeSet<>(tickers);
+		Set<ArchiveColumn> columns = columns(fields);
+		Instant to = asOf.plus(1, ChronoUnit.MICROS);
+		List<PricePartitionRepository.ArchiveEntry> entries = partitionRepository.findArchives(null, to).reversed();
+		int next = 0;
+		while (next < entries.size() && !remaining.isEmpty()) {
+			// A month archived more than once has several files
+			Instant month = entries.get(next).rangeStart();
+			ArchiveScan scan = new ArchiveScan(remaining, source, month, to);
+			Map<String, ArchivedPrice> latest = new HashMap<>();
+			for (; next < entries.size() && entries.get(next).rangeStart().equals(month); next++) {
+				scan(entries.get(next), scan, columns, price -> latest.merge(price.quote().getTicker(), price,
+						(a, b) -> b.pulledAt().isBefore(a.pulledAt()) ? a : b));
+			}
+			latest.values().forEach(price -> sink.accept(toAsOfPrice(price)));
+			remaining.removeAll(latest.keySet());
+		}
+	}
+
+	private void scan(PricePartitionRepository.ArchiveEntry entry, ArchiveScan scan, Set<ArchiveColumn> columns,
+			Consumer<ArchivedPrice> sink) {
+		try {
+			reader(entry.path()).scan(scan, columns, sink);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private ArchiveFileReader reader(String path) {
+		return readers.computeIfAbsent(path, key -> {
+			try {
+				return ArchiveFileReader.open(properties.directory().resolve(key));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/** The archive columns of quote fields, which share their names. */
+	private static Set<ArchiveColumn> columns(Set<QuoteField> fields) {
+		Set<ArchiveColumn> columns = EnumSet.noneOf(ArchiveColumn.class);
+		for (QuoteField field : fields) {
+			columns.add(ArchiveColumn.valueOf(field.name()));
+		}
+		return columns;
+	}
+
+	private static AsOfPrice toAsOfPrice(ArchivedPrice price) {
+		return new AsOfPrice(price.quote().getTicker(), price.source(), price.pulledAt(), price.quote());
+	}
+}
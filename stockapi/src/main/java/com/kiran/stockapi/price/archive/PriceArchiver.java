@@ -0,0 +1,133 @@
+package com.kiran.stockapi.price.archive;
+
+import com.kiran.stockapi.price.api.config.PriceArchiveProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the monthly partitions of {@code refdata.price}: creates them
+ * {@code price-archive.partitions-ahead} months in advance, gives rows stuck in
+ * the default partition (e.g. from a backfill of old data) a partition of their
+ * own, and moves every month that ended more than
+ * {@code price-archive.retention} ago into an archive file, then drops it.
+ * <p>
+ * A file is written to a temporary name, forced to the device and renamed
+ * before the transaction that drops the partition commits. Should the commit
+ * fail, the file is left unreferenced and the month is archived again in the
+ * next round.
+ * <p>
+ * Exporting a month can take a long time, so rounds run on a thread of their
+ * own rather than on the shared scheduler.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"database.enabled", "price-archive.enabled"}, havingValue = "true")
+public class PriceArchiver implements InitializingBean, DisposableBean {
+
+	static final String EXTENSION = ".prca";
+	private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+			.withZone(ZoneOffset.UTC);
+
+	private final PricePartitionRepository partitionRepository;
+	private final PriceArchiveProperties properties;
+	private final Clock clock;
+	private final ScheduledExecutorService maintenanceExecutor = Executors
+			.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("price-archiver").daemon().factory());
+
+	public PriceArchiver(PricePartitionRepository partitionRepository, PriceArchiveProperties properties) {
+		this(partitionRepository, properties, Clock.systemUTC());
+	}
+
+	PriceArchiver(PricePartitionRepository partitionRepository, PriceArchiveProperties properties, Clock clock) {
+		this.partitionRepository = partitionRepository;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		maintenanceExecutor.scheduleWithFixedDelay(this::maintain, 0, properties.interval().toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		maintenanceExecutor.shutdownNow();
+	}
+
+	public void maintain() {
+		try {
+			createPartitions();
+			archivePartitions();
+		} catch (RuntimeException e) {
+			log.warn("Price partition maintenance failed, retrying next round", e);
+		}
+	}
+
+	void createPartitions() {
+		YearMonth current = YearMonth.now(clock);
+		TreeSet<YearMonth> wanted = new TreeSet<>(partitionRepository.findDefaultMonths());
+		for (int ahead = 0; ahead <= properties.partitionsAhead(); ahead++) {
+			wanted.add(current.plusMonths(ahead));
+		}
+		wanted.removeAll(partitionRepository.findPartitionMonths());
+		for (YearMonth month : wanted) {
+			log.info("Creating price partition {}", PricePartitionRepository.partitionName(month));
+			partitionRepository.createPartition(month);
+		}
+	}
+
+	void archivePartitions() {
+		Instant cutoff = clock.instant().atOffset(ZoneOffset.UTC).minus(properties.retention()).toInstant();
+		List<YearMonth> expired = partitionRepository.findPartitionMonths().stream()
+				.filter(month -> !PricePartitionRepository.end(month).toInstant().isAfter(cutoff)).toList();
+		for (YearMonth month : expired) {
+			PricePartitionRepository.ArchivedFile file = partitionRepository.archive(month, rows -> write(month, rows));
+			if (file != null) {
+				log.info("Archived price partition {}: {} rows, {} bytes in {}",
+						PricePartitionRepository.partitionName(month), file.rows(), file.sizeBytes(), file.path());
+			}
+		}
+	}
+
+	private PricePartitionRepository.ArchivedFile write(YearMonth month, Iterator<ArchivedPrice> rows)
+			throws IOException {
+		Path directory = properties.directory();
+		Files.createDirectories(directory);
+		String name = PricePartitionRepository.partitionName(month) + "-" + FILE_TIME.format(clock.instant())
+				+ EXTENSION;
+		Path file = directory.resolve(name);
+		Path temporary = directory.resolve(name + ".tmp");
+		try {
+			long count;
+			try (ArchiveFileWriter writer = new ArchiveFileWriter(temporary, properties.rowGroupSize())) {
+				while (rows.hasNext()) {
+					writer.add(rows.next());
+				}
+				count = writer.finish();
+			}
+			Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+			return new PricePartitionRepository.ArchivedFile(name, count, Files.size(file));
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+}
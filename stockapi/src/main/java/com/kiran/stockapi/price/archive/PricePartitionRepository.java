@@ -0,0 +1,224 @@
+package com.kiran.stockapi.price.archive;
+
+import static com.kiran.stockapi.jooq.Tables.INSTRUMENT;
+import static com.kiran.stockapi.jooq.Tables.PRICE;
+import static com.kiran.stockapi.jooq.Tables.PRICE_ARCHIVE;
+import static org.jooq.impl.DSL.field;
+
+import com.kiran.stockapi.config.DataSourceConfig;
+import com.kiran.stockapi.jooq.tables.Price;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The monthly partitions of {@code refdata.price} and the catalog of archived
+ * months in {@code refdata.price_archive}. Partition DDL runs under a
+ * transaction-level advisory lock, so instances maintaining the same database
+ * take turns.
+ */
+@Repository
+@ConditionalOnProperty(name = {"database.enabled", "price-archive.enabled"}, havingValue = "true")
+public class PricePartitionRepository {
+
+	/** Serialises partition maintenance across instances. */
+	private static final long MAINTENANCE_LOCK = 0x7072636172636876L;
+	private static final Pattern PARTITION_NAME = Pattern.compile("price_y(\\d{4})m(\\d{2})");
+	/** Rows per round trip while exporting a partition. */
+	private static final int EXPORT_FETCH_SIZE = 5_000;
+
+	private final DSLContext dsl;
+	/** Serves catalog lookups of history queries. */
+	private final DSLContext readDsl;
+
+	public PricePartitionRepository(DSLContext dsl,
+			@Qualifier(DataSourceConfig.READ_DSL_CONTEXT) DSLContext readDsl) {
+		this.dsl = dsl;
+		this.readDsl = readDsl;
+	}
+
+	/** Months that have their own partition. */
+	public List<YearMonth> findPartitionMonths() {
+		return dsl.resultQuery("""
+				SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+				WHERE i.inhparent = 'refdata.price'::regclass
+				""").fetch(0, String.class).stream().map(PricePartitionRepository::month).filter(Objects::nonNull)
+				.sorted().toList();
+	}
+
+	/** Months of the rows that fell into the default partition for lack of their own. */
+	public List<YearMonth> findDefaultMonths() {
+		return dsl.resultQuery("""
+				SELECT DISTINCT date_trunc('month', pulled_at AT TIME ZONE 'UTC') FROM refdata.price_default
+				""").fetch(0, LocalDateTime.class).stream().map(YearMonth::from).sorted().toList();
+	}
+
+	/**
+	 * Creates the partition of {@code month} and moves its rows out of the
+	 * default partition, which is locked against inserts meanwhile. Does nothing
+	 * if another instance created it first.
+	 */
+	public void createPartition(YearMonth month) {
+		String name = partitionName(month);
+		dsl.transaction(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			tx.select(field("pg_advisory_xact_lock(?)", MAINTENANCE_LOCK)).fetch();
+			if (exists(tx, name)) {
+				return;
+			}
+			tx.execute("LOCK TABLE refdata.price_default IN SHARE ROW EXCLUSIVE MODE");
+			tx.execute("CREATE TABLE refdata." + name
+					+ " (LIKE refdata.price INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+			tx.execute("WITH moved AS (DELETE FROM refdata.price_default WHERE pulled_at >= ? AND pulled_at < ? "
+					+ "RETURNING *) INSERT INTO refdata." + name + " SELECT * FROM moved", start(month), end(month));
+			tx.execute("ALTER TABLE refdata.price ATTACH PARTITION refdata." + name + " FOR VALUES FROM ('"
+					+ start(month).toInstant() + "') TO ('" + end(month).toInstant() + "')");
+		});
+	}
+
+	/**
+	 * Archives the partition of {@code month} in one transaction: the partition
+	 * is locked against writes, its rows are handed to {@code exporter} sorted by
+	 * ticker, source and pull time, and once the exporter returned the file is
+	 * recorded in the catalog and the partition detached and dropped. If the
+	 * exporter fails nothing changes.
+	 *
+	 * @return the archived file, or {@code null} if another instance archived the
+	 *         month first
+	 */
+	public ArchivedFile archive(YearMonth month, Exporter exporter) {
+		String name = partitionName(month);
+		return dsl.transactionResult(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			tx.select(field("pg_advisory_xact_lock(?)", MAINTENANCE_LOCK)).fetch();
+			if (!exists(tx, name)) {
+				return null;
+			}
+			tx.execute("LOCK TABLE refdata." + name + " IN SHARE MODE");
+			Price partition = PRICE.rename(name);
+			ArchivedFile file;
+			try (Cursor<Record> cursor = tx.select(INSTRUMENT.TICKER, INSTRUMENT.NAME, INSTRUMENT.EXCHANGE_SHORT,
+					INSTRUMENT.EXCHANGE_LONG, INSTRUMENT.MIC_CODE, INSTRUMENT.CURRENCY).select(partition.fields())
+					.from(partition).join(INSTRUMENT).on(INSTRUMENT.ID.eq(partition.INSTRUMENT_ID))
+					.orderBy(INSTRUMENT.TICKER.collate("C"), partition.SOURCE, partition.PULLED_AT, partition.ID)
+					.fetchSize(EXPORT_FETCH_SIZE).fetchLazy()) {
+				Iterator<Record> records = cursor.iterator();
+				file = exporter.export(new Iterator<>() {
+					@Override
+					public boolean hasNext() {
+						return records.hasNext();
+					}
+
+					@Override
+					public ArchivedPrice next() {
+						return toArchivedPrice(records.next(), partition);
+					}
+				});
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			tx.insertInto(PRICE_ARCHIVE).set(PRICE_ARCHIVE.PARTITION_NAME, name)
+					.set(PRICE_ARCHIVE.RANGE_START, start(month)).set(PRICE_ARCHIVE.RANGE_END, end(month))
+					.set(PRICE_ARCHIVE.PATH, file.path()).set(PRICE_ARCHIVE.ROW_COUNT, file.rows())
+					.set(PRICE_ARCHIVE.SIZE_BYTES, file.sizeBytes())
+					.set(PRICE_ARCHIVE.ARCHIVED_AT, Instant.now().atOffset(ZoneOffset.UTC)).execute();
+			tx.execute("ALTER TABLE refdata.price DETACH PARTITION refdata." + name);
+			tx.execute("DROP TABLE refdata." + name);
+			return file;
+		});
+	}
+
+	/**
+	 * Archived files that may hold rows pulled in {@code [from, to)}, oldest
+	 * month first; {@code from} may be {@code null} for no lower bound.
+	 */
+	public List<ArchiveEntry> findArchives(Instant from, Instant to) {
+		Condition overlaps = PRICE_ARCHIVE.RANGE_START.lt(to.atOffset(ZoneOffset.UTC));
+		if (from != null) {
+			overlaps = overlaps.and(PRICE_ARCHIVE.RANGE_END.gt(from.atOffset(ZoneOffset.UTC)));
+		}
+		return readDsl.selectFrom(PRICE_ARCHIVE).where(overlaps).orderBy(PRICE_ARCHIVE.RANGE_START, PRICE_ARCHIVE.ID)
+				.fetch(record -> new ArchiveEntry(record.getRangeStart().toInstant(), record.getRangeEnd().toInstant(),
+						record.getPath()));
+	}
+
+	static String partitionName(YearMonth month) {
+		return "price_y%04dm%02d".formatted(month.getYear(), month.getMonthValue());
+	}
+
+	static OffsetDateTime start(YearMonth month) {
+		return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+	}
+
+	static OffsetDateTime end(YearMonth month) {
+		return start(month.plusMonths(1));
+	}
+
+	private static YearMonth month(String partitionName) {
+		Matcher matcher = PARTITION_NAME.matcher(partitionName);
+		return matcher.matches()
+				? YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))
+				: null;
+	}
+
+	private static boolean exists(DSLContext tx, String name) {
+		return Boolean.TRUE.equals(tx.fetchValue("SELECT to_regclass(?) IS NOT NULL", "refdata." + name));
+	}
+
+	private static ArchivedPrice toArchivedPrice(Record record, Price partition) {
+		Quote quote = new Quote(record.get(INSTRUMENT.TICKER), record.get(INSTRUMENT.NAME),
+				record.get(INSTRUMENT.EXCHANGE_SHORT), record.get(INSTRUMENT.EXCHANGE_LONG),
+				record.get(INSTRUMENT.MIC_CODE), record.get(INSTRUMENT.CURRENCY), record.get(partition.PRICE_),
+				record.get(partition.DAY_HIGH), record.get(partition.DAY_LOW), record.get(partition.DAY_OPEN),
+				record.get(partition.WEEK52_HIGH), record.get(partition.WEEK52_LOW), record.get(partition.MARKET_CAP),
+				record.get(partition.PREVIOUS_CLOSE_PRICE), toLocal(record.get(partition.PREVIOUS_CLOSE_PRICE_TIME)),
+				record.get(partition.DAY_CHANGE), record.get(partition.VOLUME),
+				record.get(partition.IS_EXTENDED_HOURS_PRICE), toLocal(record.get(partition.LAST_TRADE_TIME)));
+		OffsetDateTime lastSeenAt = record.get(partition.LAST_SEEN_AT);
+		return new ArchivedPrice(quote, record.get(partition.SOURCE), record.get(partition.PULLED_AT).toInstant(),
+				lastSeenAt == null ? null : lastSeenAt.toInstant());
+	}
+
+	private static LocalDateTime toLocal(OffsetDateTime dateTime) {
+		return dateTime == null ? null : dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+	}
+
+	/** Writes the rows of a partition somewhere durable. */
+	@FunctionalInterface
+	public interface Exporter {
+
+		ArchivedFile export(Iterator<ArchivedPrice> rows) throws IOException;
+	}
+
+	/**
+	 * @param path
+	 *            relative to {@code price-archive.directory}
+	 */
+	public record ArchivedFile(String path, long rows, long sizeBytes) {
+	}
+
+	/**
+	 * @param path
+	 *            relative to {@code price-archive.directory}
+	 */
+	public record ArchiveEntry(Instant rangeStart, Instant rangeEnd, String path) {
+	}
+}
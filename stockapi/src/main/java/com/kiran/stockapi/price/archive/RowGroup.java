@@ -0,0 +1,51 @@
+package com.kiran.stockapi.price.archive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Footer entry of a row group: its statistics and where its column blocks
+ * are. {@code minTicker} and {@code maxTicker} are {@code null} when no row of
+ * the group has a ticker. The block arrays are indexed by the file's column
+ * order.
+ */
+record RowGroup(int rows, String minTicker, String maxTicker, Instant minPulledAt, Instant maxPulledAt,
+		long[] offsets, int[] lengths, int[] rawLengths) {
+
+	void write(DataOutput out) throws IOException {
+		out.writeInt(rows);
+		out.writeBoolean(minTicker != null);
+		if (minTicker != null) {
+			out.writeUTF(minTicker);
+			out.writeUTF(maxTicker);
+		}
+		out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, minPulledAt));
+		out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, maxPulledAt));
+		for (int i = 0; i < offsets.length; i++) {
+			out.writeLong(offsets[i]);
+			out.writeInt(lengths[i]);
+			out.writeInt(rawLengths[i]);
+		}
+	}
+
+	static RowGroup read(DataInput in, int columns) throws IOException {
+		int rows = in.readInt();
+		boolean hasTicker = in.readBoolean();
+		String minTicker = hasTicker ? in.readUTF() : null;
+		String maxTicker = hasTicker ? in.readUTF() : null;
+		Instant minPulledAt = Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS);
+		Instant maxPulledAt = Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS);
+		long[] offsets = new long[columns];
+		int[] lengths = new int[columns];
+		int[] rawLengths = new int[columns];
+		for (int i = 0; i < columns; i++) {
+			offsets[i] = in.readLong();
+			lengths[i] = in.readInt();
+			rawLengths[i] = in.readInt();
+		}
+		return new RowGroup(rows, minTicker, maxTicker, minPulledAt, maxPulledAt, offsets, lengths, rawLengths);
+	}
+}
@@ -0,0 +1,21 @@
+package com.kiran.stockapi.price.backfill;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+
+/** Import file formats, told apart by extension. */
+enum BackfillFormat {
+	CSV, JSON_LINES;
+
+	static Optional<BackfillFormat> of(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(".csv")) {
+			return Optional.of(CSV);
+		}
+		if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+			return Optional.of(JSON_LINES);
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,136 @@
+package com.kiran.stockapi.price.backfill;
+
+import static com.kiran.stockapi.jooq.Tables.BACKFILL_CHUNK;
+import static com.kiran.stockapi.jooq.Tables.BACKFILL_FILE;
+import static com.kiran.stockapi.jooq.Tables.INSTRUMENT;
+import static com.kiran.stockapi.jooq.Tables.PRICE;
+import static org.jooq.impl.DSL.max;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Loads imported rows into {@code refdata.price} with {@code COPY FROM STDIN}
+ * and keeps the import checkpoints in {@code refdata.backfill_file} and
+ * {@code refdata.backfill_chunk}. The rows are copied into a staging table
+ * first, so the same transaction can move them into {@code refdata.price} and
+ * upsert the newest of each ticker and source into
+ * {@code refdata.latest_price}, as live inserts do.
+ */
+@Repository
+@ConditionalOnProperty(name = {"database.enabled", "backfill.enabled"}, havingValue = "true")
+@AllArgsConstructor
+public class BackfillRepository {
+
+	/** The {@code COPY} columns, which {@code refdata.latest_price} has as well. */
+	private static final List<String> COLUMNS = Stream.concat(PriceColumn.COPIED.stream().map(PriceColumn::column),
+			Stream.of("instrument_id")).toList();
+	private static final String COLUMN_LIST = String.join(", ", COLUMNS);
+
+	private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE backfill_staging ON COMMIT DROP AS SELECT "
+			+ COLUMN_LIST + " FROM refdata.price WITH NO DATA";
+
+	static final String COPY_SQL = "COPY backfill_staging (" + COLUMN_LIST + ") FROM STDIN";
+
+	private static final String INSERT_PRICES_SQL = "INSERT INTO refdata.price (" + COLUMN_LIST + ") SELECT "
+			+ COLUMN_LIST + " FROM backfill_staging";
+
+	/**
+	 * The newest staged row per ticker and source, stored only when it is at
+	 * least as new as the current quote, the guard of the live upsert.
+	 */
+	static final String UPSERT_LATEST_SQL = "INSERT INTO refdata.latest_price AS l (ticker, " + COLUMN_LIST + ") "
+			+ "SELECT DISTINCT ON (i.ticker, s.source) i.ticker, "
+			+ COLUMNS.stream().map(column -> "s." + column).collect(Collectors.joining(", "))
+			+ " FROM backfill_staging s JOIN refdata.instrument i ON i.id = s.instrument_id"
+			+ " WHERE i.ticker IS NOT NULL"
+			+ " ORDER BY i.ticker, s.source, coalesce(s.last_trade_time, s.pulled_at) DESC"
+			+ " ON CONFLICT (ticker, source) DO UPDATE SET "
+			+ COLUMNS.stream().filter(column -> !column.equals("source"))
+					.map(column -> column + " = excluded." + column).collect(Collectors.joining(", "))
+			+ " WHERE coalesce(l.last_trade_time, l.pulled_at)"
+			+ " <= coalesce(excluded.last_trade_time, excluded.pulled_at)";
+
+	private final DSLContext dsl;
+
+	/**
+	 * Id of the checkpoint of this version of a file, created on its first
+	 * import. The no-op update on conflict returns the id of an existing one.
+	 */
+	public int fileId(String path, long sizeBytes, Instant modifiedAt, int chunkSize, String source, int chunks,
+			Instant startedAt) {
+		return dsl.insertInto(BACKFILL_FILE).set(BACKFILL_FILE.PATH, path).set(BACKFILL_FILE.SIZE_BYTES, sizeBytes)
+				.set(BACKFILL_FILE.MODIFIED_AT, toOffset(modifiedAt)).set(BACKFILL_FILE.CHUNK_SIZE, chunkSize)
+				.set(BACKFILL_FILE.SOURCE, source).set(BACKFILL_FILE.CHUNKS, chunks)
+				.set(BACKFILL_FILE.STARTED_AT, toOffset(startedAt))
+				.onConflict(BACKFILL_FILE.PATH, BACKFILL_FILE.SIZE_BYTES, BACKFILL_FILE.MODIFIED_AT,
+						BACKFILL_FILE.CHUNK_SIZE, BACKFILL_FILE.SOURCE)
+				.doUpdate().set(BACKFILL_FILE.PATH, BACKFILL_FILE.PATH).returning(BACKFILL_FILE.ID)
+				.fetchOne(BACKFILL_FILE.ID);
+	}
+
+	public Set<Integer> findLoadedChunks(int fileId) {
+		return dsl.select(BACKFILL_CHUNK.CHUNK_INDEX).from(BACKFILL_CHUNK).where(BACKFILL_CHUNK.FILE_ID.eq(fileId))
+				.fetchSet(BACKFILL_CHUNK.CHUNK_INDEX);
+	}
+
+	/**
+	 * Copies the rows of a chunk, updates the current quotes and records its
+	 * checkpoint in one transaction, so a chunk is either loaded and
+	 * checkpointed or neither.
+	 */
+	public void loadChunk(int fileId, int chunkIndex, String copyText, int rows, int rejected, Instant loadedAt) {
+		dsl.transaction(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			copy(tx, copyText);
+			tx.insertInto(BACKFILL_CHUNK).set(BACKFILL_CHUNK.FILE_ID, fileId)
+					.set(BACKFILL_CHUNK.CHUNK_INDEX, chunkIndex).set(BACKFILL_CHUNK.ROW_COUNT, rows)
+					.set(BACKFILL_CHUNK.REJECTED_COUNT, rejected).set(BACKFILL_CHUNK.LOADED_AT, toOffset(loadedAt))
+					.execute();
+		});
+	}
+
+	/** Copies rows that need no checkpoint and updates the current quotes. */
+	public long load(String copyText) {
+		return dsl.transactionResult(configuration -> copy(DSL.using(configuration), copyText));
+	}
+
+	public void markCompleted(int fileId, Instant completedAt) {
+		dsl.update(BACKFILL_FILE).set(BACKFILL_FILE.COMPLETED_AT, toOffset(completedAt))
+				.where(BACKFILL_FILE.ID.eq(fileId)).and(BACKFILL_FILE.COMPLETED_AT.isNull()).execute();
+	}
+
+	/** Pull time of the newest stored row of a ticker from {@code source}. */
+	public Optional<Instant> findLatestPulledAt(String ticker, String source) {
+		return Optional.ofNullable(dsl.select(max(PRICE.PULLED_AT)).from(PRICE).join(INSTRUMENT)
+				.on(INSTRUMENT.ID.eq(PRICE.INSTRUMENT_ID)).where(INSTRUMENT.TICKER.eq(ticker))
+				.and(PRICE.SOURCE.eq(source)).fetchOne(0, OffsetDateTime.class)).map(OffsetDateTime::toInstant);
+	}
+
+	/** Must run in a transaction, which drops the staging table on commit. */
+	private static long copy(DSLContext tx, String copyText) {
+		tx.execute(CREATE_STAGING_SQL);
+		long rows = tx.connectionResult(connection -> connection.unwrap(PGConnection.class).getCopyAPI()
+				.copyIn(COPY_SQL, new StringReader(copyText)));
+		tx.execute(INSERT_PRICES_SQL);
+		tx.execute(UPSERT_LATEST_SQL);
+		return rows;
+	}
+
+	private static OffsetDateTime toOffset(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
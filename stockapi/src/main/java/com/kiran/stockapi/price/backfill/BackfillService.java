@@ -0,0 +1,345 @@
+package com.kiran.stockapi.price.backfill;
+
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageQuota;
+import com.kiran.stockapi.alphavantage.api.contract.DailyBar;
+import com.kiran.stockapi.alphavantage.api.contract.TimeSeriesDailyResponse;
+import com.kiran.stockapi.price.api.config.BackfillProperties;
+import com.kiran.stockapi.price.api.contract.AlphaVantageBackfillRequest;
+import com.kiran.stockapi.price.api.contract.BackfillJob;
+import com.kiran.stockapi.price.api.contract.BackfillRequest;
+import com.kiran.stockapi.price.api.contract.BackfillStatus;
+import com.kiran.stockapi.price.batch.QuoteBatchService;
+import com.kiran.stockapi.price.instrument.Instrument;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk imports of historical quotes into {@code refdata.price}.
+ * <p>
+ * Files are split into line-aligned chunks of {@code backfill.chunk-size}.
+ * Up to {@code backfill.parallelism} chunks are parsed and loaded at once, each
+ * with one {@code COPY} committed together with the chunk's checkpoint. An
+ * import of a file that was partly loaded before skips the checkpointed
+ * chunks; a changed file (size or modification time) is imported anew.
+ * <p>
+ * Alpha Vantage imports fetch one daily series per symbol within
+ * {@link AlphaVantageQuota}, and only store the days after the newest row of
+ * the symbol, so running one again resumes it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"database.enabled", "backfill.enabled"}, havingValue = "true")
+public class BackfillService implements DisposableBean {
+
+	static final String TIME_SERIES_DAILY = "TIME_SERIES_DAILY";
+	static final String ALPHAVANTAGE_TARGET = "alphavantage";
+	/** Instruments resolved per statement, well below the bind variable limit. */
+	private static final int INSTRUMENT_BATCH = 1_000;
+
+	private final BackfillRepository backfillRepository;
+	private final InstrumentDictionary instrumentDictionary;
+	private final AlphaVantageClient alphaVantageClient;
+	private final BackfillProperties backfillProperties;
+	private final AlphaVantageQuota alphaVantageQuota;
+	/** Parses and loads chunks; the work is CPU bound, so platform threads. */
+	private final ExecutorService chunkExecutor;
+	/** Runs each job's coordination, which mostly waits. */
+	private final ExecutorService jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+	private final AtomicLong jobIds = new AtomicLong();
+
+	public BackfillService(BackfillRepository backfillRepository, InstrumentDictionary instrumentDictionary,
+			AlphaVantageClient alphaVantageClient, AlphaVantageQuota alphaVantageQuota,
+			BackfillProperties backfillProperties) {
+		this.backfillRepository = backfillRepository;
+		this.instrumentDictionary = instrumentDictionary;
+		this.alphaVantageClient = alphaVantageClient;
+		this.backfillProperties = backfillProperties;
+		this.alphaVantageQuota = alphaVantageQuota;
+		this.chunkExecutor = Executors.newFixedThreadPool(Math.max(1, backfillProperties.parallelism()));
+	}
+
+	@Override
+	public void destroy() {
+		jobExecutor.shutdownNow();
+		chunkExecutor.shutdownNow();
+	}
+
+	/**
+	 * Starts importing a file below {@code backfill.directory}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             when the file is outside the directory, missing, of an unknown
+	 *             format, or a CSV without the required columns
+	 */
+	public BackfillJob importFile(BackfillRequest request) throws IOException {
+		if (request.path() == null || request.path().isBlank()) {
+			throw new IllegalArgumentException("'path' is required");
+		}
+		Path directory = backfillProperties.directory().toAbsolutePath().normalize();
+		Path file = directory.resolve(request.path()).normalize();
+		if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+			throw new IllegalArgumentException("No file " + request.path() + " in the backfill directory");
+		}
+		BackfillFormat format = BackfillFormat.of(file).orElseThrow(
+				() -> new IllegalArgumentException("Only .csv, .jsonl and .ndjson files can be imported"));
+		String source = request.source() != null ? request.source() : PriceTick.SOURCE_STOCKDATA;
+		ChunkParser parser;
+		long dataStart;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (format == BackfillFormat.CSV) {
+				dataStart = ChunkRange.lineEnd(channel, 0, channel.size());
+				parser = CsvParser.forHeader(
+						new String(new ChunkRange(0, 0, dataStart).read(channel), StandardCharsets.UTF_8));
+			} else {
+				dataStart = 0;
+				parser = new JsonLinesParser();
+			}
+		}
+		String target = directory.relativize(file).toString();
+		Job job = register(target, source);
+		log.info("Backfill job {}: importing {} from {}", job.id, target, source);
+		jobExecutor.execute(() -> runFile(job, file, parser, dataStart));
+		return job.toContract();
+	}
+
+	/**
+	 * Starts importing the Alpha Vantage daily series of {@code symbols}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             when no symbol is given
+	 */
+	public BackfillJob importAlphaVantage(AlphaVantageBackfillRequest request) {
+		List<String> symbols = QuoteBatchService.normalize(request.symbols());
+		if (symbols.isEmpty()) {
+			throw new IllegalArgumentException("'symbols' must list at least one symbol");
+		}
+		Job job = register(ALPHAVANTAGE_TARGET, PriceTick.SOURCE_ALPHAVANTAGE);
+		job.start(symbols.size(), 0);
+		log.info("Backfill job {}: importing Alpha Vantage daily series of {} symbols", job.id, symbols.size());
+		jobExecutor.execute(() -> runAlphaVantage(job, symbols, request.full() ? "full" : "compact"));
+		return job.toContract();
+	}
+
+	public List<BackfillJob> jobs() {
+		return jobs.values().stream().sorted(Comparator.comparingLong(job -> job.id)).map(Job::toContract).toList();
+	}
+
+	public Optional<BackfillJob> job(long id) {
+		return Optional.ofNullable(jobs.get(id)).map(Job::toContract);
+	}
+
+	private Job register(String target, String source) {
+		Job job = new Job(jobIds.incrementAndGet(), target, source, Instant.now());
+		jobs.put(job.id, job);
+		return job;
+	}
+
+	private void runFile(Job job, Path file, ChunkParser parser, long dataStart) {
+		List<Future<?>> loads = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			int chunkSize = Math.toIntExact(backfillProperties.chunkSize().toBytes());
+			List<ChunkRange> chunks = ChunkRange.split(channel, dataStart, size, chunkSize);
+			int fileId = backfillRepository.fileId(job.target, size, Files.getLastModifiedTime(file).toInstant(),
+					chunkSize, job.source, chunks.size(), job.startedAt);
+			Set<Integer> loaded = backfillRepository.findLoadedChunks(fileId);
+			job.start(chunks.size(), loaded.size());
+			for (ChunkRange chunk : chunks) {
+				if (!loaded.contains(chunk.index())) {
+					loads.add(chunkExecutor.submit(() -> {
+						loadChunk(job, channel, parser, fileId, chunk);
+						return null;
+					}));
+				}
+			}
+			for (Future<?> load : loads) {
+				load.get();
+			}
+			backfillRepository.markCompleted(fileId, Instant.now());
+			job.stop(BackfillStatus.COMPLETED, null);
+			log.info("Backfill job {}: loaded {} rows from {} ({} rejected)", job.id, job.rows, job.target,
+					job.rejectedRows);
+		} catch (ExecutionException e) {
+			fail(job, loads, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(job, loads, e);
+		} catch (IOException | RuntimeException e) {
+			fail(job, loads, e);
+		}
+	}
+
+	private void loadChunk(Job job, FileChannel channel, ChunkParser parser, int fileId, ChunkRange range)
+			throws IOException {
+		byte[] bytes = range.read(channel);
+		CopyChunk chunk = new CopyChunk(job.source);
+		parser.parse(bytes, 0, bytes.length, chunk);
+		backfillRepository.loadChunk(fileId, range.index(), chunk.copyText(instrumentIds(chunk)), chunk.rows(),
+				chunk.rejected(), Instant.now());
+		if (chunk.firstRejection() != null) {
+			log.warn("Backfill job {}: {} rows of chunk {} rejected, first at {}", job.id, chunk.rejected(),
+					range.index(), chunk.firstRejection());
+		}
+		job.completed(chunk, "chunk " + range.index());
+	}
+
+	private void runAlphaVantage(Job job, List<String> symbols, String outputSize) {
+		try {
+			for (int i = 0; i < symbols.size(); i++) {
+				String symbol = symbols.get(i);
+				if (!alphaVantageQuota.acquire()) {
+					job.stop(BackfillStatus.QUOTA_EXHAUSTED,
+							"Daily Alpha Vantage budget used up with " + (symbols.size() - i) + " symbols left");
+					return;
+				}
+				TimeSeriesDailyResponse response = alphaVantageClient.getDailyTimeSeries(TIME_SERIES_DAILY, symbol,
+						outputSize);
+				String refusal = response.getNote() != null ? response.getNote() : response.getInformation();
+				if (refusal != null) {
+					job.stop(BackfillStatus.QUOTA_EXHAUSTED, refusal);
+					return;
+				}
+				CopyChunk chunk = new CopyChunk(PriceTick.SOURCE_ALPHAVANTAGE);
+				if (response.getTimeSeries() == null) {
+					log.warn("Backfill job {}: no series for {}: {}", job.id, symbol, response.getErrorMessage());
+					chunk.reject(symbol + ": " + response.getErrorMessage());
+				} else {
+					Instant after = backfillRepository.findLatestPulledAt(symbol, PriceTick.SOURCE_ALPHAVANTAGE)
+							.orElse(Instant.MIN);
+					response.getTimeSeries().forEach((date, bar) -> addDay(chunk, symbol, date, bar, after));
+					if (chunk.rows() > 0) {
+						backfillRepository.load(chunk.copyText(instrumentIds(chunk)));
+					}
+				}
+				job.completed(chunk, symbol);
+			}
+			job.stop(BackfillStatus.COMPLETED, null);
+			log.info("Backfill job {}: loaded {} daily rows from Alpha Vantage", job.id, job.rows);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(job, List.of(), e);
+		} catch (RuntimeException e) {
+			fail(job, List.of(), e);
+		}
+	}
+
+	/**
+	 * One daily bar as a row. It is stamped at the end of its UTC day, so an
+	 * as-of query never sees a close before the day is over.
+	 */
+	private static void addDay(CopyChunk chunk, String symbol, String date, DailyBar bar, Instant after) {
+		Instant closedAt = LocalDate.parse(date).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusSeconds(1);
+		if (!closedAt.isAfter(after)) {
+			return;
+		}
+		chunk.set(PriceColumn.TICKER, symbol);
+		chunk.set(PriceColumn.PRICE, nullToEmpty(bar.getClose()));
+		chunk.set(PriceColumn.DAY_OPEN, nullToEmpty(bar.getOpen()));
+		chunk.set(PriceColumn.DAY_HIGH, nullToEmpty(bar.getHigh()));
+		chunk.set(PriceColumn.DAY_LOW, nullToEmpty(bar.getLow()));
+		chunk.set(PriceColumn.VOLUME, nullToEmpty(bar.getVolume()));
+		chunk.set(PriceColumn.LAST_TRADE_TIME, closedAt.toString());
+		chunk.set(PriceColumn.PULLED_AT, closedAt.toString());
+		chunk.endRow();
+	}
+
+	private Map<Instrument, Integer> instrumentIds(CopyChunk chunk) {
+		List<Instrument> instruments = List.copyOf(chunk.instruments());
+		Map<Instrument, Integer> ids = new HashMap<>();
+		for (int from = 0; from < instruments.size(); from += INSTRUMENT_BATCH) {
+			ids.putAll(instrumentDictionary
+					.ids(instruments.subList(from, Math.min(from + INSTRUMENT_BATCH, instruments.size()))));
+		}
+		return ids;
+	}
+
+	private static void fail(Job job, List<Future<?>> loads, Throwable cause) {
+		loads.forEach(load -> load.cancel(false));
+		job.stop(BackfillStatus.FAILED, String.valueOf(cause.getMessage()));
+		log.warn("Backfill job {} on {} failed", job.id, job.target, cause);
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+
+	/** Progress of one job, updated by its workers. */
+	private static final class Job {
+
+		private final long id;
+		private final String target;
+		private final String source;
+		private final Instant startedAt;
+		private final AtomicInteger completedUnits = new AtomicInteger();
+		private final AtomicLong rows = new AtomicLong();
+		private final AtomicLong rejectedRows = new AtomicLong();
+		private volatile int units;
+		private volatile BackfillStatus status = BackfillStatus.RUNNING;
+		private volatile Instant completedAt;
+		private volatile String error;
+
+		Job(long id, String target, String source, Instant startedAt) {
+			this.id = id;
+			this.target = target;
+			this.source = source;
+			this.startedAt = startedAt;
+		}
+
+		void start(int units, int alreadyCompleted) {
+			this.units = units;
+			completedUnits.set(alreadyCompleted);
+		}
+
+		void completed(CopyChunk chunk, String unit) {
+			completedUnits.incrementAndGet();
+			rows.addAndGet(chunk.rows());
+			rejectedRows.addAndGet(chunk.rejected());
+			if (error == null && chunk.firstRejection() != null) {
+				error = unit + ", " + chunk.firstRejection();
+			}
+		}
+
+		synchronized void stop(BackfillStatus status, String error) {
+			if (this.status != BackfillStatus.RUNNING) {
+				return;
+			}
+			this.status = status;
+			this.error = error != null ? error : this.error;
+			this.completedAt = Instant.now();
+		}
+
+		BackfillJob toContract() {
+			return new BackfillJob(id, target, source, status, units, completedUnits.get(), rows.get(),
+					rejectedRows.get(), startedAt, completedAt, error);
+		}
+	}
+}
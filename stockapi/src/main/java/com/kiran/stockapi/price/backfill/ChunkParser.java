@@ -0,0 +1,11 @@
+package com.kiran.stockapi.price.backfill;
+
+/** Reads the rows in a byte range of an import file into a {@link CopyChunk}. */
+interface ChunkParser {
+
+	/**
+	 * Parses the lines in {@code [from, to)}; the range starts at a line and ends
+	 * after a line break or at the end of the file.
+	 */
+	void parse(byte[] bytes, int from, int to, CopyChunk chunk);
+}
@@ -0,0 +1,64 @@
+package com.kiran.stockapi.price.backfill;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A byte range of an import file that starts at a line and ends after a line
+ * break. The split only depends on the file and the chunk size, so a resumed
+ * import gets the same chunks and can skip those already loaded.
+ */
+record ChunkRange(int index, long start, long end) {
+
+	/**
+	 * Splits {@code [start, size)} into ranges of {@code chunkSize} bytes, each
+	 * extended to the end of the line it stops in.
+	 */
+	static List<ChunkRange> split(FileChannel channel, long start, long size, int chunkSize) throws IOException {
+		List<ChunkRange> ranges = new ArrayList<>();
+		long from = start;
+		while (from < size) {
+			long to = size - from <= chunkSize ? size : lineEnd(channel, from + chunkSize, size);
+			ranges.add(new ChunkRange(ranges.size(), from, to));
+			from = to;
+		}
+		return ranges;
+	}
+
+	/** The position after the first line break at or after {@code position}, or {@code size}. */
+	static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	int length() {
+		return Math.toIntExact(end - start);
+	}
+
+	/** Reads the range into a new array. */
+	byte[] read(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length());
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, start + buffer.position()) < 0) {
+				throw new IOException("File ended before byte " + end);
+			}
+		}
+		return buffer.array();
+	}
+}
@@ -0,0 +1,187 @@
+package com.kiran.stockapi.price.backfill;
+
+import com.kiran.stockapi.price.instrument.Instrument;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The rows of one chunk in {@code COPY} text format, filled field by field by
+ * a parser. Values are checked and normalised as they are set: decimals through
+ * {@link FixedPoint}, timestamps to UTC. A row that fails is counted as
+ * rejected and left out.
+ * <p>
+ * {@code instrument_id} is the last {@code COPY} column and is only appended by
+ * {@link #copyText}, once the instruments of the chunk have ids.
+ */
+final class CopyChunk {
+
+	/** {@code COPY} text null marker. */
+	private static final String NULL = "\\N";
+	private static final PriceColumn[] COLUMNS = PriceColumn.values();
+
+	private final String defaultSource;
+	private final StringBuilder rows = new StringBuilder();
+	private final List<Instrument> instruments = new ArrayList<>();
+	private int[] rowEnds = new int[256];
+	private int rejected;
+	private String firstRejection;
+
+	// The row being read
+	private final String[] texts = new String[COLUMNS.length];
+	private final long[] numbers = new long[COLUMNS.length];
+	private final Instant[] times = new Instant[COLUMNS.length];
+	private final boolean[] present = new boolean[COLUMNS.length];
+	private String rowError;
+
+	CopyChunk(String defaultSource) {
+		this.defaultSource = defaultSource;
+	}
+
+	/** Sets a field of the current row; empty values and {@code null} leave it unset. */
+	void set(PriceColumn column, CharSequence value) {
+		if (rowError != null || value.isEmpty() || isNull(value)) {
+			return;
+		}
+		int index = column.ordinal();
+		try {
+			switch (column.kind()) {
+				case TEXT -> texts[index] = value.toString();
+				case FIXED_POINT -> numbers[index] = FixedPoint.parse(value, column.scale());
+				case BOOLEAN -> numbers[index] = parseBoolean(value) ? 1 : 0;
+				case TIMESTAMP -> times[index] = parseTimestamp(value);
+			}
+			present[index] = true;
+		} catch (IllegalArgumentException | DateTimeException e) {
+			rowError = column.field() + ": " + e.getMessage();
+		}
+	}
+
+	/** Completes the current row, keeping it if it parsed and has a ticker and pull time. */
+	void endRow() {
+		if (rowError == null && !(present[PriceColumn.TICKER.ordinal()] && present[PriceColumn.PULLED_AT.ordinal()])) {
+			rowError = "ticker and pulled_at are required";
+		}
+		if (rowError != null) {
+			reject(rowError);
+			return;
+		}
+		for (PriceColumn column : PriceColumn.COPIED) {
+			appendValue(column);
+			rows.append('\t');
+		}
+		int count = instruments.size();
+		if (count == rowEnds.length) {
+			rowEnds = Arrays.copyOf(rowEnds, count * 2);
+		}
+		rowEnds[count] = rows.length();
+		instruments.add(new Instrument(texts[PriceColumn.TICKER.ordinal()], texts[PriceColumn.NAME.ordinal()],
+				texts[PriceColumn.EXCHANGE_SHORT.ordinal()], texts[PriceColumn.EXCHANGE_LONG.ordinal()],
+				texts[PriceColumn.MIC_CODE.ordinal()], texts[PriceColumn.CURRENCY.ordinal()]));
+		clear();
+	}
+
+	/** Drops the current row, e.g. when it is not well-formed. */
+	void reject(String reason) {
+		rejected++;
+		if (firstRejection == null) {
+			firstRejection = "row " + (instruments.size() + rejected) + ": " + reason;
+		}
+		clear();
+	}
+
+	int rows() {
+		return instruments.size();
+	}
+
+	int rejected() {
+		return rejected;
+	}
+
+	/** Why the first rejected row was rejected, or {@code null}. */
+	String firstRejection() {
+		return firstRejection;
+	}
+
+	Set<Instrument> instruments() {
+		return new LinkedHashSet<>(instruments);
+	}
+
+	/** The {@code COPY} input, with the instrument ids appended to each row. */
+	String copyText(Map<Instrument, Integer> instrumentIds) {
+		StringBuilder text = new StringBuilder(rows.length() + 12 * instruments.size());
+		int start = 0;
+		for (int row = 0; row < instruments.size(); row++) {
+			text.append(rows, start, rowEnds[row]).append(instrumentIds.get(instruments.get(row))).append('\n');
+			start = rowEnds[row];
+		}
+		return text.toString();
+	}
+
+	private void appendValue(PriceColumn column) {
+		int index = column.ordinal();
+		if (column == PriceColumn.SOURCE && !present[index]) {
+			appendText(defaultSource);
+		} else if (!present[index]) {
+			rows.append(NULL);
+		} else {
+			switch (column.kind()) {
+				case TEXT -> appendText(texts[index]);
+				case FIXED_POINT -> FixedPoint.append(rows, numbers[index], column.scale());
+				case BOOLEAN -> rows.append(numbers[index] == 1 ? 't' : 'f');
+				case TIMESTAMP -> rows.append(times[index]);
+			}
+		}
+	}
+
+	private void appendText(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '\\' -> rows.append("\\\\");
+				case '\t' -> rows.append("\\t");
+				case '\n' -> rows.append("\\n");
+				case '\r' -> rows.append("\\r");
+				default -> rows.append(c);
+			}
+		}
+	}
+
+	private void clear() {
+		Arrays.fill(texts, null);
+		Arrays.fill(times, null);
+		Arrays.fill(present, false);
+		rowError = null;
+	}
+
+	private static boolean isNull(CharSequence value) {
+		return value.length() == 4 && value.toString().equalsIgnoreCase("null");
+	}
+
+	private static boolean parseBoolean(CharSequence value) {
+		return switch (value.toString().toLowerCase(Locale.ROOT)) {
+			case "true", "t", "1" -> true;
+			case "false", "f", "0" -> false;
+			default -> throw new IllegalArgumentException("'" + value + "' is not a boolean");
+		};
+	}
+
+	/** ISO-8601 with an offset, or without one as UTC like {@code Quote} timestamps. */
+	private static Instant parseTimestamp(CharSequence value) {
+		TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(value);
+		return parsed.isSupported(ChronoField.OFFSET_SECONDS)
+				? Instant.from(parsed)
+				: LocalDateTime.from(parsed).toInstant(ZoneOffset.UTC);
+	}
+}
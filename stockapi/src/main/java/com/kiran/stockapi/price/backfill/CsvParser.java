@@ -0,0 +1,149 @@
+package com.kiran.stockapi.price.backfill;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comma separated rows, with the fields named by the header line. Fields may be
+ * quoted to hold commas, with {@code ""} for a quote, but not line breaks.
+ * Unquoted numbers are parsed straight from the bytes.
+ */
+final class CsvParser implements ChunkParser {
+
+	private final PriceColumn[] columns;
+
+	private CsvParser(PriceColumn[] columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * A parser for the file with this header line.
+	 *
+	 * @throws IllegalArgumentException
+	 *             when the header has no {@code ticker} or {@code pulled_at}
+	 */
+	static CsvParser forHeader(String header) {
+		List<PriceColumn> columns = new ArrayList<>();
+		for (String name : header.strip().split(",", -1)) {
+			columns.add(PriceColumn.byName(name.replace("\"", "")));
+		}
+		if (!columns.contains(PriceColumn.TICKER) || !columns.contains(PriceColumn.PULLED_AT)) {
+			throw new IllegalArgumentException("The CSV header must name 'ticker' and 'pulled_at' columns");
+		}
+		return new CsvParser(columns.toArray(PriceColumn[]::new));
+	}
+
+	@Override
+	public void parse(byte[] bytes, int from, int to, CopyChunk chunk) {
+		ByteSlice slice = new ByteSlice(bytes);
+		int position = from;
+		while (position < to) {
+			int lineEnd = position;
+			while (lineEnd < to && bytes[lineEnd] != '\n') {
+				lineEnd++;
+			}
+			int end = lineEnd > position && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+			if (end > position) {
+				parseLine(bytes, position, end, slice, chunk);
+			}
+			position = lineEnd + 1;
+		}
+	}
+
+	private void parseLine(byte[] bytes, int from, int to, ByteSlice slice, CopyChunk chunk) {
+		int field = 0;
+		int position = from;
+		while (position <= to) {
+			PriceColumn column = field < columns.length ? columns[field] : null;
+			if (position < to && bytes[position] == '"') {
+				StringBuilder value = new StringBuilder();
+				position = readQuoted(bytes, position + 1, to, value);
+				if (position < 0) {
+					chunk.reject("unterminated quote");
+					return;
+				}
+				if (column != null) {
+					chunk.set(column, value);
+				}
+				while (position < to && bytes[position] != ',') {
+					position++;
+				}
+			} else {
+				int end = position;
+				while (end < to && bytes[end] != ',') {
+					end++;
+				}
+				if (column != null) {
+					chunk.set(column, slice.of(position, end));
+				}
+				position = end;
+			}
+			// position is at the separator or the end of the line
+			position++;
+			field++;
+		}
+		chunk.endRow();
+	}
+
+	/** Reads a quoted field into {@code value}; the position after it, or -1 if unterminated. */
+	private static int readQuoted(byte[] bytes, int position, int to, StringBuilder value) {
+		int start = position;
+		while (position < to) {
+			if (bytes[position] == '"') {
+				if (position + 1 < to && bytes[position + 1] == '"') {
+					value.append(new String(bytes, start, position + 1 - start, StandardCharsets.UTF_8));
+					position += 2;
+					start = position;
+					continue;
+				}
+				value.append(new String(bytes, start, position - start, StandardCharsets.UTF_8));
+				return position + 1;
+			}
+			position++;
+		}
+		return -1;
+	}
+
+	/**
+	 * A reusable view of a byte range. {@link #charAt} is only meaningful for
+	 * ASCII, which is all numbers and timestamps use; {@link #toString} decodes
+	 * UTF-8.
+	 */
+	private static final class ByteSlice implements CharSequence {
+
+		private final byte[] bytes;
+		private int from;
+		private int to;
+
+		ByteSlice(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		ByteSlice of(int from, int to) {
+			this.from = from;
+			this.to = to;
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return to - from;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (bytes[from + index] & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return toString().subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+		}
+	}
+}
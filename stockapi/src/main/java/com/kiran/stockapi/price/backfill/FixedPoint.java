@@ -0,0 +1,132 @@
+package com.kiran.stockapi.price.backfill;
+
+/**
+ * Decimal text to a 64-bit unscaled value at a fixed scale and back, without
+ * going through {@code BigDecimal} or {@code double}. Accepts an optional
+ * sign, digits with an optional fraction and an optional exponent; digits
+ * beyond the scale are rounded half-even, as in the binary quote format.
+ */
+final class FixedPoint {
+
+	/** Exponents beyond this cannot produce a value that fits 64 bits anyway. */
+	private static final int MAX_EXPONENT = 1_000;
+
+	private FixedPoint() {
+	}
+
+	/**
+	 * {@code text} times {@code 10^scale}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             when {@code text} is not a decimal or does not fit
+	 */
+	static long parse(CharSequence text, int scale) {
+		int length = text.length();
+		int i = 0;
+		boolean negative = false;
+		if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+			negative = text.charAt(i) == '-';
+			i++;
+		}
+		int integerStart = i;
+		while (i < length && isDigit(text.charAt(i))) {
+			i++;
+		}
+		int integerDigits = i - integerStart;
+		int fractionStart = i;
+		if (i < length && text.charAt(i) == '.') {
+			fractionStart = ++i;
+			while (i < length && isDigit(text.charAt(i))) {
+				i++;
+			}
+		}
+		int digits = integerDigits + (i - fractionStart);
+		if (digits == 0) {
+			throw invalid(text);
+		}
+		int exponent = 0;
+		if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+			i++;
+			boolean negativeExponent = i < length && text.charAt(i) == '-';
+			if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+				i++;
+			}
+			int exponentStart = i;
+			while (i < length && isDigit(text.charAt(i))) {
+				exponent = Math.min(exponent * 10 + text.charAt(i) - '0', MAX_EXPONENT);
+				i++;
+			}
+			if (i == exponentStart) {
+				throw invalid(text);
+			}
+			exponent = negativeExponent ? -exponent : exponent;
+		}
+		if (i != length) {
+			throw invalid(text);
+		}
+		// Leading digits that land at or above the last kept decimal
+		int kept = integerDigits + exponent + scale;
+		try {
+			long unscaled = 0;
+			for (int digit = 0; digit < Math.min(kept, digits); digit++) {
+				unscaled = Math.addExact(Math.multiplyExact(unscaled, 10),
+						digit(text, digit, integerStart, integerDigits, fractionStart));
+			}
+			for (int digit = digits; digit < kept; digit++) {
+				unscaled = Math.multiplyExact(unscaled, 10);
+			}
+			if (kept >= 0 && kept < digits
+					&& roundsUp(text, kept, digits, unscaled, integerStart, integerDigits, fractionStart)) {
+				unscaled = Math.addExact(unscaled, 1);
+			}
+			return negative ? -unscaled : unscaled;
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException(text + " does not fit a 64-bit fixed-point value", e);
+		}
+	}
+
+	/** Appends {@code unscaled / 10^scale} in plain notation. */
+	static void append(StringBuilder out, long unscaled, int scale) {
+		if (unscaled < 0) {
+			out.append('-');
+		}
+		int start = out.length();
+		out.append(Math.abs(unscaled));
+		if (scale == 0) {
+			return;
+		}
+		int digits = out.length() - start;
+		if (digits <= scale) {
+			out.insert(start, "0".repeat(scale - digits + 1));
+		}
+		out.insert(out.length() - scale, '.');
+	}
+
+	private static boolean roundsUp(CharSequence text, int first, int digits, long kept, int integerStart,
+			int integerDigits, int fractionStart) {
+		int dropped = digit(text, first, integerStart, integerDigits, fractionStart);
+		if (dropped != 5) {
+			return dropped > 5;
+		}
+		for (int digit = first + 1; digit < digits; digit++) {
+			if (digit(text, digit, integerStart, integerDigits, fractionStart) != 0) {
+				return true;
+			}
+		}
+		return (kept & 1) == 1;
+	}
+
+	/** The {@code index}-th digit of the mantissa, skipping the decimal point. */
+	private static int digit(CharSequence text, int index, int integerStart, int integerDigits, int fractionStart) {
+		int position = index < integerDigits ? integerStart + index : fractionStart + index - integerDigits;
+		return text.charAt(position) - '0';
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static IllegalArgumentException invalid(CharSequence text) {
+		return new IllegalArgumentException("'" + text + "' is not a decimal");
+	}
+}
@@ -0,0 +1,70 @@
+package com.kiran.stockapi.price.backfill;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * One JSON object per line, with {@code Quote} field names plus
+ * {@code pulled_at} and optionally {@code source}. Lines are read with the
+ * streaming parser and numbers taken from its token buffer, so no tree or
+ * {@code BigDecimal} is built per row.
+ */
+final class JsonLinesParser implements ChunkParser {
+
+	private static final JsonFactory JSON = new JsonFactory();
+
+	@Override
+	public void parse(byte[] bytes, int from, int to, CopyChunk chunk) {
+		int position = from;
+		while (position < to) {
+			int lineEnd = position;
+			while (lineEnd < to && bytes[lineEnd] != '\n') {
+				lineEnd++;
+			}
+			if (!isBlank(bytes, position, lineEnd)) {
+				parseLine(bytes, position, lineEnd, chunk);
+			}
+			position = lineEnd + 1;
+		}
+	}
+
+	private static void parseLine(byte[] bytes, int from, int to, CopyChunk chunk) {
+		try (JsonParser parser = JSON.createParser(bytes, from, to - from)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				chunk.reject("not a JSON object");
+				return;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				PriceColumn column = PriceColumn.byName(parser.currentName());
+				JsonToken value = parser.nextToken();
+				if (column == null || value.isStructStart()) {
+					parser.skipChildren();
+				} else if (value.isNumeric()) {
+					chunk.set(column, CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(),
+							parser.getTextLength()));
+				} else if (value != JsonToken.VALUE_NULL) {
+					chunk.set(column, parser.getText());
+				}
+			}
+			chunk.endRow();
+		} catch (JsonProcessingException e) {
+			chunk.reject(e.getOriginalMessage());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static boolean isBlank(byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (!Character.isWhitespace(bytes[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
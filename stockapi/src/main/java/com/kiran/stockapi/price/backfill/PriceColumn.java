@@ -0,0 +1,91 @@
+package com.kiran.stockapi.price.backfill;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fields an imported row can carry. Files name them as {@code Quote} JSON does
+ * ({@code 52_week_high}) or as the {@code refdata.price} column
+ * ({@code week52_high}); unknown fields are ignored. The first six are
+ * reference data and end up in {@code refdata.instrument}; the others are
+ * copied into {@code refdata.price} in declaration order.
+ */
+enum PriceColumn {
+	TICKER("ticker", null, Kind.TEXT, 0),
+	NAME("name", null, Kind.TEXT, 0),
+	EXCHANGE_SHORT("exchange_short", null, Kind.TEXT, 0),
+	EXCHANGE_LONG("exchange_long", null, Kind.TEXT, 0),
+	MIC_CODE("mic_code", null, Kind.TEXT, 0),
+	CURRENCY("currency", null, Kind.TEXT, 0),
+	PRICE("price", "price", Kind.FIXED_POINT, 8),
+	DAY_HIGH("day_high", "day_high", Kind.FIXED_POINT, 8),
+	DAY_LOW("day_low", "day_low", Kind.FIXED_POINT, 8),
+	DAY_OPEN("day_open", "day_open", Kind.FIXED_POINT, 8),
+	WEEK52_HIGH("52_week_high", "week52_high", Kind.FIXED_POINT, 8),
+	WEEK52_LOW("52_week_low", "week52_low", Kind.FIXED_POINT, 8),
+	/** Whole currency units, as in the binary quote format. */
+	MARKET_CAP("market_cap", "market_cap", Kind.FIXED_POINT, 0),
+	PREVIOUS_CLOSE_PRICE("previous_close_price", "previous_close_price", Kind.FIXED_POINT, 8),
+	PREVIOUS_CLOSE_PRICE_TIME("previous_close_price_time", "previous_close_price_time", Kind.TIMESTAMP, 0),
+	DAY_CHANGE("day_change", "day_change", Kind.FIXED_POINT, 8),
+	VOLUME("volume", "volume", Kind.FIXED_POINT, 0),
+	IS_EXTENDED_HOURS_PRICE("is_extended_hours_price", "is_extended_hours_price", Kind.BOOLEAN, 0),
+	LAST_TRADE_TIME("last_trade_time", "last_trade_time", Kind.TIMESTAMP, 0),
+	SOURCE("source", "source", Kind.TEXT, 0),
+	PULLED_AT("pulled_at", "pulled_at", Kind.TIMESTAMP, 0);
+
+	enum Kind {
+		TEXT, FIXED_POINT, BOOLEAN, TIMESTAMP
+	}
+
+	/** The {@code refdata.price} columns, in {@code COPY} order. */
+	static final List<PriceColumn> COPIED = Arrays.stream(values()).filter(column -> column.column != null).toList();
+
+	private static final Map<String, PriceColumn> BY_NAME = new HashMap<>();
+
+	static {
+		for (PriceColumn column : values()) {
+			BY_NAME.put(column.field, column);
+			if (column.column != null) {
+				BY_NAME.put(column.column, column);
+			}
+		}
+	}
+
+	private final String field;
+	private final String column;
+	private final Kind kind;
+	private final int scale;
+
+	PriceColumn(String field, String column, Kind kind, int scale) {
+		this.field = field;
+		this.column = column;
+		this.kind = kind;
+		this.scale = scale;
+	}
+
+	String field() {
+		return field;
+	}
+
+	String column() {
+		return column;
+	}
+
+	Kind kind() {
+		return kind;
+	}
+
+	/** Decimals kept of a {@link Kind#FIXED_POINT} value. */
+	int scale() {
+		return scale;
+	}
+
+	/** The column a file field maps to, or {@code null} when it is not imported. */
+	static PriceColumn byName(String name) {
+		return BY_NAME.get(name.trim().toLowerCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,61 @@
+package com.kiran.stockapi.price.bars;
+
+import com.kiran.stockapi.price.api.contract.PriceBar;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/** Mutable OHLCV state of one open bar. Not thread-safe. */
+final class BarAccumulator {
+
+	private BigDecimal open;
+	private BigDecimal high;
+	private BigDecimal low;
+	private BigDecimal close;
+	private long volume;
+	private int tickCount;
+
+	void add(BigDecimal price, long volumeDelta) {
+		if (tickCount == 0) {
+			open = price;
+			high = price;
+			low = price;
+		} else {
+			high = high.max(price);
+			low = low.min(price);
+		}
+		close = price;
+		volume += volumeDelta;
+		tickCount++;
+	}
+
+	/** Merges a bar that was aggregated before the ticks held here. */
+	void prepend(PriceBar earlier) {
+		if (tickCount == 0) {
+			close = earlier.getClose();
+			high = earlier.getHigh();
+			low = earlier.getLow();
+		} else {
+			high = high.max(earlier.getHigh());
+			low = low.min(earlier.getLow());
+		}
+		open = earlier.getOpen();
+		volume += earlier.getVolume();
+		tickCount += earlier.getTickCount();
+	}
+
+	boolean isEmpty() {
+		return tickCount == 0;
+	}
+
+	/** Returns the accumulated bar and resets this accumulator. */
+	PriceBar drain(Instant barStart) {
+		PriceBar bar = new PriceBar(barStart, open, high, low, close, volume, tickCount);
+		open = null;
+		high = null;
+		low = null;
+		close = null;
+		volume = 0;
+		tickCount = 0;
+		return bar;
+	}
+}
@@ -0,0 +1,12 @@
+package com.kiran.stockapi.price.bars;
+
+import com.kiran.stockapi.price.api.contract.PriceBar;
+
+/**
+ * Ticks aggregated into a bar since it was last flushed. Deltas are merged into
+ * the stored bar: the stored open is kept, high/low are widened, the close is
+ * replaced and volume and tick count are added. A delta that holds the whole
+ * bar so far {@code replace}s the stored one instead.
+ */
+public record BarDelta(BarKey key, PriceBar bar, boolean replace) {
+}
@@ -0,0 +1,12 @@
+package com.kiran.stockapi.price.bars;
+
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import java.time.Instant;
+
+/** Identity of a bar, mirroring the primary key of {@code refdata.price_bar}. */
+public record BarKey(String ticker, String source, BarResolution resolution, Instant barStart) {
+
+	public Instant barEnd() {
+		return barStart.plus(resolution.duration());
+	}
+}
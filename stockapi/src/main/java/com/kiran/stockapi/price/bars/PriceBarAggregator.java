@@ -0,0 +1,183 @@
+package com.kiran.stockapi.price.bars;
+
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Continuously rolls incoming ticks into 1-minute, 5-minute, hourly and daily
+ * bars. Open bars are kept in memory and their deltas are upserted into
+ * {@code refdata.price_bar} on every flush; bars whose bucket has ended are
+ * dropped from memory after they have been flushed.
+ *
+ * <p>
+ * Provider volumes are cumulative for the trading day, so the volume of a tick
+ * is the difference to the previous tick of the same ticker.
+ * <p>
+ * Ticks that traded before {@link #liveSince()} belong to
+ * {@link PriceBarCatchUpJob}; they only set the volume baseline here. The bars
+ * of the buckets containing {@code liveSince} are held in memory until the
+ * catch-up hands over the part before it, and then replace the stored bars,
+ * so neither side overwrites or double counts the other. For the same reason
+ * quotes shared by another instance of the quote cluster are left to the bars
+ * of that instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price-bars.enabled", havingValue = "true")
+public class PriceBarAggregator {
+
+	private final PriceBarRepository priceBarRepository;
+	private final Clock clock;
+	private final Instant liveSince;
+	private final Map<BarKey, BarAccumulator> openBars = new HashMap<>();
+	private final Map<TickerKey, TickerState> lastTicks = new HashMap<>();
+	/** Resolutions whose bucket containing {@link #liveSince} waits for the catch-up. */
+	private final Set<BarResolution> catchingUp = EnumSet.allOf(BarResolution.class);
+	/** Bars that replace the stored bar on their next flush. */
+	private final Set<BarKey> replacing = new HashSet<>();
+
+	public PriceBarAggregator(PriceBarRepository priceBarRepository) {
+		this(priceBarRepository, Clock.systemUTC());
+	}
+
+	PriceBarAggregator(PriceBarRepository priceBarRepository, Clock clock) {
+		this.priceBarRepository = priceBarRepository;
+		this.clock = clock;
+		this.liveSince = clock.instant();
+	}
+
+	/** Instant from which this aggregator has been seeing ticks. */
+	public Instant liveSince() {
+		return liveSince;
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		if (!event.shared()) {
+			event.ticks().forEach(this::accept);
+		}
+	}
+
+	synchronized void accept(PriceTick tick) {
+		BigDecimal price = tick.quote().getPrice();
+		if (tick.ticker() == null || price == null) {
+			return;
+		}
+		Instant tradeTime = tick.tradeTime();
+		Long volume = tick.quote().getVolume();
+		TickerKey tickerKey = new TickerKey(tick.ticker(), tick.source());
+		TickerState previous = lastTicks.get(tickerKey);
+		if (previous != null && previous.isStaleOrRepeated(tradeTime, price, volume)) {
+			return;
+		}
+		long volumeDelta = volumeDelta(previous, volume);
+		lastTicks.put(tickerKey, new TickerState(tradeTime, price, volume));
+		if (tradeTime.isBefore(liveSince)) {
+			return;
+		}
+		for (BarResolution resolution : BarResolution.values()) {
+			BarKey key = new BarKey(tick.ticker(), tick.source(), resolution, resolution.bucketStart(tradeTime));
+			openBars.computeIfAbsent(key, k -> new BarAccumulator()).add(price, volumeDelta);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${price-bars.flush-interval}")
+	public void flush() {
+		List<BarDelta> deltas = drain(clock.instant());
+		if (deltas.isEmpty()) {
+			return;
+		}
+		try {
+			priceBarRepository.upsertDeltas(deltas);
+			log.debug("Flushed {} bar deltas", deltas.size());
+		} catch (RuntimeException e) {
+			log.error("Failed to flush {} bar deltas, retrying on next flush", deltas.size(), e);
+			restore(deltas);
+		}
+	}
+
+	synchronized List<BarDelta> drain(Instant now) {
+		List<BarDelta> deltas = new ArrayList<>();
+		Iterator<Map.Entry<BarKey, BarAccumulator>> iterator = openBars.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<BarKey, BarAccumulator> entry = iterator.next();
+			BarKey key = entry.getKey();
+			if (catchingUp.contains(key.resolution())
+					&& key.barStart().equals(key.resolution().bucketStart(liveSince))) {
+				continue;
+			}
+			if (!entry.getValue().isEmpty()) {
+				deltas.add(new BarDelta(key, entry.getValue().drain(key.barStart()), replacing.remove(key)));
+			}
+			if (!key.barEnd().isAfter(now)) {
+				iterator.remove();
+			}
+		}
+		return deltas;
+	}
+
+	private synchronized void restore(List<BarDelta> deltas) {
+		for (BarDelta delta : deltas) {
+			openBars.computeIfAbsent(delta.key(), k -> new BarAccumulator()).prepend(delta.bar());
+			if (delta.replace()) {
+				replacing.add(delta.key());
+			}
+		}
+	}
+
+	/**
+	 * Releases the bars of {@code resolution} in the bucket containing
+	 * {@link #liveSince}, after prepending {@code earlier}: the bars the catch-up
+	 * built from the ticks of that bucket before it. Those bars replace the
+	 * stored ones on the next flush.
+	 */
+	synchronized void caughtUp(BarResolution resolution, Collection<BarDelta> earlier) {
+		for (BarDelta delta : earlier) {
+			openBars.computeIfAbsent(delta.key(), k -> new BarAccumulator()).prepend(delta.bar());
+			replacing.add(delta.key());
+		}
+		catchingUp.remove(resolution);
+	}
+
+	private static long volumeDelta(TickerState previous, Long volume) {
+		if (previous == null || previous.volume() == null || volume == null) {
+			return 0;
+		}
+		// A drop in cumulative volume means a new trading day has started
+		return volume >= previous.volume() ? volume - previous.volume() : volume;
+	}
+
+	private record TickerKey(String ticker, String source) {
+	}
+
+	private record TickerState(Instant tradeTime, BigDecimal price, Long volume) {
+
+		/** True for ticks that are older than, or repeat, the last accepted one. */
+		boolean isStaleOrRepeated(Instant otherTradeTime, BigDecimal otherPrice, Long otherVolume) {
+			if (otherTradeTime.isBefore(tradeTime)) {
+				return true;
+			}
+			return otherTradeTime.equals(tradeTime) && otherPrice.compareTo(price) == 0
+					&& Objects.equals(otherVolume, volume);
+		}
+	}
+}
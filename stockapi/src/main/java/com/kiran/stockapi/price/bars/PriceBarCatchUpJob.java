@@ -0,0 +1,77 @@
+package com.kiran.stockapi.price.bars;
+
+import com.kiran.stockapi.price.api.config.PriceBarProperties;
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds bars for history that the in-process {@link PriceBarAggregator} has
+ * not seen, i.e. every raw pull before the aggregator went live. Whole buckets
+ * before the one containing {@link PriceBarAggregator#liveSince()} are rebuilt
+ * in chunks, each committed together with its checkpoint, so an interrupted
+ * run resumes where it stopped. The pulls of the bucket containing it are
+ * handed to the aggregator, which completes that bar with the live ticks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price-bars.enabled", havingValue = "true")
+@AllArgsConstructor
+public class PriceBarCatchUpJob {
+
+	private final PriceBarRepository priceBarRepository;
+	private final PriceBarAggregator priceBarAggregator;
+	private final PriceBarProperties priceBarProperties;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		Thread.ofVirtual().name("price-bar-catch-up").start(this::catchUp);
+	}
+
+	public void catchUp() {
+		for (BarResolution resolution : BarResolution.values()) {
+			try {
+				catchUp(resolution);
+			} catch (RuntimeException e) {
+				log.error("Bar catch-up failed for resolution {}", resolution.code(), e);
+				priceBarAggregator.caughtUp(resolution, List.of());
+			}
+		}
+	}
+
+	void catchUp(BarResolution resolution) {
+		Instant liveSince = priceBarAggregator.liveSince();
+		Instant until = resolution.bucketStart(liveSince);
+		Optional<Instant> checkpoint = priceBarRepository.findCheckpoint(resolution)
+				.or(() -> priceBarRepository.findEarliestRawTime().map(resolution::bucketStart));
+		if (checkpoint.isEmpty()) {
+			log.info("No raw price history to aggregate into {} bars", resolution.code());
+			priceBarAggregator.caughtUp(resolution, List.of());
+			return;
+		}
+		Instant from = checkpoint.get();
+		while (from.isBefore(until)) {
+			Instant to = nextChunkEnd(resolution, from, until);
+			priceBarRepository.aggregateRawRange(resolution, from, to);
+			log.debug("Aggregated {} bars for [{}, {})", resolution.code(), from, to);
+			from = to;
+		}
+		priceBarAggregator.caughtUp(resolution, priceBarRepository.findRawBars(resolution, until, liveSince));
+		log.info("Bar catch-up for {} complete up to {}", resolution.code(), liveSince);
+	}
+
+	private Instant nextChunkEnd(BarResolution resolution, Instant from, Instant until) {
+		Instant chunkEnd = resolution.bucketStart(from.plus(priceBarProperties.catchUpChunk()));
+		if (!chunkEnd.isAfter(from)) {
+			chunkEnd = from.plus(resolution.duration());
+		}
+		return chunkEnd.isAfter(until) ? until : chunkEnd;
+	}
+}
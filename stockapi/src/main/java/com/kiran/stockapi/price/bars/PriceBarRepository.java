@@ -0,0 +1,193 @@
+package com.kiran.stockapi.price.bars;
+
+import static com.kiran.stockapi.jooq.Tables.PRICE;
+import static com.kiran.stockapi.jooq.Tables.PRICE_BAR;
+import static com.kiran.stockapi.jooq.Tables.PRICE_BAR_CHECKPOINT;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.greatest;
+import static org.jooq.impl.DSL.least;
+import static org.jooq.impl.DSL.min;
+
+import com.kiran.stockapi.config.DataSourceConfig;
+import com.kiran.stockapi.jooq.tables.records.PriceBarRecord;
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import com.kiran.stockapi.price.api.contract.PriceBar;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/** jOOQ access to {@code refdata.price_bar} and its catch-up checkpoints. */
+@Repository
+@ConditionalOnProperty(name = "price-bars.enabled", havingValue = "true")
+public class PriceBarRepository {
+
+	/**
+	 * Bars of one resolution over the raw pulls in {@code [from, to)}. Volume
+	 * steps are computed with a one day look-back so the first pull in the range
+	 * still sees its predecessor; a pull without one adds no volume, as in
+	 * {@link PriceBarAggregator}, and a drop starts a new trading day.
+	 */
+	private static final String RAW_BARS_SQL = """
+			SELECT ticker, source, ?,
+			       date_bin(cast(? AS interval), event_time, timestamptz '2000-01-01 00:00:00+00') AS bucket,
+			       (array_agg(price ORDER BY event_time))[1], max(price), min(price),
+			       (array_agg(price ORDER BY event_time DESC))[1],
+			       coalesce(sum(CASE WHEN volume_step >= 0 THEN volume_step WHEN volume_step < 0 THEN volume END), 0),
+			       count(*), now()
+			FROM (SELECT i.ticker, p.source, p.price, p.volume, coalesce(p.last_trade_time, p.pulled_at) AS event_time,
+			             p.volume - lag(p.volume) OVER (PARTITION BY i.ticker, p.source
+			                                            ORDER BY coalesce(p.last_trade_time, p.pulled_at), p.id)
+			                 AS volume_step
+			      FROM refdata.price p
+			      JOIN refdata.instrument i ON i.id = p.instrument_id
+			      WHERE i.ticker IS NOT NULL AND p.price IS NOT NULL
+			        AND coalesce(p.last_trade_time, p.pulled_at) >= ? AND coalesce(p.last_trade_time, p.pulled_at) < ?
+			     ) ticks
+			WHERE event_time >= ?
+			GROUP BY ticker, source, bucket
+			""";
+
+	/**
+	 * Rebuilds the bars of whole buckets from raw pulls. The catch-up only runs
+	 * it before the bucket containing {@link PriceBarAggregator#liveSince()}, so
+	 * it never replaces bars the live aggregator writes.
+	 */
+	private static final String AGGREGATE_RAW_SQL = """
+			INSERT INTO refdata.price_bar (ticker, source, resolution, bar_start, open, high, low, close, volume,
+			                               tick_count, updated_at)
+			%s
+			ON CONFLICT (resolution, ticker, source, bar_start) DO UPDATE
+			SET open = EXCLUDED.open, high = EXCLUDED.high, low = EXCLUDED.low, close = EXCLUDED.close,
+			    volume = EXCLUDED.volume, tick_count = EXCLUDED.tick_count, updated_at = EXCLUDED.updated_at
+			""".formatted(RAW_BARS_SQL);
+
+	private final DSLContext dsl;
+	/** Serves {@link #findBars}; aggregation and checkpoints stay on the write pool. */
+	private final DSLContext readDsl;
+
+	public PriceBarRepository(DSLContext dsl, @Qualifier(DataSourceConfig.READ_DSL_CONTEXT) DSLContext readDsl) {
+		this.dsl = dsl;
+		this.readDsl = readDsl;
+	}
+
+	/**
+	 * Writes bar deltas in one transaction: one statement merging deltas into the
+	 * stored bars and one for the deltas that replace them.
+	 */
+	public void upsertDeltas(Collection<BarDelta> deltas) {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		Map<Boolean, List<BarDelta>> byReplace = deltas.stream()
+				.collect(Collectors.partitioningBy(BarDelta::replace));
+		dsl.transaction(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			upsert(tx, byReplace.get(false), now, false);
+			upsert(tx, byReplace.get(true), now, true);
+		});
+	}
+
+	private static void upsert(DSLContext tx, List<BarDelta> deltas, OffsetDateTime now, boolean replace) {
+		if (deltas.isEmpty()) {
+			return;
+		}
+		var insert = tx.insertInto(PRICE_BAR, PRICE_BAR.TICKER, PRICE_BAR.SOURCE, PRICE_BAR.RESOLUTION,
+				PRICE_BAR.BAR_START, PRICE_BAR.OPEN, PRICE_BAR.HIGH, PRICE_BAR.LOW, PRICE_BAR.CLOSE, PRICE_BAR.VOLUME,
+				PRICE_BAR.TICK_COUNT, PRICE_BAR.UPDATED_AT);
+		for (BarDelta delta : deltas) {
+			BarKey key = delta.key();
+			PriceBar bar = delta.bar();
+			insert = insert.values(key.ticker(), key.source(), key.resolution().code(), toOffset(key.barStart()),
+					bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume(), bar.getTickCount(),
+					now);
+		}
+		var update = insert.onConflict(PRICE_BAR.RESOLUTION, PRICE_BAR.TICKER, PRICE_BAR.SOURCE, PRICE_BAR.BAR_START)
+				.doUpdate();
+		if (replace) {
+			update.set(PRICE_BAR.OPEN, excluded(PRICE_BAR.OPEN)).set(PRICE_BAR.HIGH, excluded(PRICE_BAR.HIGH))
+					.set(PRICE_BAR.LOW, excluded(PRICE_BAR.LOW)).set(PRICE_BAR.CLOSE, excluded(PRICE_BAR.CLOSE))
+					.set(PRICE_BAR.VOLUME, excluded(PRICE_BAR.VOLUME))
+					.set(PRICE_BAR.TICK_COUNT, excluded(PRICE_BAR.TICK_COUNT))
+					.set(PRICE_BAR.UPDATED_AT, excluded(PRICE_BAR.UPDATED_AT)).execute();
+		} else {
+			update.set(PRICE_BAR.HIGH, greatest(PRICE_BAR.HIGH, excluded(PRICE_BAR.HIGH)))
+					.set(PRICE_BAR.LOW, least(PRICE_BAR.LOW, excluded(PRICE_BAR.LOW)))
+					.set(PRICE_BAR.CLOSE, excluded(PRICE_BAR.CLOSE))
+					.set(PRICE_BAR.VOLUME, PRICE_BAR.VOLUME.plus(excluded(PRICE_BAR.VOLUME)))
+					.set(PRICE_BAR.TICK_COUNT, PRICE_BAR.TICK_COUNT.plus(excluded(PRICE_BAR.TICK_COUNT)))
+					.set(PRICE_BAR.UPDATED_AT, excluded(PRICE_BAR.UPDATED_AT)).execute();
+		}
+	}
+
+	public List<PriceBar> findBars(String ticker, String source, BarResolution resolution, Instant from,
+			Instant to) {
+		return readDsl.selectFrom(PRICE_BAR).where(PRICE_BAR.RESOLUTION.eq(resolution.code()))
+				.and(PRICE_BAR.TICKER.eq(ticker)).and(PRICE_BAR.SOURCE.eq(source))
+				.and(PRICE_BAR.BAR_START.ge(toOffset(from))).and(PRICE_BAR.BAR_START.lt(toOffset(to)))
+				.orderBy(PRICE_BAR.BAR_START).fetch(PriceBarRepository::toPriceBar);
+	}
+
+	public Optional<Instant> findCheckpoint(BarResolution resolution) {
+		return dsl.select(PRICE_BAR_CHECKPOINT.AGGREGATED_UNTIL).from(PRICE_BAR_CHECKPOINT)
+				.where(PRICE_BAR_CHECKPOINT.RESOLUTION.eq(resolution.code()))
+				.fetchOptional(PRICE_BAR_CHECKPOINT.AGGREGATED_UNTIL).map(OffsetDateTime::toInstant);
+	}
+
+	public Optional<Instant> findEarliestRawTime() {
+		return Optional.ofNullable(dsl.select(min(coalesce(PRICE.LAST_TRADE_TIME, PRICE.PULLED_AT))).from(PRICE)
+				.fetchOne(0, OffsetDateTime.class)).map(OffsetDateTime::toInstant);
+	}
+
+	/**
+	 * Rebuilds bars of one resolution from raw pulls in {@code [from, to)} and
+	 * advances the checkpoint to {@code to}, in one transaction.
+	 */
+	public void aggregateRawRange(BarResolution resolution, Instant from, Instant to) {
+		dsl.transaction(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			tx.execute(AGGREGATE_RAW_SQL, resolution.code(), resolution.duration().toSeconds() + " seconds",
+					toOffset(from.minus(BarResolution.ONE_DAY.duration())), toOffset(to), toOffset(from));
+			tx.insertInto(PRICE_BAR_CHECKPOINT).set(PRICE_BAR_CHECKPOINT.RESOLUTION, resolution.code())
+					.set(PRICE_BAR_CHECKPOINT.AGGREGATED_UNTIL, toOffset(to))
+					.onConflict(PRICE_BAR_CHECKPOINT.RESOLUTION).doUpdate()
+					.set(PRICE_BAR_CHECKPOINT.AGGREGATED_UNTIL, toOffset(to)).execute();
+		});
+	}
+
+	/**
+	 * Bars of one resolution built from the raw pulls in {@code [from, to)},
+	 * without storing them; each replaces the stored bar of its bucket.
+	 */
+	public List<BarDelta> findRawBars(BarResolution resolution, Instant from, Instant to) {
+		return dsl.resultQuery(RAW_BARS_SQL, resolution.code(), resolution.duration().toSeconds() + " seconds",
+				toOffset(from.minus(BarResolution.ONE_DAY.duration())), toOffset(to), toOffset(from)).fetch()
+				.map(record -> new BarDelta(
+						new BarKey(record.get(0, String.class), record.get(1, String.class), resolution,
+								record.get(3, OffsetDateTime.class).toInstant()),
+						new PriceBar(record.get(3, OffsetDateTime.class).toInstant(),
+								record.get(4, BigDecimal.class), record.get(5, BigDecimal.class),
+								record.get(6, BigDecimal.class), record.get(7, BigDecimal.class),
+								record.get(8, Long.class), record.get(9, Integer.class)),
+						true));
+	}
+
+	private static PriceBar toPriceBar(PriceBarRecord record) {
+		return new PriceBar(record.get(PRICE_BAR.BAR_START).toInstant(), record.get(PRICE_BAR.OPEN),
+				record.get(PRICE_BAR.HIGH), record.get(PRICE_BAR.LOW), record.get(PRICE_BAR.CLOSE),
+				record.get(PRICE_BAR.VOLUME), record.get(PRICE_BAR.TICK_COUNT));
+	}
+
+	private static OffsetDateTime toOffset(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
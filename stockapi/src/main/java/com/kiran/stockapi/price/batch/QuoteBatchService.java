@@ -0,0 +1,221 @@
+package com.kiran.stockapi.price.batch;
+
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageQuota;
+import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuote;
+import com.kiran.stockapi.price.api.config.QuoteBatchProperties;
+import com.kiran.stockapi.price.api.contract.QuoteBatchEntry;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import com.kiran.stockapi.price.tick.PriceTicks;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quotes large symbol lists by splitting them into sub-requests of each
+ * provider's batch size and running those concurrently on virtual threads. A
+ * per-provider concurrency limit, shared by all batches, caps the sub-requests
+ * in flight. Alpha Vantage sub-requests also take a call from the
+ * {@link AlphaVantageQuota} the backfill imports use, and fail with
+ * {@link QuoteBatchEntry#QUOTA_EXHAUSTED} when none is left before the batch
+ * times out. Every requested symbol gets an entry per provider, either its
+ * quote or an error, so a short provider response no longer goes unnoticed.
+ */
+@Slf4j
+@Component
+public class QuoteBatchService implements DisposableBean {
+
+	public static final List<String> SOURCES = List.of(PriceTick.SOURCE_STOCKDATA, PriceTick.SOURCE_ALPHAVANTAGE);
+
+	static final String REALTIME_BULK_QUOTES = "REALTIME_BULK_QUOTES";
+
+	private final QuoteClient quoteClient;
+	private final AlphaVantageClient alphaVantageClient;
+	private final AlphaVantageQuota alphaVantageQuota;
+	private final PriceTickPublisher priceTickPublisher;
+	private final QuoteBatchProperties quoteBatchProperties;
+	private final Map<String, Semaphore> concurrencyLimits;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public QuoteBatchService(QuoteClient quoteClient, AlphaVantageClient alphaVantageClient,
+			AlphaVantageQuota alphaVantageQuota, PriceTickPublisher priceTickPublisher,
+			QuoteBatchProperties quoteBatchProperties) {
+		this.quoteClient = quoteClient;
+		this.alphaVantageClient = alphaVantageClient;
+		this.alphaVantageQuota = alphaVantageQuota;
+		this.priceTickPublisher = priceTickPublisher;
+		this.quoteBatchProperties = quoteBatchProperties;
+		this.concurrencyLimits = Map.of(PriceTick.SOURCE_STOCKDATA,
+				new Semaphore(quoteBatchProperties.stockdata().maxConcurrentRequests(), true),
+				PriceTick.SOURCE_ALPHAVANTAGE,
+				new Semaphore(quoteBatchProperties.alphavantage().maxConcurrentRequests(), true));
+	}
+
+	/** Trims, upper-cases and de-duplicates symbols, keeping their order. */
+	public static List<String> normalize(List<String> symbols) {
+		if (symbols == null) {
+			return List.of();
+		}
+		LinkedHashSet<String> normalized = new LinkedHashSet<>();
+		for (String symbol : symbols) {
+			if (symbol != null && !symbol.isBlank()) {
+				normalized.add(symbol.trim().toUpperCase(Locale.ROOT));
+			}
+		}
+		return List.copyOf(normalized);
+	}
+
+	/**
+	 * Fetches {@code symbols} from every source in {@code sources}. The entries of
+	 * each sub-request are handed to {@code sink} as soon as it completes, always
+	 * on the calling thread, so the sink needs no synchronization. Returns once
+	 * every symbol has an entry per source or the batch timed out, in which case
+	 * the symbols still pending get {@link QuoteBatchEntry#TIMEOUT} entries.
+	 */
+	public void fetch(List<String> symbols, List<String> sources, Consumer<List<QuoteBatchEntry>> sink) {
+		CompletionService<List<QuoteBatchEntry>> completion = new ExecutorCompletionService<>(executor);
+		Map<Future<List<QuoteBatchEntry>>, SubRequest> pending = new HashMap<>();
+		long deadline = System.nanoTime() + quoteBatchProperties.timeout().toNanos();
+		for (String source : sources) {
+			for (List<String> chunk : chunks(symbols, provider(source).batchSize())) {
+				SubRequest request = new SubRequest(source, chunk);
+				pending.put(completion.submit(() -> fetch(request, deadline)), request);
+			}
+		}
+		try {
+			while (!pending.isEmpty()) {
+				Future<List<QuoteBatchEntry>> done = completion.poll(deadline - System.nanoTime(),
+						TimeUnit.NANOSECONDS);
+				if (done == null) {
+					log.warn("Quote batch timed out with {} sub-requests pending", pending.size());
+					for (SubRequest request : pending.values()) {
+						sink.accept(request.errors(QuoteBatchEntry.TIMEOUT));
+					}
+					return;
+				}
+				SubRequest request = pending.remove(done);
+				sink.accept(result(done, request));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			pending.keySet().forEach(future -> future.cancel(true));
+		}
+	}
+
+	static List<List<String>> chunks(List<String> symbols, int size) {
+		List<List<String>> chunks = new ArrayList<>();
+		for (int from = 0; from < symbols.size(); from += size) {
+			chunks.add(List.copyOf(symbols.subList(from, Math.min(from + size, symbols.size()))));
+		}
+		return chunks;
+	}
+
+	private List<QuoteBatchEntry> fetch(SubRequest request, long deadline) throws InterruptedException {
+		Semaphore limit = concurrencyLimits.get(request.source());
+		limit.acquire();
+		try {
+			if (PriceTick.SOURCE_STOCKDATA.equals(request.source())) {
+				return fetchStockdata(request);
+			}
+			if (!alphaVantageQuota.acquire(Duration.ofNanos(deadline - System.nanoTime()))) {
+				return request.errors(QuoteBatchEntry.QUOTA_EXHAUSTED);
+			}
+			return fetchAlphaVantage(request);
+		} catch (RuntimeException e) {
+			log.warn("Batch sub-request to {} for {} symbols failed: {}", request.source(), request.symbols().size(),
+					e.getMessage());
+			return request.errors(describe(e));
+		} finally {
+			limit.release();
+		}
+	}
+
+	private List<QuoteBatchEntry> fetchStockdata(SubRequest request) {
+		StockApiResponse response = quoteClient.getQuote(String.join(",", request.symbols()), true);
+		priceTickPublisher.publishStockdata(response);
+		Map<String, Quote> quotes = response == null || response.getData() == null ? Map.of() : response.getData();
+		return request.entries(quotes);
+	}
+
+	private List<QuoteBatchEntry> fetchAlphaVantage(SubRequest request) {
+		RealtimeBulkQuotesResponse response = alphaVantageClient.getRealtimeBulkQuotes(REALTIME_BULK_QUOTES,
+				String.join(",", request.symbols()));
+		priceTickPublisher.publishAlphaVantage(response);
+		Map<String, Quote> quotes = new HashMap<>();
+		if (response != null && response.getData() != null) {
+			for (StockQuote stockQuote : response.getData()) {
+				if (stockQuote != null && stockQuote.getSymbol() != null) {
+					quotes.putIfAbsent(stockQuote.getSymbol().toUpperCase(Locale.ROOT), PriceTicks.toQuote(stockQuote));
+				}
+			}
+		}
+		return request.entries(quotes);
+	}
+
+	private List<QuoteBatchEntry> result(Future<List<QuoteBatchEntry>> done, SubRequest request)
+			throws InterruptedException {
+		try {
+			return done.get();
+		} catch (ExecutionException e) {
+			return request.errors("upstream_error");
+		}
+	}
+
+	private QuoteBatchProperties.Provider provider(String source) {
+		return PriceTick.SOURCE_STOCKDATA.equals(source)
+				? quoteBatchProperties.stockdata()
+				: quoteBatchProperties.alphavantage();
+	}
+
+	private static String describe(RuntimeException e) {
+		if (e instanceof WebApplicationException webApplicationException) {
+			return "upstream_status_" + webApplicationException.getResponse().getStatus();
+		}
+		return e instanceof ProcessingException ? "upstream_unreachable" : "upstream_error";
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private record SubRequest(String source, List<String> symbols) {
+
+		List<QuoteBatchEntry> entries(Map<String, Quote> quotes) {
+			return symbols.stream().map(symbol -> {
+				Quote quote = quotes.get(symbol);
+				return quote == null
+						? QuoteBatchEntry.error(symbol, source, QuoteBatchEntry.NOT_RETURNED)
+						: QuoteBatchEntry.quote(symbol, source, quote);
+			}).toList();
+		}
+
+		List<QuoteBatchEntry> errors(String error) {
+			return symbols.stream().map(symbol -> QuoteBatchEntry.error(symbol, source, error)).toList();
+		}
+	}
+}
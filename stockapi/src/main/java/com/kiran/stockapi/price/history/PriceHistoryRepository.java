@@ -0,0 +1,456 @@
+package com.kiran.stockapi.price.history;
+
+import static com.kiran.stockapi.jooq.Tables.INSTRUMENT;
+import static com.kiran.stockapi.jooq.Tables.LATEST_PRICE;
+import static com.kiran.stockapi.jooq.Tables.PRICE;
+import static java.util.Map.entry;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+
+import com.kiran.stockapi.config.DataSourceConfig;
+import com.kiran.stockapi.jooq.tables.records.LatestPriceRecord;
+import com.kiran.stockapi.jooq.tables.records.PriceRecord;
+import com.kiran.stockapi.price.api.contract.AsOfPrice;
+import com.kiran.stockapi.price.instrument.Instrument;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * jOOQ access to the raw price history in {@code refdata.price} and to the
+ * current quote per ticker and source in {@code refdata.latest_price}, which is
+ * upserted in the same transaction. Rows reference their reference data by
+ * {@code instrument_id}; see {@link InstrumentDictionary}.
+ */
+@Repository
+@ConditionalOnProperty(name = "price-history.enabled", havingValue = "true")
+public class PriceHistoryRepository {
+
+	/**
+	 * Last row at or before a point in time for every requested ticker. Each
+	 * ticker is a nested loop over its instruments, and each instrument a scan of
+	 * {@code price_instrument_source_pulled_at_idx} that stops at the first row,
+	 * so the cost grows with the number of tickers, not with the history. The
+	 * placeholders take the instrument and price columns of the requested
+	 * fields, and the price columns alone.
+	 */
+	private static final String AS_OF_SQL = """
+			SELECT latest.*
+			FROM unnest(cast(? AS varchar[])) AS t (ticker)
+			CROSS JOIN LATERAL (
+			    SELECT i.ticker%s, p.pulled_at
+			    FROM refdata.instrument i
+			    CROSS JOIN LATERAL (
+			        SELECT p.pulled_at%s
+			        FROM refdata.price p
+			        WHERE p.instrument_id = i.id AND p.source = ? AND p.pulled_at <= ?
+			        ORDER BY p.pulled_at DESC, p.id DESC
+			        LIMIT 1
+			    ) p
+			    WHERE i.ticker = t.ticker
+			    ORDER BY p.pulled_at DESC
+			    LIMIT 1
+			) latest
+			""";
+
+	/** Quote fields that are attributes of the instrument rather than of the stored price. */
+	private static final Set<QuoteField> INSTRUMENT_FIELDS = EnumSet.range(QuoteField.TICKER, QuoteField.CURRENCY);
+
+	/** The {@code refdata.price} or {@code refdata.instrument} column of each quote field. */
+	private static final Map<QuoteField, Field<?>> PRICE_COLUMNS = new EnumMap<>(Map.ofEntries(
+			entry(QuoteField.TICKER, INSTRUMENT.TICKER), entry(QuoteField.NAME, INSTRUMENT.NAME),
+			entry(QuoteField.EXCHANGE_SHORT, INSTRUMENT.EXCHANGE_SHORT),
+			entry(QuoteField.EXCHANGE_LONG, INSTRUMENT.EXCHANGE_LONG), entry(QuoteField.MIC_CODE, INSTRUMENT.MIC_CODE),
+			entry(QuoteField.CURRENCY, INSTRUMENT.CURRENCY), entry(QuoteField.PRICE, PRICE.PRICE_),
+			entry(QuoteField.DAY_HIGH, PRICE.DAY_HIGH), entry(QuoteField.DAY_LOW, PRICE.DAY_LOW),
+			entry(QuoteField.DAY_OPEN, PRICE.DAY_OPEN), entry(QuoteField.WEEK52_HIGH, PRICE.WEEK52_HIGH),
+			entry(QuoteField.WEEK52_LOW, PRICE.WEEK52_LOW), entry(QuoteField.MARKET_CAP, PRICE.MARKET_CAP),
+			entry(QuoteField.PREVIOUS_CLOSE_PRICE, PRICE.PREVIOUS_CLOSE_PRICE),
+			entry(QuoteField.PREVIOUS_CLOSE_PRICE_TIME, PRICE.PREVIOUS_CLOSE_PRICE_TIME),
+			entry(QuoteField.DAY_CHANGE, PRICE.DAY_CHANGE), entry(QuoteField.VOLUME, PRICE.VOLUME),
+			entry(QuoteField.IS_EXTENDED_HOURS_PRICE, PRICE.IS_EXTENDED_HOURS_PRICE),
+			entry(QuoteField.LAST_TRADE_TIME, PRICE.LAST_TRADE_TIME)));
+
+	/**
+	 * The {@code refdata.latest_price} or {@code refdata.instrument} column of
+	 * each quote field; the ticker is kept with the current quote.
+	 */
+	private static final Map<QuoteField, Field<?>> LATEST_PRICE_COLUMNS = new EnumMap<>(Map.ofEntries(
+			entry(QuoteField.TICKER, LATEST_PRICE.TICKER), entry(QuoteField.NAME, INSTRUMENT.NAME),
+			entry(QuoteField.EXCHANGE_SHORT, INSTRUMENT.EXCHANGE_SHORT),
+			entry(QuoteField.EXCHANGE_LONG, INSTRUMENT.EXCHANGE_LONG), entry(QuoteField.MIC_CODE, INSTRUMENT.MIC_CODE),
+			entry(QuoteField.CURRENCY, INSTRUMENT.CURRENCY), entry(QuoteField.PRICE, LATEST_PRICE.PRICE),
+			entry(QuoteField.DAY_HIGH, LATEST_PRICE.DAY_HIGH), entry(QuoteField.DAY_LOW, LATEST_PRICE.DAY_LOW),
+			entry(QuoteField.DAY_OPEN, LATEST_PRICE.DAY_OPEN), entry(QuoteField.WEEK52_HIGH, LATEST_PRICE.WEEK52_HIGH),
+			entry(QuoteField.WEEK52_LOW, LATEST_PRICE.WEEK52_LOW),
+			entry(QuoteField.MARKET_CAP, LATEST_PRICE.MARKET_CAP),
+			entry(QuoteField.PREVIOUS_CLOSE_PRICE, LATEST_PRICE.PREVIOUS_CLOSE_PRICE),
+			entry(QuoteField.PREVIOUS_CLOSE_PRICE_TIME, LATEST_PRICE.PREVIOUS_CLOSE_PRICE_TIME),
+			entry(QuoteField.DAY_CHANGE, LATEST_PRICE.DAY_CHANGE), entry(QuoteField.VOLUME, LATEST_PRICE.VOLUME),
+			entry(QuoteField.IS_EXTENDED_HOURS_PRICE, LATEST_PRICE.IS_EXTENDED_HOURS_PRICE),
+			entry(QuoteField.LAST_TRADE_TIME, LATEST_PRICE.LAST_TRADE_TIME)));
+
+	/** Rows per round trip while streaming {@link #findAsOf} and {@link #findRange} results. */
+	private static final int AS_OF_FETCH_SIZE = 500;
+
+	/** Ticks of the same ticker and source: the later trade wins. */
+	private static final BinaryOperator<PriceTick> NEWER = BinaryOperator
+			.maxBy(Comparator.comparing(PriceTick::tradeTime));
+
+	private final DSLContext dsl;
+	/** Serves {@link #findCurrent}; history writes stay on the write pool. */
+	private final DSLContext readDsl;
+	private final InstrumentDictionary instrumentDictionary;
+
+	public PriceHistoryRepository(DSLContext dsl, @Qualifier(DataSourceConfig.READ_DSL_CONTEXT) DSLContext readDsl,
+			InstrumentDictionary instrumentDictionary) {
+		this.dsl = dsl;
+		this.readDsl = readDsl;
+		this.instrumentDictionary = instrumentDictionary;
+	}
+
+	public Optional<StoredPrice> findLatest(String ticker, String source) {
+		return dsl.select(PRICE.fields()).select(INSTRUMENT.fields()).from(PRICE).join(INSTRUMENT)
+				.on(INSTRUMENT.ID.eq(PRICE.INSTRUMENT_ID)).where(INSTRUMENT.TICKER.eq(ticker))
+				.and(PRICE.SOURCE.eq(source)).orderBy(PRICE.PULLED_AT.desc(), PRICE.ID.desc()).limit(1)
+				.fetchOptional().map(PriceHistoryRepository::toStoredPrice);
+	}
+
+	public Map<String, Quote> findCurrent(Collection<String> tickers, String source) {
+		return findCurrent(tickers, source, QuoteField.ALL);
+	}
+
+	/**
+	 * Current quotes of {@code tickers} from {@code source}, keyed by ticker: a
+	 * primary key lookup in {@code refdata.latest_price}. Only the columns of
+	 * {@code fields} are selected, and the instrument is only joined for its
+	 * attributes; the other quote attributes are {@code null}. Tickers never
+	 * written are missing from the result.
+	 */
+	public Map<String, Quote> findCurrent(Collection<String> tickers, String source, Set<QuoteField> fields) {
+		if (tickers.isEmpty()) {
+			return Map.of();
+		}
+		Map<String, Quote> quotes = new HashMap<>();
+		List<Field<?>> columns = columns(LATEST_PRICE_COLUMNS, fields, LATEST_PRICE.TICKER);
+		if (fields.stream().anyMatch(field -> field != QuoteField.TICKER && INSTRUMENT_FIELDS.contains(field))) {
+			readDsl.select(columns).from(LATEST_PRICE).join(INSTRUMENT).on(INSTRUMENT.ID.eq(LATEST_PRICE.INSTRUMENT_ID))
+					.where(LATEST_PRICE.TICKER.in(tickers)).and(LATEST_PRICE.SOURCE.eq(source))
+					.forEach(record -> quotes.put(record.get(LATEST_PRICE.TICKER), toCurrentQuote(record)));
+		} else {
+			readDsl.select(columns).from(LATEST_PRICE).where(LATEST_PRICE.TICKER.in(tickers))
+					.and(LATEST_PRICE.SOURCE.eq(source))
+					.forEach(record -> quotes.put(record.get(LATEST_PRICE.TICKER), toCurrentQuote(record)));
+		}
+		return quotes;
+	}
+
+	public void findAsOf(Collection<String> tickers, String source, Instant asOf, Consumer<AsOfPrice> sink) {
+		findAsOf(tickers, source, asOf, QuoteField.ALL, sink);
+	}
+
+	/**
+	 * Quotes of {@code tickers} from {@code source} as they were stored at
+	 * {@code asOf}, in one statement selecting the columns of {@code fields}
+	 * only; the other quote attributes are {@code null}. Rows are handed to
+	 * {@code sink} while the cursor reads them, {@value #AS_OF_FETCH_SIZE} per
+	 * round trip, in no particular order; tickers without a row by then are
+	 * skipped.
+	 */
+	public void findAsOf(Collection<String> tickers, String source, Instant asOf, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		if (tickers.isEmpty()) {
+			return;
+		}
+		List<Field<?>> columns = columns(PRICE_COLUMNS, fields, INSTRUMENT.TICKER);
+		columns.add(PRICE.PULLED_AT);
+		StringBuilder selected = new StringBuilder();
+		StringBuilder priceColumns = new StringBuilder();
+		for (QuoteField field : fields) {
+			String name = PRICE_COLUMNS.get(field).getName();
+			if (field == QuoteField.TICKER) {
+				continue;
+			} else if (INSTRUMENT_FIELDS.contains(field)) {
+				selected.append(", i.").append(name);
+			} else {
+				selected.append(", p.").append(name);
+				priceColumns.append(", p.").append(name);
+			}
+		}
+		String sql = AS_OF_SQL.formatted(selected, priceColumns);
+		// The driver only uses the fetch size outside auto-commit
+		readDsl.transaction(configuration -> {
+			try (Cursor<Record> cursor = DSL.using(configuration)
+					.resultQuery(sql, tickers.toArray(String[]::new), source, toOffset(asOf))
+					.coerce(columns).fetchSize(AS_OF_FETCH_SIZE).fetchLazy()) {
+				for (Record record : cursor) {
+					sink.accept(new AsOfPrice(record.get(INSTRUMENT.TICKER), source,
+							record.get(PRICE.PULLED_AT).toInstant(), toQuote(record)));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Rows of {@code ticker} from {@code source} pulled in {@code [from, to)},
+	 * oldest first, handed to {@code sink} while the cursor reads them. Only the
+	 * partitions of the range are scanned, and only the columns of
+	 * {@code fields} selected; the other quote attributes are {@code null}.
+	 */
+	public void findRange(String ticker, String source, Instant from, Instant to, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		List<Field<?>> columns = columns(PRICE_COLUMNS, fields, INSTRUMENT.TICKER);
+		columns.add(PRICE.PULLED_AT);
+		readDsl.transaction(configuration -> {
+			try (Cursor<Record> cursor = DSL.using(configuration).select(columns).from(PRICE).join(INSTRUMENT)
+					.on(INSTRUMENT.ID.eq(PRICE.INSTRUMENT_ID)).where(INSTRUMENT.TICKER.eq(ticker))
+					.and(PRICE.SOURCE.eq(source)).and(PRICE.PULLED_AT.ge(toOffset(from)))
+					.and(PRICE.PULLED_AT.lt(toOffset(to))).orderBy(PRICE.PULLED_AT, PRICE.ID)
+					.fetchSize(AS_OF_FETCH_SIZE).fetchLazy()) {
+				for (Record record : cursor) {
+					sink.accept(
+							new AsOfPrice(ticker, source, record.get(PRICE.PULLED_AT).toInstant(), toQuote(record)));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Inserts one row per tick in a single statement and, in the same
+	 * transaction, upserts the current quote of each ticker and source into
+	 * {@code refdata.latest_price}. A stored quote is only replaced by one that
+	 * traded at the same time or later, so a late or replayed batch cannot roll
+	 * it back.
+	 *
+	 * @param lastSeenAt
+	 *            per tick, when its values were last observed after it was
+	 *            pulled, or {@code null}
+	 * @return the id of the last row of each {@code ticker:source}
+	 */
+	public Map<String, Integer> insert(List<PriceTick> ticks, List<Instant> lastSeenAt) {
+		if (ticks.isEmpty()) {
+			return Map.of();
+		}
+		Map<Instrument, Integer> instrumentIds = instrumentDictionary
+				.ids(ticks.stream().map(tick -> Instrument.of(tick.quote())).toList());
+		return dsl.transactionResult(configuration -> {
+			DSLContext tx = DSL.using(configuration);
+			Map<String, Integer> ids = insertHistory(tx, ticks, lastSeenAt, instrumentIds);
+			upsertLatest(tx, ticks, instrumentIds);
+			return ids;
+		});
+	}
+
+	/** Ids are generated in insertion order, so the highest of a ticker is its last row. */
+	private Map<String, Integer> insertHistory(DSLContext tx, List<PriceTick> ticks, List<Instant> lastSeenAt,
+			Map<Instrument, Integer> instrumentIds) {
+		InsertSetStep<PriceRecord> next = tx.insertInto(PRICE);
+		InsertSetMoreStep<PriceRecord> insert = null;
+		for (int i = 0; i < ticks.size(); i++) {
+			PriceTick tick = ticks.get(i);
+			PriceRecord record = toRecord(tick, instrumentIds.get(Instrument.of(tick.quote())));
+			record.set(PRICE.LAST_SEEN_AT, toOffset(lastSeenAt.get(i)));
+			insert = next.set(record);
+			next = insert.newRecord();
+		}
+		Map<String, Integer> ids = new LinkedHashMap<>();
+		insert.returning(PRICE.ID, PRICE.INSTRUMENT_ID, PRICE.SOURCE).fetch()
+				.forEach(record -> ids.merge(
+						key(instrumentDictionary.instrument(record.get(PRICE.INSTRUMENT_ID)).ticker(),
+								record.get(PRICE.SOURCE)),
+						record.get(PRICE.ID), Math::max));
+		return ids;
+	}
+
+	/**
+	 * One row per ticker and source, as Postgres rejects an upsert that touches
+	 * the same row twice. Ticks without a ticker have no current quote.
+	 */
+	private static void upsertLatest(DSLContext tx, List<PriceTick> ticks, Map<Instrument, Integer> instrumentIds) {
+		Map<String, PriceTick> latest = new LinkedHashMap<>();
+		for (PriceTick tick : ticks) {
+			if (tick.ticker() != null) {
+				latest.merge(key(tick.ticker(), tick.source()), tick, NEWER);
+			}
+		}
+		if (latest.isEmpty()) {
+			return;
+		}
+		InsertSetStep<LatestPriceRecord> next = tx.insertInto(LATEST_PRICE);
+		InsertSetMoreStep<LatestPriceRecord> insert = null;
+		for (PriceTick tick : latest.values()) {
+			insert = next.set(toLatestRecord(tick, instrumentIds.get(Instrument.of(tick.quote()))));
+			next = insert.newRecord();
+		}
+		Map<Field<?>, Field<?>> updates = new LinkedHashMap<>();
+		for (Field<?> field : LATEST_PRICE.fields()) {
+			if (!field.equals(LATEST_PRICE.TICKER) && !field.equals(LATEST_PRICE.SOURCE)) {
+				updates.put(field, excluded(field));
+			}
+		}
+		insert.onConflict(LATEST_PRICE.TICKER, LATEST_PRICE.SOURCE).doUpdate().set(updates)
+				.where(coalesce(LATEST_PRICE.LAST_TRADE_TIME, LATEST_PRICE.PULLED_AT).le(
+						coalesce(excluded(LATEST_PRICE.LAST_TRADE_TIME), excluded(LATEST_PRICE.PULLED_AT))))
+				.execute();
+	}
+
+	/** Records that the values of the given rows were still current at {@code seenAt}. */
+	public void touch(Collection<Integer> ids, Instant seenAt) {
+		if (!ids.isEmpty()) {
+			dsl.update(PRICE).set(PRICE.LAST_SEEN_AT, toOffset(seenAt)).where(PRICE.ID.in(ids)).execute();
+		}
+	}
+
+	/**
+	 * The columns of {@code fields} from {@code columnsByField}, in field order,
+	 * after {@code key}.
+	 */
+	private static List<Field<?>> columns(Map<QuoteField, Field<?>> columnsByField, Set<QuoteField> fields,
+			Field<?> key) {
+		List<Field<?>> columns = new ArrayList<>();
+		columns.add(key);
+		for (QuoteField field : fields) {
+			if (field != QuoteField.TICKER) {
+				columns.add(columnsByField.get(field));
+			}
+		}
+		return columns;
+	}
+
+	public static String key(String ticker, String source) {
+		return ticker + ":" + source;
+	}
+
+	static PriceRecord toRecord(PriceTick tick, Integer instrumentId) {
+		Quote quote = tick.quote();
+		PriceRecord record = new PriceRecord();
+		record.set(PRICE.INSTRUMENT_ID, instrumentId);
+		record.set(PRICE.PRICE_, quote.getPrice());
+		record.set(PRICE.DAY_HIGH, quote.getDayHigh());
+		record.set(PRICE.DAY_LOW, quote.getDayLow());
+		record.set(PRICE.DAY_OPEN, quote.getDayOpen());
+		record.set(PRICE.WEEK52_HIGH, quote.getWeek52High());
+		record.set(PRICE.WEEK52_LOW, quote.getWeek52Low());
+		record.set(PRICE.MARKET_CAP, quote.getMarketCap());
+		record.set(PRICE.PREVIOUS_CLOSE_PRICE, quote.getPreviousClosePrice());
+		record.set(PRICE.PREVIOUS_CLOSE_PRICE_TIME, toOffset(quote.getPreviousClosePriceTime()));
+		record.set(PRICE.DAY_CHANGE, quote.getDayChange());
+		record.set(PRICE.VOLUME, quote.getVolume());
+		record.set(PRICE.IS_EXTENDED_HOURS_PRICE, quote.getIsExtendedHoursPrice());
+		record.set(PRICE.LAST_TRADE_TIME, toOffset(quote.getLastTradeTime()));
+		record.set(PRICE.SOURCE, tick.source());
+		record.set(PRICE.PULLED_AT, toOffset(tick.pulledAt()));
+		return record;
+	}
+
+	static LatestPriceRecord toLatestRecord(PriceTick tick, Integer instrumentId) {
+		Quote quote = tick.quote();
+		LatestPriceRecord record = new LatestPriceRecord();
+		record.set(LATEST_PRICE.TICKER, tick.ticker());
+		record.set(LATEST_PRICE.SOURCE, tick.source());
+		record.set(LATEST_PRICE.INSTRUMENT_ID, instrumentId);
+		record.set(LATEST_PRICE.PRICE, quote.getPrice());
+		record.set(LATEST_PRICE.DAY_HIGH, quote.getDayHigh());
+		record.set(LATEST_PRICE.DAY_LOW, quote.getDayLow());
+		record.set(LATEST_PRICE.DAY_OPEN, quote.getDayOpen());
+		record.set(LATEST_PRICE.WEEK52_HIGH, quote.getWeek52High());
+		record.set(LATEST_PRICE.WEEK52_LOW, quote.getWeek52Low());
+		record.set(LATEST_PRICE.MARKET_CAP, quote.getMarketCap());
+		record.set(LATEST_PRICE.PREVIOUS_CLOSE_PRICE, quote.getPreviousClosePrice());
+		record.set(LATEST_PRICE.PREVIOUS_CLOSE_PRICE_TIME, toOffset(quote.getPreviousClosePriceTime()));
+		record.set(LATEST_PRICE.DAY_CHANGE, quote.getDayChange());
+		record.set(LATEST_PRICE.VOLUME, quote.getVolume());
+		record.set(LATEST_PRICE.IS_EXTENDED_HOURS_PRICE, quote.getIsExtendedHoursPrice());
+		record.set(LATEST_PRICE.LAST_TRADE_TIME, toOffset(quote.getLastTradeTime()));
+		record.set(LATEST_PRICE.PULLED_AT, toOffset(tick.pulledAt()));
+		return record;
+	}
+
+	/**
+	 * Maps a {@code refdata.price} row joined with its {@code refdata.instrument}
+	 * row; columns left out of the query map to {@code null}.
+	 */
+	static Quote toQuote(Record record) {
+		return new Quote(value(record, INSTRUMENT.TICKER), value(record, INSTRUMENT.NAME),
+				value(record, INSTRUMENT.EXCHANGE_SHORT), value(record, INSTRUMENT.EXCHANGE_LONG),
+				value(record, INSTRUMENT.MIC_CODE), value(record, INSTRUMENT.CURRENCY),
+				value(record, PRICE.PRICE_), value(record, PRICE.DAY_HIGH), value(record, PRICE.DAY_LOW),
+				value(record, PRICE.DAY_OPEN), value(record, PRICE.WEEK52_HIGH), value(record, PRICE.WEEK52_LOW),
+				value(record, PRICE.MARKET_CAP), value(record, PRICE.PREVIOUS_CLOSE_PRICE),
+				toLocal(value(record, PRICE.PREVIOUS_CLOSE_PRICE_TIME)), value(record, PRICE.DAY_CHANGE),
+				value(record, PRICE.VOLUME), value(record, PRICE.IS_EXTENDED_HOURS_PRICE),
+				toLocal(value(record, PRICE.LAST_TRADE_TIME)));
+	}
+
+	/**
+	 * Maps a {@code refdata.latest_price} row, joined with its
+	 * {@code refdata.instrument} row when instrument attributes were asked for;
+	 * columns left out of the query map to {@code null}.
+	 */
+	private static Quote toCurrentQuote(Record record) {
+		return new Quote(value(record, LATEST_PRICE.TICKER), value(record, INSTRUMENT.NAME),
+				value(record, INSTRUMENT.EXCHANGE_SHORT), value(record, INSTRUMENT.EXCHANGE_LONG),
+				value(record, INSTRUMENT.MIC_CODE), value(record, INSTRUMENT.CURRENCY),
+				value(record, LATEST_PRICE.PRICE), value(record, LATEST_PRICE.DAY_HIGH),
+				value(record, LATEST_PRICE.DAY_LOW), value(record, LATEST_PRICE.DAY_OPEN),
+				value(record, LATEST_PRICE.WEEK52_HIGH), value(record, LATEST_PRICE.WEEK52_LOW),
+				value(record, LATEST_PRICE.MARKET_CAP),
+				value(record, LATEST_PRICE.PREVIOUS_CLOSE_PRICE),
+				toLocal(value(record, LATEST_PRICE.PREVIOUS_CLOSE_PRICE_TIME)), value(record, LATEST_PRICE.DAY_CHANGE),
+				value(record, LATEST_PRICE.VOLUME), value(record, LATEST_PRICE.IS_EXTENDED_HOURS_PRICE),
+				toLocal(value(record, LATEST_PRICE.LAST_TRADE_TIME)));
+	}
+
+	/** The value of {@code field} in {@code record}, or {@code null} if it was not selected. */
+	private static <T> T value(Record record, Field<T> field) {
+		int index = record.indexOf(field);
+		return index < 0 ? null : record.get(index, field.getType());
+	}
+
+	private static StoredPrice toStoredPrice(Record record) {
+		OffsetDateTime lastSeenAt = record.get(PRICE.LAST_SEEN_AT) != null
+				? record.get(PRICE.LAST_SEEN_AT)
+				: record.get(PRICE.PULLED_AT);
+		return new StoredPrice(record.get(PRICE.ID), toQuote(record), lastSeenAt.toInstant());
+	}
+
+	private static OffsetDateTime toOffset(Instant instant) {
+		return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+	}
+
+	private static OffsetDateTime toOffset(LocalDateTime dateTime) {
+		return dateTime == null ? null : dateTime.atOffset(ZoneOffset.UTC);
+	}
+
+	private static LocalDateTime toLocal(OffsetDateTime dateTime) {
+		return dateTime == null ? null : dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+	}
+}
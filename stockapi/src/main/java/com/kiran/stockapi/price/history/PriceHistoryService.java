@@ -0,0 +1,70 @@
+package com.kiran.stockapi.price.history;
+
+import com.kiran.stockapi.price.api.contract.AsOfPrice;
+import com.kiran.stockapi.price.archive.PriceArchive;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * History queries over {@code refdata.price} and, with
+ * {@code price-archive.enabled=true}, the months archived out of it. Archived
+ * months are always older than the rows left in the table, so a ticker only
+ * needs the archive when the table has nothing for it.
+ */
+@Component
+@ConditionalOnProperty(name = "price-history.enabled", havingValue = "true")
+public class PriceHistoryService {
+
+	private final PriceHistoryRepository priceHistoryRepository;
+	private final ObjectProvider<PriceArchive> priceArchive;
+
+	public PriceHistoryService(PriceHistoryRepository priceHistoryRepository,
+			ObjectProvider<PriceArchive> priceArchive) {
+		this.priceHistoryRepository = priceHistoryRepository;
+		this.priceArchive = priceArchive;
+	}
+
+	/**
+	 * See {@link PriceHistoryRepository#findAsOf}; tickers without a row in the
+	 * table are looked up in the archive.
+	 */
+	public void findAsOf(Collection<String> tickers, String source, Instant asOf, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		PriceArchive archive = priceArchive.getIfAvailable();
+		if (archive == null) {
+			priceHistoryRepository.findAsOf(tickers, source, asOf, fields, sink);
+			return;
+		}
+		Set<String> found = new HashSet<>();
+		priceHistoryRepository.findAsOf(tickers, source, asOf, fields, price -> {
+			found.add(price.symbol());
+			sink.accept(price);
+		});
+		List<String> missing = tickers.stream().filter(ticker -> !found.contains(ticker)).toList();
+		if (!missing.isEmpty()) {
+			archive.findAsOf(missing, source, asOf, fields, sink);
+		}
+	}
+
+	/**
+	 * Rows of {@code ticker} from {@code source} pulled in {@code [from, to)},
+	 * oldest first: the archived ones, then those of the table. Quotes carry the
+	 * attributes of {@code fields} only.
+	 */
+	public void findRange(String ticker, String source, Instant from, Instant to, Set<QuoteField> fields,
+			Consumer<AsOfPrice> sink) {
+		PriceArchive archive = priceArchive.getIfAvailable();
+		if (archive != null) {
+			archive.findRange(ticker, source, from, to, fields, sink);
+		}
+		priceHistoryRepository.findRange(ticker, source, from, to, fields, sink);
+	}
+}
@@ -0,0 +1,203 @@
+package com.kiran.stockapi.price.history;
+
+import com.kiran.stockapi.price.api.config.PriceHistoryProperties;
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import com.kiran.stockapi.price.journal.TickSink;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Change-only write path for {@code refdata.price}. A row is inserted only when
+ * the {@link QuoteFingerprint} of a ticker differs from the last written one;
+ * unchanged quotes only bump {@code last_seen_at} of the existing row, and only
+ * once per heartbeat interval.
+ * <p>
+ * Received quotes are handed to a single background thread through a queue of
+ * {@code price-history.queue-capacity} batches, so requests never wait for the
+ * database; batches arriving while the queue is full are left out of the
+ * history.
+ * <p>
+ * With {@code tick-journal.enabled} the writer does not listen to ticks
+ * itself; it is a {@link TickSink} fed from the journal, so a database outage
+ * delays history instead of losing it. Quotes shared by another instance of
+ * the quote cluster are written by that instance and skipped here.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "price-history.enabled", havingValue = "true")
+public class PriceHistoryWriter implements TickSink, DisposableBean {
+
+	private final PriceHistoryRepository priceHistoryRepository;
+	private final PriceHistoryProperties priceHistoryProperties;
+	private final boolean journaled;
+	private final Executor writeExecutor;
+	/** Only written from one thread at a time: the background writer, or the journal drainer. */
+	private final Map<String, LastWrite> lastWrites = new ConcurrentHashMap<>();
+
+	@Autowired
+	public PriceHistoryWriter(PriceHistoryRepository priceHistoryRepository,
+			PriceHistoryProperties priceHistoryProperties, TickJournalProperties tickJournalProperties) {
+		this(priceHistoryRepository, priceHistoryProperties, tickJournalProperties,
+				new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+						new ArrayBlockingQueue<>(priceHistoryProperties.queueCapacity()),
+						Thread.ofPlatform().name("price-history-writer").daemon().factory()));
+	}
+
+	PriceHistoryWriter(PriceHistoryRepository priceHistoryRepository, PriceHistoryProperties priceHistoryProperties,
+			TickJournalProperties tickJournalProperties, Executor writeExecutor) {
+		this.priceHistoryRepository = priceHistoryRepository;
+		this.priceHistoryProperties = priceHistoryProperties;
+		this.journaled = tickJournalProperties.enabled();
+		this.writeExecutor = writeExecutor;
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		if (journaled || event.shared()) {
+			return;
+		}
+		List<PriceTick> ticks = event.ticks();
+		try {
+			writeExecutor.execute(() -> {
+				try {
+					accept(ticks);
+				} catch (RuntimeException e) {
+					log.error("Failed to persist {} price ticks", ticks.size(), e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.warn("Price history writer is behind, dropping {} price ticks", ticks.size());
+		}
+	}
+
+	@Override
+	public String name() {
+		return "price-history";
+	}
+
+	@Override
+	public void accept(List<PriceTick> ticks) {
+		write(ticks);
+	}
+
+	/**
+	 * Walks {@code ticks} in order against the last write of each ticker, so a
+	 * replayed backlog stores every change it contains, and stamps heartbeats
+	 * with the time each tick was pulled rather than the time it is written.
+	 */
+	void write(List<PriceTick> ticks) {
+		List<PriceTick> changed = new ArrayList<>();
+		List<Instant> changedSeenAt = new ArrayList<>();
+		// Index in changed of the row each ticker is at, when this batch wrote it
+		Map<String, Integer> pending = new HashMap<>();
+		Map<String, LastWrite> current = new LinkedHashMap<>();
+		Map<Integer, Instant> heartbeats = new LinkedHashMap<>();
+		for (PriceTick tick : ticks) {
+			if (tick.ticker() == null) {
+				continue;
+			}
+			String key = PriceHistoryRepository.key(tick.ticker(), tick.source());
+			long fingerprint = QuoteFingerprint.of(tick.quote());
+			LastWrite lastWrite = current.containsKey(key) ? current.get(key) : lastWrite(key, tick).orElse(null);
+			if (lastWrite == null || lastWrite.fingerprint() != fingerprint) {
+				pending.put(key, changed.size());
+				changed.add(tick);
+				changedSeenAt.add(null);
+				current.put(key, new LastWrite(null, fingerprint, tick.pulledAt()));
+			} else if (lastWrite.isHeartbeatDue(tick.pulledAt(), priceHistoryProperties)) {
+				if (lastWrite.id() == null) {
+					changedSeenAt.set(pending.get(key), tick.pulledAt());
+				} else {
+					heartbeats.put(lastWrite.id(), tick.pulledAt());
+				}
+				current.put(key, lastWrite.seenAt(tick.pulledAt()));
+			}
+		}
+		insertChanged(changed, changedSeenAt, pending.keySet(), current);
+		touchUnchanged(heartbeats, current);
+		log.debug("Price history: {} ticks, {} written, {} heartbeats", ticks.size(), changed.size(),
+				heartbeats.size());
+	}
+
+	private void insertChanged(List<PriceTick> changed, List<Instant> changedSeenAt, Set<String> keys,
+			Map<String, LastWrite> current) {
+		if (changed.isEmpty()) {
+			return;
+		}
+		Map<String, Integer> ids = priceHistoryRepository.insert(changed, changedSeenAt);
+		for (String key : keys) {
+			LastWrite lastWrite = current.remove(key);
+			Integer id = ids.get(key);
+			if (id != null) {
+				lastWrites.put(key, new LastWrite(id, lastWrite.fingerprint(), lastWrite.seenAt()));
+			}
+		}
+	}
+
+	private void touchUnchanged(Map<Integer, Instant> heartbeats, Map<String, LastWrite> current) {
+		if (heartbeats.isEmpty()) {
+			return;
+		}
+		Map<Instant, List<Integer>> idsBySeenAt = new TreeMap<>();
+		heartbeats.forEach((id, seenAt) -> idsBySeenAt.computeIfAbsent(seenAt, time -> new ArrayList<>()).add(id));
+		idsBySeenAt.forEach((seenAt, ids) -> priceHistoryRepository.touch(ids, seenAt));
+		lastWrites.putAll(current);
+	}
+
+	/** Writes the batches already queued, for a few seconds at most. */
+	@Override
+	public void destroy() throws InterruptedException {
+		if (writeExecutor instanceof ExecutorService executorService) {
+			executorService.shutdown();
+			if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+				log.warn("Dropped {} queued price tick batches on shutdown", executorService.shutdownNow().size());
+			}
+		}
+	}
+
+	/** Last write of a ticker, seeded from the database the first time it is seen. */
+	private Optional<LastWrite> lastWrite(String key, PriceTick tick) {
+		if (!lastWrites.containsKey(key)) {
+			priceHistoryRepository.findLatest(tick.ticker(), tick.source())
+					.ifPresent(stored -> lastWrites.put(key, LastWrite.of(stored)));
+		}
+		return Optional.ofNullable(lastWrites.get(key));
+	}
+
+	private record LastWrite(Integer id, long fingerprint, Instant seenAt) {
+
+		static LastWrite of(StoredPrice stored) {
+			return new LastWrite(stored.id(), QuoteFingerprint.of(stored.quote()), stored.lastSeenAt());
+		}
+
+		boolean isHeartbeatDue(Instant time, PriceHistoryProperties properties) {
+			return !time.isBefore(seenAt.plus(properties.heartbeatInterval()));
+		}
+
+		LastWrite seenAt(Instant time) {
+			return new LastWrite(id, fingerprint, time);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.kiran.stockapi.price.history;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * 64-bit FNV-1a fingerprint over every persisted field of a {@link Quote}.
+ * Prices are normalised with {@link BigDecimal#stripTrailingZeros()} so that,
+ * like {@link Quote#equals(Object)}, a change of scale alone does not change
+ * the fingerprint.
+ */
+public final class QuoteFingerprint {
+
+	private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+	private static final char FIELD_SEPARATOR = '\u001f';
+
+	private QuoteFingerprint() {
+	}
+
+	public static long of(Quote quote) {
+		long hash = OFFSET_BASIS;
+		hash = mix(hash, quote.getTicker());
+		hash = mix(hash, quote.getName());
+		hash = mix(hash, quote.getExchangeShort());
+		hash = mix(hash, quote.getExchangeLong());
+		hash = mix(hash, quote.getMicCode());
+		hash = mix(hash, quote.getCurrency());
+		hash = mix(hash, quote.getPrice());
+		hash = mix(hash, quote.getDayHigh());
+		hash = mix(hash, quote.getDayLow());
+		hash = mix(hash, quote.getDayOpen());
+		hash = mix(hash, quote.getWeek52High());
+		hash = mix(hash, quote.getWeek52Low());
+		hash = mix(hash, quote.getMarketCap());
+		hash = mix(hash, quote.getPreviousClosePrice());
+		hash = mix(hash, Objects.toString(quote.getPreviousClosePriceTime(), null));
+		hash = mix(hash, quote.getDayChange());
+		hash = mix(hash, Objects.toString(quote.getVolume(), null));
+		hash = mix(hash, Objects.toString(quote.getIsExtendedHoursPrice(), null));
+		return mix(hash, Objects.toString(quote.getLastTradeTime(), null));
+	}
+
+	private static long mix(long hash, BigDecimal value) {
+		return mix(hash, value == null ? null : value.stripTrailingZeros().toPlainString());
+	}
+
+	private static long mix(long hash, String value) {
+		if (value != null) {
+			for (int i = 0; i < value.length(); i++) {
+				hash = (hash ^ value.charAt(i)) * PRIME;
+			}
+		} else {
+			// distinguishes null from the empty string
+			hash = (hash ^ 0xff) * PRIME;
+		}
+		return (hash ^ FIELD_SEPARATOR) * PRIME;
+	}
+}
@@ -0,0 +1,18 @@
+package com.kiran.stockapi.price.history;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.time.Instant;
+
+/**
+ * The latest persisted row of a ticker.
+ *
+ * @param id
+ *            primary key of the {@code refdata.price} row
+ * @param quote
+ *            the persisted values
+ * @param lastSeenAt
+ *            the last time these values were observed ({@code last_seen_at},
+ *            or {@code pulled_at} if the row never had a heartbeat)
+ */
+public record StoredPrice(Integer id, Quote quote, Instant lastSeenAt) {
+}
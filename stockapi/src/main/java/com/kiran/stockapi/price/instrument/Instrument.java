@@ -0,0 +1,33 @@
+package com.kiran.stockapi.price.instrument;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+
+/**
+ * The reference data of a quote: one entry of the instrument dictionary and one
+ * row of {@code refdata.instrument}. Any field may be {@code null}; providers
+ * differ in what they report.
+ */
+public record Instrument(String ticker, String name, String exchangeShort, String exchangeLong, String micCode,
+		String currency) {
+
+	public static Instrument of(Quote quote) {
+		return new Instrument(quote.getTicker(), quote.getName(), quote.getExchangeShort(), quote.getExchangeLong(),
+				quote.getMicCode(), quote.getCurrency());
+	}
+
+	/**
+	 * {@code quote} with its reference data taken from this instrument, or
+	 * {@code quote} itself when it already shares these strings.
+	 */
+	public Quote applyTo(Quote quote) {
+		if (quote.getTicker() == ticker && quote.getName() == name && quote.getExchangeShort() == exchangeShort
+				&& quote.getExchangeLong() == exchangeLong && quote.getMicCode() == micCode
+				&& quote.getCurrency() == currency) {
+			return quote;
+		}
+		return new Quote(ticker, name, exchangeShort, exchangeLong, micCode, currency, quote.getPrice(),
+				quote.getDayHigh(), quote.getDayLow(), quote.getDayOpen(), quote.getWeek52High(), quote.getWeek52Low(),
+				quote.getMarketCap(), quote.getPreviousClosePrice(), quote.getPreviousClosePriceTime(),
+				quote.getDayChange(), quote.getVolume(), quote.getIsExtendedHoursPrice(), quote.getLastTradeTime());
+	}
+}
@@ -0,0 +1,120 @@
+package com.kiran.stockapi.price.instrument;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Interned reference data of the quotes held in memory. Each distinct
+ * {@link Instrument} exists once, and its strings are shared with every other
+ * instrument using the same value (currencies, exchanges), so cached quotes no
+ * longer carry their own copies of ticker, name, exchange, MIC code and
+ * currency.
+ * <p>
+ * With a datasource the dictionary mirrors {@code refdata.instrument}: it is
+ * seeded from the table and hands out the integer ids price rows are stored
+ * with, inserting instruments it has not seen before.
+ */
+@Slf4j
+@Component
+public class InstrumentDictionary implements InitializingBean {
+
+	private final ObjectProvider<InstrumentRepository> instrumentRepository;
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final Map<Instrument, Instrument> instruments = new ConcurrentHashMap<>();
+	private final Map<Instrument, Integer> ids = new ConcurrentHashMap<>();
+	private final Map<Integer, Instrument> byId = new ConcurrentHashMap<>();
+
+	public InstrumentDictionary(ObjectProvider<InstrumentRepository> instrumentRepository) {
+		this.instrumentRepository = instrumentRepository;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		instrumentRepository.ifAvailable(repository -> {
+			Map<Integer, Instrument> stored = repository.findAll();
+			stored.forEach((id, instrument) -> register(intern(instrument), id));
+			log.info("Loaded {} instruments", stored.size());
+		});
+	}
+
+	/** The shared copy of {@code instrument}. */
+	public Instrument intern(Instrument instrument) {
+		Instrument interned = instruments.get(instrument);
+		if (interned != null) {
+			return interned;
+		}
+		Instrument shared = new Instrument(share(instrument.ticker()), share(instrument.name()),
+				share(instrument.exchangeShort()), share(instrument.exchangeLong()), share(instrument.micCode()),
+				share(instrument.currency()));
+		interned = instruments.putIfAbsent(shared, shared);
+		return interned != null ? interned : shared;
+	}
+
+	/** {@code quote} with its reference data replaced by the shared copies. */
+	public Quote intern(Quote quote) {
+		return intern(Instrument.of(quote)).applyTo(quote);
+	}
+
+	/** Tickers of the instruments this dictionary has seen. */
+	public Set<String> tickers() {
+		Set<String> tickers = new HashSet<>();
+		for (Instrument instrument : instruments.keySet()) {
+			if (instrument.ticker() != null) {
+				tickers.add(instrument.ticker());
+			}
+		}
+		return tickers;
+	}
+
+	/** The stored instrument with the given id, if this dictionary has seen it. */
+	public Instrument instrument(int id) {
+		return byId.get(id);
+	}
+
+	/**
+	 * Ids of the given instruments in {@code refdata.instrument}, storing those
+	 * that are not there yet. Only available with a datasource.
+	 */
+	public Map<Instrument, Integer> ids(Collection<Instrument> wanted) {
+		Map<Instrument, Integer> found = new HashMap<>();
+		Set<Instrument> missing = new LinkedHashSet<>();
+		for (Instrument instrument : wanted) {
+			Integer id = ids.get(instrument);
+			if (id != null) {
+				found.put(instrument, id);
+			} else {
+				missing.add(instrument);
+			}
+		}
+		if (!missing.isEmpty()) {
+			instrumentRepository.getObject().resolve(missing).forEach((instrument, id) -> {
+				register(intern(instrument), id);
+				found.put(instrument, id);
+			});
+		}
+		return found;
+	}
+
+	private void register(Instrument instrument, int id) {
+		ids.put(instrument, id);
+		byId.put(id, instrument);
+	}
+
+	private String share(String value) {
+		if (value == null) {
+			return null;
+		}
+		String shared = strings.putIfAbsent(value, value);
+		return shared != null ? shared : value;
+	}
+}
@@ -0,0 +1,54 @@
+package com.kiran.stockapi.price.instrument;
+
+import static com.kiran.stockapi.jooq.Tables.INSTRUMENT;
+
+import com.kiran.stockapi.jooq.tables.records.InstrumentRecord;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep6;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/** jOOQ access to {@code refdata.instrument}. */
+@Repository
+@ConditionalOnProperty(name = "database.enabled", havingValue = "true")
+@AllArgsConstructor
+public class InstrumentRepository {
+
+	private final DSLContext dsl;
+
+	public Map<Integer, Instrument> findAll() {
+		Map<Integer, Instrument> instruments = new HashMap<>();
+		dsl.selectFrom(INSTRUMENT)
+				.forEach(record -> instruments.put(record.get(INSTRUMENT.ID), toInstrument(record)));
+		return instruments;
+	}
+
+	/**
+	 * Ids of the given instruments, inserting those not stored yet. The no-op
+	 * update on conflict makes existing rows return their id as well.
+	 */
+	public Map<Instrument, Integer> resolve(Collection<Instrument> instruments) {
+		InsertValuesStep6<InstrumentRecord, String, String, String, String, String, String> insert = dsl
+				.insertInto(INSTRUMENT, INSTRUMENT.TICKER, INSTRUMENT.NAME, INSTRUMENT.EXCHANGE_SHORT,
+						INSTRUMENT.EXCHANGE_LONG, INSTRUMENT.MIC_CODE, INSTRUMENT.CURRENCY);
+		for (Instrument instrument : instruments) {
+			insert = insert.values(instrument.ticker(), instrument.name(), instrument.exchangeShort(),
+					instrument.exchangeLong(), instrument.micCode(), instrument.currency());
+		}
+		Map<Instrument, Integer> ids = new HashMap<>();
+		insert.onConflict(INSTRUMENT.TICKER, INSTRUMENT.NAME, INSTRUMENT.EXCHANGE_SHORT, INSTRUMENT.EXCHANGE_LONG,
+				INSTRUMENT.MIC_CODE, INSTRUMENT.CURRENCY).doUpdate().set(INSTRUMENT.TICKER, INSTRUMENT.TICKER)
+				.returning().fetch().forEach(record -> ids.put(toInstrument(record), record.get(INSTRUMENT.ID)));
+		return ids;
+	}
+
+	private static Instrument toInstrument(InstrumentRecord record) {
+		return new Instrument(record.get(INSTRUMENT.TICKER), record.get(INSTRUMENT.NAME),
+				record.get(INSTRUMENT.EXCHANGE_SHORT), record.get(INSTRUMENT.EXCHANGE_LONG),
+				record.get(INSTRUMENT.MIC_CODE), record.get(INSTRUMENT.CURRENCY));
+	}
+}
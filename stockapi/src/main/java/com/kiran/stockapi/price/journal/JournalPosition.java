@@ -0,0 +1,18 @@
+package com.kiran.stockapi.price.journal;
+
+/**
+ * A byte offset within a journal segment.
+ *
+ * @param segment
+ *            segment number, increasing by one per rolled segment
+ * @param offset
+ *            byte offset of the next record in that segment
+ */
+public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+
+	@Override
+	public int compareTo(JournalPosition other) {
+		int bySegment = Long.compare(segment, other.segment);
+		return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+	}
+}
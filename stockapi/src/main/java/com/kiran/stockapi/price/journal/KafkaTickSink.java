@@ -0,0 +1,63 @@
+package com.kiran.stockapi.price.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import com.kiran.stockapi.price.tick.PriceTick;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes journaled ticks to Kafka as JSON, keyed by {@code source:ticker}
+ * so each ticker's ticks stay ordered within a partition. Delivery is at least
+ * once: a batch that is only partly acknowledged is sent again in full.
+ */
+@Component
+@ConditionalOnProperty(name = {"tick-journal.enabled", "tick-journal.kafka.enabled"}, havingValue = "true")
+public class KafkaTickSink implements TickSink {
+
+	private final KafkaTemplate<String, String> kafkaTemplate;
+	private final ObjectMapper objectMapper;
+	private final TickJournalProperties.Kafka properties;
+
+	public KafkaTickSink(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+			TickJournalProperties properties) {
+		this.kafkaTemplate = kafkaTemplate;
+		this.objectMapper = objectMapper;
+		this.properties = properties.kafka();
+	}
+
+	@Override
+	public String name() {
+		return "kafka";
+	}
+
+	@Override
+	public void accept(List<PriceTick> ticks) {
+		CompletableFuture<?>[] sends = ticks.stream()
+				.map(tick -> kafkaTemplate.send(properties.topic(), tick.source() + ":" + tick.ticker(), toJson(tick)))
+				.toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.allOf(sends).get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing ticks", e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Kafka did not acknowledge " + ticks.size() + " ticks", e);
+		}
+	}
+
+	private String toJson(PriceTick tick) {
+		try {
+			return objectMapper.writeValueAsString(tick);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Could not serialize tick for " + tick.ticker(), e);
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package com.kiran.stockapi.price.journal;
+
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.wire.QuoteBinaryCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only journal of received ticks on local disk. Every tick is written
+ * here first, at memory speed, and shipped to the {@link TickSink}s later by
+ * {@link TickJournalDrainer}, so capture keeps going while the database or
+ * the broker is down.
+ * <p>
+ * The journal is a sequence of fixed-size, memory-mapped segment files
+ * ({@code 00000000000000000001.segment}, ...). A record is a 32-bit payload
+ * length, a CRC32C of the payload and the payload: source, pull time (epoch
+ * micros) and the quote in {@link QuoteBinaryCodec} form. The length is
+ * written last, so a record cut short by a crash reads as the end of the
+ * segment. Every start opens a fresh segment, so writes never land behind a
+ * torn record.
+ * <p>
+ * Journaling runs on the thread that received the quotes, so a tick that
+ * cannot be written is logged, counted in {@value #DROPPED} and dropped
+ * rather than failing the request or the other listeners.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tick-journal.enabled", havingValue = "true")
+public class TickJournal implements DisposableBean {
+
+	static final String SEGMENT_SUFFIX = ".segment";
+	static final int HEADER_BYTES = 8;
+	static final String DROPPED = "tick.journal.dropped";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final boolean forceOnAppend;
+	private final ByteArrayOutputStream payload = new ByteArrayOutputStream(512);
+	private final DataOutputStream payloadOut = new DataOutputStream(payload);
+	private final CRC32C crc = new CRC32C();
+	private final Counter dropped;
+
+	private MappedByteBuffer segment;
+	private long segmentNumber;
+	private int writeOffset;
+	private volatile JournalPosition head;
+
+	public TickJournal(TickJournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+		this.directory = Files.createDirectories(properties.directory());
+		this.segmentSize = Math.toIntExact(properties.segmentSize().toBytes());
+		this.forceOnAppend = properties.forceOnAppend();
+		this.dropped = Counter.builder(DROPPED).description("Ticks that could not be written to the journal")
+				.register(meterRegistry);
+		roll(lastSegment() + 1);
+		log.info("Tick journal at {}, writing segment {}", directory, segmentNumber);
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		if (!event.shared()) {
+			append(event.ticks());
+		}
+	}
+
+	/**
+	 * Appends the ticks that carry a ticker and publishes them to readers. A
+	 * tick that cannot be encoded or written is dropped and counted.
+	 */
+	public synchronized void append(List<PriceTick> ticks) {
+		for (PriceTick tick : ticks) {
+			if (tick.ticker() != null) {
+				try {
+					appendRecord(encode(tick));
+				} catch (RuntimeException e) {
+					dropped.increment();
+					log.error("Dropping {} tick for {}: {}", tick.source(), tick.ticker(), e.getMessage());
+				}
+			}
+		}
+		if (forceOnAppend) {
+			try {
+				segment.force();
+			} catch (UncheckedIOException e) {
+				log.error("Could not force journal segment {}: {}", segmentNumber, e.getMessage());
+			}
+		}
+		head = new JournalPosition(segmentNumber, writeOffset);
+	}
+
+	/** Position just past the last appended record. */
+	public JournalPosition head() {
+		return head;
+	}
+
+	/** Oldest position still on disk. */
+	public JournalPosition tail() {
+		long first = segmentNumbers().min().orElse(segmentNumber);
+		return new JournalPosition(first, 0);
+	}
+
+	/** Deletes the segments wholly before {@code position}. */
+	public void release(JournalPosition position) {
+		segmentNumbers().filter(number -> number < position.segment() && number < segmentNumber)
+				.forEach(number -> {
+					try {
+						Files.deleteIfExists(segmentPath(number));
+						log.debug("Deleted drained journal segment {}", number);
+					} catch (IOException e) {
+						log.warn("Could not delete journal segment {}: {}", number, e.getMessage());
+					}
+				});
+	}
+
+	@Override
+	public synchronized void destroy() {
+		segment.force();
+	}
+
+	Path segmentPath(long number) {
+		return directory.resolve("%020d%s".formatted(number, SEGMENT_SUFFIX));
+	}
+
+	Path directory() {
+		return directory;
+	}
+
+	static PriceTick decode(byte[] bytes) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		String source = QuoteBinaryCodec.readString(in);
+		long pulledAtMicros = in.readLong();
+		return new PriceTick(source, Instant.EPOCH.plus(pulledAtMicros, ChronoUnit.MICROS),
+				QuoteBinaryCodec.readQuote(in));
+	}
+
+	static int checksum(CRC32C crc, byte[] bytes, int length) {
+		crc.reset();
+		crc.update(bytes, 0, length);
+		return (int) crc.getValue();
+	}
+
+	private byte[] encode(PriceTick tick) {
+		payload.reset();
+		try {
+			QuoteBinaryCodec.writeString(tick.source(), payloadOut);
+			payloadOut.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, tick.pulledAt()));
+			QuoteBinaryCodec.writeQuote(tick.quote(), payloadOut);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return payload.toByteArray();
+	}
+
+	private void appendRecord(byte[] bytes) {
+		int recordSize = HEADER_BYTES + bytes.length;
+		if (recordSize > segmentSize - HEADER_BYTES) {
+			throw new IllegalArgumentException(recordSize + " bytes do not fit a journal segment");
+		}
+		// Keep room for a zero length after the last record, which marks the end
+		if (writeOffset + recordSize > segmentSize - HEADER_BYTES) {
+			segment.force();
+			roll(segmentNumber + 1);
+		}
+		segment.putInt(writeOffset + 4, checksum(crc, bytes, bytes.length));
+		segment.put(writeOffset + HEADER_BYTES, bytes);
+		segment.putInt(writeOffset, bytes.length);
+		writeOffset += recordSize;
+	}
+
+	/**
+	 * Switches to a new segment. A segment that was created but could not be
+	 * mapped is deleted again, so the next tick retries the same number; until
+	 * then the current segment stays in place.
+	 */
+	private void roll(long number) {
+		Path path = segmentPath(number);
+		FileChannel channel;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not create journal segment " + number, e);
+		}
+		try (channel) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+		} catch (IOException e) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException deleteFailure) {
+				e.addSuppressed(deleteFailure);
+			}
+			throw new UncheckedIOException("Could not map journal segment " + number, e);
+		}
+		segmentNumber = number;
+		writeOffset = 0;
+		head = new JournalPosition(number, 0);
+	}
+
+	private long lastSegment() {
+		return segmentNumbers().max().orElse(0);
+	}
+
+	private LongStream segmentNumbers() {
+		try (Stream<Path> files = Files.list(directory)) {
+			long[] numbers = files.map(file -> file.getFileName().toString())
+					.filter(name -> name.endsWith(SEGMENT_SUFFIX))
+					.mapToLong(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+					.toArray();
+			return LongStream.of(numbers);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.kiran.stockapi.price.journal;
+
+import com.kiran.stockapi.price.tick.PriceTick;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One sink's read position in the {@link TickJournal}. {@link #poll} reads
+ * ahead from the committed position; {@link #commit} persists the position to
+ * {@code <sink>.checkpoint} once the sink has taken the batch. A cursor is used
+ * by one thread at a time.
+ */
+@Slf4j
+class TickJournalCursor {
+
+	static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+	private final TickJournal journal;
+	private final Path checkpoint;
+	private final CRC32C crc = new CRC32C();
+
+	private JournalPosition committed;
+	private MappedByteBuffer segment;
+	private long mappedSegment = -1;
+
+	TickJournalCursor(TickJournal journal, String sinkName) {
+		this.journal = journal;
+		this.checkpoint = journal.directory().resolve(sinkName + CHECKPOINT_SUFFIX);
+		this.committed = readCheckpoint().orElseGet(journal::tail);
+	}
+
+	/** The position up to which the sink has taken every tick. */
+	JournalPosition committed() {
+		return committed;
+	}
+
+	/** Reads up to {@code max} ticks after the committed position. */
+	Batch poll(int max) {
+		List<PriceTick> ticks = new ArrayList<>();
+		JournalPosition position = committed;
+		while (ticks.size() < max) {
+			JournalPosition head = journal.head();
+			if (position.compareTo(head) >= 0) {
+				break;
+			}
+			ByteBuffer buffer = map(position.segment());
+			int length = buffer == null || position.offset() + TickJournal.HEADER_BYTES > buffer.limit()
+					? 0
+					: buffer.getInt(position.offset());
+			if (length <= 0 || position.offset() + TickJournal.HEADER_BYTES + length > buffer.limit()) {
+				// End of a finished segment (or a record torn by a crash): move on
+				position = new JournalPosition(position.segment() + 1, 0);
+				continue;
+			}
+			byte[] bytes = new byte[length];
+			buffer.get(position.offset() + TickJournal.HEADER_BYTES, bytes);
+			JournalPosition next = new JournalPosition(position.segment(),
+					position.offset() + TickJournal.HEADER_BYTES + length);
+			if (TickJournal.checksum(crc, bytes, length) != buffer.getInt(position.offset() + 4)) {
+				log.warn("Skipping the rest of journal segment {}: corrupt record at offset {}", position.segment(),
+						position.offset());
+				position = new JournalPosition(position.segment() + 1, 0);
+				continue;
+			}
+			try {
+				ticks.add(TickJournal.decode(bytes));
+			} catch (IOException | RuntimeException e) {
+				log.warn("Skipping undecodable journal record at {}: {}", position, e.getMessage());
+			}
+			position = next;
+		}
+		return new Batch(ticks, position);
+	}
+
+	/** Records that the sink has taken everything before {@code position}. */
+	void commit(JournalPosition position) {
+		Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+		try {
+			Files.write(temp, ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).array());
+			Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write " + checkpoint, e);
+		}
+		committed = position;
+	}
+
+	private Optional<JournalPosition> readCheckpoint() {
+		try {
+			ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+			return Optional.of(new JournalPosition(bytes.getLong(), bytes.getInt()));
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read " + checkpoint, e);
+		}
+	}
+
+	/** Maps a segment read-only, or returns null when it was never written. */
+	private ByteBuffer map(long number) {
+		if (number != mappedSegment) {
+			segment = null;
+			Path path = journal.segmentPath(number);
+			if (Files.exists(path)) {
+				try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+					segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				} catch (IOException e) {
+					throw new UncheckedIOException("Could not map journal segment " + number, e);
+				}
+			}
+			mappedSegment = number;
+		}
+		return segment;
+	}
+
+	/**
+	 * @param ticks
+	 *            the ticks read
+	 * @param next
+	 *            position to commit once the sink has taken them
+	 */
+	record Batch(List<PriceTick> ticks, JournalPosition next) {
+	}
+}
@@ -0,0 +1,69 @@
+package com.kiran.stockapi.price.journal;
+
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ships journaled ticks to every {@link TickSink}. Each sink is drained from
+ * its own checkpoint; a sink that fails keeps its position and is offered the
+ * same ticks again next round, so after an outage the backlog is replayed in
+ * order. Segments every sink has moved past are deleted, so the journal
+ * refuses to start without a sink rather than fill the disk.
+ * <p>
+ * Sinks may block for a while (a Kafka send waits up to
+ * {@code tick-journal.kafka.send-timeout}); {@code spring.task.scheduling.pool.size}
+ * keeps that from holding up the other scheduled jobs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tick-journal.enabled", havingValue = "true")
+public class TickJournalDrainer {
+
+	private final TickJournal journal;
+	private final TickJournalProperties properties;
+	private final Map<TickSink, TickJournalCursor> cursors = new LinkedHashMap<>();
+
+	public TickJournalDrainer(TickJournal journal, ObjectProvider<TickSink> sinks, TickJournalProperties properties) {
+		this.journal = journal;
+		this.properties = properties;
+		for (TickSink sink : sinks.orderedStream().toList()) {
+			TickJournalCursor cursor = new TickJournalCursor(journal, sink.name());
+			cursors.put(sink, cursor);
+			log.info("Draining tick journal to {} from {}", sink.name(), cursor.committed());
+		}
+		if (cursors.isEmpty()) {
+			throw new IllegalStateException("tick-journal.enabled needs a sink to drain to: enable price-history "
+					+ "or tick-journal.kafka");
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${tick-journal.drain-interval}")
+	public void drain() {
+		cursors.forEach(this::drain);
+		cursors.values().stream().map(TickJournalCursor::committed).min(JournalPosition::compareTo)
+				.ifPresent(journal::release);
+	}
+
+	private void drain(TickSink sink, TickJournalCursor cursor) {
+		TickJournalCursor.Batch batch = cursor.poll(properties.drainBatchSize());
+		while (batch.next().compareTo(cursor.committed()) > 0) {
+			try {
+				if (!batch.ticks().isEmpty()) {
+					sink.accept(batch.ticks());
+				}
+			} catch (RuntimeException e) {
+				log.warn("Could not ship {} journaled ticks to {}, retrying from {}: {}", batch.ticks().size(),
+						sink.name(), cursor.committed(), e.getMessage());
+				return;
+			}
+			cursor.commit(batch.next());
+			batch = cursor.poll(properties.drainBatchSize());
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.kiran.stockapi.price.journal;
+
+import com.kiran.stockapi.price.tick.PriceTick;
+import java.util.List;
+
+/**
+ * A downstream consumer of journaled ticks. Each sink is drained
+ * independently and keeps its own checkpoint, so one being down does not hold
+ * back the others.
+ */
+public interface TickSink {
+
+	/** Stable name, used for the sink's checkpoint file. */
+	String name();
+
+	/**
+	 * Ships a batch of ticks. Throwing leaves the batch in the journal to be
+	 * offered again, so sinks must tolerate seeing a tick more than once.
+	 */
+	void accept(List<PriceTick> ticks);
+}
@@ -0,0 +1,106 @@
+package com.kiran.stockapi.price.portfolio;
+
+import static com.kiran.stockapi.jooq.Tables.LATEST_PRICE;
+import static com.kiran.stockapi.jooq.Tables.PORTFOLIO;
+import static com.kiran.stockapi.jooq.Tables.PORTFOLIO_POSITION;
+
+import com.kiran.stockapi.jooq.tables.records.PortfolioPositionRecord;
+import com.kiran.stockapi.jooq.tables.records.PortfolioRecord;
+import com.kiran.stockapi.price.api.contract.Portfolio;
+import com.kiran.stockapi.price.api.contract.PortfolioRequest;
+import com.kiran.stockapi.price.api.contract.Position;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/** jOOQ access to {@code refdata.portfolio} and {@code refdata.portfolio_position}. */
+@Repository
+@ConditionalOnProperty(name = "portfolios.enabled", havingValue = "true")
+@AllArgsConstructor
+public class PortfolioRepository {
+
+	private final DSLContext dsl;
+
+	public Portfolio insert(PortfolioRequest request, Instant createdAt) {
+		return toPortfolio(dsl.insertInto(PORTFOLIO).set(PORTFOLIO.OWNER, request.owner())
+				.set(PORTFOLIO.NAME, request.name()).set(PORTFOLIO.CREATED_AT, toOffset(createdAt)).returning()
+				.fetchOne());
+	}
+
+	/** Deletes a portfolio with its positions. */
+	public boolean delete(long id) {
+		return dsl.deleteFrom(PORTFOLIO).where(PORTFOLIO.ID.eq(id)).execute() > 0;
+	}
+
+	public List<Portfolio> findAll() {
+		return dsl.selectFrom(PORTFOLIO).fetch(PortfolioRepository::toPortfolio);
+	}
+
+	public List<Portfolio> findByOwner(String owner) {
+		return dsl.selectFrom(PORTFOLIO).where(PORTFOLIO.OWNER.eq(owner)).orderBy(PORTFOLIO.ID)
+				.fetch(PortfolioRepository::toPortfolio);
+	}
+
+	public List<Position> findPositions() {
+		return dsl.selectFrom(PORTFOLIO_POSITION).fetch(PortfolioRepository::toPosition);
+	}
+
+	public List<Position> findPositions(long portfolioId) {
+		return dsl.selectFrom(PORTFOLIO_POSITION).where(PORTFOLIO_POSITION.PORTFOLIO_ID.eq(portfolioId))
+				.orderBy(PORTFOLIO_POSITION.TICKER)
+				.fetch(PortfolioRepository::toPosition);
+	}
+
+	public void upsertPosition(Position position, Instant updatedAt) {
+		dsl.insertInto(PORTFOLIO_POSITION)
+				.set(PORTFOLIO_POSITION.PORTFOLIO_ID, position.portfolioId())
+				.set(PORTFOLIO_POSITION.TICKER, position.ticker())
+				.set(PORTFOLIO_POSITION.QUANTITY, position.quantity())
+				.set(PORTFOLIO_POSITION.UPDATED_AT, toOffset(updatedAt))
+				.onConflict(PORTFOLIO_POSITION.PORTFOLIO_ID, PORTFOLIO_POSITION.TICKER).doUpdate()
+				.set(PORTFOLIO_POSITION.QUANTITY, position.quantity())
+				.set(PORTFOLIO_POSITION.UPDATED_AT, toOffset(updatedAt)).execute();
+	}
+
+	public boolean deletePosition(long portfolioId, String ticker) {
+		return dsl.deleteFrom(PORTFOLIO_POSITION).where(PORTFOLIO_POSITION.PORTFOLIO_ID.eq(portfolioId))
+				.and(PORTFOLIO_POSITION.TICKER.eq(ticker)).execute() > 0;
+	}
+
+	/**
+	 * Latest stored price of each ticker from {@code source}, read from
+	 * {@code refdata.latest_price} by primary key. Providers quote at different
+	 * times, so mixing them would value one ticker from one and the next from
+	 * another.
+	 */
+	public Map<String, BigDecimal> findLatestPrices(Collection<String> tickers, String source) {
+		if (tickers.isEmpty()) {
+			return Map.of();
+		}
+		return dsl.select(LATEST_PRICE.TICKER, LATEST_PRICE.PRICE).from(LATEST_PRICE)
+				.where(LATEST_PRICE.TICKER.in(tickers)).and(LATEST_PRICE.SOURCE.eq(source))
+				.and(LATEST_PRICE.PRICE.isNotNull()).fetchMap(LATEST_PRICE.TICKER, LATEST_PRICE.PRICE);
+	}
+
+	private static Portfolio toPortfolio(PortfolioRecord record) {
+		return new Portfolio(record.get(PORTFOLIO.ID), record.get(PORTFOLIO.OWNER), record.get(PORTFOLIO.NAME),
+				record.get(PORTFOLIO.CREATED_AT).toInstant());
+	}
+
+	private static Position toPosition(PortfolioPositionRecord record) {
+		return new Position(record.get(PORTFOLIO_POSITION.PORTFOLIO_ID), record.get(PORTFOLIO_POSITION.TICKER),
+				record.get(PORTFOLIO_POSITION.QUANTITY));
+	}
+
+	private static OffsetDateTime toOffset(Instant instant) {
+		return instant.atOffset(ZoneOffset.UTC);
+	}
+}
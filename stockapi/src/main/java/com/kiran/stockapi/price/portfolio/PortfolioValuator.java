@@ -0,0 +1,233 @@
+package com.kiran.stockapi.price.portfolio;
+
+import com.kiran.stockapi.price.api.config.PortfolioProperties;
+import com.kiran.stockapi.price.api.contract.Portfolio;
+import com.kiran.stockapi.price.api.contract.PortfolioRequest;
+import com.kiran.stockapi.price.api.contract.PortfolioValuation;
+import com.kiran.stockapi.price.api.contract.Position;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the market value of every portfolio current from the incoming ticks.
+ * Positions are loaded from {@code refdata.portfolio_position} and indexed by
+ * ticker, so a tick only visits the positions holding its ticker and adds
+ * {@code quantity * (price - previous price)} to their portfolios. Values are
+ * exact {@link BigDecimal} sums, so the deltas never drift from a full
+ * revaluation.
+ * <p>
+ * Prices come from one provider, {@code portfolios.valuation-source}: the
+ * providers quote at different times, and mixing them would make a ticker's
+ * value jump between their prices. Ticks from other providers are ignored.
+ * <p>
+ * Every change publishes an immutable {@link PortfolioValuation}, which reads
+ * take from a concurrent map without locking or calling upstream.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "portfolios.enabled", havingValue = "true")
+public class PortfolioValuator implements InitializingBean {
+
+	private final PortfolioRepository portfolioRepository;
+	private final String valuationSource;
+	private final Map<Long, PortfolioState> portfolios = new HashMap<>();
+	private final Map<String, List<Holding>> holdersByTicker = new HashMap<>();
+	private final Map<String, BigDecimal> prices = new HashMap<>();
+	private final Map<Long, PortfolioValuation> valuations = new ConcurrentHashMap<>();
+
+	public PortfolioValuator(PortfolioRepository portfolioRepository, PortfolioProperties properties) {
+		this.portfolioRepository = portfolioRepository;
+		this.valuationSource = properties.valuationSource();
+	}
+
+	@Override
+	public synchronized void afterPropertiesSet() {
+		Instant now = Instant.now();
+		portfolioRepository.findAll().forEach(portfolio -> portfolios.put(portfolio.id(),
+				new PortfolioState(portfolio.id())));
+		List<Position> positions = portfolioRepository.findPositions();
+		prices.putAll(portfolioRepository.findLatestPrices(
+				positions.stream().map(Position::ticker).collect(LinkedHashSet::new, Set::add, Set::addAll),
+				valuationSource));
+		positions.forEach(position -> hold(position.portfolioId(), position.ticker(), position.quantity()));
+		portfolios.values().forEach(portfolio -> publish(portfolio, now));
+		log.info("Valued {} portfolios with {} positions", portfolios.size(), positions.size());
+	}
+
+	public Optional<PortfolioValuation> valuation(long portfolioId) {
+		return Optional.ofNullable(valuations.get(portfolioId));
+	}
+
+	/** Valuations of the known portfolios among {@code portfolioIds}, in request order. */
+	public List<PortfolioValuation> valuations(List<Long> portfolioIds) {
+		List<PortfolioValuation> found = new ArrayList<>(portfolioIds.size());
+		for (Long portfolioId : portfolioIds) {
+			PortfolioValuation valuation = valuations.get(portfolioId);
+			if (valuation != null) {
+				found.add(valuation);
+			}
+		}
+		return found;
+	}
+
+	public Portfolio create(PortfolioRequest request) {
+		Portfolio portfolio = portfolioRepository.insert(request, Instant.now());
+		synchronized (this) {
+			PortfolioState state = new PortfolioState(portfolio.id());
+			portfolios.put(portfolio.id(), state);
+			publish(state, portfolio.createdAt());
+		}
+		return portfolio;
+	}
+
+	public boolean delete(long portfolioId) {
+		if (!portfolioRepository.delete(portfolioId)) {
+			return false;
+		}
+		synchronized (this) {
+			PortfolioState state = portfolios.remove(portfolioId);
+			if (state != null) {
+				List.copyOf(state.holdings.keySet()).forEach(ticker -> release(state, ticker));
+			}
+			valuations.remove(portfolioId);
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the quantity of a position, replacing the previous one.
+	 *
+	 * @return {@code false} when the portfolio does not exist
+	 */
+	public boolean setPosition(Position position) {
+		synchronized (this) {
+			if (!portfolios.containsKey(position.portfolioId())) {
+				return false;
+			}
+		}
+		Instant now = Instant.now();
+		portfolioRepository.upsertPosition(position, now);
+		synchronized (this) {
+			PortfolioState state = portfolios.get(position.portfolioId());
+			if (state != null) {
+				release(state, position.ticker());
+				hold(position.portfolioId(), position.ticker(), position.quantity());
+				publish(state, now);
+			}
+		}
+		return true;
+	}
+
+	public boolean removePosition(long portfolioId, String ticker) {
+		if (!portfolioRepository.deletePosition(portfolioId, ticker)) {
+			return false;
+		}
+		synchronized (this) {
+			PortfolioState state = portfolios.get(portfolioId);
+			if (state != null) {
+				release(state, ticker);
+				publish(state, Instant.now());
+			}
+		}
+		return true;
+	}
+
+	@EventListener
+	public synchronized void onPriceTicks(PriceTickEvent event) {
+		Map<Long, PortfolioState> changed = new LinkedHashMap<>();
+		Instant valuedAt = null;
+		for (PriceTick tick : event.ticks()) {
+			BigDecimal price = tick.quote().getPrice();
+			if (tick.ticker() == null || price == null || !valuationSource.equals(tick.source())) {
+				continue;
+			}
+			BigDecimal previous = prices.put(tick.ticker(), price);
+			List<Holding> holders = holdersByTicker.get(tick.ticker());
+			if (holders == null || (previous != null && previous.compareTo(price) == 0)) {
+				continue;
+			}
+			BigDecimal delta = previous != null ? price.subtract(previous) : price;
+			for (Holding holding : holders) {
+				holding.portfolio.marketValue = holding.portfolio.marketValue.add(holding.quantity.multiply(delta));
+				if (previous == null) {
+					holding.portfolio.unpriced--;
+				}
+				changed.put(holding.portfolio.id, holding.portfolio);
+			}
+			valuedAt = tick.pulledAt();
+		}
+		for (PortfolioState state : changed.values()) {
+			publish(state, valuedAt);
+		}
+	}
+
+	private void hold(long portfolioId, String ticker, BigDecimal quantity) {
+		PortfolioState state = portfolios.get(portfolioId);
+		if (state == null) {
+			return;
+		}
+		Holding holding = new Holding(state, quantity);
+		state.holdings.put(ticker, holding);
+		holdersByTicker.computeIfAbsent(ticker, key -> new ArrayList<>()).add(holding);
+		BigDecimal price = prices.get(ticker);
+		if (price != null) {
+			state.marketValue = state.marketValue.add(quantity.multiply(price));
+		} else {
+			state.unpriced++;
+		}
+	}
+
+	private void release(PortfolioState state, String ticker) {
+		Holding holding = state.holdings.remove(ticker);
+		if (holding == null) {
+			return;
+		}
+		List<Holding> holders = holdersByTicker.get(ticker);
+		holders.remove(holding);
+		if (holders.isEmpty()) {
+			holdersByTicker.remove(ticker);
+		}
+		BigDecimal price = prices.get(ticker);
+		if (price != null) {
+			state.marketValue = state.marketValue.subtract(holding.quantity.multiply(price));
+		} else {
+			state.unpriced--;
+		}
+	}
+
+	private void publish(PortfolioState state, Instant valuedAt) {
+		valuations.put(state.id, new PortfolioValuation(state.id, state.marketValue, state.holdings.size(),
+				state.unpriced, valuedAt));
+	}
+
+	private static final class PortfolioState {
+
+		private final long id;
+		private final Map<String, Holding> holdings = new HashMap<>();
+		private BigDecimal marketValue = BigDecimal.ZERO;
+		private int unpriced;
+
+		private PortfolioState(long id) {
+			this.id = id;
+		}
+	}
+
+	private record Holding(PortfolioState portfolio, BigDecimal quantity) {
+	}
+}
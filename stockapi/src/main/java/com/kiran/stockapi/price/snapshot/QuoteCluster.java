@@ -0,0 +1,229 @@
+package com.kiran.stockapi.price.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.price.api.config.QuoteClusterProperties;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets several stockapi instances share one set of upstream calls through
+ * Postgres. The instance holding advisory lock {@code quote-cluster.lock-id}
+ * is the leader and the only one that calls upstream on behalf of the others:
+ * <ul>
+ * <li>instances ask for symbols they miss or hold stale with a
+ * {@value #REQUEST_CHANNEL} notification;</li>
+ * <li>the leader answers from its snapshots, fetching what is not fresh;</li>
+ * <li>every quote fetched upstream, by any instance, is sent to all others on
+ * {@value #SNAPSHOT_CHANNEL}, one notification per quote.</li>
+ * </ul>
+ * Every instance publishes the quotes it receives as ticks, the shared ones
+ * marked as such so only the fetching instance stores them; see
+ * {@link com.kiran.stockapi.price.tick.PriceTickEvent#shared()}.
+ * <p>
+ * The lock and the {@code LISTEN}s live on one dedicated connection, so a
+ * leader that dies releases leadership with its session; another instance
+ * takes over on its next poll.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"database.enabled", "quote-cluster.enabled"}, havingValue = "true")
+public class QuoteCluster implements InitializingBean, DisposableBean {
+
+	static final String SNAPSHOT_CHANNEL = "quote_snapshots";
+	static final String REQUEST_CHANNEL = "quote_requests";
+	/** Postgres rejects notification payloads of 8000 bytes or more. */
+	static final int MAX_PAYLOAD_BYTES = 7_900;
+
+	private final DataSourceProperties dataSourceProperties;
+	private final DSLContext dsl;
+	private final ObjectMapper objectMapper;
+	private final QuoteSnapshotService quoteSnapshotService;
+	private final QuoteClusterProperties properties;
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private volatile boolean leader;
+	private volatile boolean running;
+	private Thread listener;
+
+	public QuoteCluster(DataSourceProperties dataSourceProperties, DSLContext dsl, ObjectMapper objectMapper,
+			QuoteSnapshotService quoteSnapshotService, QuoteClusterProperties properties) {
+		this.dataSourceProperties = dataSourceProperties;
+		this.dsl = dsl;
+		this.objectMapper = objectMapper;
+		this.quoteSnapshotService = quoteSnapshotService;
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		running = true;
+		listener = Thread.ofVirtual().name("quote-cluster").start(this::listen);
+		quoteSnapshotService.attach(this);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		if (listener != null) {
+			listener.join(properties.pollInterval().multipliedBy(2));
+		}
+	}
+
+	public boolean isLeader() {
+		return leader;
+	}
+
+	public Duration requestTimeout() {
+		return properties.requestTimeout();
+	}
+
+	/** Asks the leader for the symbols. */
+	public void request(List<String> symbols) {
+		List<String> payloads = new ArrayList<>();
+		StringBuilder payload = new StringBuilder(instanceId);
+		for (String symbol : symbols) {
+			if (payload.length() + symbol.length() + 1 > MAX_PAYLOAD_BYTES) {
+				payloads.add(payload.toString());
+				payload = new StringBuilder(instanceId);
+			}
+			payload.append(',').append(symbol);
+		}
+		payloads.add(payload.toString());
+		notify(REQUEST_CHANNEL, payloads);
+	}
+
+	/** Sends quotes to every other instance. */
+	public void share(Map<String, QuoteSnapshot> snapshots) {
+		List<String> payloads = new ArrayList<>(snapshots.size());
+		snapshots.forEach((symbol, snapshot) -> {
+			String payload = toJson(new SharedQuote(instanceId, symbol, snapshot.fetchedAt(), snapshot.quote()));
+			if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+				log.warn("Not sharing {}: quote does not fit a notification", symbol);
+			} else {
+				payloads.add(payload);
+			}
+		});
+		notify(SNAPSHOT_CHANNEL, payloads);
+	}
+
+	/** Sends the notifications in one transaction, so they are delivered together. */
+	private void notify(String channel, List<String> payloads) {
+		if (payloads.isEmpty()) {
+			return;
+		}
+		try {
+			dsl.transaction(configuration -> {
+				for (String payload : payloads) {
+					DSL.using(configuration).fetch("SELECT pg_notify(?, ?)", channel, payload);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("Could not notify {} ({} messages): {}", channel, payloads.size(), e.getMessage());
+		}
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+					dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + SNAPSHOT_CHANNEL);
+					statement.execute("LISTEN " + REQUEST_CHANNEL);
+				}
+				PGConnection notifications = connection.unwrap(PGConnection.class);
+				while (running) {
+					if (!leader && tryLead(connection)) {
+						leader = true;
+						log.info("Instance {} is now the quote cluster leader", instanceId);
+					}
+					PGNotification[] received = notifications
+							.getNotifications((int) properties.pollInterval().toMillis());
+					if (received != null) {
+						Arrays.stream(received).forEach(this::handle);
+					}
+				}
+			} catch (SQLException e) {
+				if (leader) {
+					log.warn("Lost quote cluster leadership with the connection: {}", e.getMessage());
+				} else {
+					log.warn("Quote cluster connection failed: {}", e.getMessage());
+				}
+				leader = false;
+				pause();
+			}
+		}
+		leader = false;
+	}
+
+	private boolean tryLead(Connection connection) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+			statement.setLong(1, properties.lockId());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getBoolean(1);
+			}
+		}
+	}
+
+	private void handle(PGNotification notification) {
+		try {
+			if (SNAPSHOT_CHANNEL.equals(notification.getName())) {
+				SharedQuote shared = objectMapper.readValue(notification.getParameter(), SharedQuote.class);
+				if (!instanceId.equals(shared.instance())) {
+					quoteSnapshotService.accept(shared.symbol(), new QuoteSnapshot(shared.quote(), shared.fetchedAt()));
+				}
+			} else if (REQUEST_CHANNEL.equals(notification.getName()) && leader) {
+				List<String> parts = List.of(notification.getParameter().split(","));
+				if (!instanceId.equals(parts.get(0))) {
+					quoteSnapshotService.serve(parts.subList(1, parts.size()));
+				}
+			}
+		} catch (JsonProcessingException | RuntimeException e) {
+			log.warn("Ignoring malformed {} notification: {}", notification.getName(), e.getMessage());
+		}
+	}
+
+	private String toJson(SharedQuote sharedQuote) {
+		try {
+			return objectMapper.writeValueAsString(sharedQuote);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Could not serialize quote for " + sharedQuote.symbol(), e);
+		}
+	}
+
+	private void pause() {
+		try {
+			Thread.sleep(properties.pollInterval());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+
+	/** A quote as sent between instances. */
+	record SharedQuote(String instance, String symbol, Instant fetchedAt, Quote quote) {
+	}
+}
@@ -0,0 +1,20 @@
+package com.kiran.stockapi.price.snapshot;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The latest quote received for a symbol.
+ *
+ * @param quote
+ *            the quote
+ * @param fetchedAt
+ *            when it was received from the provider
+ */
+public record QuoteSnapshot(Quote quote, Instant fetchedAt) {
+
+	public Duration age(Instant now) {
+		return Duration.between(fetchedAt, now);
+	}
+}
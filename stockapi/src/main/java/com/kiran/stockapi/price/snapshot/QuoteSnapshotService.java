@@ -0,0 +1,313 @@
+package com.kiran.stockapi.price.snapshot;
+
+import com.kiran.stockapi.price.api.config.QuoteSnapshotProperties;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteFreshness;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves StockData.org quotes with stale-while-revalidate semantics, per
+ * symbol:
+ * <ul>
+ * <li>younger than {@code quote-snapshot.fresh-for}: served from memory;</li>
+ * <li>younger than {@code quote-snapshot.serve-stale-for}: served from memory
+ * and refreshed in the background, with at most one refresh per symbol in
+ * flight;</li>
+ * <li>older, or never seen: fetched before responding, with at most one
+ * fetch per symbol in flight; concurrent requests for the same symbol wait
+ * for it instead of calling upstream again.</li>
+ * </ul>
+ * Every served quote is described by a {@link QuoteFreshness} entry. Held
+ * quotes share their reference data through the {@link InstrumentDictionary}.
+ * <p>
+ * When a {@link QuoteCluster} is attached, only its leader calls upstream:
+ * other instances ask the leader for missing and stale symbols and keep the
+ * quotes it shares as their local copies, falling back to their own fetch if
+ * a missing quote does not arrive within {@code quote-cluster.request-timeout}.
+ * Quotes taken from the cluster are published as shared {@link PriceTickEvent}s,
+ * so the in-memory consumers of every instance follow the leader's quotes.
+ */
+@Slf4j
+@Component
+public class QuoteSnapshotService implements DisposableBean {
+
+	private final QuoteClient quoteClient;
+	private final PriceTickPublisher priceTickPublisher;
+	private final InstrumentDictionary instrumentDictionary;
+	private final QuoteSnapshotProperties properties;
+	private final Clock clock;
+	private final Executor refreshExecutor;
+	private final Map<String, QuoteSnapshot> snapshots = new ConcurrentHashMap<>();
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+	/** Fetches of missing symbols that requests are waiting for. */
+	private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+	private final Object arrivals = new Object();
+	private volatile QuoteCluster cluster;
+
+	@Autowired
+	public QuoteSnapshotService(QuoteClient quoteClient, PriceTickPublisher priceTickPublisher,
+			InstrumentDictionary instrumentDictionary, QuoteSnapshotProperties properties) {
+		this(quoteClient, priceTickPublisher, instrumentDictionary, properties, Clock.systemUTC(),
+				Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	QuoteSnapshotService(QuoteClient quoteClient, PriceTickPublisher priceTickPublisher,
+			InstrumentDictionary instrumentDictionary, QuoteSnapshotProperties properties, Clock clock,
+			Executor refreshExecutor) {
+		this.quoteClient = quoteClient;
+		this.priceTickPublisher = priceTickPublisher;
+		this.instrumentDictionary = instrumentDictionary;
+		this.properties = properties;
+		this.clock = clock;
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	public StockApiResponse quotes(List<String> symbols) {
+		Instant now = clock.instant();
+		List<String> missing = new ArrayList<>();
+		List<String> stale = new ArrayList<>();
+		for (String symbol : symbols) {
+			QuoteSnapshot snapshot = snapshots.get(symbol);
+			Duration age = snapshot == null ? null : snapshot.age(now);
+			if (age == null || age.compareTo(properties.serveStaleFor()) > 0) {
+				missing.add(symbol);
+			} else if (age.compareTo(properties.freshFor()) > 0) {
+				stale.add(symbol);
+			}
+		}
+		QuoteCluster peers = cluster;
+		boolean follower = peers != null && !peers.isLeader();
+		List<String> fetched = missing;
+		if (!missing.isEmpty() && follower) {
+			peers.request(missing);
+			fetched = awaitSnapshots(missing, peers.requestTimeout());
+		}
+		if (!fetched.isEmpty()) {
+			fetchOnce(fetched);
+		}
+		if (!stale.isEmpty()) {
+			if (follower) {
+				peers.request(stale);
+			} else {
+				refreshInBackground(stale);
+			}
+		}
+		return respond(symbols, fetched, clock.instant());
+	}
+
+	/** Routes upstream fetches through the cluster's leader from now on. */
+	public void attach(QuoteCluster cluster) {
+		this.cluster = cluster;
+	}
+
+	/**
+	 * Takes a quote shared by another instance and publishes it as a shared
+	 * tick, unless a newer one is already held.
+	 */
+	public void accept(String symbol, QuoteSnapshot snapshot) {
+		QuoteSnapshot interned = new QuoteSnapshot(instrumentDictionary.intern(snapshot.quote()), snapshot.fetchedAt());
+		QuoteSnapshot held = snapshots.merge(symbol, interned,
+				(current, shared) -> shared.fetchedAt().isAfter(current.fetchedAt()) ? shared : current);
+		synchronized (arrivals) {
+			arrivals.notifyAll();
+		}
+		if (held == interned) {
+			priceTickPublisher.publishShared(
+					List.of(new PriceTick(PriceTick.SOURCE_STOCKDATA, interned.fetchedAt(), interned.quote())));
+		}
+	}
+
+	/**
+	 * Answers another instance's request: fresh quotes are shared as they are,
+	 * the rest are refreshed (and shared) in the background.
+	 */
+	public void serve(List<String> symbols) {
+		Instant now = clock.instant();
+		Map<String, QuoteSnapshot> fresh = new LinkedHashMap<>();
+		List<String> refresh = new ArrayList<>();
+		for (String symbol : symbols) {
+			QuoteSnapshot snapshot = snapshots.get(symbol);
+			if (snapshot != null && snapshot.age(now).compareTo(properties.freshFor()) <= 0) {
+				fresh.put(symbol, snapshot);
+			} else {
+				refresh.add(symbol);
+			}
+		}
+		QuoteCluster peers = cluster;
+		if (!fresh.isEmpty() && peers != null) {
+			peers.share(fresh);
+		}
+		if (!refresh.isEmpty()) {
+			refreshInBackground(refresh);
+		}
+	}
+
+	/** The latest snapshot of a symbol, however old. */
+	public QuoteSnapshot snapshot(String symbol) {
+		return snapshots.get(symbol);
+	}
+
+	private StockApiResponse respond(List<String> symbols, List<String> fetched, Instant now) {
+		Map<String, Quote> data = new LinkedHashMap<>();
+		Map<String, QuoteFreshness> freshness = new LinkedHashMap<>();
+		for (String symbol : symbols) {
+			QuoteSnapshot snapshot = snapshots.get(symbol);
+			if (snapshot == null) {
+				continue;
+			}
+			Duration age = snapshot.age(now);
+			data.put(symbol, snapshot.quote());
+			freshness.put(symbol,
+					new QuoteFreshness(fetched.contains(symbol) ? QuoteFreshness.UPSTREAM : QuoteFreshness.CACHE,
+							snapshot.fetchedAt(), age.toMillis(), age.compareTo(properties.freshFor()) > 0));
+		}
+		return new StockApiResponse(new Meta(symbols.size(), data.size()), data, freshness);
+	}
+
+	/**
+	 * Waits for the symbols to arrive from the cluster and returns those that
+	 * did not.
+	 */
+	private List<String> awaitSnapshots(List<String> symbols, Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		synchronized (arrivals) {
+			List<String> absent = absent(symbols);
+			long remaining = deadline - System.nanoTime();
+			while (!absent.isEmpty() && remaining > 0) {
+				try {
+					arrivals.wait(Math.max(1, remaining / 1_000_000));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+				absent = absent(symbols);
+				remaining = deadline - System.nanoTime();
+			}
+			return absent;
+		}
+	}
+
+	/** Symbols without a quote recent enough to serve. */
+	private List<String> absent(List<String> symbols) {
+		Instant now = clock.instant();
+		return symbols.stream().filter(symbol -> {
+			QuoteSnapshot snapshot = snapshots.get(symbol);
+			return snapshot == null || snapshot.age(now).compareTo(properties.serveStaleFor()) > 0;
+		}).toList();
+	}
+
+	private void refreshInBackground(List<String> stale) {
+		List<String> claimed = stale.stream().filter(refreshing::add).toList();
+		if (claimed.isEmpty()) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					fetch(claimed);
+				} catch (RuntimeException e) {
+					log.warn("Background refresh of {} failed: {}", claimed, e.getMessage());
+				} finally {
+					claimed.forEach(refreshing::remove);
+				}
+			});
+		} catch (RuntimeException e) {
+			claimed.forEach(refreshing::remove);
+			throw e;
+		}
+	}
+
+	/**
+	 * Fetches the symbols no other request is fetching yet, then waits for the
+	 * fetches of the others. A failed fetch fails its waiters as well.
+	 */
+	private void fetchOnce(List<String> symbols) {
+		Map<String, CompletableFuture<Void>> claimed = new LinkedHashMap<>();
+		List<CompletableFuture<Void>> joined = new ArrayList<>();
+		for (String symbol : symbols) {
+			CompletableFuture<Void> fetch = new CompletableFuture<>();
+			CompletableFuture<Void> running = inFlight.putIfAbsent(symbol, fetch);
+			if (running == null) {
+				claimed.put(symbol, fetch);
+			} else {
+				joined.add(running);
+			}
+		}
+		if (!claimed.isEmpty()) {
+			RuntimeException failure = null;
+			try {
+				fetch(List.copyOf(claimed.keySet()));
+			} catch (RuntimeException e) {
+				failure = e;
+				throw e;
+			} finally {
+				for (Map.Entry<String, CompletableFuture<Void>> entry : claimed.entrySet()) {
+					inFlight.remove(entry.getKey(), entry.getValue());
+					if (failure == null) {
+						entry.getValue().complete(null);
+					} else {
+						entry.getValue().completeExceptionally(failure);
+					}
+				}
+			}
+		}
+		for (CompletableFuture<Void> fetch : joined) {
+			try {
+				fetch.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+	}
+
+	private void fetch(List<String> symbols) {
+		StockApiResponse response = quoteClient.getQuote(String.join(",", symbols), true);
+		if (response.getMeta() != null && response.getMeta().getReturned() < response.getMeta().getRequested()) {
+			log.warn("StockData returned {} of {} requested quotes", response.getMeta().getReturned(),
+					response.getMeta().getRequested());
+		}
+		Instant fetchedAt = clock.instant();
+		Map<String, QuoteSnapshot> received = new LinkedHashMap<>();
+		if (response.getData() != null) {
+			response.getData().forEach((symbol, quote) -> received.put(symbol,
+					new QuoteSnapshot(instrumentDictionary.intern(quote), fetchedAt)));
+		}
+		snapshots.putAll(received);
+		priceTickPublisher.publishStockdata(response);
+		QuoteCluster peers = cluster;
+		if (peers != null && !received.isEmpty()) {
+			peers.share(received);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (refreshExecutor instanceof ExecutorService executorService) {
+			executorService.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.kiran.stockapi.price.symbols;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings that answers "maybe present" or "certainly absent" from a bit
+ * array, at a false positive rate fixed by its size. Bit {@code i} of the
+ * {@code k} probed per string is {@code h1 + i * h2} over two 64-bit hashes of
+ * its characters. Adds and lookups are lock-free and may run concurrently; a
+ * lookup racing an add of the same string may still miss it.
+ */
+final class BloomFilter {
+
+	private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	private final AtomicLongArray words;
+	private final long bits;
+	private final int hashes;
+
+	private BloomFilter(long bits, int hashes) {
+		this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+		this.bits = bits;
+		this.hashes = hashes;
+	}
+
+	/** A filter that holds {@code expected} strings at {@code falsePositiveRate}. */
+	static BloomFilter create(int expected, double falsePositiveRate) {
+		if (expected <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Expected size must be positive and the false positive rate in (0, 1)");
+		}
+		double ln2 = Math.log(2);
+		long bits = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+		int hashes = Math.max(1, (int) Math.round((double) bits / expected * ln2));
+		return new BloomFilter(bits, hashes);
+	}
+
+	void put(String value) {
+		long h1 = hash(value);
+		long h2 = mix(h1);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bits);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+				current = words.get(word);
+			}
+		}
+	}
+
+	boolean mightContain(String value) {
+		long h1 = hash(value);
+		long h2 = mix(h1);
+		for (int i = 0; i < hashes; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bits);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** 64-bit FNV-1a over the characters. */
+	private static long hash(String value) {
+		long hash = OFFSET_BASIS;
+		for (int i = 0; i < value.length(); i++) {
+			hash = (hash ^ value.charAt(i)) * PRIME;
+		}
+		return hash;
+	}
+
+	/** The MurmurHash3 finalizer, as an independent second hash; forced odd so every step moves. */
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash | 1;
+	}
+}
@@ -0,0 +1,219 @@
+package com.kiran.stockapi.price.symbols;
+
+import com.kiran.stockapi.price.api.config.SymbolFilterProperties;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells which symbols are not worth asking a provider for. A symbol the
+ * provider left out of its answer is remembered as invalid for that provider
+ * during {@code symbol-filter.negative-ttl}, once that is proof enough: at
+ * once if it was asked for alone, otherwise after it was left out of
+ * {@code symbol-filter.misses-to-confirm} batches within that time, as a
+ * provider may also cut a batch short for its own reasons. A Bloom filter of
+ * the tickers in {@code refdata.instrument} and in the ticks received since
+ * sits in front: a symbol it may contain is always asked for and never
+ * remembered as invalid, so a provider dropping a known symbol does not hide
+ * it.
+ * <p>
+ * Both checks are in memory and lock-free. A symbol that shows up in a tick is
+ * forgotten as invalid, and its misses are cleared, right away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "symbol-filter.enabled", havingValue = "true")
+public class SymbolFilter implements InitializingBean {
+
+	private final InstrumentDictionary instrumentDictionary;
+	private final SymbolFilterProperties properties;
+	private final Clock clock;
+	/** Expiry in epoch milliseconds of each invalid symbol, by provider. */
+	private final Map<String, Map<String, Long>> invalid = new ConcurrentHashMap<>();
+	/** Batches that left each symbol out so far, by provider. */
+	private final Map<String, Map<String, Misses>> misses = new ConcurrentHashMap<>();
+	private volatile BloomFilter known;
+
+	public SymbolFilter(InstrumentDictionary instrumentDictionary, SymbolFilterProperties properties) {
+		this(instrumentDictionary, properties, Clock.systemUTC());
+	}
+
+	SymbolFilter(InstrumentDictionary instrumentDictionary, SymbolFilterProperties properties, Clock clock) {
+		this.instrumentDictionary = instrumentDictionary;
+		this.properties = properties;
+		this.clock = clock;
+		this.known = BloomFilter.create(properties.expectedSymbols(), properties.falsePositiveRate());
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Set<String> tickers = instrumentDictionary.tickers();
+		BloomFilter seeded = BloomFilter.create(Math.max(properties.expectedSymbols(), 2 * tickers.size()),
+				properties.falsePositiveRate());
+		tickers.forEach(ticker -> seeded.put(key(ticker)));
+		known = seeded;
+		log.info("Seeded the symbol filter with {} known tickers", tickers.size());
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		for (PriceTick tick : event.ticks()) {
+			if (tick.ticker() != null) {
+				String key = key(tick.ticker());
+				known.put(key);
+				Map<String, Long> rejected = invalid.get(tick.source());
+				if (rejected != null) {
+					rejected.remove(key);
+				}
+				Map<String, Misses> missed = misses.get(tick.source());
+				if (missed != null) {
+					missed.remove(key);
+				}
+			}
+		}
+	}
+
+	/** Whether {@code source} recently confirmed that it does not know {@code symbol}. */
+	public boolean isInvalid(String source, String symbol) {
+		String key = key(symbol);
+		if (known.mightContain(key)) {
+			return false;
+		}
+		Map<String, Long> rejected = invalid.get(source);
+		Long expiry = rejected == null ? null : rejected.get(key);
+		if (expiry == null) {
+			return false;
+		}
+		if (expiry <= clock.millis()) {
+			rejected.remove(key, expiry);
+			return false;
+		}
+		return true;
+	}
+
+	/** The non-blank entries of a comma-separated symbol list, trimmed. */
+	public static List<String> split(String symbols) {
+		List<String> split = new ArrayList<>();
+		if (symbols != null) {
+			for (String symbol : symbols.split(",")) {
+				if (!symbol.isBlank()) {
+					split.add(symbol.strip());
+				}
+			}
+		}
+		return split;
+	}
+
+	/** {@code symbols} without those {@link #isInvalid invalid} for {@code source}, in order. */
+	public List<String> valid(String source, List<String> symbols) {
+		List<String> valid = new ArrayList<>(symbols.size());
+		for (String symbol : symbols) {
+			if (!isInvalid(source, symbol)) {
+				valid.add(symbol);
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Counts a miss against the symbols of {@code requested} that are not in
+	 * {@code returned}, and {@link #confirmInvalid confirms} those that are
+	 * proven invalid for {@code source} by it: a symbol requested alone, or one
+	 * that missed {@code symbol-filter.misses-to-confirm} times.
+	 */
+	public void confirmMissing(String source, List<String> requested, Collection<String> returned) {
+		Set<String> found = new HashSet<>();
+		for (String symbol : returned) {
+			if (symbol != null) {
+				found.add(key(symbol));
+			}
+		}
+		Map<String, Misses> missed = misses.computeIfAbsent(source, key -> new ConcurrentHashMap<>());
+		long now = clock.millis();
+		List<String> confirmed = new ArrayList<>();
+		for (String symbol : requested) {
+			String key = key(symbol);
+			if (found.contains(key)) {
+				missed.remove(key);
+			} else if (requested.size() == 1) {
+				confirmed.add(symbol);
+			} else if (!known.mightContain(key) && hasRoom(missed, key, now)) {
+				Misses count = missed.compute(key, (k, prior) -> prior == null || prior.expiry() <= now
+						? new Misses(1, now + properties.negativeTtl().toMillis())
+						: new Misses(prior.count() + 1, prior.expiry()));
+				if (count.count() >= properties.missesToConfirm()) {
+					missed.remove(key);
+					confirmed.add(symbol);
+				}
+			}
+		}
+		confirmInvalid(source, confirmed);
+	}
+
+	/** Whether misses of {@code key} can be counted within {@code symbol-filter.negative-max-size}. */
+	private boolean hasRoom(Map<String, Misses> missed, String key, long now) {
+		if (missed.size() < properties.negativeMaxSize() || missed.containsKey(key)) {
+			return true;
+		}
+		missed.values().removeIf(count -> count.expiry() <= now);
+		return missed.size() < properties.negativeMaxSize();
+	}
+
+	/**
+	 * Remembers {@code symbols}, which {@code source} is known not to have, as
+	 * invalid for that provider; known tickers are
+	 * ignored. Once {@code symbol-filter.negative-max-size} symbols are
+	 * remembered, new ones are only added after others expired.
+	 */
+	public void confirmInvalid(String source, Collection<String> symbols) {
+		if (symbols.isEmpty()) {
+			return;
+		}
+		Map<String, Long> rejected = invalid.computeIfAbsent(source, key -> new ConcurrentHashMap<>());
+		long now = clock.millis();
+		long expiry = now + properties.negativeTtl().toMillis();
+		int added = 0;
+		for (String symbol : symbols) {
+			String key = key(symbol);
+			if (known.mightContain(key)) {
+				continue;
+			}
+			if (rejected.size() >= properties.negativeMaxSize() && !rejected.containsKey(key)) {
+				rejected.values().removeIf(until -> until <= now);
+				if (rejected.size() >= properties.negativeMaxSize()) {
+					log.debug("Not remembering {} as invalid for {}: {} symbols already are", symbol, source,
+							rejected.size());
+					continue;
+				}
+			}
+			if (rejected.put(key, expiry) == null) {
+				added++;
+			}
+		}
+		if (added > 0) {
+			log.info("Skipping {} symbols unknown to {} for {}", added, source, properties.negativeTtl());
+		}
+	}
+
+	private static String key(String symbol) {
+		return symbol.strip().toUpperCase(Locale.ROOT);
+	}
+
+	/** Batches that left a symbol out since the first one, forgotten at {@code expiry}. */
+	private record Misses(int count, long expiry) {
+	}
+}
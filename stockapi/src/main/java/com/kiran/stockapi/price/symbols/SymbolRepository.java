@@ -0,0 +1,37 @@
+package com.kiran.stockapi.price.symbols;
+
+import static com.kiran.stockapi.jooq.Tables.INSTRUMENT;
+
+import com.kiran.stockapi.config.DataSourceConfig;
+import com.kiran.stockapi.price.api.contract.SymbolMatch;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the known symbols from {@code refdata.instrument}, preferring the most
+ * recently added entry with a name for each ticker.
+ */
+@Repository
+@ConditionalOnProperty(name = {"database.enabled", "symbol-search.enabled"}, havingValue = "true")
+public class SymbolRepository {
+
+	private final DSLContext readDsl;
+
+	public SymbolRepository(@Qualifier(DataSourceConfig.READ_DSL_CONTEXT) DSLContext readDsl) {
+		this.readDsl = readDsl;
+	}
+
+	public List<SymbolMatch> findSymbols() {
+		return readDsl
+				.selectDistinct(INSTRUMENT.TICKER, INSTRUMENT.NAME, INSTRUMENT.EXCHANGE_SHORT, INSTRUMENT.EXCHANGE_LONG,
+						INSTRUMENT.MIC_CODE)
+				.on(INSTRUMENT.TICKER).from(INSTRUMENT).where(INSTRUMENT.TICKER.isNotNull())
+				.orderBy(INSTRUMENT.TICKER, INSTRUMENT.NAME.isNull(), INSTRUMENT.ID.desc())
+				.fetch(record -> new SymbolMatch(record.get(INSTRUMENT.TICKER), record.get(INSTRUMENT.NAME),
+						record.get(INSTRUMENT.EXCHANGE_SHORT), record.get(INSTRUMENT.EXCHANGE_LONG),
+						record.get(INSTRUMENT.MIC_CODE)));
+	}
+}
@@ -0,0 +1,186 @@
+package com.kiran.stockapi.price.symbols;
+
+import com.kiran.stockapi.price.api.config.SymbolSearchProperties;
+import com.kiran.stockapi.price.api.contract.SymbolMatch;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefix index over tickers and company names for symbol autocomplete. Every
+ * symbol is added to a character trie under its ticker, its full name and the
+ * rest of its name from each word on, so {@code "app"}, {@code "apple in"} and
+ * {@code "inc"} all reach Apple Inc. Each trie node keeps the best
+ * {@code symbol-search.max-results} candidates below it, ranked ticker matches
+ * first and then by ticker length, so a search is a walk down the query's
+ * characters and never visits the subtree.
+ * <p>
+ * Seeded from {@code refdata.instrument} when a datasource is enabled, and extended
+ * as ticks bring in new symbols or names. Writes are serialised; searches run
+ * lock-free against the latest candidate arrays. The index only grows: prefixes
+ * of a replaced name keep matching until the next restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "symbol-search.enabled", havingValue = "true")
+public class SymbolSearchIndex implements InitializingBean {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+	private static final Candidate[] NONE = new Candidate[0];
+
+	private final ObjectProvider<SymbolRepository> symbolRepository;
+	private final int maxResults;
+	private final Map<String, SymbolMatch> symbols = new ConcurrentHashMap<>();
+	private final Node root = new Node();
+
+	public SymbolSearchIndex(ObjectProvider<SymbolRepository> symbolRepository,
+			SymbolSearchProperties symbolSearchProperties) {
+		this.symbolRepository = symbolRepository;
+		this.maxResults = symbolSearchProperties.maxResults();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		symbolRepository.ifAvailable(repository -> {
+			List<SymbolMatch> stored = repository.findSymbols();
+			stored.forEach(this::add);
+			log.info("Indexed {} symbols for search", stored.size());
+		});
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		for (PriceTick tick : event.ticks()) {
+			Quote quote = tick.quote();
+			if (tick.ticker() != null) {
+				add(new SymbolMatch(tick.ticker(), quote.getName(), quote.getExchangeShort(), quote.getExchangeLong(),
+						quote.getMicCode()));
+			}
+		}
+	}
+
+	/** Up to {@code limit} symbols whose ticker or a word of whose name starts with {@code query}. */
+	public List<SymbolMatch> search(String query, int limit) {
+		String ticker = query.trim().toLowerCase(Locale.ROOT);
+		String name = normalize(query);
+		List<Candidate> candidates = new ArrayList<>(Arrays.asList(find(ticker)));
+		if (!name.isEmpty() && !name.equals(ticker)) {
+			candidates.addAll(Arrays.asList(find(name)));
+		}
+		candidates.sort(Candidate.RANKING);
+		List<SymbolMatch> matches = new ArrayList<>(Math.min(limit, candidates.size()));
+		for (Candidate candidate : candidates) {
+			if (matches.size() == limit) {
+				break;
+			}
+			SymbolMatch match = symbols.get(candidate.ticker());
+			if (!matches.contains(match)) {
+				matches.add(match);
+			}
+		}
+		return matches;
+	}
+
+	/** Adds a symbol, or the reference data it did not have yet; a no-op for known symbols. */
+	void add(SymbolMatch symbol) {
+		SymbolMatch known = symbols.get(symbol.ticker());
+		if (known != null && merge(known, symbol).equals(known)) {
+			return;
+		}
+		synchronized (this) {
+			known = symbols.get(symbol.ticker());
+			SymbolMatch merged = known != null ? merge(known, symbol) : symbol;
+			symbols.put(symbol.ticker(), merged);
+			if (known == null) {
+				insert(symbol.ticker().toLowerCase(Locale.ROOT), new Candidate(symbol.ticker(), Candidate.TICKER));
+			}
+			if (merged.name() != null && (known == null || !merged.name().equals(known.name()))) {
+				String name = normalize(merged.name());
+				insert(name, new Candidate(symbol.ticker(), Candidate.NAME));
+				for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+					insert(name.substring(i + 1), new Candidate(symbol.ticker(), Candidate.NAME_WORD));
+				}
+			}
+		}
+	}
+
+	private Candidate[] find(String key) {
+		Node node = root;
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.children.get(key.charAt(i));
+		}
+		return node != null && node != root ? node.top : NONE;
+	}
+
+	private void insert(String key, Candidate candidate) {
+		Node node = root;
+		for (int i = 0; i < key.length(); i++) {
+			node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+			node.offer(candidate, maxResults);
+		}
+	}
+
+	/** Lower case, accents stripped, words separated by single spaces. */
+	static String normalize(String text) {
+		String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+		return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+	}
+
+	private static SymbolMatch merge(SymbolMatch known, SymbolMatch update) {
+		return new SymbolMatch(known.ticker(), update.name() != null ? update.name() : known.name(),
+				update.exchangeShort() != null ? update.exchangeShort() : known.exchangeShort(),
+				update.exchangeLong() != null ? update.exchangeLong() : known.exchangeLong(),
+				update.micCode() != null ? update.micCode() : known.micCode());
+	}
+
+	private static final class Node {
+
+		private final Map<Character, Node> children = new ConcurrentHashMap<>();
+		/** Best candidates below this node in {@link Candidate#RANKING} order, replaced on write. */
+		private volatile Candidate[] top = NONE;
+
+		void offer(Candidate candidate, int capacity) {
+			Candidate[] current = top;
+			for (Candidate existing : current) {
+				if (existing.ticker().equals(candidate.ticker()) && existing.kind() <= candidate.kind()) {
+					return;
+				}
+			}
+			List<Candidate> next = new ArrayList<>(current.length + 1);
+			for (Candidate existing : current) {
+				if (!existing.ticker().equals(candidate.ticker())) {
+					next.add(existing);
+				}
+			}
+			next.add(candidate);
+			next.sort(Candidate.RANKING);
+			top = next.subList(0, Math.min(capacity, next.size())).toArray(NONE);
+		}
+	}
+
+	private record Candidate(String ticker, int kind) {
+
+		static final int TICKER = 0;
+		static final int NAME = 1;
+		static final int NAME_WORD = 2;
+
+		static final Comparator<Candidate> RANKING = Comparator.comparingInt(Candidate::kind)
+				.thenComparingInt(candidate -> candidate.ticker().length()).thenComparing(Candidate::ticker);
+	}
+}
@@ -0,0 +1,38 @@
+package com.kiran.stockapi.price.tick;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A single quote observation pulled from an upstream provider. {@link Quote}
+ * is the canonical shape for every provider; Alpha Vantage quotes are mapped
+ * onto it by {@link PriceTicks}.
+ *
+ * @param source
+ *            the provider the quote was pulled from (matches
+ *            {@code refdata.price.source})
+ * @param pulledAt
+ *            when the quote was received
+ * @param quote
+ *            the quote itself
+ */
+public record PriceTick(String source, Instant pulledAt, Quote quote) {
+
+	public static final String SOURCE_STOCKDATA = "stockdata";
+	public static final String SOURCE_ALPHAVANTAGE = "alphavantage";
+
+	public String ticker() {
+		return quote.getTicker();
+	}
+
+	/**
+	 * Trade time of the quote. Provider timestamps are stored as UTC; the pull
+	 * time is used when the provider omits the trade time.
+	 */
+	public Instant tradeTime() {
+		LocalDateTime lastTradeTime = quote.getLastTradeTime();
+		return lastTradeTime == null ? pulledAt : lastTradeTime.toInstant(ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,27 @@
+package com.kiran.stockapi.price.tick;
+
+import java.util.List;
+
+/**
+ * Application event published every time a batch of quotes is received from an
+ * upstream provider. Listeners run synchronously on the publishing thread and
+ * must therefore stay cheap and must not throw.
+ *
+ * @param ticks
+ *            the quotes received
+ * @param shared
+ *            whether another instance of the quote cluster fetched the quotes
+ *            and shared them with this one; that instance stores them, so
+ *            listeners persisting ticks skip these, while those keeping
+ *            in-memory state take them like any other
+ */
+public record PriceTickEvent(List<PriceTick> ticks, boolean shared) {
+
+	public PriceTickEvent {
+		ticks = List.copyOf(ticks);
+	}
+
+	public PriceTickEvent(List<PriceTick> ticks) {
+		this(ticks, false);
+	}
+}
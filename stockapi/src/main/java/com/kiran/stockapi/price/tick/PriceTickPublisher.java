@@ -0,0 +1,41 @@
+package com.kiran.stockapi.price.tick;
+
+import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link PriceTickEvent} for every provider response so that
+ * in-process consumers (aggregation, persistence, ...) see each quote once.
+ */
+@Component
+@AllArgsConstructor
+public class PriceTickPublisher {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	public void publishStockdata(StockApiResponse response) {
+		publish(PriceTicks.fromStockdata(response, Instant.now()));
+	}
+
+	public void publishAlphaVantage(RealtimeBulkQuotesResponse response) {
+		publish(PriceTicks.fromAlphaVantage(response, Instant.now()));
+	}
+
+	/** Publishes quotes another instance fetched; see {@link PriceTickEvent#shared()}. */
+	public void publishShared(List<PriceTick> ticks) {
+		if (!ticks.isEmpty()) {
+			eventPublisher.publishEvent(new PriceTickEvent(ticks, true));
+		}
+	}
+
+	private void publish(List<PriceTick> ticks) {
+		if (!ticks.isEmpty()) {
+			eventPublisher.publishEvent(new PriceTickEvent(ticks));
+		}
+	}
+}
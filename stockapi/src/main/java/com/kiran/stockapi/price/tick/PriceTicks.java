@@ -0,0 +1,78 @@
+package com.kiran.stockapi.price.tick;
+
+import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuote;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+
+/** Maps provider responses onto {@link PriceTick}s. */
+public final class PriceTicks {
+
+	/** Alpha Vantage reports realtime timestamps in US/Eastern exchange time. */
+	static final ZoneId ALPHAVANTAGE_ZONE = ZoneId.of("America/New_York");
+
+	private static final DateTimeFormatter ALPHAVANTAGE_TIMESTAMP = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd HH:mm:ss[.SSS]");
+
+	private PriceTicks() {
+	}
+
+	public static List<PriceTick> fromStockdata(StockApiResponse response, Instant pulledAt) {
+		if (response == null || response.getData() == null) {
+			return List.of();
+		}
+		return response.getData().values().stream().filter(Objects::nonNull)
+				.map(quote -> new PriceTick(PriceTick.SOURCE_STOCKDATA, pulledAt, quote)).toList();
+	}
+
+	public static List<PriceTick> fromAlphaVantage(RealtimeBulkQuotesResponse response, Instant pulledAt) {
+		if (response == null || response.getData() == null) {
+			return List.of();
+		}
+		return response.getData().stream().filter(Objects::nonNull)
+				.map(stockQuote -> new PriceTick(PriceTick.SOURCE_ALPHAVANTAGE, pulledAt, toQuote(stockQuote)))
+				.toList();
+	}
+
+	/**
+	 * Maps an Alpha Vantage quote onto the canonical {@link Quote}. The close is
+	 * the latest price and the trade time is converted to UTC.
+	 */
+	public static Quote toQuote(StockQuote stockQuote) {
+		return new Quote(stockQuote.getSymbol(), null, null, null, null, null, stockQuote.getClose(),
+				stockQuote.getHigh(), stockQuote.getLow(), stockQuote.getOpen(), null, null, null,
+				stockQuote.getPreviousClose(), null, stockQuote.getChange(), parseVolume(stockQuote.getVolume()), null,
+				parseTimestamp(stockQuote.getTimestamp()));
+	}
+
+	static Long parseVolume(String volume) {
+		if (volume == null || volume.isBlank()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(volume.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	static LocalDateTime parseTimestamp(String timestamp) {
+		if (timestamp == null || timestamp.isBlank()) {
+			return null;
+		}
+		try {
+			return LocalDateTime.parse(timestamp.trim(), ALPHAVANTAGE_TIMESTAMP).atZone(ALPHAVANTAGE_ZONE)
+					.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
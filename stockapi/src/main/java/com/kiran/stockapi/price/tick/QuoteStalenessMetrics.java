@@ -0,0 +1,57 @@
+package com.kiran.stockapi.price.tick;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@code quotes.snapshot.staleness}: per ticker and provider, the
+ * seconds since the trade time of the latest quote received.
+ */
+@Component
+public class QuoteStalenessMetrics {
+
+	static final String STALENESS = "quotes.snapshot.staleness";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, AtomicReference<Instant>> latestTradeTimes = new ConcurrentHashMap<>();
+
+	public QuoteStalenessMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@EventListener
+	public void onPriceTicks(PriceTickEvent event) {
+		for (PriceTick tick : event.ticks()) {
+			if (tick.ticker() != null) {
+				latestTradeTime(tick).accumulateAndGet(tick.tradeTime(), QuoteStalenessMetrics::later);
+			}
+		}
+	}
+
+	private AtomicReference<Instant> latestTradeTime(PriceTick tick) {
+		return latestTradeTimes.computeIfAbsent(tick.source() + ":" + tick.ticker(), key -> register(tick));
+	}
+
+	private AtomicReference<Instant> register(PriceTick tick) {
+		AtomicReference<Instant> tradeTime = new AtomicReference<>(tick.tradeTime());
+		Gauge.builder(STALENESS, tradeTime, QuoteStalenessMetrics::ageSeconds)
+				.description("Seconds since the trade time of the latest quote").baseUnit("seconds")
+				.tag("ticker", tick.ticker()).tag("provider", tick.source()).register(meterRegistry);
+		return tradeTime;
+	}
+
+	private static double ageSeconds(AtomicReference<Instant> tradeTime) {
+		return Duration.between(tradeTime.get(), Instant.now()).toMillis() / 1000.0;
+	}
+
+	private static Instant later(Instant a, Instant b) {
+		return a.isAfter(b) ? a : b;
+	}
+}
@@ -0,0 +1,22 @@
+package com.kiran.stockapi.stockdata.api.client;
+
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+
+/** {@link QuoteClient} decorator recording {@link UpstreamMetrics} call timers. */
+public class MeteredQuoteClient implements QuoteClient {
+
+	private final QuoteClient delegate;
+	private final UpstreamMetrics upstreamMetrics;
+
+	public MeteredQuoteClient(QuoteClient delegate, UpstreamMetrics upstreamMetrics) {
+		this.delegate = delegate;
+		this.upstreamMetrics = upstreamMetrics;
+	}
+
+	@Override
+	public StockApiResponse getQuote(String symbol, Boolean keyByTicker) {
+		return upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_STOCKDATA, symbol,
+				() -> delegate.getQuote(symbol, keyByTicker));
+	}
+}
@@ -1,11 +1,12 @@
 package com.kiran.stockapi.stockdata.api.client;
 
 import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import com.kiran.stockapi.utils.RestClient;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.QueryParam;
 
-// @RestClient
+@RestClient(baseUrl = "${quote-client.base-url}", providers = QuoteClientRequestFilter.class)
 public interface QuoteClient {
 	@Path("data/quote")
 	@GET
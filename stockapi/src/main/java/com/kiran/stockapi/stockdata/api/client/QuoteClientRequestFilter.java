@@ -1,6 +1,7 @@
 package com.kiran.stockapi.stockdata.api.client;
 
 import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
 import com.kiran.stockapi.stockdata.api.config.QuoteClientProperties;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
@@ -14,9 +15,14 @@ import org.springframework.stereotype.Component;
 public class QuoteClientRequestFilter implements ClientRequestFilter {
 	private final QuoteClientProperties quoteClientProperties;
 	private final SecretManagerService secretManagerService;
+	private final UpstreamMetrics upstreamMetrics;
 
 	@Override
 	public void filter(ClientRequestContext requestContext) {
+		upstreamMetrics.timeFilter(UpstreamMetrics.PROVIDER_STOCKDATA, () -> addApiToken(requestContext));
+	}
+
+	private void addApiToken(ClientRequestContext requestContext) {
 		// Fetch API token from Google Cloud Secret Manager
 		String apiToken = secretManagerService.getSecret(quoteClientProperties.gcpProjectId(),
 				quoteClientProperties.apiTokenSecretId());
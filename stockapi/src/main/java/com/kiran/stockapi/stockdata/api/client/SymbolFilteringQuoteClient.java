@@ -0,0 +1,44 @@
+package com.kiran.stockapi.stockdata.api.client;
+
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.price.symbols.SymbolFilter;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link QuoteClient} decorator leaving symbols stockdata is known not to have
+ * out of the call, and making no call when none are left. A response whose
+ * {@code meta} reports fewer quotes than requested counts a miss against the
+ * missing symbols, which marks them invalid once it is proof enough; see
+ * {@link SymbolFilter}.
+ */
+public class SymbolFilteringQuoteClient implements QuoteClient {
+
+	private final QuoteClient delegate;
+	private final SymbolFilter symbolFilter;
+
+	public SymbolFilteringQuoteClient(QuoteClient delegate, SymbolFilter symbolFilter) {
+		this.delegate = delegate;
+		this.symbolFilter = symbolFilter;
+	}
+
+	@Override
+	public StockApiResponse getQuote(String symbol, Boolean keyByTicker) {
+		List<String> requested = SymbolFilter.split(symbol);
+		List<String> forwarded = symbolFilter.valid(UpstreamMetrics.PROVIDER_STOCKDATA, requested);
+		if (forwarded.isEmpty() && !requested.isEmpty()) {
+			return new StockApiResponse(new Meta(requested.size(), 0), Map.of());
+		}
+		StockApiResponse response = delegate
+				.getQuote(forwarded.size() == requested.size() ? symbol : String.join(",", forwarded), keyByTicker);
+		Meta meta = response == null ? null : response.getMeta();
+		if (meta != null && response.getData() != null && meta.getReturned() < meta.getRequested()) {
+			symbolFilter.confirmMissing(UpstreamMetrics.PROVIDER_STOCKDATA, forwarded,
+					response.getData().values().stream().map(Quote::getTicker).toList());
+		}
+		return response;
+	}
+}
@@ -1,15 +1,19 @@
 package com.kiran.stockapi.stockdata.api.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import com.kiran.stockapi.price.symbols.SymbolFilter;
+import com.kiran.stockapi.stockdata.api.client.MeteredQuoteClient;
 import com.kiran.stockapi.stockdata.api.client.QuoteClient;
-import com.kiran.stockapi.stockdata.api.client.QuoteClientRequestFilter;
-import jakarta.ws.rs.client.ClientBuilder;
+import com.kiran.stockapi.stockdata.api.client.SymbolFilteringQuoteClient;
+import com.kiran.stockapi.stockdata.api.wire.QuoteBinaryHttpMessageConverter;
+import com.kiran.stockapi.utils.RestClientDecorator;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 @Slf4j
 @Configuration
@@ -17,15 +21,30 @@ import org.springframework.context.annotation.Configuration;
 @AllArgsConstructor
 public class StockdataConfig {
 
-	private final QuoteClientProperties quoteClientProperties;
-	private final QuoteClientRequestFilter quoteClientRequestFilter;
-	private final ObjectMapper objectMapper;
+	private final UpstreamMetrics upstreamMetrics;
 
+	/**
+	 * The {@link QuoteClient} bean itself is generated; see {@code @RestClient}.
+	 * Applied first, so only calls that reach the provider are timed.
+	 */
 	@Bean
-	public QuoteClient quoteClient() {
-		var client = ClientBuilder.newBuilder().register(quoteClientRequestFilter).build();
-		var target = client.target(quoteClientProperties.baseUrl());
-		return ((ResteasyWebTarget) target).proxy(QuoteClient.class);
+	@Order(0)
+	public RestClientDecorator<QuoteClient> meteredQuoteClient() {
+		return client -> new MeteredQuoteClient(client, upstreamMetrics);
+	}
+
+	/** Wraps the metered client, so symbols stockdata does not know are dropped before any call. */
+	@Bean
+	@Order(1)
+	@ConditionalOnProperty(name = "symbol-filter.enabled", havingValue = "true")
+	public RestClientDecorator<QuoteClient> symbolFilteringQuoteClient(SymbolFilter symbolFilter) {
+		return client -> new SymbolFilteringQuoteClient(client, symbolFilter);
+	}
+
+	/** Picked up by Spring Boot's message converters; serves {@code application/x-quote-binary}. */
+	@Bean
+	public QuoteBinaryHttpMessageConverter quoteBinaryHttpMessageConverter() {
+		return new QuoteBinaryHttpMessageConverter();
 	}
 
 }
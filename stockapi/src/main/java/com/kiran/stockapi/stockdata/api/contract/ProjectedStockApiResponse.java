@@ -0,0 +1,28 @@
+package com.kiran.stockapi.stockdata.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kiran.stockapi.common.projection.Projection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link StockApiResponse} whose quotes only carry the requested
+ * {@link QuoteField}s; {@code meta} and {@code freshness} are unchanged.
+ */
+public record ProjectedStockApiResponse(@JsonProperty("meta") Meta meta,
+		@JsonProperty("data") Map<String, Projection<Quote>> data,
+		@JsonProperty("freshness") @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, QuoteFreshness> freshness) {
+
+	public static ProjectedStockApiResponse of(StockApiResponse response, Set<QuoteField> fields) {
+		Map<String, Projection<Quote>> data = null;
+		if (response.getData() != null) {
+			data = new LinkedHashMap<>();
+			for (Map.Entry<String, Quote> entry : response.getData().entrySet()) {
+				data.put(entry.getKey(), new Projection<>(entry.getValue(), fields));
+			}
+		}
+		return new ProjectedStockApiResponse(response.getMeta(), data, response.getFreshness());
+	}
+}
@@ -0,0 +1,66 @@
+package com.kiran.stockapi.stockdata.api.contract;
+
+import com.kiran.stockapi.common.projection.ProjectedField;
+import com.kiran.stockapi.common.projection.Projection;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/** The attributes of a {@link Quote}, in declaration order, for {@code fields=} projections. */
+public enum QuoteField implements ProjectedField<Quote> {
+	TICKER("ticker", Quote::getTicker),
+	NAME("name", Quote::getName),
+	EXCHANGE_SHORT("exchange_short", Quote::getExchangeShort),
+	EXCHANGE_LONG("exchange_long", Quote::getExchangeLong),
+	MIC_CODE("mic_code", Quote::getMicCode),
+	CURRENCY("currency", Quote::getCurrency),
+	PRICE("price", Quote::getPrice),
+	DAY_HIGH("day_high", Quote::getDayHigh),
+	DAY_LOW("day_low", Quote::getDayLow),
+	DAY_OPEN("day_open", Quote::getDayOpen),
+	WEEK52_HIGH("52_week_high", Quote::getWeek52High),
+	WEEK52_LOW("52_week_low", Quote::getWeek52Low),
+	MARKET_CAP("market_cap", Quote::getMarketCap),
+	PREVIOUS_CLOSE_PRICE("previous_close_price", Quote::getPreviousClosePrice),
+	PREVIOUS_CLOSE_PRICE_TIME("previous_close_price_time", quote -> format(quote.getPreviousClosePriceTime())),
+	DAY_CHANGE("day_change", Quote::getDayChange),
+	VOLUME("volume", Quote::getVolume),
+	IS_EXTENDED_HOURS_PRICE("is_extended_hours_price", Quote::getIsExtendedHoursPrice),
+	LAST_TRADE_TIME("last_trade_time", quote -> format(quote.getLastTradeTime()));
+
+	/** Every field, as served without {@code fields=}. */
+	public static final Set<QuoteField> ALL = Collections.unmodifiableSet(EnumSet.allOf(QuoteField.class));
+
+	/** As {@link Quote} formats its timestamps. */
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+	private final String jsonName;
+	private final Function<Quote, Object> getter;
+
+	QuoteField(String jsonName, Function<Quote, Object> getter) {
+		this.jsonName = jsonName;
+		this.getter = getter;
+	}
+
+	@Override
+	public String jsonName() {
+		return jsonName;
+	}
+
+	@Override
+	public Object get(Quote quote) {
+		return getter.apply(quote);
+	}
+
+	/** See {@link Projection#parseFields}. */
+	public static Set<QuoteField> parse(String fields) {
+		return Projection.parseFields(fields, QuoteField.class);
+	}
+
+	private static String format(LocalDateTime dateTime) {
+		return dateTime == null ? null : TIMESTAMP.format(dateTime);
+	}
+}
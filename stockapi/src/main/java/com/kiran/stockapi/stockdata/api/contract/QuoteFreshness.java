@@ -0,0 +1,24 @@
+package com.kiran.stockapi.stockdata.api.contract;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * How old a served quote is and where it came from.
+ *
+ * @param source
+ *            {@link #UPSTREAM} when fetched for this request, {@link #CACHE}
+ *            when served from an earlier fetch
+ * @param fetchedAt
+ *            when the quote was received from the provider
+ * @param ageMs
+ *            milliseconds between {@code fetchedAt} and the response
+ * @param stale
+ *            older than the freshness bound; a refresh has been triggered
+ */
+public record QuoteFreshness(@JsonProperty("source") String source, @JsonProperty("fetched_at") Instant fetchedAt,
+		@JsonProperty("age_ms") long ageMs, @JsonProperty("stale") boolean stale) {
+
+	public static final String UPSTREAM = "upstream";
+	public static final String CACHE = "cache";
+}
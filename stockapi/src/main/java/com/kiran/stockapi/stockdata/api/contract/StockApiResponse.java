@@ -1,24 +1,37 @@
 package com.kiran.stockapi.stockdata.api.contract;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
-/** Immutable POJO representing the root response for the stock API. */
+/**
+ * Immutable POJO representing the root response for the stock API.
+ * {@code freshness} is only set on responses served by this application, keyed
+ * like {@code data}.
+ */
 @Getter
 @ToString
 @EqualsAndHashCode
 public final class StockApiResponse {
 	private final Meta meta;
 	private final Map<String, Quote> data;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private final Map<String, QuoteFreshness> freshness;
+
+	public StockApiResponse(Meta meta, Map<String, Quote> data) {
+		this(meta, data, null);
+	}
 
 	@JsonCreator
-	public StockApiResponse(@JsonProperty("meta") Meta meta, @JsonProperty("data") Map<String, Quote> data) {
+	public StockApiResponse(@JsonProperty("meta") Meta meta, @JsonProperty("data") Map<String, Quote> data,
+			@JsonProperty("freshness") Map<String, QuoteFreshness> freshness) {
 		this.meta = meta;
 		this.data = data == null ? null : java.util.Collections.unmodifiableMap(data);
+		this.freshness = freshness == null ? null : java.util.Collections.unmodifiableMap(freshness);
 	}
 
 	// Getters, toString and equals/hashCode generated by Lombok
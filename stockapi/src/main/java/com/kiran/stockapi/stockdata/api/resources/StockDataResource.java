@@ -1,24 +1,61 @@
 package com.kiran.stockapi.stockdata.api.resources;
 
-import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.price.snapshot.QuoteSnapshotService;
+import com.kiran.stockapi.stockdata.api.contract.ProjectedStockApiResponse;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
 import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import com.kiran.stockapi.stockdata.api.wire.QuoteBinaryCodec;
+import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
 public class StockDataResource {
 
-	private final QuoteClient quoteClient;
+	// NVDA,MSFT,AAPL,GOOGL,AMZN,META,TSLA
+	static final List<String> SYMBOLS = List.of("NVDA", "MSFT", "AAPL");
 
-	public StockDataResource(QuoteClient quoteClient) {
-		this.quoteClient = quoteClient;
+	private final QuoteSnapshotService quoteSnapshotService;
+
+	public StockDataResource(QuoteSnapshotService quoteSnapshotService) {
+		this.quoteSnapshotService = quoteSnapshotService;
 	}
 
-	@GetMapping("/quotes") // NVDA,MSFT,AAPL,GOOGL,AMZN,META,TSLA
+	/**
+	 * Latest quotes, served from memory while they are recent enough; see
+	 * {@link QuoteSnapshotService}. {@code freshness} tells the age and origin of
+	 * each quote.
+	 */
+	@GetMapping(path = "/quotes", produces = {MediaType.APPLICATION_JSON_VALUE, QuoteBinaryCodec.MEDIA_TYPE})
 	public StockApiResponse quotes() {
 		log.info("Fetching quotes");
-		return quoteClient.getQuote("NVDA,MSFT,AAPL", true);
+		return quoteSnapshotService.quotes(SYMBOLS);
+	}
+
+	/**
+	 * {@link #quotes()} with each quote reduced to the comma-separated
+	 * attributes in {@code fields}, e.g. {@code ticker,price,last_trade_time}.
+	 * JSON only; binary requests are answered in full.
+	 */
+	@GetMapping(path = "/quotes", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ProjectedStockApiResponse quotes(@RequestParam String fields) {
+		Set<QuoteField> projection = parseFields(fields);
+		log.info("Fetching quotes with fields {}", projection);
+		return ProjectedStockApiResponse.of(quoteSnapshotService.quotes(SYMBOLS), projection);
+	}
+
+	private static Set<QuoteField> parseFields(String fields) {
+		try {
+			return QuoteField.parse(fields);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
 	}
 }
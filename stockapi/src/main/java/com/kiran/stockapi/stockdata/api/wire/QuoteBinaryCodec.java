@@ -0,0 +1,228 @@
+package com.kiran.stockapi.stockdata.api.wire;
+
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteFreshness;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of quotes for internal consumers, negotiated with
+ * {@value #MEDIA_TYPE}. All integers are big-endian.
+ * <p>
+ * A quote starts with a 32-bit presence bitmap (bit {@code i} set when field
+ * {@code i}, in {@link Quote} constructor order, is not null) followed by the
+ * present fields only:
+ * <ul>
+ * <li>strings: unsigned 16-bit byte length, then UTF-8</li>
+ * <li>prices: 64-bit fixed point with 8 decimals ({@value #PRICE_SCALE}, as in
+ * {@code refdata.price}), rounded half-even</li>
+ * <li>market cap: 64-bit whole currency units</li>
+ * <li>timestamps: 64-bit microseconds since the epoch, UTC</li>
+ * <li>volume: 64-bit; extended hours flag: one byte</li>
+ * </ul>
+ * A {@link StockApiResponse} is {@code requested}, {@code returned} (both -1
+ * without meta), the quote count and then each key followed by its quote,
+ * then the freshness count (0 without freshness) and each key followed by
+ * source, fetch time, age in milliseconds and the stale flag.
+ */
+public final class QuoteBinaryCodec {
+
+	public static final String MEDIA_TYPE = "application/x-quote-binary";
+
+	static final int PRICE_SCALE = 8;
+
+	private static final int TICKER = 0;
+	private static final int NAME = 1;
+	private static final int EXCHANGE_SHORT = 2;
+	private static final int EXCHANGE_LONG = 3;
+	private static final int MIC_CODE = 4;
+	private static final int CURRENCY = 5;
+	private static final int PRICE = 6;
+	private static final int DAY_HIGH = 7;
+	private static final int DAY_LOW = 8;
+	private static final int DAY_OPEN = 9;
+	private static final int WEEK52_HIGH = 10;
+	private static final int WEEK52_LOW = 11;
+	private static final int MARKET_CAP = 12;
+	private static final int PREVIOUS_CLOSE_PRICE = 13;
+	private static final int PREVIOUS_CLOSE_PRICE_TIME = 14;
+	private static final int DAY_CHANGE = 15;
+	private static final int VOLUME = 16;
+	private static final int IS_EXTENDED_HOURS_PRICE = 17;
+	private static final int LAST_TRADE_TIME = 18;
+
+	private QuoteBinaryCodec() {
+	}
+
+	public static void writeResponse(StockApiResponse response, DataOutput out) throws IOException {
+		Meta meta = response.getMeta();
+		out.writeInt(meta == null ? -1 : meta.getRequested());
+		out.writeInt(meta == null ? -1 : meta.getReturned());
+		Map<String, Quote> data = response.getData() == null ? Map.of() : response.getData();
+		out.writeInt(data.size());
+		for (Map.Entry<String, Quote> entry : data.entrySet()) {
+			writeString(entry.getKey(), out);
+			writeQuote(entry.getValue(), out);
+		}
+		Map<String, QuoteFreshness> freshness = response.getFreshness() == null ? Map.of() : response.getFreshness();
+		out.writeInt(freshness.size());
+		for (Map.Entry<String, QuoteFreshness> entry : freshness.entrySet()) {
+			writeString(entry.getKey(), out);
+			writeString(entry.getValue().source(), out);
+			out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, entry.getValue().fetchedAt()));
+			out.writeLong(entry.getValue().ageMs());
+			out.writeBoolean(entry.getValue().stale());
+		}
+	}
+
+	public static StockApiResponse readResponse(DataInput in) throws IOException {
+		int requested = in.readInt();
+		int returned = in.readInt();
+		int count = in.readInt();
+		Map<String, Quote> data = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			data.put(readString(in), readQuote(in));
+		}
+		int freshnessCount = in.readInt();
+		Map<String, QuoteFreshness> freshness = freshnessCount == 0 ? null : new LinkedHashMap<>();
+		for (int i = 0; i < freshnessCount; i++) {
+			freshness.put(readString(in), new QuoteFreshness(readString(in),
+					Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS), in.readLong(), in.readBoolean()));
+		}
+		return new StockApiResponse(requested < 0 ? null : new Meta(requested, returned), data, freshness);
+	}
+
+	public static void writeQuote(Quote quote, DataOutput out) throws IOException {
+		int presence = bit(quote.getTicker(), TICKER) | bit(quote.getName(), NAME)
+				| bit(quote.getExchangeShort(), EXCHANGE_SHORT) | bit(quote.getExchangeLong(), EXCHANGE_LONG)
+				| bit(quote.getMicCode(), MIC_CODE) | bit(quote.getCurrency(), CURRENCY) | bit(quote.getPrice(), PRICE)
+				| bit(quote.getDayHigh(), DAY_HIGH) | bit(quote.getDayLow(), DAY_LOW) | bit(quote.getDayOpen(), DAY_OPEN)
+				| bit(quote.getWeek52High(), WEEK52_HIGH) | bit(quote.getWeek52Low(), WEEK52_LOW)
+				| bit(quote.getMarketCap(), MARKET_CAP) | bit(quote.getPreviousClosePrice(), PREVIOUS_CLOSE_PRICE)
+				| bit(quote.getPreviousClosePriceTime(), PREVIOUS_CLOSE_PRICE_TIME)
+				| bit(quote.getDayChange(), DAY_CHANGE) | bit(quote.getVolume(), VOLUME)
+				| bit(quote.getIsExtendedHoursPrice(), IS_EXTENDED_HOURS_PRICE)
+				| bit(quote.getLastTradeTime(), LAST_TRADE_TIME);
+		out.writeInt(presence);
+		writeOptional(quote.getTicker(), out);
+		writeOptional(quote.getName(), out);
+		writeOptional(quote.getExchangeShort(), out);
+		writeOptional(quote.getExchangeLong(), out);
+		writeOptional(quote.getMicCode(), out);
+		writeOptional(quote.getCurrency(), out);
+		writeDecimal(quote.getPrice(), PRICE_SCALE, out);
+		writeDecimal(quote.getDayHigh(), PRICE_SCALE, out);
+		writeDecimal(quote.getDayLow(), PRICE_SCALE, out);
+		writeDecimal(quote.getDayOpen(), PRICE_SCALE, out);
+		writeDecimal(quote.getWeek52High(), PRICE_SCALE, out);
+		writeDecimal(quote.getWeek52Low(), PRICE_SCALE, out);
+		writeDecimal(quote.getMarketCap(), 0, out);
+		writeDecimal(quote.getPreviousClosePrice(), PRICE_SCALE, out);
+		writeTime(quote.getPreviousClosePriceTime(), out);
+		writeDecimal(quote.getDayChange(), PRICE_SCALE, out);
+		if (quote.getVolume() != null) {
+			out.writeLong(quote.getVolume());
+		}
+		if (quote.getIsExtendedHoursPrice() != null) {
+			out.writeBoolean(quote.getIsExtendedHoursPrice());
+		}
+		writeTime(quote.getLastTradeTime(), out);
+	}
+
+	public static Quote readQuote(DataInput in) throws IOException {
+		int presence = in.readInt();
+		return new Quote(string(presence, TICKER, in), string(presence, NAME, in),
+				string(presence, EXCHANGE_SHORT, in), string(presence, EXCHANGE_LONG, in),
+				string(presence, MIC_CODE, in), string(presence, CURRENCY, in),
+				decimal(presence, PRICE, PRICE_SCALE, in), decimal(presence, DAY_HIGH, PRICE_SCALE, in),
+				decimal(presence, DAY_LOW, PRICE_SCALE, in), decimal(presence, DAY_OPEN, PRICE_SCALE, in),
+				decimal(presence, WEEK52_HIGH, PRICE_SCALE, in), decimal(presence, WEEK52_LOW, PRICE_SCALE, in),
+				decimal(presence, MARKET_CAP, 0, in), decimal(presence, PREVIOUS_CLOSE_PRICE, PRICE_SCALE, in),
+				time(presence, PREVIOUS_CLOSE_PRICE_TIME, in), decimal(presence, DAY_CHANGE, PRICE_SCALE, in),
+				present(presence, VOLUME) ? in.readLong() : null,
+				present(presence, IS_EXTENDED_HOURS_PRICE) ? in.readBoolean() : null,
+				time(presence, LAST_TRADE_TIME, in));
+	}
+
+	public static void writeString(String value, DataOutput out) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > 0xFFFF) {
+			throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to encode");
+		}
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	public static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readUnsignedShort()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static long fixedPoint(BigDecimal value, int scale) {
+		try {
+			return value.setScale(scale, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException(value + " does not fit a 64-bit fixed-point value", e);
+		}
+	}
+
+	static long epochMicros(LocalDateTime time) {
+		return ChronoUnit.MICROS.between(Instant.EPOCH, time.toInstant(ZoneOffset.UTC));
+	}
+
+	static LocalDateTime fromEpochMicros(long micros) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+				(int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+	}
+
+	private static int bit(Object value, int field) {
+		return value == null ? 0 : 1 << field;
+	}
+
+	private static void writeOptional(String value, DataOutput out) throws IOException {
+		if (value != null) {
+			writeString(value, out);
+		}
+	}
+
+	private static void writeDecimal(BigDecimal value, int scale, DataOutput out) throws IOException {
+		if (value != null) {
+			out.writeLong(fixedPoint(value, scale));
+		}
+	}
+
+	private static void writeTime(LocalDateTime value, DataOutput out) throws IOException {
+		if (value != null) {
+			out.writeLong(epochMicros(value));
+		}
+	}
+
+	private static boolean present(int presence, int field) {
+		return (presence & (1 << field)) != 0;
+	}
+
+	private static String string(int presence, int field, DataInput in) throws IOException {
+		return present(presence, field) ? readString(in) : null;
+	}
+
+	private static BigDecimal decimal(int presence, int field, int scale, DataInput in) throws IOException {
+		return present(presence, field) ? BigDecimal.valueOf(in.readLong(), scale) : null;
+	}
+
+	private static LocalDateTime time(int presence, int field, DataInput in) throws IOException {
+		return present(presence, field) ? fromEpochMicros(in.readLong()) : null;
+	}
+}
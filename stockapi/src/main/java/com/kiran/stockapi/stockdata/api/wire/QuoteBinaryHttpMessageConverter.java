@@ -0,0 +1,48 @@
+package com.kiran.stockapi.stockdata.api.wire;
+
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+/**
+ * Reads and writes {@link StockApiResponse} in the {@link QuoteBinaryCodec}
+ * format. Only used when {@value QuoteBinaryCodec#MEDIA_TYPE} is requested
+ * explicitly, so JSON stays the default for {@code Accept: *}{@code /*}.
+ */
+public class QuoteBinaryHttpMessageConverter extends AbstractHttpMessageConverter<StockApiResponse> {
+
+	public static final MediaType QUOTE_BINARY = MediaType.parseMediaType(QuoteBinaryCodec.MEDIA_TYPE);
+
+	public QuoteBinaryHttpMessageConverter() {
+		super(QUOTE_BINARY);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return StockApiResponse.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	protected boolean canWrite(MediaType mediaType) {
+		return mediaType != null && !mediaType.isWildcardType() && super.canWrite(mediaType);
+	}
+
+	@Override
+	protected StockApiResponse readInternal(Class<? extends StockApiResponse> clazz, HttpInputMessage inputMessage)
+			throws IOException {
+		return QuoteBinaryCodec.readResponse(new DataInputStream(inputMessage.getBody()));
+	}
+
+	@Override
+	protected void writeInternal(StockApiResponse response, HttpOutputMessage outputMessage) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+		QuoteBinaryCodec.writeResponse(response, out);
+		out.flush();
+	}
+}
@@ -5,7 +5,21 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks a JAX-RS client interface. The {@code restclient-processor} annotation
+ * processor generates its implementation at build time, and
+ * {@link RestClientRegistrar} registers it as a bean named after the interface.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface RestClient {
+
+	/** Base URL of the upstream API; property placeholders are resolved. */
+	String baseUrl();
+
+	/**
+	 * JAX-RS providers (request filters, readers, ...) registered on the client,
+	 * looked up as beans.
+	 */
+	Class<?>[] providers() default {};
 }
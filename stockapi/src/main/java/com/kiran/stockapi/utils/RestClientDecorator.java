@@ -0,0 +1,15 @@
+package com.kiran.stockapi.utils;
+
+/**
+ * Wraps a generated {@link RestClient} before it is exposed as a bean, e.g. to
+ * add metrics. Declare it as a bean typed with the client interface; decorators
+ * are applied in {@link org.springframework.core.annotation.Order} order.
+ *
+ * @param <T>
+ *            the client interface
+ */
+@FunctionalInterface
+public interface RestClientDecorator<T> {
+
+	T decorate(T client);
+}
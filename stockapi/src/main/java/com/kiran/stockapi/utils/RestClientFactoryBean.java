@@ -0,0 +1,83 @@
+package com.kiran.stockapi.utils;
+
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.WebTarget;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Creates a {@link RestClient} from its generated proxy: builds the JAX-RS
+ * client with the configured providers and a pool of
+ * {@code rest-client.connection-pool-size} connections, points it at the base
+ * URL and applies any {@link RestClientDecorator}s for the interface.
+ *
+ * @param <T>
+ *            the client interface
+ */
+public class RestClientFactoryBean<T> implements FactoryBean<T>, BeanFactoryAware, EnvironmentAware {
+
+	static final String POOL_SIZE_PROPERTY = "rest-client.connection-pool-size";
+	static final int DEFAULT_POOL_SIZE = 20;
+
+	private final Class<T> clientType;
+	private final Class<? extends T> proxyType;
+	private BeanFactory beanFactory;
+	private Environment environment;
+
+	public RestClientFactoryBean(Class<T> clientType, Class<? extends T> proxyType) {
+		this.clientType = clientType;
+		this.proxyType = proxyType;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
+	@Override
+	public T getObject() {
+		RestClient restClient = AnnotationUtils.findAnnotation(clientType, RestClient.class);
+		if (restClient == null) {
+			throw new IllegalStateException(clientType.getName() + " is not annotated with @RestClient");
+		}
+		ClientBuilder builder = ClientBuilder.newBuilder();
+		if (builder instanceof ResteasyClientBuilder resteasy) {
+			// Without a pool Resteasy keeps a single connection, which concurrent calls cannot share
+			int poolSize = environment.getProperty(POOL_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_SIZE);
+			resteasy.connectionPoolSize(poolSize).maxPooledPerRoute(poolSize);
+		}
+		for (Class<?> provider : restClient.providers()) {
+			builder.register(beanFactory.getBean(provider));
+		}
+		WebTarget target = builder.build().target(environment.resolveRequiredPlaceholders(restClient.baseUrl()));
+		beanFactory.getBeanProvider(RestClientTargets.class).ifAvailable(targets -> targets.register(clientType, target));
+		T client = BeanUtils.instantiateClass(ClassUtils.getConstructorIfAvailable(proxyType, WebTarget.class),
+				target);
+
+		ObjectProvider<RestClientDecorator<T>> decorators = beanFactory
+				.getBeanProvider(ResolvableType.forClassWithGenerics(RestClientDecorator.class, clientType));
+		for (RestClientDecorator<T> decorator : decorators.orderedStream().toList()) {
+			client = decorator.decorate(client);
+		}
+		return client;
+	}
+
+	@Override
+	public Class<T> getObjectType() {
+		return clientType;
+	}
+}
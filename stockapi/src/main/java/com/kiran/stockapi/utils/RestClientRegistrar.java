@@ -0,0 +1,59 @@
+package com.kiran.stockapi.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Registers a bean for every {@link RestClient} listed in the index written by
+ * the annotation processor, so no classpath scanning is needed. Beans are named
+ * after the interface, e.g. {@code quoteClient}.
+ */
+@Slf4j
+public class RestClientRegistrar implements ImportBeanDefinitionRegistrar, BeanClassLoaderAware {
+
+	/** Written by {@code RestClientProcessor}: {@code interface=proxy}. */
+	static final String INDEX = "META-INF/rest-clients.index";
+
+	private ClassLoader classLoader;
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+		Properties index = loadIndex();
+		for (String clientName : index.stringPropertyNames()) {
+			Class<?> clientType = ClassUtils.resolveClassName(clientName, classLoader);
+			Class<?> proxyType = ClassUtils.resolveClassName(index.getProperty(clientName), classLoader);
+
+			RootBeanDefinition definition = new RootBeanDefinition(RestClientFactoryBean.class);
+			definition.setTargetType(ResolvableType.forClassWithGenerics(RestClientFactoryBean.class, clientType));
+			definition.getConstructorArgumentValues().addIndexedArgumentValue(0, clientType);
+			definition.getConstructorArgumentValues().addIndexedArgumentValue(1, proxyType);
+			String beanName = StringUtils.uncapitalize(clientType.getSimpleName());
+			registry.registerBeanDefinition(beanName, definition);
+			log.info("Registered rest client {} ({})", beanName, proxyType.getName());
+		}
+	}
+
+	private Properties loadIndex() {
+		try {
+			return PropertiesLoaderUtils.loadAllProperties(INDEX, classLoader);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to load " + INDEX, e);
+		}
+	}
+}
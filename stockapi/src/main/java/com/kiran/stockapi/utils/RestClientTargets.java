@@ -0,0 +1,24 @@
+package com.kiran.stockapi.utils;
+
+import jakarta.ws.rs.client.WebTarget;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The base {@link WebTarget} of every {@link RestClient} created so far, keyed
+ * by client interface. Requests sent through these targets share the
+ * client's connection pool and request filters, e.g. to open connections
+ * ahead of the first real call.
+ */
+public class RestClientTargets {
+
+	private final Map<Class<?>, WebTarget> targets = new ConcurrentHashMap<>();
+
+	void register(Class<?> clientType, WebTarget target) {
+		targets.put(clientType, target);
+	}
+
+	public Map<Class<?>, WebTarget> all() {
+		return Map.copyOf(targets);
+	}
+}
@@ -0,0 +1,29 @@
+-- OHLCV bars rolled up from raw price pulls, one list partition per resolution
+CREATE TABLE IF NOT EXISTS refdata.price_bar (
+    ticker VARCHAR(32) NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    resolution VARCHAR(8) NOT NULL,
+    bar_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    open NUMERIC(34, 8) NOT NULL,
+    high NUMERIC(34, 8) NOT NULL,
+    low NUMERIC(34, 8) NOT NULL,
+    close NUMERIC(34, 8) NOT NULL,
+    volume BIGINT NOT NULL DEFAULT 0,
+    tick_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (resolution, ticker, source, bar_start)
+) PARTITION BY LIST (resolution);
+
+CREATE TABLE IF NOT EXISTS refdata.price_bar_1m PARTITION OF refdata.price_bar FOR VALUES IN ('1m');
+CREATE TABLE IF NOT EXISTS refdata.price_bar_5m PARTITION OF refdata.price_bar FOR VALUES IN ('5m');
+CREATE TABLE IF NOT EXISTS refdata.price_bar_1h PARTITION OF refdata.price_bar FOR VALUES IN ('1h');
+CREATE TABLE IF NOT EXISTS refdata.price_bar_1d PARTITION OF refdata.price_bar FOR VALUES IN ('1d');
+
+-- High-water mark of the history catch-up job per resolution
+CREATE TABLE IF NOT EXISTS refdata.price_bar_checkpoint (
+    resolution VARCHAR(8) PRIMARY KEY,
+    aggregated_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Supports the catch-up scan over raw pulls, which buckets by trade time
+CREATE INDEX IF NOT EXISTS price_event_time_idx ON refdata.price ((coalesce(last_trade_time, pulled_at)));
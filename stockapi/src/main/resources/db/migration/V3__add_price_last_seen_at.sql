@@ -0,0 +1,5 @@
+-- Unchanged quotes are not re-inserted; last_seen_at records when the row's values were last observed
+ALTER TABLE refdata.price ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP WITH TIME ZONE;
+
+-- Latest row per ticker lookups by the write path
+CREATE INDEX IF NOT EXISTS price_ticker_source_pulled_at_idx ON refdata.price (ticker, source, pulled_at DESC);
@@ -0,0 +1,18 @@
+-- User price alerts; active alerts (not yet triggered) are indexed in memory by the alert engine
+CREATE TABLE IF NOT EXISTS refdata.price_alert (
+    id BIGSERIAL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    ticker VARCHAR(32) NOT NULL,
+    field VARCHAR(16) NOT NULL,
+    direction VARCHAR(8) NOT NULL,
+    threshold NUMERIC(34, 8) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    triggered_at TIMESTAMP WITH TIME ZONE,
+    triggered_value NUMERIC(34, 8)
+);
+
+-- Start-up load of active alerts and listing per owner
+/* [jooq ignore start] */
+CREATE INDEX IF NOT EXISTS price_alert_active_idx ON refdata.price_alert (ticker) WHERE triggered_at IS NULL;
+/* [jooq ignore stop] */
+CREATE INDEX IF NOT EXISTS price_alert_owner_idx ON refdata.price_alert (owner, created_at);
@@ -0,0 +1,17 @@
+-- Portfolios and their positions, valued in memory from the incoming ticks
+CREATE TABLE IF NOT EXISTS refdata.portfolio (
+    id BIGSERIAL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS portfolio_owner_idx ON refdata.portfolio (owner);
+
+CREATE TABLE IF NOT EXISTS refdata.portfolio_position (
+    portfolio_id BIGINT NOT NULL REFERENCES refdata.portfolio (id) ON DELETE CASCADE,
+    ticker VARCHAR(32) NOT NULL,
+    quantity NUMERIC(34, 8) NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (portfolio_id, ticker)
+);
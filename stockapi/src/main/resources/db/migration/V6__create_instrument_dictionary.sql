@@ -0,0 +1,46 @@
+-- Reference data repeated on every price row moves into a dictionary of instruments; price rows keep its id
+CREATE TABLE IF NOT EXISTS refdata.instrument (
+    id SERIAL PRIMARY KEY,
+    ticker VARCHAR(32),
+    name VARCHAR(255),
+    exchange_short VARCHAR(128),
+    exchange_long VARCHAR(255),
+    mic_code VARCHAR(64),
+    currency VARCHAR(8)
+);
+
+-- One row per distinct combination; providers leave fields empty, so nulls compare equal
+/* [jooq ignore start] */
+CREATE UNIQUE INDEX IF NOT EXISTS instrument_attributes_key
+    ON refdata.instrument (ticker, name, exchange_short, exchange_long, mic_code, currency) NULLS NOT DISTINCT;
+/* [jooq ignore stop] */
+CREATE INDEX IF NOT EXISTS instrument_ticker_idx ON refdata.instrument (ticker);
+
+ALTER TABLE refdata.price ADD COLUMN IF NOT EXISTS instrument_id INTEGER REFERENCES refdata.instrument (id);
+
+/* [jooq ignore start] */
+INSERT INTO refdata.instrument (ticker, name, exchange_short, exchange_long, mic_code, currency)
+SELECT DISTINCT ticker, name, exchange_short, exchange_long, mic_code, currency FROM refdata.price
+ON CONFLICT DO NOTHING;
+
+UPDATE refdata.price p
+SET instrument_id = i.id
+FROM refdata.instrument i
+WHERE i.ticker IS NOT DISTINCT FROM p.ticker AND i.name IS NOT DISTINCT FROM p.name
+  AND i.exchange_short IS NOT DISTINCT FROM p.exchange_short AND i.exchange_long IS NOT DISTINCT FROM p.exchange_long
+  AND i.mic_code IS NOT DISTINCT FROM p.mic_code AND i.currency IS NOT DISTINCT FROM p.currency;
+/* [jooq ignore stop] */
+
+ALTER TABLE refdata.price ALTER COLUMN instrument_id SET NOT NULL;
+
+DROP INDEX IF EXISTS refdata.price_ticker_source_pulled_at_idx;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS ticker;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS name;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS exchange_short;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS exchange_long;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS mic_code;
+ALTER TABLE refdata.price DROP COLUMN IF EXISTS currency;
+
+-- Latest row per instrument lookups by the write path
+CREATE INDEX IF NOT EXISTS price_instrument_source_pulled_at_idx
+    ON refdata.price (instrument_id, source, pulled_at DESC);
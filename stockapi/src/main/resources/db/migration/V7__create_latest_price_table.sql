@@ -0,0 +1,32 @@
+-- Current quote per ticker and source, upserted together with the history rows
+CREATE TABLE IF NOT EXISTS refdata.latest_price (
+    ticker VARCHAR(32) NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    instrument_id INTEGER NOT NULL REFERENCES refdata.instrument (id),
+    price NUMERIC(34, 8),
+    day_high NUMERIC(34, 8),
+    day_low NUMERIC(34, 8),
+    day_open NUMERIC(34, 8),
+    week52_high NUMERIC(34, 8),
+    week52_low NUMERIC(34, 8),
+    market_cap NUMERIC(34, 8),
+    previous_close_price NUMERIC(34, 8),
+    previous_close_price_time TIMESTAMP WITH TIME ZONE,
+    day_change NUMERIC(34, 8),
+    volume BIGINT,
+    is_extended_hours_price BOOLEAN,
+    last_trade_time TIMESTAMP WITH TIME ZONE,
+    pulled_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (ticker, source)
+);
+
+/* [jooq ignore start] */
+INSERT INTO refdata.latest_price
+SELECT DISTINCT ON (i.ticker, p.source) i.ticker, p.source, p.instrument_id, p.price, p.day_high, p.day_low,
+       p.day_open, p.week52_high, p.week52_low, p.market_cap, p.previous_close_price, p.previous_close_price_time,
+       p.day_change, p.volume, p.is_extended_hours_price, p.last_trade_time, p.pulled_at
+FROM refdata.price p
+JOIN refdata.instrument i ON i.id = p.instrument_id
+WHERE i.ticker IS NOT NULL
+ORDER BY i.ticker, p.source, coalesce(p.last_trade_time, p.pulled_at) DESC, p.id DESC;
+/* [jooq ignore stop] */
@@ -0,0 +1,23 @@
+-- Checkpoints of bulk imports into refdata.price: one row per version of an
+-- imported file, one per chunk of it that has been loaded
+CREATE TABLE IF NOT EXISTS refdata.backfill_file (
+    id SERIAL PRIMARY KEY,
+    path VARCHAR(1024) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    modified_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    chunks INTEGER NOT NULL,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT backfill_file_version_key UNIQUE (path, size_bytes, modified_at, chunk_size, source)
+);
+
+CREATE TABLE IF NOT EXISTS refdata.backfill_chunk (
+    file_id INTEGER NOT NULL REFERENCES refdata.backfill_file (id) ON DELETE CASCADE,
+    chunk_index INTEGER NOT NULL,
+    row_count INTEGER NOT NULL,
+    rejected_count INTEGER NOT NULL,
+    loaded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (file_id, chunk_index)
+);
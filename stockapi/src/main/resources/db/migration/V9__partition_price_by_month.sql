@@ -0,0 +1,49 @@
+-- refdata.price becomes range partitioned by the UTC month of pulled_at, so whole months can be archived
+-- and dropped. Rows of months without a partition land in price_default until the archiver creates one.
+-- The generated jOOQ classes keep seeing the plain table; partitioning does not change the columns.
+/* [jooq ignore start] */
+DROP INDEX IF EXISTS refdata.price_instrument_source_pulled_at_idx;
+DROP INDEX IF EXISTS refdata.price_event_time_idx;
+ALTER TABLE refdata.price DROP CONSTRAINT price_pkey;
+ALTER TABLE refdata.price RENAME TO price_unpartitioned;
+
+CREATE TABLE refdata.price (LIKE refdata.price_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (pulled_at);
+ALTER TABLE refdata.price ADD PRIMARY KEY (id, pulled_at);
+ALTER TABLE refdata.price ADD FOREIGN KEY (instrument_id) REFERENCES refdata.instrument (id);
+ALTER SEQUENCE refdata.price_id_seq OWNED BY refdata.price.id;
+
+CREATE TABLE refdata.price_default PARTITION OF refdata.price DEFAULT;
+
+DO $$
+DECLARE
+    bound TIMESTAMP := date_trunc('month', coalesce(
+        (SELECT min(pulled_at) FROM refdata.price_unpartitioned), now()) AT TIME ZONE 'UTC');
+BEGIN
+    WHILE bound <= date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '2 months' LOOP
+        EXECUTE format('CREATE TABLE refdata.%I PARTITION OF refdata.price FOR VALUES FROM (%L) TO (%L)',
+            to_char(bound, '"price_y"YYYY"m"MM'), bound AT TIME ZONE 'UTC',
+            (bound + INTERVAL '1 month') AT TIME ZONE 'UTC');
+        bound := bound + INTERVAL '1 month';
+    END LOOP;
+END
+$$;
+
+INSERT INTO refdata.price SELECT * FROM refdata.price_unpartitioned;
+DROP TABLE refdata.price_unpartitioned;
+
+CREATE INDEX price_instrument_source_pulled_at_idx ON refdata.price (instrument_id, source, pulled_at DESC);
+CREATE INDEX price_event_time_idx ON refdata.price ((coalesce(last_trade_time, pulled_at)));
+/* [jooq ignore stop] */
+
+-- Months moved out of refdata.price into columnar files below price-archive.directory
+CREATE TABLE IF NOT EXISTS refdata.price_archive (
+    id SERIAL PRIMARY KEY,
+    partition_name VARCHAR(63) NOT NULL,
+    range_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    range_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    path VARCHAR(1024) NOT NULL,
+    row_count BIGINT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS price_archive_range_idx ON refdata.price_archive (range_start);
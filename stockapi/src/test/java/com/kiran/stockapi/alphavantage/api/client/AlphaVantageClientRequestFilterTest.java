@@ -10,6 +10,8 @@ import static org.mockito.Mockito.when;
 
 import com.kiran.stockapi.alphavantage.api.config.AlphaVantageClientProperties;
 import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.common.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.core.UriBuilder;
 import java.net.URI;
@@ -30,7 +32,8 @@ class AlphaVantageClientRequestFilterTest {
 				"https://www.alphavantage.co",
 				"test-project",
 				"alpha_vantage_access_key");
-		filter = new AlphaVantageClientRequestFilter(properties, secretManagerService);
+		filter = new AlphaVantageClientRequestFilter(properties, secretManagerService,
+				new UpstreamMetrics(new SimpleMeterRegistry()));
 		requestContext = mock(ClientRequestContext.class);
 	}
 
@@ -0,0 +1,41 @@
+package com.kiran.stockapi.alphavantage.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.kiran.stockapi.alphavantage.api.config.AlphaVantageQuotaProperties;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AlphaVantageQuotaTest {
+
+	@Test
+	void testCallBeyondMaxWaitIsRefusedWithoutUsingTheBudget() throws InterruptedException {
+		// Arrange
+		AlphaVantageQuota quota = new AlphaVantageQuota(new AlphaVantageQuotaProperties(1, 2));
+
+		// Act
+		boolean first = quota.acquire(Duration.ZERO);
+		boolean tooSoon = quota.acquire(Duration.ofSeconds(1));
+
+		// Assert
+		assertTrue(first);
+		assertFalse(tooSoon);
+	}
+
+	@Test
+	void testDailyBudgetIsShared() throws InterruptedException {
+		// Arrange
+		AlphaVantageQuota quota = new AlphaVantageQuota(new AlphaVantageQuotaProperties(60_000, 2));
+
+		// Act
+		boolean first = quota.acquire();
+		boolean second = quota.acquire(Duration.ofSeconds(1));
+		boolean third = quota.acquire();
+
+		// Assert
+		assertTrue(first);
+		assertTrue(second);
+		assertFalse(third);
+	}
+}
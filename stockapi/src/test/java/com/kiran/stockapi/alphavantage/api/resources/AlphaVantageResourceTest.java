@@ -2,28 +2,42 @@ package com.kiran.stockapi.alphavantage.api.resources;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageQuota;
 import com.kiran.stockapi.alphavantage.api.contract.RealtimeBulkQuotesResponse;
 import com.kiran.stockapi.alphavantage.api.contract.StockQuote;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 class AlphaVantageResourceTest {
 
 	private AlphaVantageResource resource;
 	private AlphaVantageClient alphaVantageClient;
+	private AlphaVantageQuota alphaVantageQuota;
+	private PriceTickPublisher priceTickPublisher;
 
 	@BeforeEach
-	void setUp() {
+	void setUp() throws InterruptedException {
 		alphaVantageClient = mock(AlphaVantageClient.class);
-		resource = new AlphaVantageResource(alphaVantageClient);
+		alphaVantageQuota = mock(AlphaVantageQuota.class);
+		when(alphaVantageQuota.acquire(any(Duration.class))).thenReturn(true);
+		priceTickPublisher = mock(PriceTickPublisher.class);
+		resource = new AlphaVantageResource(alphaVantageClient, alphaVantageQuota, priceTickPublisher);
 	}
 
 	@Test
@@ -68,6 +82,7 @@ class AlphaVantageResourceTest {
 		assertEquals("Success", actualResponse.getMessage());
 		assertEquals(2, actualResponse.getData().size());
 		verify(alphaVantageClient).getRealtimeBulkQuotes("REALTIME_BULK_QUOTES", symbols);
+		verify(priceTickPublisher).publishAlphaVantage(expectedResponse);
 	}
 
 	@Test
@@ -90,5 +105,19 @@ class AlphaVantageResourceTest {
 		assertNotNull(actualResponse);
 		verify(alphaVantageClient).getRealtimeBulkQuotes("REALTIME_BULK_QUOTES", defaultSymbols);
 	}
+
+	@Test
+	void testNoCallLeftInTheQuotaIsTooManyRequests() throws InterruptedException {
+		// Arrange
+		when(alphaVantageQuota.acquire(any(Duration.class))).thenReturn(false);
+
+		// Act
+		ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+				() -> resource.getRealtimeBulkQuotes("AAPL"));
+
+		// Assert
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, thrown.getStatusCode());
+		verify(alphaVantageClient, never()).getRealtimeBulkQuotes(anyString(), anyString());
+	}
 }
 
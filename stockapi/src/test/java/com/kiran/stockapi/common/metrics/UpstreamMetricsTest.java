@@ -0,0 +1,74 @@
+package com.kiran.stockapi.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.ServerErrorException;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamMetricsTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private UpstreamMetrics upstreamMetrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		upstreamMetrics = new UpstreamMetrics(meterRegistry);
+	}
+
+	@Test
+	void testTimeCallTagsSuccess() {
+		// Act
+		String result = upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_STOCKDATA, "AAPL,MSFT", () -> "ok");
+
+		// Assert
+		assertEquals("ok", result);
+		assertEquals(1, meterRegistry.get(UpstreamMetrics.CALLS).tag("provider", "stockdata")
+				.tag("outcome", "success").tag("batch_size", "2-10").timer().count());
+	}
+
+	@Test
+	void testTimeCallTagsServerError() {
+		// Act
+		assertThrows(ServerErrorException.class, () -> upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_ALPHAVANTAGE,
+				"AAPL", () -> {
+					throw new ServerErrorException(503);
+				}));
+
+		// Assert
+		assertNotNull(meterRegistry.get(UpstreamMetrics.CALLS).tag("provider", "alphavantage")
+				.tag("outcome", "server_error").tag("batch_size", "1").timer());
+	}
+
+	@Test
+	void testTimeCallTagsIoError() {
+		// Act
+		assertThrows(ProcessingException.class, () -> upstreamMetrics.timeCall(UpstreamMetrics.PROVIDER_STOCKDATA,
+				"AAPL", () -> {
+					throw new ProcessingException("connection reset");
+				}));
+
+		// Assert
+		assertNotNull(meterRegistry.get(UpstreamMetrics.CALLS).tag("outcome", "io_error").timer());
+	}
+
+	@Test
+	void testBatchSizeBuckets() {
+		assertEquals("0", UpstreamMetrics.batchSize(null));
+		assertEquals("1", UpstreamMetrics.batchSize("AAPL"));
+		assertEquals("2-10", UpstreamMetrics.batchSize("AAPL,MSFT,GOOG"));
+		assertEquals("11-50", UpstreamMetrics.batchSize(symbols(11)));
+		assertEquals("51-100", UpstreamMetrics.batchSize(symbols(100)));
+		assertEquals("100+", UpstreamMetrics.batchSize(symbols(101)));
+	}
+
+	private static String symbols(int count) {
+		return String.join(",", Collections.nCopies(count, "AAPL"));
+	}
+}
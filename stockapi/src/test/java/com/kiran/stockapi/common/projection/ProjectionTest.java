@@ -0,0 +1,75 @@
+package com.kiran.stockapi.common.projection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuote;
+import com.kiran.stockapi.alphavantage.api.contract.StockQuoteField;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteField;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+class ProjectionTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+	@Test
+	void testAllFieldsSerialiseLikeTheQuote() throws IOException {
+		// Arrange
+		Quote quote = quote();
+
+		// Act
+		String projected = objectMapper.writeValueAsString(new Projection<>(quote, QuoteField.ALL));
+
+		// Assert
+		assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(quote)), objectMapper.readTree(projected));
+	}
+
+	@Test
+	void testOnlyRequestedFieldsAreWritten() throws IOException {
+		// Arrange
+		Quote quote = quote();
+
+		// Act
+		String projected = objectMapper
+				.writeValueAsString(new Projection<>(quote, QuoteField.parse(" last_trade_time,TICKER,price,")));
+
+		// Assert
+		assertEquals("{\"ticker\":\"AAPL\",\"price\":231.45,\"last_trade_time\":\"2025-01-02T15:30:00.000000\"}",
+				projected);
+	}
+
+	@Test
+	void testStockQuoteFieldsAreProjected() throws IOException {
+		// Arrange
+		StockQuote quote = StockQuote.builder().symbol("IBM").close(new BigDecimal("250.10"))
+				.extendedHoursQuote("250.5").build();
+
+		// Act
+		String projected = objectMapper.writeValueAsString(
+				new Projection<>(quote, EnumSet.of(StockQuoteField.CLOSE, StockQuoteField.SYMBOL)));
+
+		// Assert
+		assertEquals("{\"symbol\":\"IBM\",\"close\":250.10}", projected);
+	}
+
+	@Test
+	void testUnknownFieldIsRejected() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> QuoteField.parse("ticker,bid"));
+		assertThrows(IllegalArgumentException.class, () -> QuoteField.parse(" , "));
+	}
+
+	private static Quote quote() {
+		return new Quote("AAPL", "Apple Inc", "NASDAQ", null, "XNAS", "USD", new BigDecimal("231.45"),
+				new BigDecimal("232.5"), null, new BigDecimal("230"), null, null, new BigDecimal("3500000000000"),
+				new BigDecimal("229.1"), LocalDateTime.parse("2025-01-01T21:00:00"), new BigDecimal("2.35"), 41_000_000L,
+				Boolean.FALSE, LocalDateTime.parse("2025-01-02T15:30:00"));
+	}
+}
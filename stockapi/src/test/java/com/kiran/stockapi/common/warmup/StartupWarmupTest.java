@@ -0,0 +1,93 @@
+package com.kiran.stockapi.common.warmup;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.alphavantage.api.config.AlphaVantageClientProperties;
+import com.kiran.stockapi.common.gcp.SecretManagerService;
+import com.kiran.stockapi.price.snapshot.QuoteSnapshotService;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.config.QuoteClientProperties;
+import com.kiran.stockapi.utils.RestClientTargets;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StartupWarmupTest {
+
+	private SecretManagerService secretManagerService;
+	private QuoteSnapshotService quoteSnapshotService;
+	private Invocation.Builder request;
+	private RestClientTargets restClientTargets;
+
+	@BeforeEach
+	void setUp() {
+		secretManagerService = mock(SecretManagerService.class);
+		quoteSnapshotService = mock(QuoteSnapshotService.class);
+		request = mock(Invocation.Builder.class);
+		when(request.head()).thenReturn(mock(Response.class));
+		WebTarget target = mock(WebTarget.class);
+		when(target.request()).thenReturn(request);
+		when(target.getUri()).thenReturn(URI.create("https://api.stockdata.org/v1"));
+		restClientTargets = mock(RestClientTargets.class);
+		when(restClientTargets.all()).thenReturn(Map.of(QuoteClient.class, target));
+	}
+
+	@Test
+	void testResolvesSecretsAndOpensConnections() {
+		// Arrange
+		StartupWarmup warmup = warmup(List.of());
+
+		// Act
+		warmup.run(null);
+
+		// Assert
+		verify(secretManagerService).getSecret("project", "stockdata-token");
+		verify(secretManagerService).getSecret("project", "alphavantage-key");
+		verify(request, times(3)).head();
+		verify(quoteSnapshotService, times(0)).quotes(anyList());
+	}
+
+	@Test
+	void testPrefetchesWatchlistIntoSnapshots() {
+		// Arrange
+		StartupWarmup warmup = warmup(List.of("NVDA", "MSFT"));
+
+		// Act
+		warmup.run(null);
+
+		// Assert
+		verify(quoteSnapshotService).quotes(List.of("NVDA", "MSFT"));
+	}
+
+	@Test
+	void testFailingSecretDoesNotStopWarmup() {
+		// Arrange
+		when(secretManagerService.getSecret("project", "stockdata-token"))
+				.thenThrow(new RuntimeException("no credentials"));
+		StartupWarmup warmup = warmup(List.of());
+
+		// Act
+		warmup.run(null);
+
+		// Assert
+		verify(request, times(3)).head();
+	}
+
+	private StartupWarmup warmup(List<String> watchlist) {
+		return new StartupWarmup(secretManagerService,
+				new QuoteClientProperties("https://api.stockdata.org/v1", "project", "stockdata-token"),
+				new AlphaVantageClientProperties("https://www.alphavantage.co", "project", "alphavantage-key"),
+				restClientTargets, quoteSnapshotService,
+				new WarmupProperties(true, Duration.ofSeconds(5), 3, watchlist));
+	}
+}
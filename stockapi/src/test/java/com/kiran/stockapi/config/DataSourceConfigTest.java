@@ -0,0 +1,53 @@
+package com.kiran.stockapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+class DataSourceConfigTest {
+
+	private final DataSourceConfig config = new DataSourceConfig();
+
+	@Test
+	void testWritePoolEnablesDriverBatchingAndStatementCache() {
+		// Arrange
+		DataSourceProperties properties = properties();
+
+		// Act
+		try (HikariDataSource dataSource = config.writeDataSource(properties)) {
+			// Assert
+			assertEquals(DataSourceConfig.WRITE_POOL, dataSource.getPoolName());
+			assertEquals("jdbc:postgresql://primary:5432/stock", dataSource.getJdbcUrl());
+			assertEquals("true", dataSource.getDataSourceProperties().get("reWriteBatchedInserts"));
+			assertEquals("512", dataSource.getDataSourceProperties().get("preparedStatementCacheQueries"));
+			assertFalse(dataSource.isReadOnly());
+		}
+	}
+
+	@Test
+	void testReadPoolIsReadOnlyOnPrimary() {
+		// Arrange
+		DataSourceProperties properties = properties();
+
+		// Act
+		try (HikariDataSource dataSource = config.readDataSource(properties)) {
+			// Assert
+			assertEquals(DataSourceConfig.READ_POOL, dataSource.getPoolName());
+			assertEquals("jdbc:postgresql://primary:5432/stock", dataSource.getJdbcUrl());
+			assertTrue(dataSource.isReadOnly());
+		}
+	}
+
+	private static DataSourceProperties properties() {
+		DataSourceProperties properties = new DataSourceProperties();
+		properties.setUrl("jdbc:postgresql://primary:5432/stock");
+		properties.setUsername("stock");
+		properties.setPassword("stock");
+		properties.setDriverClassName("org.postgresql.Driver");
+		return properties;
+	}
+}
@@ -0,0 +1,60 @@
+package com.kiran.stockapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class MeteredCacheTest {
+
+	@Test
+	void testCountsHitsMissesAndPuts() {
+		// Arrange
+		MeteredCache cache = new MeteredCache(new ConcurrentMapCache(CacheConfig.SECRET_CACHE));
+
+		// Act
+		cache.get("key");
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("key", String.class);
+
+		// Assert
+		assertEquals(2, cache.hitCount());
+		assertEquals(1, cache.missCount());
+		assertEquals(1, cache.putCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void testValueLoaderCountsMissThenHit() {
+		// Arrange
+		MeteredCache cache = new MeteredCache(new ConcurrentMapCache(CacheConfig.SECRET_CACHE));
+
+		// Act
+		cache.get("key", () -> "value");
+		String cached = cache.get("key", () -> "other");
+
+		// Assert
+		assertEquals("value", cached);
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	void testCountsEvictionsOnlyForPresentKeys() {
+		// Arrange
+		MeteredCache cache = new MeteredCache(new ConcurrentMapCache(CacheConfig.SECRET_CACHE));
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+
+		// Act
+		cache.evict("a");
+		cache.evict("missing");
+		cache.clear();
+
+		// Assert
+		assertEquals(3, cache.evictionCount());
+		assertEquals(0, cache.size());
+	}
+}
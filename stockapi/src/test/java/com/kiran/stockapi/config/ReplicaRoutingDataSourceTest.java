@@ -0,0 +1,102 @@
+package com.kiran.stockapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void testRoutesRoundRobinOverReplicasWithinMaxLag() throws SQLException {
+		// Arrange
+		Connection first = mock(Connection.class);
+		Connection second = mock(Connection.class);
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", replica(0.5, first));
+		replicas.put("replica-2", replica(1.0, second));
+		ReplicaRoutingDataSource routing = routing(replicas);
+
+		// Act
+		routing.afterPropertiesSet();
+
+		// Assert
+		assertEquals(List.of("replica-1", "replica-2"), routing.inSyncReplicas());
+		assertSame(first, routing.getConnection());
+		assertSame(second, routing.getConnection());
+		assertSame(first, routing.getConnection());
+	}
+
+	@Test
+	void testSkipsLaggingReplica() throws SQLException {
+		// Arrange
+		Connection inSync = mock(Connection.class);
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", replica(30.0, mock(Connection.class)));
+		replicas.put("replica-2", replica(0.0, inSync));
+		ReplicaRoutingDataSource routing = routing(replicas);
+
+		// Act
+		routing.afterPropertiesSet();
+
+		// Assert
+		assertEquals(List.of("replica-2"), routing.inSyncReplicas());
+		assertSame(inSync, routing.getConnection());
+		assertEquals(30.0, meterRegistry.get(ReplicaRoutingDataSource.REPLICA_LAG).tag("replica", "replica-1")
+				.gauge().value());
+	}
+
+	@Test
+	void testFallsBackToPrimaryWhenNoReplicaIsUsable() throws SQLException {
+		// Arrange
+		DataSource unreachable = mock(DataSource.class);
+		when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+		Connection primaryConnection = mock(Connection.class);
+		DataSource primary = mock(DataSource.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+				Map.of("replica-1", unreachable), Duration.ofSeconds(5), meterRegistry);
+
+		// Act
+		routing.afterPropertiesSet();
+
+		// Assert
+		assertEquals(List.of(), routing.inSyncReplicas());
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+		return new ReplicaRoutingDataSource(mock(DataSource.class), replicas, Duration.ofSeconds(5), meterRegistry);
+	}
+
+	/**
+	 * A replica whose first connection answers the lag query and later ones are
+	 * handed out to callers.
+	 */
+	private static DataSource replica(double lagSeconds, Connection routed) throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(ReplicaRoutingDataSource.LAG_SQL)).thenReturn(resultSet);
+		Connection probe = mock(Connection.class);
+		when(probe.createStatement()).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(probe, routed);
+		return dataSource;
+	}
+}
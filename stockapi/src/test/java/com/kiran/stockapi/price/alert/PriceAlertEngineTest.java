@@ -0,0 +1,219 @@
+package com.kiran.stockapi.price.alert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.PriceAlertProperties;
+import com.kiran.stockapi.price.api.contract.AlertDirection;
+import com.kiran.stockapi.price.api.contract.AlertField;
+import com.kiran.stockapi.price.api.contract.PriceAlert;
+import com.kiran.stockapi.price.api.contract.PriceAlertRequest;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriceAlertEngineTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-05T15:00:00Z");
+
+	private PriceAlertRepository priceAlertRepository;
+	private List<PriceAlert> published;
+	private PriceAlertEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		priceAlertRepository = mock(PriceAlertRepository.class);
+		AtomicLong ids = new AtomicLong();
+		when(priceAlertRepository.insert(any(), any())).thenAnswer(invocation -> {
+			PriceAlertRequest request = invocation.getArgument(0);
+			return new PriceAlert(ids.incrementAndGet(), request.owner(), request.ticker(), request.field(),
+					request.direction(), request.threshold(), invocation.getArgument(1), null, null);
+		});
+		when(priceAlertRepository.markTriggered(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		published = new ArrayList<>();
+		PriceAlertStream priceAlertStream = mock(PriceAlertStream.class);
+		doAnswer(invocation -> published.add(invocation.getArgument(0))).when(priceAlertStream)
+				.publish(any());
+		engine = new PriceAlertEngine(priceAlertRepository, priceAlertStream,
+				new PriceAlertProperties(true, Duration.ofMinutes(30), PriceTick.SOURCE_STOCKDATA), Runnable::run);
+	}
+
+	@Test
+	void testOnlyAlertsBetweenPreviousAndNewPriceFire() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "245");
+		register("AAPL", AlertField.PRICE, AlertDirection.CROSSES, "250");
+		register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "255");
+		register("AAPL", AlertField.PRICE, AlertDirection.BELOW, "230");
+		tick("AAPL", "240.00", null);
+
+		// Act
+		tick("AAPL", "252.00", null);
+
+		// Assert
+		assertEquals(List.of("245", "250"), thresholds(published));
+		assertEquals(NOW, published.get(0).triggeredAt());
+		assertEquals(new BigDecimal("252.00"), published.get(0).triggeredValue());
+	}
+
+	@Test
+	void testFiredAlertsDoNotFireAgain() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.CROSSES, "250");
+		tick("AAPL", "240.00", null);
+		tick("AAPL", "260.00", null);
+
+		// Act
+		tick("AAPL", "240.00", null);
+		tick("AAPL", "260.00", null);
+
+		// Assert
+		assertEquals(1, published.size());
+	}
+
+	@Test
+	void testDayChangeIsComparedInPercent() {
+		// Arrange
+		register("NVDA", AlertField.DAY_CHANGE, AlertDirection.BELOW, "-5");
+		tick("NVDA", "98.00", "100.00");
+
+		// Act
+		tick("NVDA", "94.00", "100.00");
+
+		// Assert
+		assertEquals(List.of("-5"), thresholds(published));
+		assertEquals(0, new BigDecimal("-6").compareTo(published.get(0).triggeredValue()));
+	}
+
+	@Test
+	void testFirstTickFiresAlertsItAlreadySatisfies() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "245");
+		register("AAPL", AlertField.PRICE, AlertDirection.CROSSES, "250");
+
+		// Act
+		tick("AAPL", "260.00", null);
+
+		// Assert
+		assertEquals(List.of("245"), thresholds(published));
+	}
+
+	@Test
+	void testAlertAlreadySatisfiedFiresOnRegistration() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.BELOW, "100");
+		tick("AAPL", "240.00", null);
+
+		// Act
+		PriceAlert alert = register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "230");
+
+		// Assert
+		assertNotNull(alert.triggeredAt());
+		assertEquals(new BigDecimal("240.00"), alert.triggeredValue());
+		assertEquals(List.of(alert), published);
+	}
+
+	@Test
+	void testAlertsRecordedByAnotherInstanceAreNotPushed() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "250");
+		when(priceAlertRepository.markTriggered(anyList())).thenReturn(List.of());
+		tick("AAPL", "240.00", null);
+
+		// Act
+		tick("AAPL", "252.00", null);
+
+		// Assert
+		verify(priceAlertRepository).markTriggered(anyList());
+		assertTrue(published.isEmpty());
+	}
+
+	@Test
+	void testFailedDeliveryIsRetriedWithTheNextTicks() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "250");
+		doThrow(new IllegalStateException("database down")).when(priceAlertRepository).markTriggered(anyList());
+		tick("AAPL", "240.00", null);
+		tick("AAPL", "252.00", null);
+		doAnswer(invocation -> invocation.getArgument(0)).when(priceAlertRepository).markTriggered(anyList());
+
+		// Act
+		tick("AAPL", "253.00", null);
+
+		// Assert
+		assertEquals(List.of("250"), thresholds(published));
+		assertEquals(new BigDecimal("252.00"), published.get(0).triggeredValue());
+	}
+
+	@Test
+	void testCancelledAlertDoesNotFire() {
+		// Arrange
+		PriceAlert alert = register("AAPL", AlertField.PRICE, AlertDirection.ABOVE, "250");
+		when(priceAlertRepository.delete(alert.id())).thenReturn(Optional.of(alert));
+		tick("AAPL", "240.00", null);
+
+		// Act
+		engine.cancel(alert.id());
+		tick("AAPL", "252.00", null);
+
+		// Assert
+		verify(priceAlertRepository, never()).markTriggered(anyList());
+		assertTrue(published.isEmpty());
+	}
+
+	@Test
+	void testTicksFromOtherProvidersAreIgnored() {
+		// Arrange
+		register("AAPL", AlertField.PRICE, AlertDirection.CROSSES, "250");
+		tick("AAPL", "240.00", null);
+
+		// Act
+		tickFrom(PriceTick.SOURCE_ALPHAVANTAGE, "AAPL", "252.00");
+		tick("AAPL", "241.00", null);
+
+		// Assert
+		verify(priceAlertRepository, never()).markTriggered(anyList());
+		assertTrue(published.isEmpty());
+	}
+
+	private PriceAlert register(String ticker, AlertField field, AlertDirection direction, String threshold) {
+		return engine.register(new PriceAlertRequest("kiran", ticker, field, direction, new BigDecimal(threshold)));
+	}
+
+	private void tick(String ticker, String price, String previousClose) {
+		tick(PriceTick.SOURCE_STOCKDATA, new Quote(ticker, null, null, null, null, "USD", new BigDecimal(price), null,
+				null, null, null, null, null, previousClose != null ? new BigDecimal(previousClose) : null, null, null,
+				null, false, null));
+	}
+
+	private void tickFrom(String source, String ticker, String price) {
+		tick(source, new Quote(ticker, null, null, null, null, "USD", new BigDecimal(price), null, null, null, null,
+				null, null, null, null, null, null, false, null));
+	}
+
+	private void tick(String source, Quote quote) {
+		engine.onPriceTicks(new PriceTickEvent(List.of(new PriceTick(source, NOW, quote))));
+	}
+
+	private static List<String> thresholds(List<PriceAlert> alerts) {
+		return alerts.stream().map(alert -> alert.threshold().toPlainString()).toList();
+	}
+}
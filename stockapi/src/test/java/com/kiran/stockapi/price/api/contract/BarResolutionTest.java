@@ -0,0 +1,40 @@
+package com.kiran.stockapi.price.api.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class BarResolutionTest {
+
+	@Test
+	void testBucketStartAlignsToResolution() {
+		Instant instant = Instant.parse("2026-01-05T14:37:42.123Z");
+
+		assertEquals(Instant.parse("2026-01-05T14:37:00Z"), BarResolution.ONE_MINUTE.bucketStart(instant));
+		assertEquals(Instant.parse("2026-01-05T14:35:00Z"), BarResolution.FIVE_MINUTES.bucketStart(instant));
+		assertEquals(Instant.parse("2026-01-05T14:00:00Z"), BarResolution.ONE_HOUR.bucketStart(instant));
+		assertEquals(Instant.parse("2026-01-05T00:00:00Z"), BarResolution.ONE_DAY.bucketStart(instant));
+	}
+
+	@Test
+	void testCoarsestForPicksCoarsestResolutionWithEnoughPoints() {
+		assertEquals(BarResolution.ONE_DAY, BarResolution.coarsestFor(Duration.ofDays(365), 200));
+		assertEquals(BarResolution.ONE_HOUR, BarResolution.coarsestFor(Duration.ofDays(30), 500));
+		assertEquals(BarResolution.FIVE_MINUTES, BarResolution.coarsestFor(Duration.ofDays(1), 100));
+		assertEquals(BarResolution.ONE_MINUTE, BarResolution.coarsestFor(Duration.ofHours(1), 60));
+	}
+
+	@Test
+	void testCoarsestForFallsBackToFinestResolution() {
+		assertEquals(BarResolution.ONE_MINUTE, BarResolution.coarsestFor(Duration.ofMinutes(10), 1000));
+	}
+
+	@Test
+	void testFromCode() {
+		assertEquals(BarResolution.FIVE_MINUTES, BarResolution.fromCode("5m"));
+		assertThrows(IllegalArgumentException.class, () -> BarResolution.fromCode("2m"));
+	}
+}
@@ -0,0 +1,31 @@
+package com.kiran.stockapi.price.api.resources;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class QuoteBatchResourceTest {
+
+	@Test
+	void testBinaryIsOnlyStreamedWhenAcceptedExplicitly() {
+		assertTrue(QuoteBatchResource.acceptsBinary("application/x-quote-binary"));
+		assertTrue(QuoteBatchResource.acceptsBinary("application/x-ndjson;q=0.5, application/x-quote-binary"));
+		assertFalse(QuoteBatchResource.acceptsBinary(null));
+		assertFalse(QuoteBatchResource.acceptsBinary("*/*"));
+		assertFalse(QuoteBatchResource.acceptsBinary("application/x-ndjson, application/x-quote-binary;q=0.5"));
+	}
+
+	@Test
+	void testEachFormatTakesTheQualityOfItsMostSpecificRange() {
+		assertFalse(QuoteBatchResource.acceptsBinary("application/*, application/x-quote-binary;q=0.1"));
+		assertTrue(QuoteBatchResource.acceptsBinary("application/*;q=0.5, application/x-quote-binary"));
+		assertTrue(QuoteBatchResource.acceptsBinary("*/*, application/x-ndjson;q=0.2, application/x-quote-binary"));
+	}
+
+	@Test
+	void testBinaryWithZeroQualityIsRefused() {
+		assertFalse(QuoteBatchResource.acceptsBinary("application/x-quote-binary;q=0"));
+		assertFalse(QuoteBatchResource.acceptsBinary("application/x-quote-binary;q=0, */*;q=0.1"));
+	}
+}
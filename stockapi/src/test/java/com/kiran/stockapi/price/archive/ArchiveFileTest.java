@@ -0,0 +1,125 @@
+package com.kiran.stockapi.price.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveFileTest {
+
+	private static final Instant T0 = Instant.parse("2025-01-02T15:30:00.123456Z");
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void testRowsSurviveTheRoundTrip() throws IOException {
+		// Arrange
+		List<ArchivedPrice> rows = List.of(
+				row("AAPL", "Apple Inc", "231.40000000", 1_000L, T0, Boolean.TRUE),
+				row("AAPL", "Apple Inc", "231.39000000", 1_200L, T0.plusSeconds(60), null),
+				row("BRK.A", "Berkshire \u00e9", "3400000000000.12345678", null, T0.plusSeconds(120), Boolean.FALSE),
+				row("MSFT", null, null, -5L, T0.plusSeconds(180), null));
+		Path file = write(rows, 2);
+
+		// Act
+		List<ArchivedPrice> read = scan(file, new ArchiveScan(null, null, Instant.EPOCH, Instant.MAX),
+				EnumSet.allOf(ArchiveColumn.class));
+
+		// Assert
+		assertEquals(rows.size(), read.size());
+		for (int i = 0; i < rows.size(); i++) {
+			for (ArchiveColumn column : ArchiveColumn.values()) {
+				assertEquals(column.get(rows.get(i)), column.get(read.get(i)), column + " of row " + i);
+			}
+		}
+	}
+
+	@Test
+	void testScanFiltersAndReadsOnlyWantedColumns() throws IOException {
+		// Arrange
+		Path file = write(List.of(
+				row("AAPL", "Apple Inc", "231.40000000", 1_000L, T0, null),
+				row("AAPL", "Apple Inc", "231.50000000", 1_100L, T0.plusSeconds(60), null),
+				row("MSFT", "Microsoft", "410.00000000", 900L, T0.plusSeconds(60), null)), 2);
+
+		// Act
+		List<ArchivedPrice> read = scan(file, new ArchiveScan(new TreeSet<>(Set.of("AAPL")), "stockdata",
+				T0.plusSeconds(1), Instant.MAX), EnumSet.of(ArchiveColumn.PRICE));
+
+		// Assert
+		assertEquals(1, read.size());
+		assertEquals("AAPL", read.getFirst().quote().getTicker());
+		assertEquals(new BigDecimal("231.50000000"), read.getFirst().quote().getPrice());
+		assertNull(read.getFirst().quote().getName());
+		assertNull(read.getFirst().quote().getVolume());
+	}
+
+	@Test
+	void testRowGroupStatisticsSkipGroups() {
+		// Arrange
+		RowGroup group = new RowGroup(10, "AAPL", "AMZN", T0, T0.plusSeconds(60), new long[0], new int[0],
+				new int[0]);
+
+		// Act & Assert
+		assertTrue(new ArchiveScan(new TreeSet<>(Set.of("ABNB")), null, Instant.EPOCH, Instant.MAX).mayMatch(group));
+		assertFalse(new ArchiveScan(new TreeSet<>(Set.of("MSFT")), null, Instant.EPOCH, Instant.MAX).mayMatch(group));
+		assertFalse(new ArchiveScan(null, null, T0.plusSeconds(61), Instant.MAX).mayMatch(group));
+		assertFalse(new ArchiveScan(null, null, Instant.EPOCH, T0).mayMatch(group));
+	}
+
+	@Test
+	void testTruncatedFileIsRejected() throws IOException {
+		// Arrange
+		Path file = write(List.of(row("AAPL", "Apple Inc", "1", 1L, T0, null)), 10);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+		// Act & Assert
+		assertThrows(IOException.class, () -> ArchiveFileReader.open(file));
+	}
+
+	private Path write(List<ArchivedPrice> rows, int rowGroupSize) throws IOException {
+		Path file = directory.resolve("price.prca");
+		try (ArchiveFileWriter writer = new ArchiveFileWriter(file, rowGroupSize)) {
+			for (ArchivedPrice row : rows) {
+				writer.add(row);
+			}
+			assertEquals(rows.size(), writer.finish());
+		}
+		return file;
+	}
+
+	private static List<ArchivedPrice> scan(Path file, ArchiveScan scan, Set<ArchiveColumn> columns)
+			throws IOException {
+		List<ArchivedPrice> read = new ArrayList<>();
+		ArchiveFileReader.open(file).scan(scan, columns, read::add);
+		return read;
+	}
+
+	private static ArchivedPrice row(String ticker, String name, String price, Long volume, Instant pulledAt,
+			Boolean extendedHours) {
+		Quote quote = new Quote(ticker, name, "NASDAQ", null, "XNAS", "USD",
+				price == null ? null : new BigDecimal(price), null, null, null, null, null, null, null, null, null, volume,
+				extendedHours,
+				LocalDateTime.parse("2025-01-02T15:29:59.5"));
+		return new ArchivedPrice(quote, "stockdata", pulledAt, pulledAt.plusSeconds(30));
+	}
+}
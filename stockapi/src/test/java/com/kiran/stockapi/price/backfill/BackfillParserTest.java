@@ -0,0 +1,153 @@
+package com.kiran.stockapi.price.backfill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.kiran.stockapi.price.instrument.Instrument;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BackfillParserTest {
+
+	private static final String N = "\\N";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void testFixedPointRoundsHalfEven() {
+		assertEquals(15_012_500_000L, FixedPoint.parse("150.125", 8));
+		assertEquals(2L, FixedPoint.parse("2.5", 0));
+		assertEquals(4L, FixedPoint.parse("3.5", 0));
+		assertEquals(3L, FixedPoint.parse("2.50001", 0));
+		assertEquals(-123_456_788L, FixedPoint.parse("-1.234567875", 8));
+	}
+
+	@Test
+	void testFixedPointReadsExponents() {
+		assertEquals(2_500_000_000_000L, FixedPoint.parse("2.5E12", 0));
+		assertEquals(15L, FixedPoint.parse("1.5e-7", 8));
+		assertEquals(0L, FixedPoint.parse("1e-20", 8));
+	}
+
+	@Test
+	void testFixedPointRejectsInvalidAndOverflow() {
+		assertThrows(IllegalArgumentException.class, () -> FixedPoint.parse("12a", 8));
+		assertThrows(IllegalArgumentException.class, () -> FixedPoint.parse(".", 8));
+		assertThrows(IllegalArgumentException.class, () -> FixedPoint.parse("1e", 8));
+		assertThrows(IllegalArgumentException.class, () -> FixedPoint.parse("1e300", 8));
+	}
+
+	@Test
+	void testFixedPointAppendsPlainNotation() {
+		// Arrange
+		StringBuilder out = new StringBuilder();
+
+		// Act
+		FixedPoint.append(out, -5, 8);
+		out.append(' ');
+		FixedPoint.append(out, 15_012_500_000L, 8);
+
+		// Assert
+		assertEquals("-0.00000005 150.12500000", out.toString());
+	}
+
+	@Test
+	void testCsvRowsBecomeCopyText() {
+		// Arrange
+		byte[] csv = """
+				AAPL,"Apple, ""Inc""\",150.125,1000,2025-01-02T15:30:00
+				MSFT,Microsoft,abc,1,2025-01-02T15:30:00Z
+				,Nobody,1,1,2025-01-02T15:30:00Z
+				""".getBytes(StandardCharsets.UTF_8);
+		CsvParser parser = CsvParser.forHeader("ticker,name,price,volume,pulled_at\n");
+		CopyChunk chunk = new CopyChunk("stockdata");
+
+		// Act
+		parser.parse(csv, 0, csv.length, chunk);
+
+		// Assert
+		Instrument apple = new Instrument("AAPL", "Apple, \"Inc\"", null, null, null, null);
+		assertEquals(Set.of(apple), chunk.instruments());
+		assertEquals(1, chunk.rows());
+		assertEquals(2, chunk.rejected());
+		assertTrue(chunk.firstRejection().startsWith("row 2: price"));
+		assertEquals(row("150.12500000", "1000", "stockdata", "2025-01-02T15:30:00Z", 7),
+				chunk.copyText(Map.of(apple, 7)));
+	}
+
+	@Test
+	void testCsvHeaderNeedsTickerAndPulledAt() {
+		assertThrows(IllegalArgumentException.class, () -> CsvParser.forHeader("symbol,price,pulled_at"));
+	}
+
+	@Test
+	void testJsonLinesUseQuoteFieldNames() {
+		// Arrange
+		byte[] lines = """
+				{"ticker":"IBM","price":1.5e2,"volume":10,"source":"alphavantage","pulled_at":"2025-01-02T10:00:00+01:00","meta":{"x":1}}
+
+				[1, 2]
+				""".getBytes(StandardCharsets.UTF_8);
+		CopyChunk chunk = new CopyChunk("stockdata");
+
+		// Act
+		new JsonLinesParser().parse(lines, 0, lines.length, chunk);
+
+		// Assert
+		Instrument ibm = new Instrument("IBM", null, null, null, null, null);
+		assertEquals(1, chunk.rows());
+		assertEquals(1, chunk.rejected());
+		assertEquals(row("150.00000000", "10", "alphavantage", "2025-01-02T09:00:00Z", 3),
+				chunk.copyText(Map.of(ibm, 3)));
+	}
+
+	@Test
+	void testChunkRangesEndAtLineBreaks() throws IOException {
+		// Arrange
+		Path file = directory.resolve("prices.csv");
+		Files.writeString(file, "header\naaaa\nbbbbbbbb\ncc\nd");
+
+		// Act
+		List<ChunkRange> ranges;
+		try (FileChannel channel = FileChannel.open(file)) {
+			long dataStart = ChunkRange.lineEnd(channel, 0, channel.size());
+			ranges = ChunkRange.split(channel, dataStart, channel.size(), 3);
+		}
+
+		// Assert
+		assertEquals(List.of(new ChunkRange(0, 7, 12), new ChunkRange(1, 12, 21), new ChunkRange(2, 21, 25)),
+				ranges);
+	}
+
+	@Test
+	void testNoRejectionForCleanChunk() {
+		// Arrange
+		CopyChunk chunk = new CopyChunk("stockdata");
+
+		// Act
+		chunk.set(PriceColumn.TICKER, "AAPL");
+		chunk.set(PriceColumn.PULLED_AT, "2025-01-02T15:30:00Z");
+		chunk.endRow();
+
+		// Assert
+		assertEquals(1, chunk.rows());
+		assertNull(chunk.firstRejection());
+	}
+
+	/** A COPY line with only price, volume, source and pulled_at set. */
+	private static String row(String price, String volume, String source, String pulledAt, int instrumentId) {
+		return String.join("\t", price, N, N, N, N, N, N, N, N, N, volume, N, N, source, pulledAt,
+				String.valueOf(instrumentId)) + "\n";
+	}
+}
@@ -0,0 +1,174 @@
+package com.kiran.stockapi.price.bars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.kiran.stockapi.price.api.contract.BarResolution;
+import com.kiran.stockapi.price.api.contract.PriceBar;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class PriceBarAggregatorTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-05T15:00:00Z");
+	private static final Instant LIVE_SINCE = Instant.parse("2026-01-05T14:00:30Z");
+
+	private PriceBarRepository priceBarRepository;
+	private PriceBarAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		priceBarRepository = mock(PriceBarRepository.class);
+		aggregator = new PriceBarAggregator(priceBarRepository, Clock.fixed(LIVE_SINCE, ZoneOffset.UTC));
+		for (BarResolution resolution : BarResolution.values()) {
+			aggregator.caughtUp(resolution, List.of());
+		}
+	}
+
+	@Test
+	void testTicksAreRolledIntoBarsOfEveryResolution() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("AAPL", "150.00", 1000L, "2026-01-05T14:31:05"),
+				tick("AAPL", "152.50", 1600L, "2026-01-05T14:31:40"),
+				tick("AAPL", "149.75", 1700L, "2026-01-05T14:31:55"))));
+
+		// Act
+		List<BarDelta> deltas = aggregator.drain(NOW);
+
+		// Assert
+		assertEquals(BarResolution.values().length, deltas.size());
+		PriceBar minuteBar = barFor(deltas, BarResolution.ONE_MINUTE);
+		assertEquals(new BigDecimal("150.00"), minuteBar.getOpen());
+		assertEquals(new BigDecimal("152.50"), minuteBar.getHigh());
+		assertEquals(new BigDecimal("149.75"), minuteBar.getLow());
+		assertEquals(new BigDecimal("149.75"), minuteBar.getClose());
+		assertEquals(700L, minuteBar.getVolume());
+		assertEquals(3, minuteBar.getTickCount());
+	}
+
+	@Test
+	void testRepeatedAndOutOfOrderTicksAreIgnored() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("MSFT", "300.0", 10L, "2026-01-05T14:31:05"),
+				tick("MSFT", "300.00", 10L, "2026-01-05T14:31:05"), tick("MSFT", "299.0", 9L, "2026-01-05T14:30:59"))));
+
+		// Act
+		List<BarDelta> deltas = aggregator.drain(NOW);
+
+		// Assert
+		assertEquals(1, barFor(deltas, BarResolution.ONE_MINUTE).getTickCount());
+	}
+
+	@Test
+	void testClosedBarsAreDroppedAfterDrain() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("NVDA", "120", 5L, "2026-01-05T14:31:05"))));
+
+		// Act
+		aggregator.drain(NOW);
+		List<BarDelta> secondDrain = aggregator.drain(NOW);
+
+		// Assert
+		assertTrue(secondDrain.isEmpty());
+	}
+
+	@Test
+	void testFailedFlushIsRetried() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("NVDA", "120", 5L, "2026-01-05T14:31:05"))));
+		doThrow(new IllegalStateException("database down")).when(priceBarRepository).upsertDeltas(anyCollection());
+
+		// Act
+		aggregator.flush();
+		List<BarDelta> retried = aggregator.drain(NOW);
+
+		// Assert
+		verify(priceBarRepository).upsertDeltas(anyCollection());
+		assertEquals(BarResolution.values().length, retried.size());
+		assertEquals(new BigDecimal("120"), barFor(retried, BarResolution.ONE_DAY).getClose());
+	}
+
+	@Test
+	void testFlushUpsertsDeltas() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("AAPL", "150", 1L, "2026-01-05T14:31:05"))));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<BarDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+
+		// Act
+		aggregator.flush();
+
+		// Assert
+		verify(priceBarRepository).upsertDeltas(captor.capture());
+		assertEquals(BarResolution.values().length, captor.getValue().size());
+	}
+
+	@Test
+	void testTicksBeforeLiveSinceOnlySetTheVolumeBaseline() {
+		// Arrange
+		aggregator.onPriceTicks(new PriceTickEvent(List.of(tick("AAPL", "149.00", 1000L, "2026-01-05T14:00:10"),
+				tick("AAPL", "150.00", 1600L, "2026-01-05T14:31:05"))));
+
+		// Act
+		List<BarDelta> deltas = aggregator.drain(NOW);
+
+		// Assert
+		PriceBar hourBar = barFor(deltas, BarResolution.ONE_HOUR);
+		assertEquals(new BigDecimal("150.00"), hourBar.getOpen());
+		assertEquals(600L, hourBar.getVolume());
+		assertEquals(1, hourBar.getTickCount());
+	}
+
+	@Test
+	void testBarAtLiveSinceWaitsForCatchUpAndReplacesStoredBar() {
+		// Arrange
+		PriceBarAggregator starting = new PriceBarAggregator(priceBarRepository,
+				Clock.fixed(LIVE_SINCE, ZoneOffset.UTC));
+		starting.onPriceTicks(new PriceTickEvent(List.of(tick("AAPL", "150.00", 1000L, "2026-01-05T14:31:05"))));
+		assertEquals(2, starting.drain(NOW).size());
+		BarKey hour = new BarKey("AAPL", PriceTick.SOURCE_STOCKDATA, BarResolution.ONE_HOUR,
+				Instant.parse("2026-01-05T14:00:00Z"));
+
+		// Act
+		starting.caughtUp(BarResolution.ONE_HOUR, List.of(new BarDelta(hour, new PriceBar(hour.barStart(),
+				new BigDecimal("148.00"), new BigDecimal("151.00"), new BigDecimal("148.00"),
+				new BigDecimal("149.00"), 400L, 2), true)));
+		List<BarDelta> deltas = starting.drain(NOW);
+
+		// Assert
+		assertEquals(1, deltas.size());
+		assertTrue(deltas.get(0).replace());
+		PriceBar hourBar = deltas.get(0).bar();
+		assertEquals(new BigDecimal("148.00"), hourBar.getOpen());
+		assertEquals(new BigDecimal("151.00"), hourBar.getHigh());
+		assertEquals(new BigDecimal("150.00"), hourBar.getClose());
+		assertEquals(400L, hourBar.getVolume());
+		assertEquals(3, hourBar.getTickCount());
+	}
+
+	private static PriceBar barFor(List<BarDelta> deltas, BarResolution resolution) {
+		return deltas.stream().filter(delta -> delta.key().resolution() == resolution).findFirst().orElseThrow()
+				.bar();
+	}
+
+	private static PriceTick tick(String ticker, String price, Long volume, String lastTradeTime) {
+		Quote quote = new Quote(ticker, null, null, null, null, "USD", new BigDecimal(price), null, null, null, null,
+				null, null, null, null, null, volume, false, LocalDateTime.parse(lastTradeTime));
+		return new PriceTick(PriceTick.SOURCE_STOCKDATA, NOW, quote);
+	}
+}
@@ -0,0 +1,157 @@
+package com.kiran.stockapi.price.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageClient;
+import com.kiran.stockapi.alphavantage.api.client.AlphaVantageQuota;
+import com.kiran.stockapi.price.api.config.QuoteBatchProperties;
+import com.kiran.stockapi.price.api.contract.QuoteBatchEntry;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import jakarta.ws.rs.ServiceUnavailableException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteBatchServiceTest {
+
+	@Mock
+	private QuoteClient quoteClient;
+
+	@Mock
+	private AlphaVantageClient alphaVantageClient;
+
+	@Mock
+	private AlphaVantageQuota alphaVantageQuota;
+
+	@Mock
+	private PriceTickPublisher priceTickPublisher;
+
+	private QuoteBatchService quoteBatchService;
+
+	@BeforeEach
+	void setUp() {
+		QuoteBatchProperties properties = new QuoteBatchProperties(100, Duration.ofSeconds(5),
+				new QuoteBatchProperties.Provider(2, 2), new QuoteBatchProperties.Provider(100, 1));
+		quoteBatchService = new QuoteBatchService(quoteClient, alphaVantageClient, alphaVantageQuota,
+				priceTickPublisher, properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		quoteBatchService.destroy();
+	}
+
+	@Test
+	void testSplitsSymbolsIntoProviderBatches() {
+		// Arrange
+		when(quoteClient.getQuote(anyString(), eq(true))).thenAnswer(invocation -> response(
+				Arrays.asList(invocation.<String>getArgument(0).split(","))));
+
+		// Act
+		List<QuoteBatchEntry> entries = fetch(List.of("AAPL", "MSFT", "NVDA"), PriceTick.SOURCE_STOCKDATA);
+
+		// Assert
+		verify(quoteClient).getQuote("AAPL,MSFT", true);
+		verify(quoteClient).getQuote("NVDA", true);
+		assertEquals(3, entries.size());
+		entries.forEach(entry -> assertEquals("150.10", entry.quote().getPrice().toPlainString()));
+	}
+
+	@Test
+	void testSymbolsMissingFromResponseGetErrorEntries() {
+		// Arrange
+		when(quoteClient.getQuote("AAPL,XXXX", true)).thenReturn(response(List.of("AAPL")));
+
+		// Act
+		Map<String, QuoteBatchEntry> entries = bySymbol(fetch(List.of("AAPL", "XXXX"), PriceTick.SOURCE_STOCKDATA));
+
+		// Assert
+		assertEquals("AAPL", entries.get("AAPL").quote().getTicker());
+		assertEquals(QuoteBatchEntry.NOT_RETURNED, entries.get("XXXX").error());
+	}
+
+	@Test
+	void testFailedSubRequestOnlyFailsItsSymbols() {
+		// Arrange
+		when(quoteClient.getQuote("AAPL,MSFT", true)).thenThrow(new ServiceUnavailableException());
+		when(quoteClient.getQuote("NVDA", true)).thenReturn(response(List.of("NVDA")));
+
+		// Act
+		Map<String, QuoteBatchEntry> entries = bySymbol(
+				fetch(List.of("AAPL", "MSFT", "NVDA"), PriceTick.SOURCE_STOCKDATA));
+
+		// Assert
+		assertEquals("upstream_status_503", entries.get("AAPL").error());
+		assertEquals("upstream_status_503", entries.get("MSFT").error());
+		assertEquals("NVDA", entries.get("NVDA").quote().getTicker());
+		verify(priceTickPublisher, never()).publishAlphaVantage(any());
+	}
+
+	@Test
+	void testAlphaVantageSubRequestFailsWhenItsQuotaIsUsedUp() throws InterruptedException {
+		// Arrange
+		when(alphaVantageQuota.acquire(any(Duration.class))).thenReturn(false);
+
+		// Act
+		List<QuoteBatchEntry> entries = fetch(List.of("AAPL", "MSFT"), PriceTick.SOURCE_ALPHAVANTAGE);
+
+		// Assert
+		assertEquals(2, entries.size());
+		entries.forEach(entry -> assertEquals(QuoteBatchEntry.QUOTA_EXHAUSTED, entry.error()));
+		verify(alphaVantageClient, never()).getRealtimeBulkQuotes(anyString(), anyString());
+	}
+
+	@Test
+	void testNormalizeTrimsUpperCasesAndDeduplicates() {
+		assertEquals(List.of("AAPL", "MSFT"),
+				QuoteBatchService.normalize(Arrays.asList(" aapl", "MSFT", "AAPL", "", null)));
+	}
+
+	@Test
+	void testChunks() {
+		assertEquals(List.of(List.of("A", "B"), List.of("C")), QuoteBatchService.chunks(List.of("A", "B", "C"), 2));
+	}
+
+	private List<QuoteBatchEntry> fetch(List<String> symbols, String source) {
+		List<QuoteBatchEntry> entries = new ArrayList<>();
+		quoteBatchService.fetch(symbols, List.of(source), entries::addAll);
+		return entries;
+	}
+
+	private static Map<String, QuoteBatchEntry> bySymbol(List<QuoteBatchEntry> entries) {
+		return entries.stream().collect(Collectors.toMap(QuoteBatchEntry::symbol, Function.identity()));
+	}
+
+	private static StockApiResponse response(List<String> tickers) {
+		return new StockApiResponse(new Meta(tickers.size(), tickers.size()),
+				tickers.stream().collect(Collectors.toMap(Function.identity(), QuoteBatchServiceTest::quote)));
+	}
+
+	private static Quote quote(String ticker) {
+		return new Quote(ticker, null, null, null, null, "USD", new BigDecimal("150.10"), null, null, null, null, null,
+				null, null, null, null, 1000L, false, null);
+	}
+}
@@ -0,0 +1,141 @@
+package com.kiran.stockapi.price.history;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.PriceHistoryProperties;
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriceHistoryWriterTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-05T15:00:00Z");
+	private static final String KEY = PriceHistoryRepository.key("AAPL", PriceTick.SOURCE_STOCKDATA);
+
+	private PriceHistoryRepository priceHistoryRepository;
+	private PriceHistoryWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		priceHistoryRepository = mock(PriceHistoryRepository.class);
+		writer = new PriceHistoryWriter(priceHistoryRepository,
+				new PriceHistoryProperties(true, Duration.ofMinutes(15), 500, 10_000, 100),
+				new TickJournalProperties(false, null, null, null, 0, false, null), Runnable::run);
+		when(priceHistoryRepository.findLatest(anyString(), anyString())).thenReturn(Optional.empty());
+		when(priceHistoryRepository.insert(anyList(), anyList())).thenReturn(Map.of(KEY, 1));
+	}
+
+	@Test
+	void testUnchangedQuoteIsNotWrittenAgain() {
+		// Act
+		writer.write(List.of(tick("150.10", NOW)));
+		writer.write(List.of(tick("150.1000", NOW.plusSeconds(60))));
+
+		// Assert
+		verify(priceHistoryRepository, times(1)).insert(anyList(), anyList());
+		verify(priceHistoryRepository, never()).touch(anyList(), any(Instant.class));
+	}
+
+	@Test
+	void testChangedQuoteIsWritten() {
+		// Act
+		writer.write(List.of(tick("150.10", NOW)));
+		writer.write(List.of(tick("150.20", NOW.plusSeconds(60))));
+
+		// Assert
+		verify(priceHistoryRepository, times(2)).insert(anyList(), anyList());
+	}
+
+	@Test
+	void testHeartbeatIsRecordedOncePerInterval() {
+		// Act
+		writer.write(List.of(tick("150.10", NOW)));
+		writer.write(List.of(tick("150.10", NOW.plus(Duration.ofMinutes(15)))));
+		writer.write(List.of(tick("150.10", NOW.plus(Duration.ofMinutes(20)))));
+
+		// Assert
+		verify(priceHistoryRepository, times(1)).touch(List.of(1), NOW.plus(Duration.ofMinutes(15)));
+	}
+
+	@Test
+	void testLastWriteIsSeededFromDatabase() {
+		// Arrange
+		PriceTick tick = tick("150.10", NOW);
+		when(priceHistoryRepository.findLatest("AAPL", PriceTick.SOURCE_STOCKDATA))
+				.thenReturn(Optional.of(new StoredPrice(7, tick.quote(), NOW.minusSeconds(30))));
+
+		// Act
+		writer.write(List.of(tick));
+		writer.write(List.of(tick("150.10", NOW.plus(Duration.ofMinutes(15)))));
+
+		// Assert
+		verify(priceHistoryRepository, never()).insert(anyList(), anyList());
+		verify(priceHistoryRepository).touch(List.of(7), NOW.plus(Duration.ofMinutes(15)));
+	}
+
+	@Test
+	void testReplayedBacklogWritesEveryChange() {
+		// Arrange
+		PriceTick first = tick("150.10", NOW);
+		PriceTick second = tick("150.20", NOW.plusSeconds(60));
+		PriceTick third = tick("150.10", NOW.plus(Duration.ofMinutes(18)));
+
+		// Act
+		writer.write(List.of(first));
+		writer.write(List.of(second, tick("150.20", NOW.plus(Duration.ofMinutes(17))), third));
+		writer.write(List.of(tick("150.10", NOW.plus(Duration.ofMinutes(20)))));
+
+		// Assert
+		verify(priceHistoryRepository).insert(List.of(first), Arrays.asList((Instant) null));
+		verify(priceHistoryRepository).insert(List.of(second, third),
+				Arrays.asList(NOW.plus(Duration.ofMinutes(17)), null));
+		verify(priceHistoryRepository, times(2)).insert(anyList(), anyList());
+		verify(priceHistoryRepository, never()).touch(anyList(), any(Instant.class));
+	}
+
+	@Test
+	void testReceivedTicksAreWrittenInTheBackground() {
+		// Arrange
+		List<Runnable> queued = new ArrayList<>();
+		PriceHistoryWriter background = new PriceHistoryWriter(priceHistoryRepository,
+				new PriceHistoryProperties(true, Duration.ofMinutes(15), 500, 10_000, 100),
+				new TickJournalProperties(false, null, null, null, 0, false, null), queued::add);
+
+		// Act
+		background.onPriceTicks(new PriceTickEvent(List.of(tick("150.10", NOW))));
+
+		// Assert
+		verify(priceHistoryRepository, never()).insert(anyList(), anyList());
+		queued.forEach(Runnable::run);
+		verify(priceHistoryRepository).insert(anyList(), anyList());
+	}
+
+	@Test
+	void testTicksSharedByAnotherInstanceAreNotWritten() {
+		// Act
+		writer.onPriceTicks(new PriceTickEvent(List.of(tick("150.10", NOW)), true));
+
+		// Assert
+		verify(priceHistoryRepository, never()).insert(anyList(), anyList());
+	}
+
+	private static PriceTick tick(String price, Instant pulledAt) {
+		return new PriceTick(PriceTick.SOURCE_STOCKDATA, pulledAt, QuoteFingerprintTest.quote(price, 1000L));
+	}
+}
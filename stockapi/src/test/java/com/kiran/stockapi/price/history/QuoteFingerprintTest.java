@@ -0,0 +1,43 @@
+package com.kiran.stockapi.price.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class QuoteFingerprintTest {
+
+	@Test
+	void testFingerprintIgnoresBigDecimalScale() {
+		assertEquals(QuoteFingerprint.of(quote("150.10", 1000L)), QuoteFingerprint.of(quote("150.1000", 1000L)));
+	}
+
+	@Test
+	void testFingerprintChangesWithPrice() {
+		assertNotEquals(QuoteFingerprint.of(quote("150.10", 1000L)), QuoteFingerprint.of(quote("150.11", 1000L)));
+	}
+
+	@Test
+	void testFingerprintChangesWithVolume() {
+		assertNotEquals(QuoteFingerprint.of(quote("150.10", 1000L)), QuoteFingerprint.of(quote("150.10", 1001L)));
+	}
+
+	@Test
+	void testFingerprintDistinguishesNullFromEmpty() {
+		Quote withNullName = new Quote("AAPL", null, null, null, null, null, null, null, null, null, null, null, null,
+				null, null, null, null, null, null);
+		Quote withEmptyName = new Quote("AAPL", "", null, null, null, null, null, null, null, null, null, null, null,
+				null, null, null, null, null, null);
+
+		assertNotEquals(QuoteFingerprint.of(withNullName), QuoteFingerprint.of(withEmptyName));
+	}
+
+	static Quote quote(String price, Long volume) {
+		return new Quote("AAPL", "Apple Inc", "NASDAQ", "NASDAQ Stock Exchange", "XNAS", "USD", new BigDecimal(price),
+				null, null, null, null, null, null, null, null, null, volume, false,
+				LocalDateTime.parse("2026-01-05T14:31:05"));
+	}
+}
@@ -0,0 +1,101 @@
+package com.kiran.stockapi.price.instrument;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class InstrumentDictionaryTest {
+
+	private InstrumentRepository instrumentRepository;
+	private InstrumentDictionary dictionary;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		instrumentRepository = mock(InstrumentRepository.class);
+		when(instrumentRepository.findAll()).thenReturn(Map.of(1, instrument("AAPL", "Apple Inc")));
+		when(instrumentRepository.resolve(anyCollection())).thenAnswer(invocation -> {
+			Map<Instrument, Integer> ids = new HashMap<>();
+			invocation.<Collection<Instrument>>getArgument(0)
+					.forEach(instrument -> ids.put(instrument, 100 + ids.size()));
+			return ids;
+		});
+		ObjectProvider<InstrumentRepository> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(instrumentRepository);
+		doAnswer(invocation -> {
+			invocation.<Consumer<InstrumentRepository>>getArgument(0).accept(instrumentRepository);
+			return null;
+		}).when(provider).ifAvailable(any());
+		dictionary = new InstrumentDictionary(provider);
+		dictionary.afterPropertiesSet();
+	}
+
+	@Test
+	void testQuotesShareTheirReferenceData() {
+		// Act
+		Quote first = dictionary.intern(quote("MSFT", "Microsoft Corporation", "231.45"));
+		Quote second = dictionary.intern(quote("MSFT", "Microsoft Corporation", "232.10"));
+		Quote other = dictionary.intern(quote("NVDA", "NVIDIA Corporation", "180.00"));
+
+		// Assert
+		assertSame(first.getName(), second.getName());
+		assertSame(first.getExchangeLong(), other.getExchangeLong());
+		assertSame(first.getCurrency(), other.getCurrency());
+		assertEquals(new BigDecimal("232.10"), second.getPrice());
+	}
+
+	@Test
+	void testInternedQuoteIsReturnedAsItIs() {
+		// Arrange
+		Quote interned = dictionary.intern(quote("MSFT", "Microsoft Corporation", "231.45"));
+
+		// Act & Assert
+		assertSame(interned, dictionary.intern(interned));
+	}
+
+	@Test
+	void testIdsAreResolvedOncePerInstrument() {
+		// Arrange
+		Instrument apple = instrument("AAPL", "Apple Inc");
+		Instrument microsoft = instrument("MSFT", "Microsoft Corporation");
+
+		// Act
+		Map<Instrument, Integer> first = dictionary.ids(List.of(apple, microsoft));
+		Map<Instrument, Integer> second = dictionary.ids(List.of(microsoft));
+
+		// Assert
+		assertEquals(Map.of(apple, 1, microsoft, 100), first);
+		assertEquals(Map.of(microsoft, 100), second);
+		verify(instrumentRepository, times(1)).resolve(Set.of(microsoft));
+		assertEquals(microsoft, dictionary.instrument(100));
+	}
+
+	private static Instrument instrument(String ticker, String name) {
+		return new Instrument(ticker, name, "NASDAQ", "NASDAQ Stock Exchange", "XNAS", "USD");
+	}
+
+	private static Quote quote(String ticker, String name, String price) {
+		// New string instances, as a freshly deserialized quote would have
+		return new Quote(new String(ticker), new String(name), new String("NASDAQ"),
+				new String("NASDAQ Stock Exchange"), new String("XNAS"), new String("USD"), new BigDecimal(price),
+				null, null, null, null, null, null, null, null, null, null, false, null);
+	}
+}
@@ -0,0 +1,214 @@
+package com.kiran.stockapi.price.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.TickJournalProperties;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+class TickJournalTest {
+
+	private static final Instant PULLED_AT = Instant.parse("2026-01-05T15:00:00.123456Z");
+
+	@TempDir
+	Path directory;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void testAppendedTicksAreReadBack() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofMegabytes(1)), meterRegistry);
+		PriceTick tick = tick("AAPL", "150.10");
+
+		// Act
+		journal.append(List.of(tick, tick("MSFT", "410.25")));
+		TickJournalCursor.Batch batch = new TickJournalCursor(journal, "test").poll(10);
+
+		// Assert
+		assertEquals(2, batch.ticks().size());
+		PriceTick read = batch.ticks().get(0);
+		assertEquals(tick.source(), read.source());
+		assertEquals(PULLED_AT, read.pulledAt());
+		assertEquals(tick.quote(), read.quote());
+		assertEquals(0, new BigDecimal("150.10").compareTo(read.quote().getPrice()));
+		assertEquals("MSFT", batch.ticks().get(1).ticker());
+		assertEquals(journal.head(), batch.next());
+	}
+
+	@Test
+	void testReadsAcrossRolledSegments() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofKilobytes(1)), meterRegistry);
+		List<PriceTick> ticks = IntStream.range(0, 40).mapToObj(i -> tick("T" + i, "1" + i)).toList();
+
+		// Act
+		journal.append(ticks);
+		TickJournalCursor.Batch batch = new TickJournalCursor(journal, "test").poll(100);
+
+		// Assert
+		assertTrue(journal.head().segment() > 1);
+		assertEquals(ticks.stream().map(PriceTick::ticker).toList(),
+				batch.ticks().stream().map(PriceTick::ticker).toList());
+	}
+
+	@Test
+	void testTickThatCannotBeEncodedIsDroppedAndCounted() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofMegabytes(1)), meterRegistry);
+
+		// Act
+		journal.append(List.of(tick("HUGE", "999999999999999"), tick("AAPL", "150.10")));
+		TickJournalCursor.Batch batch = new TickJournalCursor(journal, "test").poll(10);
+
+		// Assert
+		assertEquals(List.of("AAPL"), batch.ticks().stream().map(PriceTick::ticker).toList());
+		assertEquals(1, meterRegistry.counter(TickJournal.DROPPED).count());
+	}
+
+	@Test
+	void testFailedRollDropsTicksUntilTheSegmentCanBeCreated() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofKilobytes(1)), meterRegistry);
+		Files.createDirectory(journal.segmentPath(2));
+
+		// Act
+		journal.append(IntStream.range(0, 40).mapToObj(i -> tick("T" + i, "1" + i)).toList());
+		double droppedWhileBlocked = meterRegistry.counter(TickJournal.DROPPED).count();
+		Files.delete(journal.segmentPath(2));
+		journal.append(IntStream.range(0, 40).mapToObj(i -> tick("T" + i, "1" + i)).toList());
+
+		// Assert
+		assertTrue(droppedWhileBlocked > 0);
+		assertEquals(droppedWhileBlocked, meterRegistry.counter(TickJournal.DROPPED).count());
+		assertTrue(journal.head().segment() > 2);
+	}
+
+	@Test
+	void testDrainerResumesFromCheckpointAfterRestart() throws IOException {
+		// Arrange
+		RecordingSink sink = new RecordingSink();
+		TickJournal journal = new TickJournal(properties(DataSize.ofMegabytes(1)), meterRegistry);
+		journal.append(List.of(tick("AAPL", "150.10")));
+		new TickJournalDrainer(journal, sinks(sink), properties(DataSize.ofMegabytes(1))).drain();
+		journal.append(List.of(tick("AAPL", "150.20")));
+
+		// Act
+		TickJournal restarted = new TickJournal(properties(DataSize.ofMegabytes(1)), meterRegistry);
+		restarted.append(List.of(tick("AAPL", "150.30")));
+		new TickJournalDrainer(restarted, sinks(sink), properties(DataSize.ofMegabytes(1))).drain();
+
+		// Assert
+		assertEquals(List.of("150.10", "150.20", "150.30"), sink.prices());
+	}
+
+	@Test
+	void testFailedSinkIsOfferedTheSameTicksAgain() throws IOException {
+		// Arrange
+		RecordingSink sink = new RecordingSink();
+		TickJournal journal = new TickJournal(properties(DataSize.ofMegabytes(1)), meterRegistry);
+		TickJournalDrainer drainer = new TickJournalDrainer(journal, sinks(sink), properties(DataSize.ofMegabytes(1)));
+		journal.append(List.of(tick("AAPL", "150.10")));
+
+		// Act
+		sink.failing = true;
+		drainer.drain();
+		sink.failing = false;
+		drainer.drain();
+
+		// Assert
+		assertEquals(List.of("150.10"), sink.prices());
+	}
+
+	@Test
+	void testDrainedSegmentsAreDeleted() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofKilobytes(1)), meterRegistry);
+		TickJournalDrainer drainer = new TickJournalDrainer(journal, sinks(new RecordingSink()),
+				properties(DataSize.ofKilobytes(1)));
+		journal.append(IntStream.range(0, 40).mapToObj(i -> tick("T" + i, "1" + i)).toList());
+
+		// Act
+		drainer.drain();
+
+		// Assert
+		assertFalse(Files.exists(journal.segmentPath(1)));
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(1, files.filter(file -> file.toString().endsWith(TickJournal.SEGMENT_SUFFIX)).count());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDrainerRefusesToStartWithoutSinks() throws IOException {
+		// Arrange
+		TickJournal journal = new TickJournal(properties(DataSize.ofKilobytes(1)), meterRegistry);
+		ObjectProvider<TickSink> sinks = mock(ObjectProvider.class);
+		when(sinks.orderedStream()).thenAnswer(invocation -> Stream.empty());
+
+		// Act & Assert
+		assertThrows(IllegalStateException.class,
+				() -> new TickJournalDrainer(journal, sinks, properties(DataSize.ofKilobytes(1))));
+	}
+
+	private TickJournalProperties properties(DataSize segmentSize) {
+		return new TickJournalProperties(true, directory, segmentSize, Duration.ofSeconds(1), 16, false, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ObjectProvider<TickSink> sinks(TickSink sink) {
+		ObjectProvider<TickSink> provider = mock(ObjectProvider.class);
+		when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(sink));
+		return provider;
+	}
+
+	private static PriceTick tick(String ticker, String price) {
+		Quote quote = new Quote(ticker, null, "NASDAQ", null, null, "USD", new BigDecimal(price), null, null, null,
+				null, null, null, null, null, null, 1000L, false, LocalDateTime.parse("2026-01-05T14:31:05"));
+		return new PriceTick(PriceTick.SOURCE_STOCKDATA, PULLED_AT, quote);
+	}
+
+	private static final class RecordingSink implements TickSink {
+
+		private final List<PriceTick> received = new ArrayList<>();
+		private boolean failing;
+
+		@Override
+		public String name() {
+			return "recording";
+		}
+
+		@Override
+		public void accept(List<PriceTick> ticks) {
+			if (failing) {
+				throw new IllegalStateException("sink down");
+			}
+			received.addAll(ticks);
+		}
+
+		List<String> prices() {
+			return received.stream().map(tick -> tick.quote().getPrice().stripTrailingZeros().toPlainString()).toList();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.kiran.stockapi.price.portfolio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.PortfolioProperties;
+import com.kiran.stockapi.price.api.contract.Portfolio;
+import com.kiran.stockapi.price.api.contract.PortfolioValuation;
+import com.kiran.stockapi.price.api.contract.Position;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PortfolioValuatorTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-05T15:00:00Z");
+
+	private PortfolioRepository portfolioRepository;
+	private PortfolioValuator valuator;
+
+	@BeforeEach
+	void setUp() {
+		portfolioRepository = mock(PortfolioRepository.class);
+		when(portfolioRepository.findAll()).thenReturn(List.of(new Portfolio(1, "kiran", "growth", NOW),
+				new Portfolio(2, "kiran", "income", NOW)));
+		when(portfolioRepository.findPositions()).thenReturn(List.of(position(1, "AAPL", "10"),
+				position(1, "NVDA", "5"), position(2, "AAPL", "-2"), position(2, "MSFT", "3")));
+		when(portfolioRepository.findLatestPrices(anyCollection(), eq(PriceTick.SOURCE_STOCKDATA)))
+				.thenReturn(Map.of("AAPL", new BigDecimal("200.00"), "NVDA", new BigDecimal("100.00")));
+		when(portfolioRepository.deletePosition(anyLong(), anyString())).thenReturn(true);
+		valuator = new PortfolioValuator(portfolioRepository,
+				new PortfolioProperties(true, 5000, PriceTick.SOURCE_STOCKDATA));
+		valuator.afterPropertiesSet();
+	}
+
+	@Test
+	void testPortfoliosAreValuedFromStoredPrices() {
+		// Assert
+		assertValue("2500.00", 0, valuator.valuation(1).orElseThrow());
+		assertValue("-400.00", 1, valuator.valuation(2).orElseThrow());
+	}
+
+	@Test
+	void testTickUpdatesHoldersByDelta() {
+		// Arrange
+		PortfolioValuation untouched = valuator.valuation(2).orElseThrow();
+
+		// Act
+		tick("NVDA", "110.00");
+
+		// Assert
+		PortfolioValuation valuation = valuator.valuation(1).orElseThrow();
+		assertValue("2550.00", 0, valuation);
+		assertEquals(NOW, valuation.valuedAt());
+		assertSame(untouched, valuator.valuation(2).orElseThrow());
+	}
+
+	@Test
+	void testTicksFromOtherSourcesAreIgnored() {
+		// Arrange
+		PortfolioValuation before = valuator.valuation(1).orElseThrow();
+
+		// Act
+		tick(PriceTick.SOURCE_ALPHAVANTAGE, "NVDA", "90.00");
+		tick(PriceTick.SOURCE_ALPHAVANTAGE, "MSFT", "400.00");
+
+		// Assert
+		assertSame(before, valuator.valuation(1).orElseThrow());
+		assertValue("-400.00", 1, valuator.valuation(2).orElseThrow());
+	}
+
+	@Test
+	void testFirstPriceOfAnUnpricedPositionIsAdded() {
+		// Act
+		tick("MSFT", "400.00");
+
+		// Assert
+		assertValue("800.00", 0, valuator.valuation(2).orElseThrow());
+	}
+
+	@Test
+	void testChangedPositionIsRevaluedAtTheLatestPrice() {
+		// Arrange
+		tick("AAPL", "210.00");
+
+		// Act
+		valuator.setPosition(position(1, "AAPL", "20"));
+		tick("AAPL", "220.00");
+
+		// Assert
+		assertValue("4900.00", 0, valuator.valuation(1).orElseThrow());
+	}
+
+	@Test
+	void testRemovedPositionNoLongerFollowsTicks() {
+		// Arrange
+		valuator.removePosition(1, "AAPL");
+
+		// Act
+		tick("AAPL", "300.00");
+
+		// Assert
+		PortfolioValuation valuation = valuator.valuation(1).orElseThrow();
+		assertValue("500.00", 0, valuation);
+		assertEquals(1, valuation.positions());
+	}
+
+	@Test
+	void testValuationsSkipUnknownPortfolios() {
+		// Act
+		List<PortfolioValuation> valuations = valuator.valuations(List.of(2L, 7L, 1L));
+
+		// Assert
+		assertEquals(List.of(2L, 1L), valuations.stream().map(PortfolioValuation::portfolioId).toList());
+		assertTrue(valuator.valuation(7).isEmpty());
+		assertFalse(valuator.setPosition(position(7, "AAPL", "1")));
+	}
+
+	private void tick(String ticker, String price) {
+		tick(PriceTick.SOURCE_STOCKDATA, ticker, price);
+	}
+
+	private void tick(String source, String ticker, String price) {
+		Quote quote = new Quote(ticker, null, null, null, null, "USD", new BigDecimal(price), null, null, null, null,
+				null, null, null, null, null, null, false, null);
+		valuator.onPriceTicks(new PriceTickEvent(List.of(new PriceTick(source, NOW, quote))));
+	}
+
+	private static Position position(long portfolioId, String ticker, String quantity) {
+		return new Position(portfolioId, ticker, new BigDecimal(quantity));
+	}
+
+	private static void assertValue(String expected, int unpriced, PortfolioValuation valuation) {
+		assertEquals(0, new BigDecimal(expected).compareTo(valuation.marketValue()),
+				() -> expected + " != " + valuation.marketValue());
+		assertEquals(unpriced, valuation.unpricedPositions());
+	}
+}
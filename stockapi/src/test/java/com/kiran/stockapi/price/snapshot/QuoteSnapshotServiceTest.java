@@ -0,0 +1,269 @@
+package com.kiran.stockapi.price.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.QuoteSnapshotProperties;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickPublisher;
+import com.kiran.stockapi.stockdata.api.client.QuoteClient;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteFreshness;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class QuoteSnapshotServiceTest {
+
+	private static final Instant NOW = Instant.parse("2026-01-05T15:00:00Z");
+
+	private QuoteClient quoteClient;
+	private PriceTickPublisher priceTickPublisher;
+	private MutableClock clock;
+	private List<Runnable> refreshes;
+	private QuoteSnapshotService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		quoteClient = mock(QuoteClient.class);
+		when(quoteClient.getQuote(anyString(), eq(true))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+		clock = new MutableClock(NOW);
+		refreshes = new ArrayList<>();
+		priceTickPublisher = mock(PriceTickPublisher.class);
+		service = new QuoteSnapshotService(quoteClient, priceTickPublisher,
+				new InstrumentDictionary(mock(ObjectProvider.class)),
+				new QuoteSnapshotProperties(Duration.ofSeconds(5), Duration.ofSeconds(60)), clock, refreshes::add);
+	}
+
+	@Test
+	void testFirstRequestFetchesFromUpstream() {
+		// Act
+		StockApiResponse response = service.quotes(List.of("AAPL"));
+
+		// Assert
+		QuoteFreshness freshness = response.getFreshness().get("AAPL");
+		assertEquals(QuoteFreshness.UPSTREAM, freshness.source());
+		assertEquals(0, freshness.ageMs());
+		assertFalse(freshness.stale());
+		assertEquals(new Meta(1, 1), response.getMeta());
+	}
+
+	@Test
+	void testFreshQuoteIsServedFromCache() {
+		// Arrange
+		service.quotes(List.of("AAPL"));
+		clock.advance(Duration.ofSeconds(3));
+
+		// Act
+		StockApiResponse response = service.quotes(List.of("AAPL"));
+
+		// Assert
+		verify(quoteClient, times(1)).getQuote(anyString(), eq(true));
+		assertEquals(new QuoteFreshness(QuoteFreshness.CACHE, NOW, 3_000, false),
+				response.getFreshness().get("AAPL"));
+		assertTrue(refreshes.isEmpty());
+	}
+
+	@Test
+	void testStaleQuoteIsServedAndRefreshedOnce() {
+		// Arrange
+		service.quotes(List.of("AAPL"));
+		clock.advance(Duration.ofSeconds(30));
+
+		// Act
+		StockApiResponse first = service.quotes(List.of("AAPL"));
+		StockApiResponse second = service.quotes(List.of("AAPL"));
+
+		// Assert
+		assertTrue(first.getFreshness().get("AAPL").stale());
+		assertEquals(QuoteFreshness.CACHE, second.getFreshness().get("AAPL").source());
+		assertEquals(1, refreshes.size());
+		verify(quoteClient, times(1)).getQuote(anyString(), eq(true));
+
+		refreshes.get(0).run();
+		StockApiResponse refreshed = service.quotes(List.of("AAPL"));
+		assertEquals(0, refreshed.getFreshness().get("AAPL").ageMs());
+		verify(quoteClient, times(2)).getQuote(anyString(), eq(true));
+	}
+
+	@Test
+	void testQuoteBeyondServeStaleBoundIsFetchedBeforeResponding() {
+		// Arrange
+		service.quotes(List.of("AAPL"));
+		clock.advance(Duration.ofMinutes(2));
+
+		// Act
+		StockApiResponse response = service.quotes(List.of("AAPL"));
+
+		// Assert
+		assertEquals(QuoteFreshness.UPSTREAM, response.getFreshness().get("AAPL").source());
+		verify(quoteClient, times(2)).getQuote(anyString(), eq(true));
+		assertTrue(refreshes.isEmpty());
+	}
+
+	@Test
+	void testConcurrentRequestsForAMissingSymbolShareOneFetch() throws Exception {
+		// Arrange
+		CountDownLatch upstreamCalled = new CountDownLatch(1);
+		CountDownLatch upstreamAnswers = new CountDownLatch(1);
+		when(quoteClient.getQuote(anyString(), eq(true))).thenAnswer(invocation -> {
+			upstreamCalled.countDown();
+			upstreamAnswers.await();
+			return response(invocation.getArgument(0));
+		});
+		ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+
+		// Act
+		Future<StockApiResponse> first = requests.submit(() -> service.quotes(List.of("AAPL")));
+		upstreamCalled.await();
+		Future<StockApiResponse> second = requests.submit(() -> service.quotes(List.of("AAPL", "MSFT")));
+		verify(quoteClient, timeout(5_000)).getQuote("MSFT", true);
+		upstreamAnswers.countDown();
+
+		// Assert
+		assertEquals(Set.of("AAPL"), first.get(5, TimeUnit.SECONDS).getData().keySet());
+		StockApiResponse joined = second.get(5, TimeUnit.SECONDS);
+		assertEquals(Set.of("AAPL", "MSFT"), joined.getData().keySet());
+		assertEquals(QuoteFreshness.UPSTREAM, joined.getFreshness().get("AAPL").source());
+		verify(quoteClient, times(1)).getQuote("AAPL", true);
+		requests.shutdownNow();
+	}
+
+	@Test
+	void testFollowerTakesMissingQuoteFromLeader() {
+		// Arrange
+		QuoteCluster cluster = follower();
+		doAnswer(invocation -> {
+			service.accept("AAPL", new QuoteSnapshot(response("AAPL").getData().get("AAPL"), NOW));
+			return null;
+		}).when(cluster).request(List.of("AAPL"));
+
+		// Act
+		StockApiResponse response = service.quotes(List.of("AAPL"));
+
+		// Assert
+		verify(quoteClient, never()).getQuote(anyString(), eq(true));
+		assertEquals(QuoteFreshness.CACHE, response.getFreshness().get("AAPL").source());
+	}
+
+	@Test
+	void testSharedQuoteIsPublishedAsSharedTickUnlessOlder() {
+		// Arrange
+		Quote quote = response("AAPL").getData().get("AAPL");
+
+		// Act
+		service.accept("AAPL", new QuoteSnapshot(quote, NOW));
+		service.accept("AAPL", new QuoteSnapshot(quote, NOW.minusSeconds(1)));
+
+		// Assert
+		verify(priceTickPublisher, times(1)).publishShared(anyList());
+		verify(priceTickPublisher).publishShared(List.of(new PriceTick(PriceTick.SOURCE_STOCKDATA, NOW, quote)));
+		assertEquals(NOW, service.snapshot("AAPL").fetchedAt());
+	}
+
+	@Test
+	void testFollowerFetchesItselfWhenLeaderDoesNotAnswer() {
+		// Arrange
+		QuoteCluster cluster = follower();
+
+		// Act
+		StockApiResponse response = service.quotes(List.of("AAPL"));
+
+		// Assert
+		verify(cluster).request(List.of("AAPL"));
+		verify(cluster).share(anyMap());
+		assertEquals(QuoteFreshness.UPSTREAM, response.getFreshness().get("AAPL").source());
+	}
+
+	@Test
+	void testFollowerAsksLeaderToRefreshStaleQuote() {
+		// Arrange
+		service.quotes(List.of("AAPL"));
+		QuoteCluster cluster = follower();
+		clock.advance(Duration.ofSeconds(30));
+
+		// Act
+		service.quotes(List.of("AAPL"));
+
+		// Assert
+		verify(cluster).request(List.of("AAPL"));
+		assertTrue(refreshes.isEmpty());
+	}
+
+	private QuoteCluster follower() {
+		QuoteCluster cluster = mock(QuoteCluster.class);
+		when(cluster.isLeader()).thenReturn(false);
+		when(cluster.requestTimeout()).thenReturn(Duration.ofMillis(50));
+		service.attach(cluster);
+		return cluster;
+	}
+
+	private static StockApiResponse response(String symbols) {
+		Map<String, Quote> data = new LinkedHashMap<>();
+		for (String symbol : symbols.split(",")) {
+			data.put(symbol, new Quote(symbol, null, null, null, null, "USD", new BigDecimal("100.00"), null, null,
+					null, null, null, null, null, null, null, null, null, null));
+		}
+		return new StockApiResponse(new Meta(data.size(), data.size()), data);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
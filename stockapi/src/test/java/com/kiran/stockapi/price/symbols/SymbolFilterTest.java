@@ -0,0 +1,170 @@
+package com.kiran.stockapi.price.symbols;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.kiran.stockapi.price.api.config.SymbolFilterProperties;
+import com.kiran.stockapi.price.instrument.Instrument;
+import com.kiran.stockapi.price.instrument.InstrumentDictionary;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class SymbolFilterTest {
+
+	private static final Instant NOW = Instant.parse("2025-01-02T15:30:00Z");
+
+	private MutableClock clock;
+	private SymbolFilter filter;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		InstrumentDictionary instrumentDictionary = new InstrumentDictionary(mock(ObjectProvider.class));
+		instrumentDictionary.intern(new Instrument("AAPL", "Apple Inc", "NASDAQ", null, "XNAS", "USD"));
+		clock = new MutableClock(NOW);
+		filter = new SymbolFilter(instrumentDictionary,
+				new SymbolFilterProperties(true, Duration.ofHours(1), 2, 1000, 0.01, 2), clock);
+		filter.afterPropertiesSet();
+	}
+
+	@Test
+	void testMissingSymbolIsSkippedUntilItExpires() {
+		// Act
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("AAPL", "XXXX"), List.of("AAPL"));
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("AAPL", "XXXX"), List.of("AAPL"));
+
+		// Assert
+		assertEquals(List.of("AAPL"), filter.valid(PriceTick.SOURCE_STOCKDATA, SymbolFilter.split("AAPL, xxxx,")));
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_ALPHAVANTAGE, "XXXX"));
+		clock.advance(Duration.ofHours(1));
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXX"));
+	}
+
+	@Test
+	void testBatchMissIsOnlyConfirmedWhenRepeatedWithinTheTtl() {
+		// Arrange
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("XXXA", "XXXB"), List.of());
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("XXXB", "XXXC"), List.of("XXXB", "XXXC"));
+		clock.advance(Duration.ofHours(1));
+
+		// Act
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("XXXA", "XXXB"), List.of());
+		boolean invalidAfterOneMiss = filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXA")
+				|| filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXB");
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("XXXA", "XXXC"), List.of("XXXC"));
+
+		// Assert
+		assertFalse(invalidAfterOneMiss);
+		assertTrue(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXA"));
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXB"));
+	}
+
+	@Test
+	void testSingleSymbolMissIsConfirmedAtOnce() {
+		// Act
+		filter.confirmMissing(PriceTick.SOURCE_STOCKDATA, List.of("XXXX"), List.of());
+
+		// Assert
+		assertTrue(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXX"));
+	}
+
+	@Test
+	void testKnownTickersAreNeverSkipped() {
+		// Act
+		filter.onPriceTicks(new PriceTickEvent(List.of(new PriceTick(PriceTick.SOURCE_STOCKDATA, NOW,
+				new Quote("NVDA", "NVIDIA Corporation", "NASDAQ", null, "XNAS", "USD", new BigDecimal("180.00"),
+						null, null, null, null, null, null, null, null, null, null, false, null)))));
+		filter.confirmInvalid(PriceTick.SOURCE_STOCKDATA, List.of("aapl", "NVDA"));
+
+		// Assert
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "AAPL"));
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "NVDA"));
+	}
+
+	@Test
+	void testTickForgetsInvalidSymbol() {
+		// Arrange
+		filter.confirmInvalid(PriceTick.SOURCE_STOCKDATA, List.of("NEWCO"));
+
+		// Act
+		filter.onPriceTicks(new PriceTickEvent(List.of(new PriceTick(PriceTick.SOURCE_STOCKDATA, NOW,
+				new Quote("NEWCO", null, null, null, null, null, new BigDecimal("10.00"), null, null, null, null,
+						null, null, null, null, null, false, null)))));
+
+		// Assert
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "NEWCO"));
+	}
+
+	@Test
+	void testNegativeCacheIsBounded() {
+		// Act
+		filter.confirmInvalid(PriceTick.SOURCE_STOCKDATA, List.of("XXXA", "XXXB", "XXXC"));
+
+		// Assert
+		assertTrue(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXA"));
+		assertTrue(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXB"));
+		assertFalse(filter.isInvalid(PriceTick.SOURCE_STOCKDATA, "XXXC"));
+	}
+
+	@Test
+	void testBloomFilterHasNoFalseNegatives() {
+		// Arrange
+		BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01);
+
+		// Act
+		for (int i = 0; i < 10_000; i++) {
+			bloomFilter.put("SYM" + i);
+		}
+
+		// Assert
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(bloomFilter.mightContain("SYM" + i));
+			if (bloomFilter.mightContain("OTHER" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
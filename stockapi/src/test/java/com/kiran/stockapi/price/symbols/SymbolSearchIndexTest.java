@@ -0,0 +1,97 @@
+package com.kiran.stockapi.price.symbols;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.kiran.stockapi.price.api.config.SymbolSearchProperties;
+import com.kiran.stockapi.price.api.contract.SymbolMatch;
+import com.kiran.stockapi.price.tick.PriceTick;
+import com.kiran.stockapi.price.tick.PriceTickEvent;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class SymbolSearchIndexTest {
+
+	private SymbolSearchIndex index;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		SymbolRepository symbolRepository = mock(SymbolRepository.class);
+		when(symbolRepository.findSymbols()).thenReturn(List.of(symbol("AAPL", "Apple Inc"),
+				symbol("AA", "Alcoa Corporation"), symbol("AMZN", "Amazon.com, Inc."),
+				symbol("NSRGY", "Nestl\u00e9 S.A."), symbol("APLE", "Apple Hospitality REIT, Inc.")));
+		ObjectProvider<SymbolRepository> provider = mock(ObjectProvider.class);
+		doAnswer(invocation -> {
+			invocation.<Consumer<SymbolRepository>>getArgument(0).accept(symbolRepository);
+			return null;
+		}).when(provider).ifAvailable(any());
+		index = new SymbolSearchIndex(provider, new SymbolSearchProperties(true, 3));
+		index.afterPropertiesSet();
+	}
+
+	@Test
+	void testTickerMatchesComeFirstShortestFirst() {
+		// Act
+		List<SymbolMatch> matches = index.search("a", 3);
+
+		// Assert
+		assertEquals(List.of("AA", "AAPL", "AMZN"), tickers(matches));
+	}
+
+	@Test
+	void testNameWordsAreMatchedAfterTickers() {
+		// Act
+		List<SymbolMatch> matches = index.search("apple", 3);
+
+		// Assert
+		assertEquals(List.of("AAPL", "APLE"), tickers(matches));
+		assertEquals("Apple Inc", matches.get(0).name());
+	}
+
+	@Test
+	void testLaterWordsAndPhrasesAreMatched() {
+		// Assert
+		assertEquals(List.of("APLE"), tickers(index.search("hospitality r", 3)));
+		assertEquals(List.of("APLE"), tickers(index.search("Apple  H", 3)));
+		assertEquals(List.of("AMZN"), tickers(index.search("amazon.com", 3)));
+	}
+
+	@Test
+	void testAccentsAndCaseAreIgnored() {
+		// Assert
+		assertEquals(List.of("NSRGY"), tickers(index.search("NESTLE", 3)));
+		assertEquals(List.of("AAPL"), tickers(index.search("aapl", 3)));
+	}
+
+	@Test
+	void testTicksAddNewSymbols() {
+		// Act
+		index.onPriceTicks(new PriceTickEvent(List.of(new PriceTick(PriceTick.SOURCE_STOCKDATA, Instant.now(),
+				new Quote("NVDA", "NVIDIA Corporation", "NASDAQ", null, "XNAS", "USD", new BigDecimal("180.00"),
+						null, null, null, null, null, null, null, null, null, null, false, null)))));
+
+		// Assert
+		List<SymbolMatch> matches = index.search("nvidia", 3);
+		assertEquals(List.of("NVDA"), tickers(matches));
+		assertEquals("XNAS", matches.get(0).micCode());
+		assertEquals(List.of("NVDA"), tickers(index.search("nv", 3)));
+	}
+
+	private static SymbolMatch symbol(String ticker, String name) {
+		return new SymbolMatch(ticker, name, "NASDAQ", null, null);
+	}
+
+	private static List<String> tickers(List<SymbolMatch> matches) {
+		return matches.stream().map(SymbolMatch::ticker).toList();
+	}
+}
@@ -0,0 +1,134 @@
+package com.kiran.stockapi.stockdata.api.wire;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kiran.stockapi.stockdata.api.contract.Meta;
+import com.kiran.stockapi.stockdata.api.contract.Quote;
+import com.kiran.stockapi.stockdata.api.contract.QuoteFreshness;
+import com.kiran.stockapi.stockdata.api.contract.StockApiResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class QuoteBinaryCodecTest {
+
+	@Test
+	void testResponseRoundTrip() throws IOException {
+		// Arrange
+		StockApiResponse response = new StockApiResponse(new Meta(2, 2),
+				Map.of("AAPL", quote("AAPL", "231.45"), "MSFT", quote("MSFT", "420.1")));
+
+		// Act
+		StockApiResponse decoded = decode(encode(response));
+
+		// Assert
+		assertEquals(response, decoded);
+	}
+
+	@Test
+	void testFreshnessRoundTrip() throws IOException {
+		// Arrange
+		StockApiResponse response = new StockApiResponse(new Meta(1, 1), Map.of("AAPL", quote("AAPL", "231.45")),
+				Map.of("AAPL", new QuoteFreshness(QuoteFreshness.CACHE, Instant.parse("2026-01-05T15:00:00.123456Z"),
+						7_500, true)));
+
+		// Act
+		StockApiResponse decoded = decode(encode(response));
+
+		// Assert
+		assertEquals(response.getFreshness(), decoded.getFreshness());
+	}
+
+	@Test
+	void testNullFieldsAndMetaSurviveRoundTrip() throws IOException {
+		// Arrange
+		Quote sparse = new Quote("AAPL", null, null, null, null, null, null, null, null, null, null, null, null,
+				null, null, null, null, null, null);
+		StockApiResponse response = new StockApiResponse(null, Map.of("AAPL", sparse));
+
+		// Act
+		StockApiResponse decoded = decode(encode(response));
+
+		// Assert
+		assertNull(decoded.getMeta());
+		assertEquals(sparse, decoded.getData().get("AAPL"));
+	}
+
+	@Test
+	void testPricesAreFixedPointWithEightDecimals() {
+		assertEquals(23_145_000_000L, QuoteBinaryCodec.fixedPoint(new BigDecimal("231.45"), 8));
+		assertEquals(12_345_678L, QuoteBinaryCodec.fixedPoint(new BigDecimal("0.123456785"), 8));
+		assertThrows(IllegalArgumentException.class,
+				() -> QuoteBinaryCodec.fixedPoint(new BigDecimal("3512345678901"), 8));
+	}
+
+	@Test
+	void testEpochMicrosRoundTrip() {
+		LocalDateTime time = LocalDateTime.parse("1969-12-31T23:59:59.999999");
+
+		assertEquals(time, QuoteBinaryCodec.fromEpochMicros(QuoteBinaryCodec.epochMicros(time)));
+	}
+
+	@Test
+	void testBinaryIsSmallerThanJson() throws IOException {
+		// Arrange
+		ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		StockApiResponse response = new StockApiResponse(new Meta(1, 1), Map.of("AAPL", quote("AAPL", "231.45")));
+
+		// Act
+		int jsonBytes = objectMapper.writeValueAsBytes(response).length;
+		int binaryBytes = encode(response).length;
+
+		// Assert
+		assertTrue(binaryBytes * 2 < jsonBytes, binaryBytes + " vs " + jsonBytes);
+	}
+
+	@Test
+	void testBinaryStaysSmallerThanJsonForLargeResponses() throws IOException {
+		// Arrange
+		ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+		Map<String, Quote> quotes = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			quotes.put("T" + i, quote("T" + i, (100 + i) + ".125"));
+		}
+		StockApiResponse response = new StockApiResponse(new Meta(100, 100), quotes);
+
+		// Act
+		int jsonBytes = objectMapper.writeValueAsBytes(response).length;
+		int binaryBytes = encode(response).length;
+
+		// Assert
+		assertTrue(binaryBytes * 2 < jsonBytes, binaryBytes + " vs " + jsonBytes);
+	}
+
+	private static byte[] encode(StockApiResponse response) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		QuoteBinaryCodec.writeResponse(response, new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	private static StockApiResponse decode(byte[] bytes) throws IOException {
+		return QuoteBinaryCodec.readResponse(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+
+	private static Quote quote(String ticker, String price) {
+		return new Quote(ticker, "Apple Inc", "NASDAQ", "NASDAQ Stock Exchange", "XNAS", "USD", new BigDecimal(price),
+				new BigDecimal("232.5"), new BigDecimal("229.75"), new BigDecimal("230"), new BigDecimal("260.1"),
+				new BigDecimal("164.08"), new BigDecimal("3512345678901"), new BigDecimal("230.1"),
+				LocalDateTime.parse("2026-01-02T16:00:00"), new BigDecimal("1.35"), 51_234_567L, false,
+				LocalDateTime.parse("2026-01-05T15:59:59.123456"));
+	}
+}